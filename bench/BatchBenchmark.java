@@ -0,0 +1,174 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de las operaciones en lote frente a las operaciones de a una
+ *
+ * Se insertan N claves en lotes de B partiendo de una tabla pequeña, con put por clave
+ * y con putAll, y después se buscan N claves al azar con get y con getAll. Con tablas
+ * mucho más grandes que la caché, getAll gana por solapar los fallos de caché de cada
+ * grupo de búsquedas; putAll además evita los redimensionamientos intermedios.
+ * Por último se comparan insertUrl e insertUrls en un TinyURL con log (política GROUP),
+ * donde el lote se registra con una sola espera de durabilidad.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/BatchBenchmark.java
+ *   java -cp out BatchBenchmark [elementos] [lote] [directorio]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class BatchBenchmark {
+    private static final int ROUNDS = 3;
+    private static final int LOGGED = 20_000;
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("tinyurl-batch");
+        Random random = new Random(17);
+        long[] codes = new long[n];
+        String[] keys = new String[n];
+        String[] urls = new String[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            keys[i] = Base62Codec.encode(codes[i]);
+            urls[i] = "https://www.ejemplo.com/articulos/" + i + "?origen=benchmark";
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = random.nextInt(n);
+        }
+
+        System.out.printf(Locale.ROOT, "elementos=%d, lote=%d%n", n, batchSize);
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.printf(Locale.ROOT, "ronda %d%n", round + 1);
+            runLong(codes, urls, order, batchSize);
+            runChaining(keys, urls, order, batchSize);
+        }
+        runLogged(directory, urls, batchSize);
+    }
+
+    private static void runLong(long[] codes, String[] urls, int[] order, int batchSize) {
+        int n = codes.length;
+        long start = System.nanoTime();
+        LongHashTable single = new LongHashTable();
+        for (int i = 0; i < n; i++) {
+            single.put(codes[i], urls[i]);
+        }
+        double put = nanosPerOp(start, n);
+
+        start = System.nanoTime();
+        LongHashTable batched = new LongHashTable();
+        long[] codeBatch = new long[batchSize];
+        String[] urlBatch = new String[batchSize];
+        for (int from = 0; from < n; from += batchSize) {
+            int count = Math.min(batchSize, n - from);
+            if (count < batchSize) {
+                codeBatch = new long[count];
+                urlBatch = new String[count];
+            }
+            System.arraycopy(codes, from, codeBatch, 0, count);
+            System.arraycopy(urls, from, urlBatch, 0, count);
+            batched.putAll(codeBatch, urlBatch);
+        }
+        double putAll = nanosPerOp(start, n);
+
+        long sink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            sink += single.get(codes[order[i]]).length();
+        }
+        double get = nanosPerOp(start, n);
+
+        start = System.nanoTime();
+        long[] lookups = new long[batchSize];
+        for (int from = 0; from + batchSize <= n; from += batchSize) {
+            for (int j = 0; j < batchSize; j++) {
+                lookups[j] = codes[order[from + j]];
+            }
+            sink += batched.getAll(lookups)[batchSize - 1].length();
+        }
+        double getAll = nanosPerOp(start, n - n % batchSize);
+        report("LongHashTable", put, putAll, get, getAll, sink);
+    }
+
+    private static void runChaining(String[] keys, String[] urls, int[] order, int batchSize) {
+        int n = keys.length;
+        long start = System.nanoTime();
+        HashTable single = new HashTable(16, HashTable.StorageMode.CHAINING);
+        for (int i = 0; i < n; i++) {
+            single.put(keys[i], urls[i]);
+        }
+        double put = nanosPerOp(start, n);
+
+        start = System.nanoTime();
+        HashTable batched = new HashTable(16, HashTable.StorageMode.CHAINING);
+        String[] keyBatch = new String[batchSize];
+        String[] urlBatch = new String[batchSize];
+        for (int from = 0; from < n; from += batchSize) {
+            int count = Math.min(batchSize, n - from);
+            if (count < batchSize) {
+                keyBatch = new String[count];
+                urlBatch = new String[count];
+            }
+            System.arraycopy(keys, from, keyBatch, 0, count);
+            System.arraycopy(urls, from, urlBatch, 0, count);
+            batched.putAll(keyBatch, urlBatch);
+        }
+        double putAll = nanosPerOp(start, n);
+
+        long sink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            sink += single.get(keys[order[i]]).length();
+        }
+        double get = nanosPerOp(start, n);
+
+        start = System.nanoTime();
+        String[] lookups = new String[batchSize];
+        for (int from = 0; from + batchSize <= n; from += batchSize) {
+            for (int j = 0; j < batchSize; j++) {
+                lookups[j] = keys[order[from + j]];
+            }
+            sink += batched.getAll(lookups)[batchSize - 1].length();
+        }
+        double getAll = nanosPerOp(start, n - n % batchSize);
+        report("HashTable CHAINING", put, putAll, get, getAll, sink);
+    }
+
+    private static void runLogged(Path directory, String[] urls, int batchSize) throws IOException {
+        int n = Math.min(LOGGED, urls.length);
+        long start = System.nanoTime();
+        try (WriteAheadLog log = WriteAheadLog.open(directory.resolve("single.wal"))) {
+            TinyURL service = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            for (int i = 0; i < n; i++) {
+                service.insertUrl(urls[i]);
+            }
+        }
+        double single = n / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        try (WriteAheadLog log = WriteAheadLog.open(directory.resolve("batch.wal"))) {
+            TinyURL service = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            for (int from = 0; from < n; from += batchSize) {
+                service.insertUrls(java.util.Arrays.copyOfRange(urls, from, Math.min(n, from + batchSize)));
+            }
+        }
+        double batched = n / ((System.nanoTime() - start) / 1e9);
+        System.out.printf(Locale.ROOT, "TinyURL con log GROUP (%d URLs): insertUrl %10.0f URLs/s"
+                + "  insertUrls %10.0f URLs/s%n", n, single, batched);
+    }
+
+    private static double nanosPerOp(long start, int ops) {
+        return (double) (System.nanoTime() - start) / ops;
+    }
+
+    private static void report(String name, double put, double putAll, double get, double getAll, long sink) {
+        System.out.printf(Locale.ROOT, "  %-19s put %6.1f  putAll %6.1f  get %6.1f  getAll %6.1f ns/op  (%d)%n",
+                name, put, putAll, get, getAll, sink & 1);
+    }
+}
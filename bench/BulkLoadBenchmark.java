@@ -0,0 +1,79 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Benchmark de la carga de un dataset de tamaño conocido en TinyURL
+ *
+ * Acorta las mismas N URLs de tres formas y reporta el tiempo total, cuántas veces se
+ * redimensionó la tabla y cuánto tiempo se fue en esos redimensionamientos (medido
+ * con {@link Metrics}):
+ *   - insertUrlPacked una por una sobre la tabla por defecto, que se duplica desde 16
+ *   - insertUrlPacked una por una sobre new TinyURL(N), con la capacidad reservada
+ *   - loadUrls sobre la tabla por defecto, que reserva una vez y carga por lotes
+ * Lo mismo para una HashTable en modo CHAINING: put uno por uno contra
+ * HashTable.withExpectedSize(N).
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/BulkLoadBenchmark.java
+ *   java -Xmx4g -cp out BulkLoadBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class BulkLoadBenchmark {
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        String[] urls = new String[n];
+        for (int i = 0; i < n; i++) {
+            urls[i] = "https://www.sitio" + (i % 1000) + ".com/articulos/" + i;
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d%n", n);
+        System.out.printf(Locale.ROOT, "%-34s %10s %9s %12s%n", "carga", "total ms", "resizes", "en resize ms");
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean print = round == ROUNDS - 1;
+            runTinyUrl("TinyURL insertUrl", new TinyURL(), urls, false, print);
+            runTinyUrl("TinyURL(N) insertUrl", new TinyURL(n), urls, false, print);
+            runTinyUrl("TinyURL loadUrls", new TinyURL(), urls, true, print);
+            runHashTable("HashTable put", new HashTable(), urls, print);
+            runHashTable("HashTable.withExpectedSize put", HashTable.withExpectedSize(n), urls, print);
+        }
+    }
+
+    private static void runTinyUrl(String name, TinyURL service, String[] urls, boolean bulk, boolean print) {
+        Metrics metrics = new Metrics();
+        service.setMetrics(metrics);
+        long start = System.nanoTime();
+        if (bulk) {
+            service.loadUrls(Arrays.asList(urls).iterator(), urls.length, null);
+        } else {
+            for (String url : urls) {
+                service.insertUrlPacked(url);
+            }
+        }
+        report(name, System.nanoTime() - start, metrics, print);
+        if (service.getUrlCount() != urls.length) {
+            throw new IllegalStateException("Faltan URLs: " + service.getUrlCount());
+        }
+    }
+
+    private static void runHashTable(String name, HashTable table, String[] urls, boolean print) {
+        Metrics metrics = new Metrics();
+        table.setMetrics(metrics);
+        long start = System.nanoTime();
+        for (String url : urls) {
+            table.put(url, url);
+        }
+        report(name, System.nanoTime() - start, metrics, print);
+    }
+
+    private static void report(String name, long nanos, Metrics metrics, boolean print) {
+        if (!print) {
+            return;
+        }
+        Histogram.Snapshot resizes = metrics.snapshot().getResizeNanos();
+        System.out.printf(Locale.ROOT, "%-34s %10.1f %9d %12.1f%n", name, nanos / 1e6, resizes.getCount(),
+                resizes.getMean() * resizes.getCount() / 1e6);
+    }
+}
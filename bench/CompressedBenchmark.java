@@ -0,0 +1,88 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de memoria y latencia del modo COMPRESSED frente a CHAINING y OPEN_ADDRESSING
+ *
+ * Se insertan N URLs realistas: unos cientos de hosts con unas pocas secciones cada uno,
+ * un identificador y a veces parámetros de campaña. Cada URL se construye en el momento,
+ * así que la tabla es la única que la retiene. Se reporta la memoria retenida por entrada
+ * después de un GC (aproximada con Runtime, incluye las claves, que son iguales en todos
+ * los modos) y la latencia de get() con claves al azar: en COMPRESSED cada get()
+ * reconstruye el String, y esa diferencia es el costo de decodificar.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/CompressedBenchmark.java
+ *   java -cp out CompressedBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class CompressedBenchmark {
+    private static final int HOSTS = 500;
+    private static final String[] SECTIONS = {"articulos", "productos", "noticias", "perfil", "p"};
+    private static final int LOOKUPS = 2_000_000;
+    private static final int SAMPLE = 1 << 16;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        HashTable.StorageMode[] modes = {
+            HashTable.StorageMode.CHAINING, HashTable.StorageMode.OPEN_ADDRESSING, HashTable.StorageMode.COMPRESSED
+        };
+        System.out.printf(Locale.ROOT, "elementos=%d%n", n);
+        for (int round = 0; round < 2; round++) {
+            for (HashTable.StorageMode mode : modes) {
+                run(mode, n);
+            }
+        }
+    }
+
+    private static void run(HashTable.StorageMode mode, int n) {
+        long before = usedMemory();
+        HashTable table = new HashTable(16, 0.75, mode);
+        Random random = new Random(11);
+        long urlChars = 0;
+        for (int i = 0; i < n; i++) {
+            String url = url(random, i);
+            urlChars += url.length();
+            table.put(key(i), url);
+        }
+        double bytesPerEntry = (double) (usedMemory() - before) / n;
+
+        String[] sample = new String[SAMPLE];
+        for (int i = 0; i < SAMPLE; i++) {
+            sample[i] = key(random.nextInt(n));
+        }
+        long sink = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink += table.get(sample[i & (SAMPLE - 1)]).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink += table.get(sample[i & (SAMPLE - 1)]).length();
+        }
+        double getNanos = (double) (System.nanoTime() - start) / LOOKUPS;
+        System.out.printf(Locale.ROOT, "  %-16s %6.1f bytes/entrada  get %6.1f ns/op  (URL media %.1f car., %s)%n",
+                mode, bytesPerEntry, getNanos, (double) urlChars / n,
+                mode == HashTable.StorageMode.COMPRESSED ? "valores " + table.getCompressedBytes() + " B" : sink & 1);
+    }
+
+    private static String key(int i) {
+        return Base62Codec.encode(i * 2_654_435_761L % Base62Codec.CODE_SPACE);
+    }
+
+    private static String url(Random random, int i) {
+        String url = "https://www.sitio" + random.nextInt(HOSTS) + ".com/"
+                + SECTIONS[random.nextInt(SECTIONS.length)] + "/" + Integer.toString(i, 36) + "-"
+                + Long.toString(random.nextLong() & 0xFFFFFFFFFFL, 36);
+        return random.nextInt(4) == 0 ? url + "?utm_source=correo&utm_medium=boletin" : url;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark del modo de deduplicación con una carga de URLs reenviadas
+ *
+ * Se hacen N inserciones tomadas de U URLs distintas (como un crawler que reenvía las
+ * mismas páginas), con y sin deduplicación. Cada inserción construye su propio String,
+ * como llegaría de la red. Se reporta el throughput, el número de URLs guardadas y la
+ * memoria retenida después de un GC (aproximada, con Runtime).
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/DedupBenchmark.java
+ *   java -cp out DedupBenchmark [inserciones] [distintas]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class DedupBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        System.out.printf(Locale.ROOT, "inserciones=%d, distintas=%d%n", n, distinct);
+        for (int round = 0; round < 2; round++) {
+            run(false, n, distinct);
+            run(true, n, distinct);
+        }
+    }
+
+    private static void run(boolean deduplicate, int n, int distinct) {
+        Random random = new Random(3);
+        long before = usedMemory();
+        long start = System.nanoTime();
+        TinyURL service = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, null, deduplicate);
+        for (int i = 0; i < n; i++) {
+            service.insertUrl("https://www.ejemplo.com/articulos/" + random.nextInt(distinct) + "?origen=crawler");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long retained = usedMemory() - before;
+        System.out.printf(Locale.ROOT, "  deduplicar=%-5b %10.0f inserciones/s  %8d URLs  %7.1f MiB retenidos%n",
+                deduplicate, n / seconds, service.getUrlCount(), retained / 1048576.0);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del vencimiento por TTL de TinyURL
+ *
+ * Mide tres cosas sobre N códigos en una {@link LongHashTable}:
+ *   - el redirect (ns/op) sin códigos con TTL y con todos los códigos con TTL vigente:
+ *     el costo extra es la consulta perezosa al índice de la rueda
+ *   - la pausa más larga de {@link TinyURL#expireBatch(int)} al vencer todos los códigos
+ *     a la vez, en lotes de 1024
+ *   - como referencia, una limpieza que recorre todos los plazos en una sola pasada
+ *     (lo que haría una barrida de la tabla) y elimina los vencidos
+ *
+ * El reloj es inyectado, así que el vencimiento no depende de esperar.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/ExpiryBenchmark.java
+ *   java -cp out ExpiryBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ExpiryBenchmark {
+    private static final int REDIRECTS = 5_000_000;
+    private static final int BATCH = 1024;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf(Locale.ROOT, "elementos=%d, lote=%d%n", n, BATCH);
+        for (int pass = 0; pass < 2; pass++) {
+            run(n, pass == 1);
+        }
+    }
+
+    private static void run(int n, boolean print) {
+        long[] now = {0L};
+        TinyURL permanent = new TinyURL(new LongHashTable());
+        TinyURL expiring = new TinyURL(new LongHashTable());
+        expiring.setClock(() -> now[0]);
+        long[] permanentCodes = new long[n];
+        long[] expiringCodes = new long[n];
+        Random random = new Random(23);
+        for (int i = 0; i < n; i++) {
+            String url = "https://www.sitio" + (i % 1000) + ".com/articulos/" + i;
+            permanentCodes[i] = permanent.insertUrlPacked(url);
+            // Plazos repartidos en una hora: la rueda usa varios niveles
+            expiringCodes[i] = expiring.insertUrlPacked(url, 1 + random.nextInt(3_600_000), TimeUnit.MILLISECONDS);
+        }
+
+        double plain = redirectNanos(permanent, permanentCodes);
+        double withTtl = redirectNanos(expiring, expiringCodes);
+
+        // Todo vence a la vez: la limpieza avanza la rueda en lotes acotados
+        now[0] = 3_600_000;
+        long maxPause = 0;
+        long start = System.nanoTime();
+        int batches = 0;
+        while (expiring.getExpiringCount() > 0) {
+            long begin = System.nanoTime();
+            expiring.expireBatch(BATCH);
+            maxPause = Math.max(maxPause, System.nanoTime() - begin);
+            batches++;
+        }
+        double batchedMillis = (System.nanoTime() - start) / 1e6;
+        if (expiring.getUrlCount() != 0) {
+            throw new IllegalStateException("Quedaron códigos vencidos: " + expiring.getUrlCount());
+        }
+
+        // Referencia: una barrida de todos los plazos en una sola pausa
+        long[] deadlines = new long[n];
+        for (int i = 0; i < n; i++) {
+            deadlines[i] = 1 + random.nextInt(3_600_000);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            if (deadlines[i] <= now[0]) {
+                permanent.removeUrl(permanentCodes[i]);
+            }
+        }
+        double scanMillis = (System.nanoTime() - start) / 1e6;
+
+        if (print) {
+            System.out.printf(Locale.ROOT, "redirect sin TTL: %.1f ns/op, con TTL vigente: %.1f ns/op%n", plain, withTtl);
+            System.out.printf(Locale.ROOT, "expireBatch: %d lotes, %.1f ms en total, pausa máxima %.3f ms%n",
+                    batches, batchedMillis, maxPause / 1e6);
+            System.out.printf(Locale.ROOT, "barrida completa: una pausa de %.1f ms%n", scanMillis);
+        }
+    }
+
+    private static double redirectNanos(TinyURL service, long[] codes) {
+        Random random = new Random(7);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < REDIRECTS; i++) {
+            sink += service.redirect(codes[random.nextInt(codes.length)]).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 0) {
+            throw new IllegalStateException("Ningún redirect encontró su URL");
+        }
+        return (double) elapsed / REDIRECTS;
+    }
+}
@@ -0,0 +1,179 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Informe de calidad de distribución de las funciones hash de claves
+ *
+ * Para cada conjunto de claves y cada {@link KeyHasher} se simulan los índices que
+ * usarían las tablas con capacidad potencia de dos y factor de carga 0.75 o menos:
+ *   - encadenamiento (modo CHAINING): entradas del bucket más poblado y comparaciones
+ *     promedio de una búsqueda exitosa si los buckets fueran cadenas (HashTable ordena
+ *     los que pasan de 8 entradas, así que el tiempo medido crece como log n)
+ *   - sondeo lineal (OPEN_ADDRESSING, OFF_HEAP, COMPRESSED, con la misma mezcla que esos
+ *     motores): sondeo más largo y sondeo promedio
+ * y se mide el tiempo de llenar una HashTable en modo CHAINING y de consultar todas sus
+ * claves (se recorre todo una vez para calentar el JIT y se reporta la segunda pasada).
+ *
+ * Conjuntos de claves:
+ *   - aleatorios: códigos base62 de 8 caracteres al azar (CodeStrategy.RANDOM)
+ *   - secuenciales: códigos base62 consecutivos (un contador sin permutar)
+ *   - hashCode igual: cadenas de bloques "Aa"/"BB", todas con el mismo String.hashCode()
+ *   - bits bajos: códigos base62 de 8 caracteres con los 16 bits bajos de
+ *     String.hashCode() en cero, fabricados resolviendo los 3 últimos caracteres
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/HashDistributionReport.java
+ *   java -cp out HashDistributionReport [claves (potencia de dos)]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class HashDistributionReport {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 14;
+        if (Integer.bitCount(n) != 1 || n > 1 << 16) {
+            throw new IllegalArgumentException("El número de claves debe ser potencia de dos, hasta 65536: " + n);
+        }
+        Random random = new Random(31);
+        String[][] sets = {randomCodes(n, random), sequentialCodes(n), equalHashCodes(n), lowBitCodes(n, random)};
+        String[] names = {"aleatorios", "secuenciales", "hashCode igual", "bits bajos"};
+        KeyHasher[] hashers = {KeyHasher.STRING_HASHCODE, KeyHasher.seeded(random.nextLong())};
+        String[] hasherNames = {"String.hashCode", "seeded"};
+
+        int capacity = Integer.highestOneBit((int) Math.ceil(n / 0.75) - 1) << 1;
+        System.out.printf(Locale.ROOT, "claves=%d, capacidad=%d%n", n, capacity);
+        System.out.printf(Locale.ROOT, "%-15s %-16s %10s %10s %10s %10s %10s %10s%n", "claves", "hash",
+                "cadena máx", "cadena avg", "sondeo máx", "sondeo avg", "put ns/op", "get ns/op");
+        for (int pass = 0; pass < 2; pass++) {
+            for (int s = 0; s < sets.length; s++) {
+                for (int h = 0; h < hashers.length; h++) {
+                    report(names[s], hasherNames[h], sets[s], hashers[h], capacity, pass == 1);
+                }
+            }
+        }
+    }
+
+    private static void report(String set, String hasherName, String[] keys, KeyHasher hasher, int capacity,
+                               boolean print) {
+        int mask = capacity - 1;
+        // Encadenamiento: índice = bits bajos del hash (HashTable.indexFor)
+        int[] chains = new int[capacity];
+        for (String key : keys) {
+            chains[(int) hasher.hash(key) & mask]++;
+        }
+        int maxChain = 0;
+        long comparisons = 0;
+        for (int length : chains) {
+            maxChain = Math.max(maxChain, length);
+            comparisons += (long) length * (length + 1) / 2;
+        }
+        // Sondeo lineal con la mezcla de los motores de direccionamiento abierto
+        boolean[] used = new boolean[capacity];
+        int maxProbe = 0;
+        long probes = 0;
+        for (String key : keys) {
+            int h = (int) hasher.hash(key) * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & mask;
+            int probe = 1;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+                probe++;
+            }
+            used[slot] = true;
+            maxProbe = Math.max(maxProbe, probe);
+            probes += probe;
+        }
+
+        double putNanos = 0;
+        double getNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            HashTable table = new HashTable(16, HashTable.StorageMode.CHAINING, hasher);
+            long start = System.nanoTime();
+            for (String key : keys) {
+                table.put(key, key);
+            }
+            putNanos = (double) (System.nanoTime() - start) / keys.length;
+            long sink = 0;
+            start = System.nanoTime();
+            for (String key : keys) {
+                sink += table.get(key).length();
+            }
+            getNanos = (double) (System.nanoTime() - start) / keys.length;
+            if (sink == 0) {
+                throw new IllegalStateException("Ninguna clave se encontró");
+            }
+        }
+        if (print) {
+            System.out.printf(Locale.ROOT, "%-15s %-16s %10d %10.2f %10d %10.2f %10.1f %10.1f%n", set, hasherName,
+                    maxChain, (double) comparisons / keys.length, maxProbe, (double) probes / keys.length,
+                    putNanos, getNanos);
+        }
+    }
+
+    private static String[] randomCodes(int n, Random random) {
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = Base62Codec.encode((random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE);
+        }
+        return keys;
+    }
+
+    private static String[] sequentialCodes(int n) {
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = Base62Codec.encode(1_000_000L + i);
+        }
+        return keys;
+    }
+
+    /**
+     * "Aa" y "BB" tienen el mismo hashCode, así que cualquier concatenación de k bloques
+     * también: 2^k cadenas distintas con un solo hashCode
+     */
+    private static String[] equalHashCodes(int n) {
+        int blocks = Integer.numberOfTrailingZeros(n);
+        String[] keys = new String[n];
+        StringBuilder sb = new StringBuilder(2 * blocks);
+        for (int i = 0; i < n; i++) {
+            sb.setLength(0);
+            for (int b = 0; b < blocks; b++) {
+                sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+
+    /**
+     * Códigos base62 de 8 caracteres cuyo String.hashCode() termina en 16 bits en cero
+     * El hash es prefijo * 31^3 + sufijo, con el sufijo de 3 caracteres; se tabula qué
+     * sufijo da cada residuo módulo 2^16 y para cada prefijo al azar se busca el sufijo
+     * que anula los bits bajos.
+     */
+    private static String[] lowBitCodes(int n, Random random) {
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        String[] suffixFor = new String[1 << 16];
+        for (int a = 0; a < 62; a++) {
+            for (int b = 0; b < 62; b++) {
+                for (int c = 0; c < 62; c++) {
+                    String suffix = "" + alphabet.charAt(a) + alphabet.charAt(b) + alphabet.charAt(c);
+                    suffixFor[suffix.hashCode() & 0xFFFF] = suffix;
+                }
+            }
+        }
+        java.util.Set<String> keys = new java.util.LinkedHashSet<>();
+        char[] prefix = new char[5];
+        while (keys.size() < n) {
+            for (int i = 0; i < prefix.length; i++) {
+                prefix[i] = alphabet.charAt(random.nextInt(62));
+            }
+            int target = -new String(prefix).hashCode() * 29791 & 0xFFFF;
+            if (suffixFor[target] != null) {
+                keys.add(new String(prefix) + suffixFor[target]);
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+}
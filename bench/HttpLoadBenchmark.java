@@ -0,0 +1,172 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generador de carga local para RedirectServer
+ *
+ * Levanta un {@link RedirectServer} en loopback con N URLs y abre C conexiones
+ * persistentes desde un cliente NIO de un solo hilo. Cada conexión tiene siempre una
+ * solicitud GET /{código} en vuelo (un código existente al azar): al llegar la respuesta
+ * registra su latencia y envía la siguiente. Después de un calentamiento se reportan
+ * solicitudes por segundo y la latencia p50/p99/máxima del período medido.
+ *
+ * Cliente y servidor comparten la máquina (y la JVM): con pocos núcleos el número mide
+ * el costo total por solicitud de ambos lados, no solo el del servidor. Cada conexión
+ * usa dos descriptores de archivo en el proceso; si el límite (ulimit -n) no alcanza
+ * para las conexiones pedidas, se usan las que caben y se avisa.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/HttpLoadBenchmark.java
+ *   java -cp out HttpLoadBenchmark [conexiones] [segundos] [SELECTOR|THREAD_PER_CONNECTION] [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class HttpLoadBenchmark {
+    private static final byte[] HEAD_END = {'\r', '\n', '\r', '\n'};
+
+    /**
+     * Conexión del cliente con su solicitud en vuelo
+     */
+    private static final class Client {
+        final SocketChannel channel;
+        ByteBuffer request;
+        long sentAt;
+        // Bytes de "\r\n\r\n" ya vistos al final de lo leído
+        int matched;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 10.0;
+        RedirectServer.IoModel model = args.length > 2 ? RedirectServer.IoModel.valueOf(args[2])
+                : RedirectServer.IoModel.SELECTOR;
+        int n = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+        java.lang.management.OperatingSystemMXBean os = java.lang.management.ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            // Dos descriptores por conexión, más un margen para la JVM
+            long limit = ((com.sun.management.UnixOperatingSystemMXBean) os).getMaxFileDescriptorCount();
+            int fit = (int) Math.max(1, (limit - 256) / 2);
+            if (fit < connections) {
+                System.out.printf(Locale.ROOT, "aviso: ulimit -n = %d, se usan %d conexiones en lugar de %d%n",
+                        limit, fit, connections);
+                connections = fit;
+            }
+        }
+
+        // Con un hilo por conexión el servicio se comparte entre hilos
+        TinyURL service = new TinyURL(model == RedirectServer.IoModel.SELECTOR ? new LongHashTable()
+                : new ShardedCodeTable(16));
+        String[] codes = new String[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = service.insertUrl("https://www.sitio" + (i % 1000) + ".com/articulos/" + i);
+        }
+        byte[][] requests = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            requests[i] = ("GET /" + codes[i] + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        }
+
+        try (RedirectServer server = new RedirectServer(service,
+                new InetSocketAddress(java.net.InetAddress.getLoopbackAddress(), 0), model, true);
+             Selector selector = Selector.open()) {
+            InetSocketAddress address = server.getAddress();
+            java.util.List<Client> clients = new java.util.ArrayList<>(connections);
+            for (int c = 0; c < connections; c++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                channel.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+                Client client = new Client(channel);
+                channel.register(selector, SelectionKey.OP_READ, client);
+                clients.add(client);
+            }
+            System.out.printf(Locale.ROOT, "modelo=%s, hilos virtuales=%b, conexiones=%d, elementos=%d, segundos=%.1f, cpus=%d%n",
+                    model, server.usesVirtualThreads(), clients.size(), n, seconds,
+                    Runtime.getRuntime().availableProcessors());
+
+            Random random = new Random(22);
+            for (Client client : clients) {
+                send(client, requests[random.nextInt(n)], selector);
+            }
+            run(selector, requests, random, seconds / 3, null);
+            Histogram latencies = new Histogram();
+            long start = System.nanoTime();
+            long completed = run(selector, requests, random, seconds, latencies);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            Histogram.Snapshot snapshot = latencies.snapshot();
+            System.out.printf(Locale.ROOT, "  %.0f solicitudes/s, latencia us: p50=%d p99=%d max=%d%n",
+                    completed / elapsed, snapshot.getValueAtPercentile(50) / 1000,
+                    snapshot.getValueAtPercentile(99) / 1000, snapshot.getMax() / 1000);
+            for (Client client : clients) {
+                client.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Atiende respuestas durante el tiempo indicado, enviando una solicitud nueva por
+     * cada respuesta completa
+     * @return El número de respuestas completas
+     */
+    private static long run(Selector selector, byte[][] requests, Random random, double seconds,
+                            Histogram latencies) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        long end = System.nanoTime() + (long) (seconds * 1e9);
+        long completed = 0;
+        while (System.nanoTime() < end) {
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Client client = (Client) key.attachment();
+                if (key.isWritable()) {
+                    client.channel.write(client.request);
+                    if (!client.request.hasRemaining()) {
+                        key.interestOps(SelectionKey.OP_READ);
+                    }
+                    continue;
+                }
+                buffer.clear();
+                if (client.channel.read(buffer) < 0) {
+                    throw new IOException("El servidor cerró una conexión");
+                }
+                buffer.flip();
+                // Las redirecciones no tienen cuerpo: la respuesta termina en "\r\n\r\n"
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    client.matched = b == HEAD_END[client.matched] ? client.matched + 1 : (b == '\r' ? 1 : 0);
+                    if (client.matched == HEAD_END.length) {
+                        client.matched = 0;
+                        completed++;
+                        if (latencies != null) {
+                            latencies.record(System.nanoTime() - client.sentAt);
+                        }
+                        send(client, requests[random.nextInt(requests.length)], selector);
+                    }
+                }
+            }
+        }
+        return completed;
+    }
+
+    private static void send(Client client, byte[] request, Selector selector) throws IOException {
+        client.request = ByteBuffer.wrap(request);
+        client.sentAt = System.nanoTime();
+        client.channel.write(client.request);
+        if (client.request.hasRemaining()) {
+            client.channel.keyFor(selector).interestOps(SelectionKey.OP_WRITE);
+        }
+    }
+}
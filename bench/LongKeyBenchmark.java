@@ -0,0 +1,97 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de memoria por entrada y latencia de búsqueda comparando HashTable (claves
+ * String) con LongHashTable (claves long empaquetadas)
+ *
+ * La memoria se mide como la diferencia de heap usado después de un GC explícito, antes
+ * y después de llenar la tabla; las URLs se comparten entre ambas tablas y no se cuentan.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/LongKeyBenchmark.java
+ *   java -cp out LongKeyBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class LongKeyBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int LOOKUPS = 2_000_000;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(13);
+        long[] codes = new long[n];
+        String[] urls = new String[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            urls[i] = "https://www.ejemplo.com/" + i;
+        }
+        int[] order = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            order[i] = random.nextInt(n);
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d, consultas por ronda=%d%n", n, LOOKUPS);
+        System.out.printf(Locale.ROOT, "%-36s %14s %12s%n", "tabla", "bytes/entrada", "hit ns/op");
+
+        // HashTable: la clave String se crea en cada consulta, como en redirect(String)
+        long before = usedHeap();
+        HashTable strings = new HashTable();
+        for (int i = 0; i < n; i++) {
+            strings.put(Base62Codec.encode(codes[i]), urls[i]);
+        }
+        double bytes = (double) (usedHeap() - before) / n;
+        double best = Double.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += strings.get(Base62Codec.encode(codes[order[i]])).length();
+            }
+            best = Math.min(best, (double) (System.nanoTime() - start) / LOOKUPS);
+        }
+        System.out.printf(Locale.ROOT, "%-36s %14.1f %12.1f%n", "HashTable (String)", bytes, best);
+        strings = null;
+
+        before = usedHeap();
+        LongHashTable longs = new LongHashTable();
+        for (int i = 0; i < n; i++) {
+            longs.put(codes[i], urls[i]);
+        }
+        bytes = (double) (usedHeap() - before) / n;
+        best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += longs.get(codes[order[i]]).length();
+            }
+            best = Math.min(best, (double) (System.nanoTime() - start) / LOOKUPS);
+        }
+        System.out.printf(Locale.ROOT, "%-36s %14.1f %12.1f%n", "LongHashTable (long)", bytes, best);
+
+        // Misma tabla, consultando con el código de texto como haría redirect(String)
+        String[] text = new String[n];
+        for (int i = 0; i < n; i++) {
+            text[i] = Base62Codec.encode(codes[i]);
+        }
+        best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += longs.get(text[order[i]]).length();
+            }
+            best = Math.min(best, (double) (System.nanoTime() - start) / LOOKUPS);
+        }
+        System.out.printf(Locale.ROOT, "%-36s %14s %12.1f   (%d)%n", "LongHashTable (String decodificado)", "-", best,
+                sink & 1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
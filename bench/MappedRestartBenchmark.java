@@ -0,0 +1,70 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de tiempo de reinicio: reabrir un MappedUrlStore frente a reconstruir la
+ * tabla en memoria reinsertando todas las URLs
+ *
+ * Primero se crea un almacén con N URLs y se cierra. Después se mide cuánto tarda en
+ * reabrirse y responder el primer redirect, y la latencia de los redirects siguientes
+ * (las primeras lecturas pueden necesitar traer páginas del disco). Como referencia se
+ * mide cuánto cuesta reconstruir una LongHashTable con las mismas N inserciones.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/MappedRestartBenchmark.java
+ *   java -cp out MappedRestartBenchmark [elementos] [directorio]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class MappedRestartBenchmark {
+    private static final int LOOKUPS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path directory = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("tinyurl-mapped");
+        Random random = new Random(31);
+        long[] codes = new long[n];
+        String[] urls = new String[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            urls[i] = "https://www.ejemplo.com/articulos/" + i + "?origen=benchmark";
+        }
+
+        long start = System.nanoTime();
+        try (MappedUrlStore store = MappedUrlStore.open(directory, 2 * n)) {
+            for (int i = 0; i < n; i++) {
+                store.put(codes[i], urls[i]);
+            }
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d, directorio=%s%n", n, directory);
+        System.out.printf(Locale.ROOT, "  creación y cierre        %10.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        try (MappedUrlStore store = MappedUrlStore.open(directory)) {
+            String first = store.get(codes[0]);
+            double openMillis = (System.nanoTime() - start) / 1e6;
+            System.out.printf(Locale.ROOT, "  reapertura + 1er get     %10.3f ms  (%d URLs, %s)%n", openMillis,
+                    store.size(), first.equals(urls[0]) ? "ok" : "ERROR");
+
+            long sink = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += store.get(codes[random.nextInt(n)]).length();
+            }
+            System.out.printf(Locale.ROOT, "  get() después de abrir   %10.1f ns/op  (%d)%n",
+                    (double) (System.nanoTime() - start) / LOOKUPS, sink & 1);
+        }
+
+        start = System.nanoTime();
+        LongHashTable table = new LongHashTable();
+        for (int i = 0; i < n; i++) {
+            table.put(codes[i], urls[i]);
+        }
+        System.out.printf(Locale.ROOT, "  reconstrucción en memoria %9.1f ms  (%d URLs)%n",
+                (System.nanoTime() - start) / 1e6, table.size());
+    }
+}
@@ -0,0 +1,66 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark del costo de las métricas en redirect()
+ *
+ * Se guardan N URLs y se mide redirect() de códigos existentes sobre una LongHashTable y
+ * sobre una HashTable en modo CHAINING, primero sin métricas y después con un
+ * {@link Metrics} conectado al servicio y a la tabla. Al final se muestra la copia de
+ * las métricas de la última tabla.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/MetricsOverheadBenchmark.java
+ *   java -cp out MetricsOverheadBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class MetricsOverheadBenchmark {
+    private static final int REQUESTS = 1 << 21;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf(Locale.ROOT, "elementos=%d, pedidos=%d%n", n, REQUESTS);
+        Metrics.Snapshot last = null;
+        for (String name : new String[] {"LONG", "CHAINING"}) {
+            KeyValueTable table = name.equals("LONG") ? new LongHashTable() : new HashTable();
+            TinyURL service = new TinyURL(table);
+            long[] codes = new long[n];
+            for (int i = 0; i < n; i++) {
+                codes[i] = service.insertUrlPacked("https://www.sitio" + (i % 500) + ".com/articulos/" + i);
+            }
+            Random random = new Random(41);
+            long[] requests = new long[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                requests[i] = codes[random.nextInt(n)];
+            }
+            double plain = Double.MAX_VALUE;
+            double measured = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                service.setMetrics(null);
+                plain = Math.min(plain, redirect(service, requests));
+                service.setMetrics(new Metrics());
+                measured = Math.min(measured, redirect(service, requests));
+            }
+            last = service.getMetricsSnapshot();
+            System.out.printf(Locale.ROOT, "  %-9s sin métricas %7.1f ns/op  con métricas %7.1f ns/op%n",
+                    name, plain, measured);
+        }
+        System.out.println("  " + last);
+    }
+
+    private static double redirect(TinyURL service, long[] requests) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (long code : requests) {
+            sink += service.redirect(code).length();
+        }
+        double nanos = (double) (System.nanoTime() - start) / requests.length;
+        if (sink == 0) {
+            throw new IllegalStateException("Ningún redirect encontró su URL");
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de redirect con códigos desconocidos: almacén solo frente a FilteredCodeTable
+ *
+ * Se guardan N URLs y se piden códigos al azar que no existen (como un bot que prueba
+ * códigos) mezclados con una fracción de códigos que sí existen. Se mide redirect() sobre
+ * cada almacén sin filtro y con un filtro cuckoo delante, y se reporta la memoria del
+ * filtro por código y la tasa de falsos positivos observada.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/NegativeFilterBenchmark.java
+ *   java -cp out NegativeFilterBenchmark [elementos] [fracción de aciertos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class NegativeFilterBenchmark {
+    private static final int REQUESTS = 1 << 21;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double hitFraction = args.length > 1 ? Double.parseDouble(args[1]) : 0.0;
+        Random random = new Random(29);
+        long[] codes = new long[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+        }
+        long[] requests = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = random.nextDouble() < hitFraction
+                    ? codes[random.nextInt(n)]
+                    : (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d, aciertos=%.2f, pedidos=%d%n", n, hitFraction, REQUESTS);
+
+        String[] stores = {"LONG", "COMPRESSED", "OFF_HEAP"};
+        for (String name : stores) {
+            TinyURL plain = new TinyURL(fill(newStore(name), codes));
+            FilteredCodeTable table = fill(new FilteredCodeTable(newStore(name), n), codes);
+            TinyURL filtered = new TinyURL(table);
+            for (int round = 0; round < ROUNDS; round++) {
+                double plainNanos = redirect(plain, requests);
+                double filteredNanos = redirect(filtered, requests);
+                if (round == ROUNDS - 1) {
+                    long passed = table.getFalsePositives();
+                    long rejected = table.getRejectedLookups();
+                    System.out.printf(Locale.ROOT, "  %-10s sin filtro %7.1f ns/op  con filtro %7.1f ns/op"
+                            + "  filtro %.2f B/código  falsos positivos %.5f%%%n",
+                            name, plainNanos, filteredNanos, (double) table.getFilterBytes() / n,
+                            100.0 * passed / Math.max(1, passed + rejected));
+                }
+            }
+        }
+    }
+
+    private static KeyValueTable newStore(String name) {
+        switch (name) {
+            case "COMPRESSED":
+                return new HashTable(HashTable.StorageMode.COMPRESSED);
+            case "OFF_HEAP":
+                return new HashTable(HashTable.StorageMode.OFF_HEAP);
+            default:
+                return new LongHashTable();
+        }
+    }
+
+    private static <T extends KeyValueTable> T fill(T store, long[] codes) {
+        for (int i = 0; i < codes.length; i++) {
+            String url = "https://www.sitio" + (i % 500) + ".com/articulos/" + i + "?origen=benchmark";
+            if (store instanceof CodeTable) {
+                ((CodeTable) store).put(codes[i], url);
+            } else {
+                store.put(Base62Codec.encode(codes[i]), url);
+            }
+        }
+        return store;
+    }
+
+    private static double redirect(TinyURL service, long[] requests) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (long code : requests) {
+            String url = service.redirect(code);
+            sink += url == null ? 1 : url.length();
+        }
+        double nanos = (double) (System.nanoTime() - start) / requests.length;
+        if (sink == 0) {
+            throw new IllegalStateException("El resultado no se usó");
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,84 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de heap y pausas de GC comparando valores en el heap (CHAINING) con valores
+ * fuera del heap (OFF_HEAP)
+ *
+ * Para cada modo se llena una tabla con URLs y se reporta el heap usado después de un GC
+ * completo, la memoria directa reservada, el tiempo de GC acumulado durante el llenado,
+ * la duración de un GC completo con la tabla llena (lo que cuesta recorrer todo lo que
+ * sigue vivo) y la latencia de get(). Cada modo debería correrse en su propia JVM para que
+ * un modo no herede el heap del otro.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/OffHeapBenchmark.java
+ *   java -Xmx4g -cp out OffHeapBenchmark CHAINING [elementos]
+ *   java -Xmx4g -cp out OffHeapBenchmark OFF_HEAP [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class OffHeapBenchmark {
+    private static final int LOOKUPS = 2_000_000;
+
+    public static void main(String[] args) {
+        HashTable.StorageMode mode = args.length > 0 ? HashTable.StorageMode.valueOf(args[0])
+                : HashTable.StorageMode.OFF_HEAP;
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        Random random = new Random(19);
+
+        long baseline = usedHeapAfterGc();
+        long gcBefore = gcMillis();
+        long start = System.nanoTime();
+        HashTable table = new HashTable(16, 0.75, mode);
+        for (int i = 0; i < n; i++) {
+            table.put(key(i), "https://www.ejemplo.com/articulos/" + random.nextInt()
+                    + "/comentarios?pagina=" + i + "&orden=recientes");
+        }
+        double fillSeconds = (System.nanoTime() - start) / 1e9;
+        long fillGc = gcMillis() - gcBefore;
+
+        long heap = usedHeapAfterGc() - baseline;
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        double fullGcMillis = (System.nanoTime() - fullGcStart) / 1e6;
+
+        long sink = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink += table.get(key(random.nextInt(n))).length();
+        }
+        double lookupNanos = (double) (System.nanoTime() - start) / LOOKUPS;
+
+        System.out.printf(Locale.ROOT, "modo=%s elementos=%d%n", mode, n);
+        System.out.printf(Locale.ROOT, "  heap usado          %8.1f MiB (%.1f bytes/entrada)%n",
+                heap / 1048576.0, (double) heap / n);
+        System.out.printf(Locale.ROOT, "  memoria directa     %8.1f MiB%n", table.getOffHeapBytes() / 1048576.0);
+        System.out.printf(Locale.ROOT, "  llenado             %8.2f s, GC %d ms%n", fillSeconds, fillGc);
+        System.out.printf(Locale.ROOT, "  GC completo lleno   %8.1f ms%n", fullGcMillis);
+        System.out.printf(Locale.ROOT, "  get()               %8.1f ns/op   (%d)%n", lookupNanos, sink & 1);
+    }
+
+    private static String key(int i) {
+        return Base62Codec.encode(i * 2_654_435_761L % Base62Codec.CODE_SPACE);
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
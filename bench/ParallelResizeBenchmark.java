@@ -0,0 +1,78 @@
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark del resize de HashTable (modo CHAINING) serial contra el paralelo
+ *
+ * Llena una tabla con N elementos, justo por debajo del factor de carga, y mide una
+ * llamada a resize(): primero en el hilo que llama y después con
+ * {@link HashTable#setResizePool} sobre pools de 1 a 32 hilos. Cada medición usa una
+ * tabla nueva con las mismas claves (los String ya tienen su hash calculado) y se
+ * reporta la mejor de varias rondas, junto con la aceleración sobre el serial.
+ *
+ * Con más hilos que núcleos el pool no puede acelerar: el resultado depende de los
+ * núcleos de la máquina, que se imprimen al inicio.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/ParallelResizeBenchmark.java
+ *   java -Xmx8g -cp out ParallelResizeBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ParallelResizeBenchmark {
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        // La capacidad potencia de dos más chica en la que caben los N sin redimensionar
+        int capacity = Integer.highestOneBit((int) Math.ceil(n / 0.75));
+        if (capacity * 0.75 < n) {
+            capacity *= 2;
+        }
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = "https://www.sitio" + (i % 1000) + ".com/articulos/" + i;
+            keys[i].hashCode();
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d, capacidad %d -> %d, cpus=%d%n", n, capacity, 2 * capacity,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "%-10s %12s %12s%n", "hilos", "resize ms", "aceleración");
+
+        double serial = best(keys, capacity, null);
+        System.out.printf(Locale.ROOT, "%-10s %12.1f %12s%n", "serial", serial, "1.00x");
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                double millis = best(keys, capacity, pool);
+                System.out.printf(Locale.ROOT, "%-10d %12.1f %11.2fx%n", threads, millis, serial / millis);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Retorna el menor tiempo de resize() en milisegundos entre varias rondas
+     */
+    private static double best(String[] keys, int capacity, ForkJoinPool pool) {
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            HashTable table = new HashTable(capacity);
+            table.setResizePool(pool);
+            for (String key : keys) {
+                table.put(key, key);
+            }
+            // Que el GC de la construcción no caiga dentro de la medición
+            System.gc();
+            long start = System.nanoTime();
+            table.resize();
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            if (table.size() != keys.length || table.capacity() != 2 * capacity) {
+                throw new IllegalStateException("El resize perdió elementos");
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark de throughput de lectura con tráfico casi solo de lecturas
+ * Compara HashTable protegida con un lock global (la única forma de compartirla entre
+ * hilos), ConcurrentHashTable y SnapshotHashTable con 1, 4, 16 y 64 hilos lectores,
+ * mientras un hilo escritor inserta a ritmo fijo (menos del 1% de las operaciones).
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/ReadMostlyBenchmark.java
+ *   java -cp out ReadMostlyBenchmark [elementos] [segundos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ReadMostlyBenchmark {
+    private static final int[] READER_COUNTS = {1, 4, 16, 64};
+    // Una inserción cada WRITE_PAUSE_MICROS microsegundos
+    private static final long WRITE_PAUSE_MICROS = 200;
+
+    /**
+     * HashTable compartida con un lock global
+     */
+    private static final class LockedHashTable implements KeyValueTable {
+        private final HashTable table;
+
+        LockedHashTable(int capacity) {
+            this.table = new HashTable(capacity);
+        }
+
+        @Override
+        public synchronized boolean put(String key, String value) {
+            return table.put(key, value);
+        }
+
+        @Override
+        public synchronized boolean putIfAbsent(String key, String value) {
+            return table.putIfAbsent(key, value);
+        }
+
+        @Override
+        public synchronized String get(String key) {
+            return table.get(key);
+        }
+
+        @Override
+        public synchronized boolean containsKey(String key) {
+            return table.containsKey(key);
+        }
+
+        @Override
+        public synchronized String remove(String key) {
+            return table.remove(key);
+        }
+
+        @Override
+        public synchronized int size() {
+            return table.size();
+        }
+
+        @Override
+        public synchronized int capacity() {
+            return table.capacity();
+        }
+
+        @Override
+        public synchronized double getLoad() {
+            return table.getLoad();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return table.isEmpty();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2.0;
+        String[] keys = new String[n];
+        Random random = new Random(11);
+        for (int i = 0; i < n; i++) {
+            keys[i] = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d, segundos=%.1f, cpus=%d%n",
+                n, seconds, Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "%-22s %8s %16s %14s%n", "tabla", "lectores", "lecturas/s", "escrituras");
+
+        for (int readers : READER_COUNTS) {
+            run("HashTable+lock", new LockedHashTable(2 * n), keys, readers, seconds);
+            run("ConcurrentHashTable", new ConcurrentHashTable(2 * n), keys, readers, seconds);
+            run("SnapshotHashTable", new SnapshotHashTable(2 * n, 64), keys, readers, seconds);
+        }
+    }
+
+    /**
+     * Llena la tabla y mide lecturas por segundo con un escritor en paralelo
+     */
+    private static void run(String name, KeyValueTable table, String[] keys, int readers, double seconds)
+            throws InterruptedException {
+        for (String key : keys) {
+            table.put(key, "https://www.ejemplo.com/" + key);
+        }
+        if (table instanceof SnapshotHashTable) {
+            ((SnapshotHashTable) table).flush();
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder reads = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            final int seed = r;
+            threads[r] = new Thread(() -> {
+                Random local = new Random(seed);
+                long count = 0;
+                awaitQuietly(start);
+                while (!stop.get()) {
+                    for (int i = 0; i < 1024; i++) {
+                        if (table.get(keys[local.nextInt(keys.length)]) != null) {
+                            count++;
+                        }
+                    }
+                }
+                reads.add(count);
+            });
+            threads[r].start();
+        }
+        long[] writes = new long[1];
+        Thread writer = new Thread(() -> {
+            awaitQuietly(start);
+            while (!stop.get()) {
+                table.put("nuevo-" + writes[0], "https://www.ejemplo.com/nuevo");
+                writes[0]++;
+                LockSupport.parkNanos(WRITE_PAUSE_MICROS * 1000);
+            }
+        });
+        writer.start();
+
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep((long) (seconds * 1000));
+        stop.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+        writer.join();
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        System.out.printf(Locale.ROOT, "%-22s %8d %16.0f %14d%n", name, readers, reads.sum() / elapsed, writes[0]);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
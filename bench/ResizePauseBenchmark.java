@@ -0,0 +1,83 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Benchmark de la pausa máxima de put() comparando las estrategias de redimensionamiento
+ * IMMEDIATE e INCREMENTAL de HashTable
+ *
+ * Las muestras durante las cuales corrió el recolector de basura se descartan, para que
+ * la pausa máxima refleje el trabajo de la tabla y no el del GC.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/ResizePauseBenchmark.java
+ *   java -cp out ResizePauseBenchmark [elementos]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ResizePauseBenchmark {
+    private static final int ROUNDS = 3;
+    private static final List<GarbageCollectorMXBean> GC_BEANS =
+            ManagementFactory.getGarbageCollectorMXBeans();
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = "k" + Integer.toString(i, 36);
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d%n", n);
+        System.out.printf(Locale.ROOT, "%-12s %10s %10s %10s %10s%n",
+                "estrategia", "total ms", "p99.9 us", "max ms", "con GC");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (HashTable.ResizeStrategy strategy : HashTable.ResizeStrategy.values()) {
+                run(keys, strategy);
+            }
+        }
+    }
+
+    /**
+     * Inserta todas las claves midiendo la latencia de cada put()
+     */
+    private static void run(String[] keys, HashTable.ResizeStrategy strategy) {
+        HashTable table = new HashTable(16, strategy);
+        long[] latencies = new long[keys.length];
+        int samples = 0;
+        int discarded = 0;
+        long total = 0;
+        long collections = gcCount();
+        for (int i = 0; i < keys.length; i++) {
+            long t0 = System.nanoTime();
+            table.put(keys[i], keys[i]);
+            long elapsed = System.nanoTime() - t0;
+            total += elapsed;
+            long now = gcCount();
+            if (now != collections) {
+                collections = now;
+                discarded++;
+            } else {
+                latencies[samples++] = elapsed;
+            }
+        }
+        Arrays.sort(latencies, 0, samples);
+        long p999 = latencies[(int) (samples * 0.999)];
+        long max = latencies[samples - 1];
+        System.out.printf(Locale.ROOT, "%-12s %10.1f %10.1f %10.2f %10d%n",
+                strategy, total / 1e6, p999 / 1e3, max / 1e6, discarded);
+    }
+
+    /**
+     * Suma las recolecciones hechas por todos los recolectores
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : GC_BEANS) {
+            count += gc.getCollectionCount();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de escalado de TinyURL sobre una ShardedCodeTable de 1 a 16 particiones
+ *
+ * Para cada número de particiones varios hilos comparten un TinyURL sobre una
+ * {@link ShardedCodeTable}: primero insertan N URLs entre todos y después redirigen
+ * códigos al azar. Se reporta:
+ *   - inserciones y redirects por segundo
+ *   - la inserción más lenta (incluye el redimensionamiento más largo: con más
+ *     particiones cada tabla es más chica y sus resizes también)
+ *   - el desbalance: códigos de la partición más cargada sobre el promedio
+ *   - la fracción de códigos que se mueve al agregar una partición, contra el ideal
+ *     1/(N + 1)
+ *
+ * Con "loopback" cada partición es un {@link CodeTableNode} en el mismo proceso,
+ * accedido por TCP con un {@link RemoteCodeTable}; conviene usar menos elementos.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/ShardingBenchmark.java
+ *   java -cp out ShardingBenchmark [elementos] [hilos] [loopback]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ShardingBenchmark {
+    private static final int[] PARTITIONS = {1, 2, 4, 8, 16};
+    // Redirects por hilo y por elemento insertado
+    private static final int REDIRECTS_PER_URL = 2;
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        boolean loopback = args.length > 2 && args[2].equals("loopback");
+        String[] urls = new String[n];
+        for (int i = 0; i < n; i++) {
+            urls[i] = "https://www.sitio" + (i % 1000) + ".com/articulos/" + i;
+        }
+        System.out.printf(Locale.ROOT, "elementos=%d, hilos=%d, cpus=%d, particiones=%s%n", n, threads,
+                Runtime.getRuntime().availableProcessors(), loopback ? "nodos por loopback" : "en proceso");
+        System.out.printf(Locale.ROOT, "%11s %14s %14s %12s %11s %10s %8s%n", "particiones", "inserciones/s",
+                "redirects/s", "put máx ms", "desbalance", "movidos", "ideal");
+        for (int pass = 0; pass < 2; pass++) {
+            for (int partitions : PARTITIONS) {
+                run(urls, partitions, threads, loopback, pass == 1);
+            }
+        }
+    }
+
+    private static void run(String[] urls, int partitions, int threads, boolean loopback, boolean print)
+            throws Exception {
+        java.util.List<AutoCloseable> resources = new java.util.ArrayList<>();
+        try {
+            java.util.List<CodeTable> tables = new java.util.ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                tables.add(loopback ? connect(resources) : new LongHashTable());
+            }
+            ShardedCodeTable sharded = new ShardedCodeTable(tables);
+            TinyURL service = new TinyURL(sharded);
+            long[] codes = new long[urls.length];
+            long[] slowest = new long[threads];
+
+            long start = System.nanoTime();
+            runThreads(threads, t -> {
+                for (int i = t; i < urls.length; i += threads) {
+                    long begin = System.nanoTime();
+                    codes[i] = service.insertUrlPacked(urls[i]);
+                    slowest[t] = Math.max(slowest[t], System.nanoTime() - begin);
+                }
+            });
+            double insertSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            runThreads(threads, t -> {
+                Random random = new Random(t);
+                long sink = 0;
+                for (int i = 0; i < REDIRECTS_PER_URL * urls.length / threads; i++) {
+                    sink += service.redirect(codes[random.nextInt(codes.length)]).length();
+                }
+                if (sink == 0) {
+                    throw new IllegalStateException("Ningún redirect encontró su URL");
+                }
+            });
+            double redirectSeconds = (System.nanoTime() - start) / 1e9;
+
+            int[] sizes = sharded.getPartitionSizes();
+            int largest = 0;
+            for (int size : sizes) {
+                largest = Math.max(largest, size);
+            }
+            double imbalance = largest / ((double) urls.length / partitions);
+            int moved = sharded.addPartition(loopback ? connect(resources) : new LongHashTable());
+            long maxPut = 0;
+            for (long nanos : slowest) {
+                maxPut = Math.max(maxPut, nanos);
+            }
+            if (print) {
+                System.out.printf(Locale.ROOT, "%11d %14.0f %14.0f %12.2f %11.2f %9.1f%% %7.1f%%%n", partitions,
+                        urls.length / insertSeconds, REDIRECTS_PER_URL * urls.length / redirectSeconds,
+                        maxPut / 1e6, imbalance, 100.0 * moved / urls.length, 100.0 / (partitions + 1));
+            }
+        } finally {
+            for (int i = resources.size() - 1; i >= 0; i--) {
+                resources.get(i).close();
+            }
+        }
+    }
+
+    /**
+     * Abre un nodo local y un cliente conectado a él; ambos se cierran al terminar la corrida
+     */
+    private static RemoteCodeTable connect(java.util.List<AutoCloseable> resources) throws IOException {
+        CodeTableNode node = new CodeTableNode();
+        resources.add(node);
+        RemoteCodeTable client = new RemoteCodeTable(node.getAddress());
+        resources.add(client);
+        return client;
+    }
+
+    private interface Work {
+        void run(int thread);
+    }
+
+    private static void runThreads(int threads, Work work) throws InterruptedException {
+        Thread[] running = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            running[t] = new Thread(() -> work.run(id));
+            running[t].start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+    }
+}
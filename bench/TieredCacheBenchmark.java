@@ -0,0 +1,108 @@
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark de redirect con tráfico sesgado: almacén solo frente a TieredCodeTable
+ *
+ * Se guardan N URLs y se generan pedidos con distribución de Zipf (exponente s): el
+ * código de rango r se pide con probabilidad proporcional a 1 / r^s, así unos pocos
+ * miles de códigos reciben la mayoría del tráfico. Se mide redirect() sobre cada
+ * almacén sin caché y con una caché W-TinyLFU de C entradas delante, y se reporta la
+ * tasa de aciertos y los desalojos.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/TieredCacheBenchmark.java
+ *   java -cp out TieredCacheBenchmark [elementos] [caché] [exponente]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class TieredCacheBenchmark {
+    private static final int REQUESTS = 1 << 21;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int cacheCapacity = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        double exponent = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        Random random = new Random(23);
+        long[] codes = new long[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+        }
+        long[] requests = zipfRequests(codes, exponent, random);
+        System.out.printf(Locale.ROOT, "elementos=%d, caché=%d, s=%.2f, pedidos=%d%n", n, cacheCapacity, exponent, REQUESTS);
+
+        String[] stores = {"COMPRESSED", "OFF_HEAP", "LONG"};
+        for (String name : stores) {
+            KeyValueTable store = newStore(name);
+            TinyURL plain = fill(store, codes);
+            TieredCodeTable table = new TieredCodeTable(store, cacheCapacity);
+            TinyURL tiered = new TinyURL(table);
+            for (int round = 0; round < ROUNDS; round++) {
+                double plainNanos = redirect(plain, requests);
+                double tieredNanos = redirect(tiered, requests);
+                if (round == ROUNDS - 1) {
+                    System.out.printf(Locale.ROOT, "  %-10s sin caché %7.1f ns/op  con caché %7.1f ns/op"
+                            + "  aciertos %.3f  desalojos %d%n",
+                            name, plainNanos, tieredNanos, table.getHitRatio(), table.getEvictions());
+                }
+            }
+        }
+    }
+
+    private static KeyValueTable newStore(String name) {
+        switch (name) {
+            case "COMPRESSED":
+                return new HashTable(HashTable.StorageMode.COMPRESSED);
+            case "OFF_HEAP":
+                return new HashTable(HashTable.StorageMode.OFF_HEAP);
+            default:
+                return new LongHashTable();
+        }
+    }
+
+    private static TinyURL fill(KeyValueTable store, long[] codes) {
+        for (int i = 0; i < codes.length; i++) {
+            String url = "https://www.sitio" + (i % 500) + ".com/articulos/" + i + "?origen=benchmark";
+            if (store instanceof CodeTable) {
+                ((CodeTable) store).put(codes[i], url);
+            } else {
+                store.put(Base62Codec.encode(codes[i]), url);
+            }
+        }
+        return new TinyURL(store);
+    }
+
+    private static double redirect(TinyURL service, long[] requests) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (long code : requests) {
+            sink += service.redirect(code).length();
+        }
+        double nanos = (double) (System.nanoTime() - start) / requests.length;
+        if (sink == 0) {
+            throw new IllegalStateException("Ningún redirect encontró su URL");
+        }
+        return nanos;
+    }
+
+    /**
+     * Genera pedidos con distribución de Zipf por muestreo inverso sobre la CDF acumulada
+     */
+    private static long[] zipfRequests(long[] codes, double exponent, Random random) {
+        int n = codes.length;
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int r = 0; r < n; r++) {
+            total += 1.0 / Math.pow(r + 1, exponent);
+            cdf[r] = total;
+        }
+        long[] requests = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            int rank = java.util.Arrays.binarySearch(cdf, random.nextDouble() * total);
+            requests[i] = codes[Math.min(n - 1, rank < 0 ? -rank - 1 : rank)];
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,74 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark de inserciones durables: TinyURL sobre ConcurrentHashTable con un
+ * WriteAheadLog en cada política de sincronización
+ *
+ * Varios hilos llaman a insertUrl durante unos segundos; cada llamada retorna cuando la
+ * política lo permite (EVERY_OP y GROUP: después del fsync). Se reportan inserciones por
+ * segundo y registros cubiertos por cada fsync. Como referencia se mide el mismo
+ * servicio sin log.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/WalBenchmark.java
+ *   java -cp out WalBenchmark [segundos] [directorio]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class WalBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 3;
+        Path directory = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("tinyurl-wal");
+        System.out.printf(Locale.ROOT, "segundos=%.1f, directorio=%s%n", seconds, directory);
+        for (int threads : THREAD_COUNTS) {
+            run(null, threads, seconds);
+            for (WriteAheadLog.SyncPolicy policy : WriteAheadLog.SyncPolicy.values()) {
+                Path file = directory.resolve(policy + "-" + threads + ".wal");
+                try (WriteAheadLog log = WriteAheadLog.open(file, policy, 2_000)) {
+                    run(log, threads, seconds);
+                }
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void run(WriteAheadLog log, int threads, double seconds)
+            throws InterruptedException, IOException {
+        TinyURL service = new TinyURL(new ConcurrentHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder inserts = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread worker = new Thread(() -> {
+                for (long i = 0; running.get(); i++) {
+                    service.insertUrl("https://www.ejemplo.com/" + id + "/" + i);
+                    inserts.increment();
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        long start = System.nanoTime();
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        done.await();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        String syncs = "";
+        if (log != null) {
+            String summary = log.toString();
+            syncs = summary.substring(summary.indexOf("syncs="), summary.length() - 1);
+        }
+        System.out.printf(Locale.ROOT, "  hilos=%2d  %-8s %12.0f inserciones/s  %s%n", threads,
+                log == null ? "sin log" : log.getSyncPolicy(), inserts.sum() / elapsed, syncs);
+    }
+}
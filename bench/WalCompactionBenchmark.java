@@ -0,0 +1,70 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Benchmark del costo de reinicio de un WriteAheadLog con y sin compactación
+ *
+ * Se mantienen N URLs vivas y se agrega un historial de H operaciones de churn
+ * (insertar una URL nueva y borrar la más antigua). Sin compactación el log guarda todo
+ * el historial y reabrir cuesta O(N + H); con compactación en segundo plano reabrir
+ * cuesta O(N) más el archivo activo, y con un compact() explícito al terminar, solo O(N).
+ * Se reporta el throughput de escritura durante el
+ * historial, el tamaño en disco y el tiempo de reproducir el log en una LongHashTable.
+ *
+ * Ejecutar (desde la raíz del proyecto):
+ *   javac -d out src/*.java bench/WalCompactionBenchmark.java
+ *   java -cp out WalCompactionBenchmark [vivas] [historial] [directorio]
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class WalCompactionBenchmark {
+    private static final long COMPACTION_THRESHOLD = 16L << 20;
+
+    public static void main(String[] args) throws IOException {
+        int live = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int history = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("tinyurl-compaction");
+        System.out.printf(Locale.ROOT, "vivas=%d, historial=%d, directorio=%s%n", live, history, directory);
+        run(directory.resolve("sin-compactar.wal"), Long.MAX_VALUE, false, live, history);
+        run(directory.resolve("en-fondo.wal"), COMPACTION_THRESHOLD, false, live, history);
+        run(directory.resolve("compact.wal"), COMPACTION_THRESHOLD, true, live, history);
+    }
+
+    private static void run(Path file, long threshold, boolean compactAtEnd, int live, int history)
+            throws IOException {
+        long start = System.nanoTime();
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.INTERVAL, 2_000, threshold);
+        try (log) {
+            for (long code = 0; code < live + history; code++) {
+                log.logPut(code, "https://www.ejemplo.com/articulos/" + code + "?origen=benchmark");
+                if (code >= live) {
+                    log.logRemove(code - live);
+                }
+            }
+            if (compactAtEnd) {
+                log.compact();
+            }
+        }
+        double writeSeconds = (System.nanoTime() - start) / 1e9;
+        long bytes = Files.size(file);
+        Path snapshot = file.resolveSibling(file.getFileName() + ".snapshot");
+        if (Files.exists(snapshot)) {
+            bytes += Files.size(snapshot);
+        }
+
+        start = System.nanoTime();
+        LongHashTable table = new LongHashTable();
+        long records;
+        try (WriteAheadLog reopened = WriteAheadLog.open(file)) {
+            records = reopened.replayInto(table);
+        }
+        double replayMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf(Locale.ROOT, "  %-14s %9.0f ops/s  %8.1f MiB en disco  reinicio %8.1f ms"
+                + "  (%d registros, %d vivas)  %s%n",
+                file.getFileName(), (live + 2.0 * history) / writeSeconds, bytes / 1048576.0, replayMillis,
+                records, table.size(), log.toString().replaceAll(".*(compactions=\\d+).*", "$1"));
+    }
+}
@@ -0,0 +1,49 @@
+package tinyurl;
+
+/**
+ * Claves y URLs deterministas para los benchmarks JMH
+ * La clave i es el código en la posición i de una permutación de los 62^8 códigos, así
+ * las claves [0, n) son distintas entre sí y distintas de cualquier clave i >= n (que
+ * sirven como fallos garantizados) sin guardar arreglos de n elementos, lo que importa
+ * con tablas de 10^8 entradas.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class BenchmarkKeys {
+    // Número de claves precalculadas que recorre cada benchmark (potencia de dos)
+    static final int SAMPLE = 1 << 16;
+    static final int SAMPLE_MASK = SAMPLE - 1;
+
+    private final FeistelCodeGenerator permutation = new FeistelCodeGenerator(0x5DEECE66DL);
+
+    long code(long i) {
+        return permutation.permute(i);
+    }
+
+    String key(long i) {
+        return Base62Codec.encode(code(i));
+    }
+
+    static String url(long i) {
+        return "https://www.ejemplo.com/articulos/" + i + "?origen=jmh";
+    }
+
+    /**
+     * Índices de consulta: con probabilidad hitRatio una clave presente (en [0, size)) y
+     * si no una ausente (en [size, 2 * size))
+     * @param size Número de claves presentes
+     * @param hitRatio Proporción de aciertos, en [0, 1]
+     * @param seed Semilla del generador
+     * @return SAMPLE índices
+     */
+    static long[] mix(int size, double hitRatio, long seed) {
+        java.util.SplittableRandom random = new java.util.SplittableRandom(seed);
+        long[] indices = new long[SAMPLE];
+        for (int i = 0; i < SAMPLE; i++) {
+            long index = random.nextInt(size);
+            indices[i] = random.nextDouble() < hitRatio ? index : size + index;
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,122 @@
+package tinyurl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks JMH multihilo de las tablas compartidas entre hilos
+ * El número de hilos de get y putThenRemove se elige con la opción -t de JMH (por defecto
+ * 4; -t max usa un hilo por CPU). El grupo mixed fija 3 lectores por cada escritor.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentTableBenchmark {
+
+    /**
+     * Tabla compartida con size claves
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"1000", "100000", "10000000"})
+        int size;
+
+        @Param({"ConcurrentHashTable", "SnapshotHashTable"})
+        String impl;
+
+        final BenchmarkKeys keys = new BenchmarkKeys();
+        KeyValueTable shared;
+
+        @Setup(Level.Trial)
+        public void fill() {
+            if ("ConcurrentHashTable".equals(impl)) {
+                shared = new ConcurrentHashTable();
+            } else if ("SnapshotHashTable".equals(impl)) {
+                shared = new SnapshotHashTable();
+            } else {
+                throw new IllegalArgumentException("Tabla desconocida: " + impl);
+            }
+            for (int i = 0; i < size; i++) {
+                shared.put(keys.key(i), BenchmarkKeys.url(i));
+            }
+        }
+    }
+
+    /**
+     * Claves de cada hilo: las ausentes son distintas en cada hilo
+     */
+    @State(Scope.Thread)
+    public static class Local {
+        private static final java.util.concurrent.atomic.AtomicInteger THREADS =
+                new java.util.concurrent.atomic.AtomicInteger();
+
+        String[] present;
+        String[] absent;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void prepare(Shared shared) {
+            int thread = THREADS.getAndIncrement();
+            long[] indices = BenchmarkKeys.mix(shared.size, 1.0, thread);
+            present = new String[BenchmarkKeys.SAMPLE];
+            absent = new String[BenchmarkKeys.SAMPLE];
+            for (int i = 0; i < BenchmarkKeys.SAMPLE; i++) {
+                present[i] = shared.keys.key(indices[i]);
+                absent[i] = shared.keys.key(shared.size + (long) thread * BenchmarkKeys.SAMPLE + i);
+            }
+        }
+
+        int next() {
+            return cursor++ & BenchmarkKeys.SAMPLE_MASK;
+        }
+    }
+
+    @Benchmark
+    public String get(Shared shared, Local local) {
+        return shared.shared.get(local.present[local.next()]);
+    }
+
+    @Benchmark
+    public String putThenRemove(Shared shared, Local local) {
+        String key = local.absent[local.next()];
+        shared.shared.put(key, key);
+        return shared.shared.remove(key);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public String mixedGet(Shared shared, Local local) {
+        return shared.shared.get(local.present[local.next()]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public String mixedPutThenRemove(Shared shared, Local local) {
+        String key = local.absent[local.next()];
+        shared.shared.put(key, key);
+        return shared.shared.remove(key);
+    }
+}
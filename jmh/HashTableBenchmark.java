@@ -0,0 +1,147 @@
+package tinyurl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks JMH de las operaciones de HashTable
+ * La tabla se llena con size claves y se construye con capacidad (size + 1) / loadFactor, así
+ * que todas las mediciones (salvo resize) se hacen con ese factor de carga exacto y sin
+ * redimensionar en medio.
+ *
+ *   get            consulta; hitRatio es la proporción de claves presentes
+ *   putExisting    actualiza una clave presente
+ *   putThenRemove  inserta una clave nueva y la elimina (el tamaño no cambia)
+ *   resize         duplica la capacidad de una tabla recién llenada (una vez por medición)
+ *
+ * size=100000000 necesita un heap de unos 20 GB: -jvmArgsAppend -Xmx24g.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+
+    /**
+     * Tabla llena con size claves al factor de carga indicado
+     */
+    @State(Scope.Benchmark)
+    public static class Filled {
+        @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+        int size;
+
+        @Param({"0.5", "0.75", "0.9"})
+        double loadFactor;
+
+        @Param({"CHAINING", "OPEN_ADDRESSING"})
+        HashTable.StorageMode mode;
+
+        final BenchmarkKeys keys = new BenchmarkKeys();
+        HashTable table;
+
+        @Setup(Level.Trial)
+        public void fill() {
+            table = newTable(size, loadFactor, mode);
+            for (int i = 0; i < size; i++) {
+                table.put(keys.key(i), BenchmarkKeys.url(i));
+            }
+        }
+    }
+
+    /**
+     * Claves que recorre cada hilo, precalculadas para no medir su construcción
+     */
+    @State(Scope.Thread)
+    public static class Lookups {
+        @Param({"1.0", "0.5", "0.0"})
+        double hitRatio;
+
+        String[] mixed;
+        String[] present;
+        String[] absent;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void prepare(Filled filled) {
+            long[] indices = BenchmarkKeys.mix(filled.size, hitRatio, 17);
+            mixed = new String[BenchmarkKeys.SAMPLE];
+            present = new String[BenchmarkKeys.SAMPLE];
+            absent = new String[BenchmarkKeys.SAMPLE];
+            for (int i = 0; i < BenchmarkKeys.SAMPLE; i++) {
+                long index = indices[i] % filled.size;
+                mixed[i] = filled.keys.key(indices[i]);
+                present[i] = filled.keys.key(index);
+                absent[i] = filled.keys.key(filled.size + index);
+            }
+        }
+
+        int next() {
+            return cursor++ & BenchmarkKeys.SAMPLE_MASK;
+        }
+    }
+
+    /**
+     * Una tabla nueva por cada medición de resize
+     */
+    @State(Scope.Thread)
+    public static class Full {
+        HashTable table;
+
+        @Setup(Level.Invocation)
+        public void fill(Filled filled) {
+            table = newTable(filled.size, filled.loadFactor, filled.mode);
+            for (int i = 0; i < filled.size; i++) {
+                table.put(filled.keys.key(i), BenchmarkKeys.url(i));
+            }
+        }
+    }
+
+    static HashTable newTable(int size, double loadFactor, HashTable.StorageMode mode) {
+        // Espacio para la clave extra de putThenRemove sin pasar del factor de carga
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil((size + 1) / loadFactor));
+        return new HashTable(capacity, loadFactor, mode);
+    }
+
+    @Benchmark
+    public String get(Filled filled, Lookups lookups) {
+        return filled.table.get(lookups.mixed[lookups.next()]);
+    }
+
+    @Benchmark
+    public boolean putExisting(Filled filled, Lookups lookups) {
+        int i = lookups.next();
+        return filled.table.put(lookups.present[i], lookups.mixed[i]);
+    }
+
+    @Benchmark
+    public String putThenRemove(Filled filled, Lookups lookups) {
+        String key = lookups.absent[lookups.next()];
+        filled.table.put(key, key);
+        return filled.table.remove(key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public HashTable resize(Full full) {
+        full.table.resize();
+        return full.table;
+    }
+}
@@ -0,0 +1,129 @@
+package tinyurl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks JMH de las operaciones de TinyURL
+ * El servicio se llena con size URLs sobre la tabla indicada: LONG es la LongHashTable
+ * por defecto, CHAINING y OPEN_ADDRESSING son HashTable en esos modos.
+ *
+ *   redirect            consulta un código; hitRatio es la proporción de códigos existentes
+ *   insertUrlThenRemove inserta una URL y elimina su código (el tamaño no cambia)
+ *   generateUniqueCode  genera un código aleatorio que no está en la tabla
+ *
+ * size=100000000 necesita un heap de unos 20 GB: -jvmArgsAppend -Xmx24g.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TinyURLBenchmark {
+
+    /**
+     * Servicio con size URLs
+     */
+    @State(Scope.Benchmark)
+    public static class Service {
+        @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+        int size;
+
+        @Param({"LONG", "CHAINING", "OPEN_ADDRESSING", "COMPRESSED"})
+        String table;
+
+        TinyURL service;
+        // Muestra de códigos existentes, tomada a lo largo de la inserción
+        String[] codes;
+
+        @Setup(Level.Trial)
+        public void fill() {
+            service = new TinyURL(newTable(table));
+            codes = new String[BenchmarkKeys.SAMPLE];
+            for (int i = 0; i < size; i++) {
+                String code = service.insertUrl(BenchmarkKeys.url(i));
+                codes[i & BenchmarkKeys.SAMPLE_MASK] = code;
+            }
+            for (int i = size; i < BenchmarkKeys.SAMPLE; i++) {
+                codes[i] = codes[i % size];
+            }
+        }
+    }
+
+    /**
+     * Códigos y URLs que recorre cada hilo
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+        @Param({"1.0", "0.5", "0.0"})
+        double hitRatio;
+
+        String[] codes;
+        String[] urls;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void prepare(Service service) {
+            java.util.SplittableRandom random = new java.util.SplittableRandom(23);
+            codes = new String[BenchmarkKeys.SAMPLE];
+            urls = new String[BenchmarkKeys.SAMPLE];
+            for (int i = 0; i < BenchmarkKeys.SAMPLE; i++) {
+                // Un código aleatorio casi seguro no existe: hay 62^8 posibles
+                codes[i] = random.nextDouble() < hitRatio
+                        ? service.codes[random.nextInt(BenchmarkKeys.SAMPLE)]
+                        : Base62Codec.encode(random.nextLong(Base62Codec.CODE_SPACE));
+                urls[i] = BenchmarkKeys.url(service.size + i);
+            }
+        }
+
+        int next() {
+            return cursor++ & BenchmarkKeys.SAMPLE_MASK;
+        }
+    }
+
+    static KeyValueTable newTable(String table) {
+        switch (table) {
+            case "LONG":
+                return new LongHashTable();
+            case "CHAINING":
+                return new HashTable(HashTable.StorageMode.CHAINING);
+            case "OPEN_ADDRESSING":
+                return new HashTable(HashTable.StorageMode.OPEN_ADDRESSING);
+            case "COMPRESSED":
+                return new HashTable(HashTable.StorageMode.COMPRESSED);
+            default:
+                throw new IllegalArgumentException("Tabla desconocida: " + table);
+        }
+    }
+
+    @Benchmark
+    public String redirect(Service service, Requests requests) {
+        return service.service.redirect(requests.codes[requests.next()]);
+    }
+
+    @Benchmark
+    public String insertUrlThenRemove(Service service, Requests requests) {
+        String code = service.service.insertUrl(requests.urls[requests.next()]);
+        return service.service.removeUrl(code);
+    }
+
+    @Benchmark
+    public String generateUniqueCode(Service service) {
+        return service.service.generateUniqueCode();
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Conversión sin objetos intermedios entre códigos cortos de 8 caracteres base62 y long
+ * Un código se empaqueta como su valor numérico en base62: el primer carácter es el
+ * dígito más significativo, así que la conversión es exacta en ambos sentidos y todo
+ * código válido cabe en [0, 62^8), que ocupa 48 bits.
+ *
+ * La codificación usa una tabla de pares de caracteres (62^2 entradas) y divide el valor
+ * en dos mitades de 4 dígitos que caben en un int, de modo que solo hay dos divisiones
+ * de 64 bits por código. La decodificación usa una tabla indexada por carácter. Ninguna
+ * de las dos crea objetos, salvo el String final de {@link #encode(long)}.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public final class Base62Codec {
+    // Caracteres permitidos en los códigos cortos (62 en total), en orden de dígito
+    static final String CHARACTERS =
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    /** Longitud de los códigos */
+    public static final int CODE_LENGTH = 8;
+    /** Número de códigos distintos: 62^8 */
+    public static final long CODE_SPACE = 218_340_105_584_896L;
+    /** Valor que retorna {@link #decode(CharSequence)} si el texto no es un código válido */
+    public static final long INVALID = -1L;
+    // 62^2 y 62^4
+    private static final int BASE2 = 62 * 62;
+    private static final int BASE4 = BASE2 * BASE2;
+
+    // PAIRS[2 * i] y PAIRS[2 * i + 1] son los dos dígitos de i, para i en [0, 62^2)
+    private static final char[] PAIRS = new char[2 * BASE2];
+    // Valor de cada carácter ASCII, o -1 si no pertenece al alfabeto
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        for (int i = 0; i < BASE2; i++) {
+            PAIRS[2 * i] = CHARACTERS.charAt(i / 62);
+            PAIRS[2 * i + 1] = CHARACTERS.charAt(i % 62);
+        }
+        java.util.Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < CHARACTERS.length(); i++) {
+            DIGITS[CHARACTERS.charAt(i)] = (byte) i;
+        }
+    }
+
+    private Base62Codec() {
+    }
+
+    /**
+     * Verifica si un long representa un código válido
+     * @param code El código empaquetado
+     * @return true si está en [0, 62^8)
+     */
+    public static boolean isValid(long code) {
+        return code >= 0 && code < CODE_SPACE;
+    }
+
+    /**
+     * Convierte un código de texto a su forma empaquetada
+     * @param code El código de 8 caracteres
+     * @return El código empaquetado, o INVALID si es null, no tiene 8 caracteres o
+     *         contiene caracteres fuera del alfabeto
+     */
+    public static long decode(CharSequence code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            char c = code.charAt(i);
+            int digit = c < 128 ? DIGITS[c] : -1;
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = value * 62 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Convierte una clave String a código empaquetado para insertarla en una tabla
+     * @param key La clave
+     * @return El código empaquetado
+     * @throws IllegalArgumentException si la clave es null o no es un código válido
+     */
+    static long decodeKey(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("La clave no puede ser null");
+        }
+        long code = decode(key);
+        if (code == INVALID) {
+            throw new IllegalArgumentException("La clave no es un código base62 de 8 caracteres: " + key);
+        }
+        return code;
+    }
+
+    /**
+     * Convierte un código empaquetado a texto
+     * @param code El código empaquetado, en [0, 62^8)
+     * @return El código de 8 caracteres
+     * @throws IllegalArgumentException si el código está fuera de rango
+     */
+    public static String encode(long code) {
+        char[] chars = new char[CODE_LENGTH];
+        encode(code, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Escribe un código empaquetado como 8 caracteres en un arreglo, sin reservar memoria
+     * @param code El código empaquetado, en [0, 62^8)
+     * @param dst Arreglo destino
+     * @param offset Posición del primer carácter
+     * @throws IllegalArgumentException si el código está fuera de rango
+     */
+    public static void encode(long code, char[] dst, int offset) {
+        if (!isValid(code)) {
+            throw new IllegalArgumentException("Código fuera de rango: " + code);
+        }
+        int high = (int) (code / BASE4);
+        int low = (int) (code - (long) high * BASE4);
+        writePairs(high, dst, offset);
+        writePairs(low, dst, offset + 4);
+    }
+
+    /**
+     * Escribe un número de 4 dígitos base62 usando dos pares de la tabla
+     */
+    private static void writePairs(int value, char[] dst, int offset) {
+        int first = value / BASE2;
+        int second = value - first * BASE2;
+        dst[offset] = PAIRS[2 * first];
+        dst[offset + 1] = PAIRS[2 * first + 1];
+        dst[offset + 2] = PAIRS[2 * second];
+        dst[offset + 3] = PAIRS[2 * second + 1];
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Tabla indexada directamente por códigos cortos empaquetados en long
+ * (ver {@link Base62Codec}). TinyURL usa estas operaciones en lugar de las de String
+ * cuando su tabla las implementa, así no crea ningún String de código.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public interface CodeTable extends KeyValueTable {
+
+    /**
+     * Almacena un valor con su código correspondiente
+     * @param code El código empaquetado (no negativo)
+     * @param value El valor a almacenar
+     * @return true si el código era nuevo, false si ya existía y se actualizó
+     * @throws IllegalArgumentException si el código es negativo o el valor es null
+     */
+    boolean put(long code, String value);
+
+    /**
+     * Almacena un valor solo si el código no existe todavía
+     * @param code El código empaquetado (no negativo)
+     * @param value El valor a almacenar
+     * @return true si se insertó, false si el código ya existía (y no se modificó)
+     * @throws IllegalArgumentException si el código es negativo o el valor es null
+     */
+    boolean putIfAbsent(long code, String value);
+
+    /**
+     * Recupera el valor asociado con un código
+     * @param code El código empaquetado
+     * @return El valor asociado, o null si no se encuentra
+     */
+    String get(long code);
+
+    /**
+     * Verifica si un código existe en la tabla
+     * @param code El código empaquetado
+     * @return true si el código existe, false en caso contrario
+     */
+    boolean containsKey(long code);
+
+    /**
+     * Elimina una entrada de la tabla
+     * @param code El código empaquetado
+     * @return El valor que fue eliminado, o null si el código no existía
+     */
+    String remove(long code);
+
+    /**
+     * Almacena varios pares código-valor, en orden (un código repetido queda con el
+     * último valor)
+     * @param codes Los códigos empaquetados (no negativos)
+     * @param values Los valores, en el mismo orden que los códigos
+     * @return El número de códigos que eran nuevos
+     * @throws IllegalArgumentException si algún arreglo o valor es null, algún código es
+     *         negativo o los arreglos tienen distinta longitud (antes de modificar la tabla)
+     */
+    default int putAll(long[] codes, String[] values) {
+        checkBatch(codes, values);
+        int added = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (put(codes[i], values[i])) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Recupera los valores de varios códigos
+     * @param codes Los códigos empaquetados
+     * @return Un arreglo con el valor de cada código, o null en los que no se encuentran
+     * @throws IllegalArgumentException si el arreglo es null
+     */
+    default String[] getAll(long[] codes) {
+        if (codes == null) {
+            throw new IllegalArgumentException("El arreglo de códigos no puede ser null");
+        }
+        String[] values = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            values[i] = get(codes[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Valida los argumentos de {@link #putAll(long[], String[])}
+     * @throws IllegalArgumentException si algún arreglo o valor es null, algún código es
+     *         negativo o los arreglos tienen distinta longitud
+     */
+    static void checkBatch(long[] codes, String[] values) {
+        if (codes == null || values == null) {
+            throw new IllegalArgumentException("Los arreglos del lote no pueden ser null");
+        }
+        if (codes.length != values.length) {
+            throw new IllegalArgumentException("Los códigos y los valores tienen distinta longitud: "
+                    + codes.length + " y " + values.length);
+        }
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] < 0) {
+                throw new IllegalArgumentException("El código no puede ser negativo: " + codes[i]);
+            }
+            if (values[i] == null) {
+                throw new IllegalArgumentException("El valor no puede ser null (posición " + i + ")");
+            }
+        }
+    }
+}
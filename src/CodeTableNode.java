@@ -0,0 +1,297 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nodo local que sirve una {@link LongHashTable} por TCP en la interfaz de loopback
+ * Hace de partición remota de una {@link ShardedCodeTable}: un {@link RemoteCodeTable}
+ * se conecta al nodo y le envía las operaciones de {@link CodeTable}. Cada conexión se
+ * atiende en su propio hilo y las operaciones se serializan con el monitor de la tabla.
+ *
+ * Protocolo: el cliente envía un byte de operación y sus argumentos; el nodo responde un
+ * byte de estado (OK o ERROR) seguido del resultado, o del mensaje de error. Los
+ * códigos viajan como long y las URLs como un int de longitud (-1 para null) seguido
+ * de sus bytes UTF-8.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class CodeTableNode implements AutoCloseable {
+    // Operaciones
+    static final byte PUT = 1;
+    static final byte PUT_IF_ABSENT = 2;
+    static final byte GET = 3;
+    static final byte CONTAINS = 4;
+    static final byte REMOVE = 5;
+    static final byte SIZE = 6;
+    static final byte CAPACITY = 7;
+    static final byte PUT_ALL = 8;
+    static final byte GET_ALL = 9;
+    static final byte SCAN = 10;
+    // Estados de respuesta
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private final LongHashTable table = new LongHashTable();
+    private final ServerSocket server;
+    private final Thread acceptor;
+    // Conexiones abiertas, para cerrarlas con el nodo
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor que abre el nodo en un puerto libre de la interfaz de loopback
+     * @throws IOException si no se puede abrir el socket
+     */
+    public CodeTableNode() throws IOException {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptLoop, "code-table-node-" + server.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Retorna la dirección en la que escucha el nodo
+     * @return La dirección de loopback y el puerto
+     */
+    public InetSocketAddress getAddress() {
+        return new InetSocketAddress(server.getInetAddress(), server.getLocalPort());
+    }
+
+    /**
+     * Retorna el número de códigos guardados en el nodo
+     * @return El número de códigos
+     */
+    public int size() {
+        synchronized (table) {
+            return table.size();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                // close() cerró el socket del servidor
+                return;
+            }
+            connections.add(socket);
+            Thread worker = new Thread(() -> serve(socket), acceptor.getName() + "-" + socket.getPort());
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Atiende las operaciones de una conexión hasta que el cliente la cierra
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+            while (true) {
+                int op = in.read();
+                if (op < 0) {
+                    return;
+                }
+                handle((byte) op, in, out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Conexión cortada: el cliente verá el error en su lado
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Lee los argumentos de una operación, la aplica a la tabla y escribe la respuesta
+     * Los errores de la tabla (argumentos inválidos) se responden con ERROR y la conexión
+     * sigue abierta.
+     */
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case PUT:
+            case PUT_IF_ABSENT: {
+                long code = in.readLong();
+                String value = readString(in);
+                boolean result;
+                try {
+                    synchronized (table) {
+                        result = op == PUT ? table.put(code, value) : table.putIfAbsent(code, value);
+                    }
+                } catch (RuntimeException e) {
+                    writeError(out, e);
+                    return;
+                }
+                out.writeByte(OK);
+                out.writeBoolean(result);
+                return;
+            }
+            case GET:
+            case REMOVE: {
+                long code = in.readLong();
+                String value;
+                synchronized (table) {
+                    value = op == GET ? table.get(code) : table.remove(code);
+                }
+                out.writeByte(OK);
+                writeString(out, value);
+                return;
+            }
+            case CONTAINS: {
+                long code = in.readLong();
+                boolean result;
+                synchronized (table) {
+                    result = table.containsKey(code);
+                }
+                out.writeByte(OK);
+                out.writeBoolean(result);
+                return;
+            }
+            case SIZE:
+            case CAPACITY: {
+                int result;
+                synchronized (table) {
+                    result = op == SIZE ? table.size() : table.capacity();
+                }
+                out.writeByte(OK);
+                out.writeInt(result);
+                return;
+            }
+            case PUT_ALL: {
+                int n = in.readInt();
+                long[] codes = new long[n];
+                String[] values = new String[n];
+                for (int i = 0; i < n; i++) {
+                    codes[i] = in.readLong();
+                    values[i] = readString(in);
+                }
+                int added;
+                try {
+                    synchronized (table) {
+                        added = table.putAll(codes, values);
+                    }
+                } catch (RuntimeException e) {
+                    writeError(out, e);
+                    return;
+                }
+                out.writeByte(OK);
+                out.writeInt(added);
+                return;
+            }
+            case GET_ALL: {
+                int n = in.readInt();
+                long[] codes = new long[n];
+                for (int i = 0; i < n; i++) {
+                    codes[i] = in.readLong();
+                }
+                String[] values;
+                synchronized (table) {
+                    values = table.getAll(codes);
+                }
+                out.writeByte(OK);
+                for (String value : values) {
+                    writeString(out, value);
+                }
+                return;
+            }
+            case SCAN: {
+                // Se copia bajo el monitor y se envía fuera de él
+                List<Long> codes = new ArrayList<>();
+                List<String> values = new ArrayList<>();
+                synchronized (table) {
+                    table.forEach((code, value) -> {
+                        codes.add(code);
+                        values.add(value);
+                    });
+                }
+                out.writeByte(OK);
+                out.writeInt(codes.size());
+                for (int i = 0; i < codes.size(); i++) {
+                    out.writeLong(codes.get(i));
+                    writeString(out, values.get(i));
+                }
+                return;
+            }
+            default:
+                throw new IOException("Operación desconocida: " + op);
+        }
+    }
+
+    private static void writeError(DataOutputStream out, RuntimeException e) throws IOException {
+        out.writeByte(ERROR);
+        writeString(out, String.valueOf(e.getMessage()));
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Cierra el nodo y todas sus conexiones; los clientes conectados reciben un error
+     * en su próxima operación
+     * @throws IOException si falla el cierre del socket del servidor
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Se sigue cerrando el resto
+            }
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retorna una representación en cadena del nodo para debugging
+     * @return String con la dirección y el estado de la tabla
+     */
+    @Override
+    public String toString() {
+        synchronized (table) {
+            return "CodeTableNode{address=" + getAddress()
+                    + ", size=" + table.size()
+                    + ", capacity=" + table.capacity()
+                    + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", table.getLoad())
+                    + "}";
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Motor de HashTable para el modo COMPRESSED
+ * Cada valor se guarda codificado por un {@link UrlCompressor}: el prefijo compartido
+ * (esquema, host y primer segmento) queda en un diccionario y la tabla solo guarda un
+ * byte[] con el id del prefijo y el resto de la URL. get() reconstruye el String en cada
+ * llamada, así que se cambia latencia de lectura por memoria.
+ *
+ * El sondeo lineal y la eliminación por desplazamiento hacia atrás vienen de
+ * {@link LinearProbingTable}; esta clase solo codifica y decodifica los valores.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+class CompressedTable extends LinearProbingTable<byte[][]> {
+    private final UrlCompressor compressor = new UrlCompressor();
+    // Suma de las longitudes de los valores codificados vivos
+    private long valueBytes;
+
+    /**
+     * Constructor que crea los arreglos con la capacidad indicada
+     * @param capacity Número de ranuras (positivo)
+     */
+    CompressedTable(int capacity) {
+        this(capacity, KeyHasher.STRING_HASHCODE);
+    }
+
+    /**
+     * Constructor que permite indicar la función hash
+     * @param capacity Número de ranuras (positivo)
+     * @param hasher La función hash de las claves
+     */
+    CompressedTable(int capacity, KeyHasher hasher) {
+        super(capacity, hasher);
+    }
+
+    @Override
+    byte[][] newValues(int capacity) {
+        return new byte[capacity][];
+    }
+
+    /**
+     * Decodifica el valor de la ranura
+     */
+    @Override
+    String readValue(int slot) {
+        return compressor.decode(values[slot]);
+    }
+
+    @Override
+    void writeValue(int slot, String value, boolean replacing) {
+        byte[] encoded = compressor.encode(value);
+        if (replacing) {
+            valueBytes -= values[slot].length;
+        }
+        values[slot] = encoded;
+        valueBytes += encoded.length;
+    }
+
+    @Override
+    void releaseValue(int slot) {
+        valueBytes -= values[slot].length;
+        values[slot] = null;
+    }
+
+    /**
+     * Mueve el arreglo codificado sin decodificarlo y vacía la ranura de origen
+     */
+    @Override
+    void moveValue(byte[][] from, int i, byte[][] to, int j) {
+        to[j] = from[i];
+        from[i] = null;
+    }
+
+    /**
+     * Retorna la suma de las longitudes de los valores codificados
+     * @return Bytes de datos de los valores vivos, sin cabeceras de arreglo ni diccionario
+     */
+    long valueBytes() {
+        return valueBytes;
+    }
+
+    /**
+     * Retorna el codificador con el diccionario de prefijos de la tabla
+     * @return El codificador
+     */
+    UrlCompressor compressor() {
+        return compressor;
+    }
+}
@@ -0,0 +1,401 @@
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Variante concurrente de HashTable que puede compartirse entre hilos
+ *
+ * La tabla se divide en segmentos, cada uno con su propio lock y su propio arreglo de
+ * buckets encadenados (lock striping). Las escrituras (put/remove) solo bloquean su
+ * segmento. Las lecturas (get/containsKey) no toman ningún lock: leen el arreglo del
+ * segmento y las cabezas de bucket con semántica volatile, y recorren cadenas cuyos
+ * enlaces nunca se modifican (las eliminaciones clonan los nodos anteriores al
+ * eliminado en lugar de desenlazar en sitio).
+ *
+ * Cada segmento se redimensiona por separado bajo su propio lock: solo esperan los
+ * escritores de ese segmento, y los lectores siguen usando el arreglo anterior hasta
+ * que se publica el nuevo. No hay ninguna pausa que detenga toda la tabla.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ConcurrentHashTable implements KeyValueTable {
+    // Capacidad por defecto de la tabla
+    private static final int DEFAULT_CAPACITY = 16;
+    // Número de segmentos por defecto
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    // Factor de carga máximo de cada segmento antes de redimensionarlo
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    // Número máximo de segmentos
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    /**
+     * Nodo de una cadena. La clave, el hash y el enlace son finales, así que un lector
+     * que ya tiene una referencia a la cadena siempre la ve completa y consistente.
+     */
+    private static final class Node {
+        final int hash;
+        final String key;
+        volatile String value;
+        final Node next;
+
+        Node(int hash, String key, String value, Node next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Segmento: una tabla encadenada pequeña protegida por su propio lock
+     */
+    private static final class Segment extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        // Arreglo de buckets actual; se reemplaza completo al redimensionar
+        volatile AtomicReferenceArray<Node> table;
+        // Número de elementos del segmento (escrito bajo lock, leído sin lock)
+        volatile int count;
+
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Busca un valor sin tomar el lock
+         */
+        String get(String key, int hash) {
+            AtomicReferenceArray<Node> tab = table;
+            for (Node e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+                if (e.hash == hash && e.key.equals(key)) {
+                    return e.value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Inserta o actualiza bajo el lock del segmento
+         * @param onlyIfAbsent si es true no se modifica una clave existente
+         * @return true si la clave era nueva
+         */
+        boolean put(String key, int hash, String value, boolean onlyIfAbsent) {
+            lock();
+            try {
+                AtomicReferenceArray<Node> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node head = tab.get(index);
+                for (Node e = head; e != null; e = e.next) {
+                    if (e.hash == hash && e.key.equals(key)) {
+                        if (!onlyIfAbsent) {
+                            e.value = value;
+                        }
+                        return false;
+                    }
+                }
+                tab.set(index, new Node(hash, key, value, head));
+                int c = count + 1;
+                count = c;
+                if (c > MAX_LOAD_FACTOR * tab.length()) {
+                    rehash();
+                }
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Elimina bajo el lock del segmento, clonando los nodos que preceden al eliminado
+         * @return El valor eliminado, o null si no existía
+         */
+        String remove(String key, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node> tab = table;
+                int index = hash & (tab.length() - 1);
+                Node head = tab.get(index);
+                Node e = head;
+                while (e != null && !(e.hash == hash && e.key.equals(key))) {
+                    e = e.next;
+                }
+                if (e == null) {
+                    return null;
+                }
+                Node newHead = e.next;
+                for (Node p = head; p != e; p = p.next) {
+                    newHead = new Node(p.hash, p.key, p.value, newHead);
+                }
+                tab.set(index, newHead);
+                count = count - 1;
+                return e.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Duplica el arreglo de buckets del segmento (se llama con el lock tomado)
+         * Al ser potencias de dos, cada bucket viejo se reparte entre dos nuevos. El tramo
+         * final de cada cadena que va al mismo bucket nuevo se reutiliza tal cual; el
+         * resto se clona, de modo que los lectores que aún recorren el arreglo viejo no
+         * ven cadenas a medio mover.
+         */
+        void rehash() {
+            AtomicReferenceArray<Node> oldTable = table;
+            int newCapacity = oldTable.length() * 2;
+            AtomicReferenceArray<Node> newTable = new AtomicReferenceArray<>(newCapacity);
+            int mask = newCapacity - 1;
+            for (int i = 0; i < oldTable.length(); i++) {
+                Node head = oldTable.get(i);
+                if (head == null) {
+                    continue;
+                }
+                // Busca el tramo final cuyos nodos caen todos en el mismo bucket nuevo
+                Node lastRun = head;
+                int lastIndex = head.hash & mask;
+                for (Node p = head.next; p != null; p = p.next) {
+                    int k = p.hash & mask;
+                    if (k != lastIndex) {
+                        lastIndex = k;
+                        lastRun = p;
+                    }
+                }
+                newTable.set(lastIndex, lastRun);
+                for (Node p = head; p != lastRun; p = p.next) {
+                    int k = p.hash & mask;
+                    newTable.set(k, new Node(p.hash, p.key, p.value, newTable.get(k)));
+                }
+            }
+            table = newTable;
+        }
+
+        /**
+         * Duplica la capacidad del segmento tomando su lock
+         */
+        void resize() {
+            lock();
+            try {
+                rehash();
+            } finally {
+                unlock();
+            }
+        }
+
+        int capacity() {
+            return table.length();
+        }
+
+        int nonEmptyBuckets() {
+            AtomicReferenceArray<Node> tab = table;
+            int count = 0;
+            for (int i = 0; i < tab.length(); i++) {
+                if (tab.get(i) != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private final Segment[] segments;
+    // Desplazamiento para tomar los bits altos del hash como índice de segmento
+    private final int segmentShift;
+    private final KeyHasher hasher;
+
+    /**
+     * Constructor que inicializa la tabla con capacidad y concurrencia por defecto
+     */
+    public ConcurrentHashTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructor que permite especificar la capacidad inicial
+     * @param initialCapacity Capacidad inicial total de la tabla
+     */
+    public ConcurrentHashTable(int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructor con la función hash por defecto (String.hashCode())
+     * @param initialCapacity Capacidad inicial total de la tabla
+     * @param concurrencyLevel Número estimado de hilos escritores simultáneos
+     */
+    public ConcurrentHashTable(int initialCapacity, int concurrencyLevel) {
+        this(initialCapacity, concurrencyLevel, KeyHasher.STRING_HASHCODE);
+    }
+
+    /**
+     * Constructor completo
+     * La capacidad real se redondea para que cada segmento tenga una potencia de dos.
+     * @param initialCapacity Capacidad inicial total de la tabla
+     * @param concurrencyLevel Número estimado de hilos escritores simultáneos; se usa
+     *        como número de segmentos (redondeado a potencia de dos)
+     * @param hasher Función hash de las claves
+     * @throws IllegalArgumentException si algún parámetro no es positivo o la función
+     *         hash es null
+     */
+    public ConcurrentHashTable(int initialCapacity, int concurrencyLevel, KeyHasher hasher) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + initialCapacity);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("El nivel de concurrencia debe ser positivo: " + concurrencyLevel);
+        }
+        if (hasher == null) {
+            throw new IllegalArgumentException("La función hash no puede ser null");
+        }
+        this.hasher = hasher;
+        int segmentCount = ceilPowerOfTwo(Math.min(concurrencyLevel, MAX_SEGMENTS));
+        int perSegment = ceilPowerOfTwo((initialCapacity + segmentCount - 1) / segmentCount);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    /**
+     * Redondea hacia arriba a la siguiente potencia de dos
+     */
+    private static int ceilPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Mezcla el hash de la clave; los bits altos eligen el segmento y los bajos el bucket
+     * @param key La clave
+     * @return El hash mezclado
+     */
+    private int hash(String key) {
+        int h = (int) hasher.hash(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Obtiene el segmento al que pertenece un hash
+     */
+    private Segment segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    @Override
+    public boolean put(String key, String value) {
+        validate(key, value);
+        int h = hash(key);
+        return segmentFor(h).put(key, h, value, false);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        validate(key, value);
+        int h = hash(key);
+        return segmentFor(h).put(key, h, value, true);
+    }
+
+    private static void validate(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("La clave no puede ser null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+    }
+
+    /**
+     * Recupera el valor asociado con la clave dada, sin bloquear
+     * @param key La clave a buscar
+     * @return El valor asociado, o null si no se encuentra
+     */
+    @Override
+    public String get(String key) {
+        if (key == null) {
+            return null;
+        }
+        int h = hash(key);
+        return segmentFor(h).get(key, h);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public String remove(String key) {
+        if (key == null) {
+            return null;
+        }
+        int h = hash(key);
+        return segmentFor(h).remove(key, h);
+    }
+
+    /**
+     * Duplica la capacidad de la tabla, un segmento a la vez
+     * Los lectores nunca se bloquean y los escritores solo esperan mientras se
+     * redimensiona su propio segmento.
+     */
+    public void resize() {
+        for (Segment segment : segments) {
+            segment.resize();
+        }
+    }
+
+    /**
+     * Retorna el número de elementos; con escrituras concurrentes es una aproximación
+     * @return El número de elementos almacenados
+     */
+    @Override
+    public int size() {
+        long sum = 0;
+        for (Segment segment : segments) {
+            sum += segment.count;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int capacity() {
+        int sum = 0;
+        for (Segment segment : segments) {
+            sum += segment.capacity();
+        }
+        return sum;
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) size() / capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna una representación en cadena de la tabla para debugging
+     * @return String representando el estado actual de la tabla
+     */
+    @Override
+    public String toString() {
+        int nonEmpty = 0;
+        for (Segment segment : segments) {
+            nonEmpty += segment.nonEmptyBuckets();
+        }
+        return "ConcurrentHashTable{size=" + size()
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", nonEmptyBuckets=" + nonEmpty
+                + ", segments=" + segments.length
+                + "}";
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.Arrays;
+
+/**
+ * Anillo de hash consistente que asigna cada código empaquetado a una partición
+ * Cada partición pone VIRTUAL_NODES puntos en el anillo de 64 bits; un código pertenece
+ * a la partición del primer punto igual o posterior a su posición (dando la vuelta al
+ * final). Los puntos de la partición i dependen solo de i, así que el anillo de N + 1
+ * particiones es el de N más los puntos de la nueva: solo cambian de dueño los códigos
+ * que caen en los arcos que toma la nueva partición, ~1/(N + 1) del total.
+ *
+ * Los puntos virtuales reparten la carga: con 160 por partición la partición más
+ * cargada queda típicamente a menos de un 10-15% del promedio. Es inmutable.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class ConsistentHashRing {
+    // Puntos del anillo por partición
+    static final int VIRTUAL_NODES = 160;
+    // El dueño de cada punto se guarda en 16 bits
+    static final int MAX_PARTITIONS = 1 << 16;
+
+    // Posiciones de los puntos, ordenadas
+    private final long[] points;
+    // Partición dueña de cada punto
+    private final int[] owners;
+    private final int partitions;
+
+    /**
+     * Constructor que crea el anillo de las particiones 0 a partitions - 1
+     * @param partitions Número de particiones
+     * @throws IllegalArgumentException si no está entre 1 y MAX_PARTITIONS
+     */
+    ConsistentHashRing(int partitions) {
+        if (partitions <= 0 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("El número de particiones debe estar entre 1 y "
+                    + MAX_PARTITIONS + ": " + partitions);
+        }
+        int n = partitions * VIRTUAL_NODES;
+        // Cada punto se ordena junto con su dueño: posición en los 48 bits altos, dueño en los 16 bajos
+        long[] packed = new long[n];
+        for (int p = 0; p < partitions; p++) {
+            for (int v = 0; v < VIRTUAL_NODES; v++) {
+                long point = mix(((long) p << 32) | v) & ~0xFFFFL;
+                packed[p * VIRTUAL_NODES + v] = point | p;
+            }
+        }
+        Arrays.sort(packed);
+        this.points = new long[n];
+        this.owners = new int[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = packed[i] & ~0xFFFFL;
+            owners[i] = (int) (packed[i] & 0xFFFF);
+        }
+        this.partitions = partitions;
+    }
+
+    /**
+     * Retorna el número de particiones del anillo
+     * @return Las particiones
+     */
+    int partitions() {
+        return partitions;
+    }
+
+    /**
+     * Calcula la partición dueña de un código
+     * @param code El código empaquetado
+     * @return El índice de la partición, entre 0 y partitions() - 1
+     */
+    int owner(long code) {
+        long position = mix(code) & ~0xFFFFL;
+        int i = Arrays.binarySearch(points, position);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return owners[i == points.length ? 0 : i];
+    }
+
+    /**
+     * Finalizador de SplitMix64: posiciones uniformes aun para códigos consecutivos
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * Filtro cuckoo de pertenencia para códigos empaquetados
+ * Responde "seguro que no está" o "quizás está" usando 2 bytes por ranura (entre 2,4 y
+ * 4,8 bytes por código, porque los buckets se redondean a potencia de dos): cada
+ * código se reduce a una huella de 16 bits que vive en uno de dos buckets de 4 huellas.
+ * El segundo bucket se obtiene del primero y de la huella (i2 = i1 ^ hash(huella)), así
+ * una huella se puede mover entre sus dos buckets sin conocer el código original. Al
+ * insertar en dos buckets llenos se desplaza una huella al azar a su otro bucket, hasta
+ * MAX_KICKS veces.
+ *
+ * A diferencia de un filtro de Bloom, admite eliminar: se borra una copia de la huella.
+ * Solo se deben eliminar códigos que se insertaron; eliminar otro código con la misma
+ * huella en el mismo bucket dejaría un falso negativo.
+ *
+ * La probabilidad de falso positivo es como mucho 8 / 2^16 (~0,012%). Si una inserción
+ * no encuentra lugar ni después de MAX_KICKS desplazamientos, la huella que quedó sin
+ * bucket se guarda aparte; si eso vuelve a pasar, el filtro queda saturado y desde ahí
+ * responde "quizás" a todo. Nunca da falsos negativos, así que conviene dimensionarlo
+ * con el número esperado de códigos. No es seguro entre hilos.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class CuckooFilter {
+    // Huellas por bucket
+    private static final int BUCKET_SIZE = 4;
+    // Desplazamientos máximos por inserción
+    private static final int MAX_KICKS = 500;
+    // Ocupación objetivo al dimensionar con el número esperado de códigos
+    private static final double TARGET_LOAD = 0.85;
+    // Número máximo de buckets
+    private static final int MAX_BUCKETS = 1 << 28;
+    // 2^64 / razón áurea
+    private static final long FIBONACCI = 0x9E3779B97F4A7C15L;
+
+    // Huellas de 16 bits; 0 = ranura vacía
+    private final short[] slots;
+    private final int bucketMask;
+    private int size;
+    // Huella que no encontró lugar (0 si no hay) y su bucket
+    private short victim;
+    private int victimBucket;
+    private boolean saturated;
+    // Estado del generador xorshift que elige a quién desplazar
+    private int random = 0x2545F491;
+
+    /**
+     * Constructor que dimensiona el filtro para un número esperado de códigos
+     * @param expectedEntries Número de códigos que se espera guardar
+     * @throws IllegalArgumentException si el número esperado no es positivo
+     */
+    CuckooFilter(int expectedEntries) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("El número esperado de códigos debe ser positivo: " + expectedEntries);
+        }
+        long buckets = (long) Math.ceil(expectedEntries / (BUCKET_SIZE * TARGET_LOAD));
+        int count = buckets >= MAX_BUCKETS ? MAX_BUCKETS : Math.max(2, Integer.highestOneBit((int) buckets - 1) << 1);
+        slots = new short[count * BUCKET_SIZE];
+        bucketMask = count - 1;
+    }
+
+    private static long spread(long code) {
+        long h = code * FIBONACCI;
+        return h ^ (h >>> 31);
+    }
+
+    private static short fingerprint(long h) {
+        short f = (short) (h >>> 48);
+        return f == 0 ? 1 : f;
+    }
+
+    private int firstBucket(long h) {
+        return (int) h & bucketMask;
+    }
+
+    private int alternate(int bucket, short fingerprint) {
+        return (bucket ^ (fingerprint * 0x5BD1E995)) & bucketMask;
+    }
+
+    /**
+     * Agrega un código al filtro
+     * @param code El código empaquetado
+     */
+    void add(long code) {
+        size++;
+        if (saturated) {
+            return;
+        }
+        long h = spread(code);
+        short f = fingerprint(h);
+        int i1 = firstBucket(h);
+        if (place(i1, f) || place(alternate(i1, f), f)) {
+            return;
+        }
+        if (victim != 0) {
+            saturated = true;
+            return;
+        }
+        int bucket = (random() & 1) == 0 ? i1 : alternate(i1, f);
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * BUCKET_SIZE + (random() & (BUCKET_SIZE - 1));
+            short evicted = slots[slot];
+            slots[slot] = f;
+            f = evicted;
+            bucket = alternate(bucket, f);
+            if (place(bucket, f)) {
+                return;
+            }
+        }
+        victim = f;
+        victimBucket = bucket;
+    }
+
+    private boolean place(int bucket, short f) {
+        int base = bucket * BUCKET_SIZE;
+        for (int j = 0; j < BUCKET_SIZE; j++) {
+            if (slots[base + j] == 0) {
+                slots[base + j] = f;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int random() {
+        random ^= random << 13;
+        random ^= random >>> 17;
+        random ^= random << 5;
+        return random;
+    }
+
+    /**
+     * Verifica si un código puede estar en el filtro
+     * @param code El código empaquetado
+     * @return false si seguro no está; true si quizás está
+     */
+    boolean mightContain(long code) {
+        if (saturated) {
+            return true;
+        }
+        long h = spread(code);
+        short f = fingerprint(h);
+        int i1 = firstBucket(h);
+        int i2 = alternate(i1, f);
+        if (contains(i1, f) || contains(i2, f)) {
+            return true;
+        }
+        return victim == f && (victimBucket == i1 || victimBucket == i2);
+    }
+
+    private boolean contains(int bucket, short f) {
+        int base = bucket * BUCKET_SIZE;
+        return slots[base] == f || slots[base + 1] == f || slots[base + 2] == f || slots[base + 3] == f;
+    }
+
+    /**
+     * Quita un código que se agregó antes
+     * @param code El código empaquetado (debe haberse agregado con {@link #add(long)})
+     */
+    void remove(long code) {
+        size--;
+        if (saturated) {
+            return;
+        }
+        long h = spread(code);
+        short f = fingerprint(h);
+        int i1 = firstBucket(h);
+        int i2 = alternate(i1, f);
+        if (victim == f && (victimBucket == i1 || victimBucket == i2)) {
+            victim = 0;
+            return;
+        }
+        if (removeFrom(i1, f) || removeFrom(i2, f)) {
+            if (victim != 0) {
+                // Hay lugar de nuevo: se intenta reubicar la huella que había quedado afuera
+                short pending = victim;
+                int bucket = victimBucket;
+                if (place(bucket, pending) || place(alternate(bucket, pending), pending)) {
+                    victim = 0;
+                }
+            }
+        }
+    }
+
+    private boolean removeFrom(int bucket, short f) {
+        int base = bucket * BUCKET_SIZE;
+        for (int j = 0; j < BUCKET_SIZE; j++) {
+            if (slots[base + j] == f) {
+                slots[base + j] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna el número de códigos agregados y no eliminados
+     * @return El tamaño del filtro
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retorna la memoria de las huellas
+     * @return Bytes del arreglo de huellas
+     */
+    long sizeInBytes() {
+        return 2L * slots.length;
+    }
+
+    /**
+     * Indica si el filtro se llenó y ya no descarta ningún código
+     * @return true si el filtro está saturado
+     */
+    boolean isSaturated() {
+        return saturated;
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de códigos cortos sin colisiones por construcción
+ * Cada código sale de un contador monótono que pasa por una permutación biyectiva
+ * (una red de Feistel con clave) y se codifica en base62 con ancho fijo. Como la
+ * permutación es una biyección sobre [0, 62^8) (ver {@link Base62Codec}), dos valores
+ * distintos del contador nunca producen el mismo código: TinyURL no necesita consultar la
+ * tabla para verificar que el código está libre, y los códigos consecutivos siguen
+ * pareciendo aleatorios.
+ *
+ * La red trabaja sobre 48 bits (dos mitades de 24) y 62^8 es un poco menor que 2^48, así
+ * que los resultados fuera del rango se vuelven a cifrar (cycle walking) hasta caer dentro;
+ * en promedio hacen falta menos de 1.3 rondas completas.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+class FeistelCodeGenerator {
+    // Número de códigos distintos: 62^8
+    private static final long CODE_SPACE = Base62Codec.CODE_SPACE;
+    // Bits de cada mitad de la red de Feistel
+    private static final int HALF_BITS = 24;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    // Rondas de la red; 4 bastan para que la salida no revele el orden del contador
+    private static final int ROUNDS = 4;
+
+    // Subclaves de cada ronda derivadas de la clave
+    private final long[] roundKeys = new long[ROUNDS];
+    // Próximo valor del contador
+    private final AtomicLong counter;
+
+    /**
+     * Constructor que empieza el contador en 0
+     * @param key Clave de la permutación; claves distintas dan secuencias distintas
+     */
+    FeistelCodeGenerator(long key) {
+        this(key, 0);
+    }
+
+    /**
+     * Constructor que permite retomar el contador (por ejemplo, después de reiniciar)
+     * @param key Clave de la permutación
+     * @param start Primer valor del contador, en [0, CODE_SPACE]
+     * @throws IllegalArgumentException si start está fuera de rango
+     */
+    FeistelCodeGenerator(long key, long start) {
+        if (start < 0 || start > CODE_SPACE) {
+            throw new IllegalArgumentException("Valor inicial del contador fuera de rango: " + start);
+        }
+        long k = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            k = mix(k + 0x9E3779B97F4A7C15L);
+            roundKeys[i] = k;
+        }
+        this.counter = new AtomicLong(start);
+    }
+
+    /**
+     * Genera el siguiente código; es seguro llamarlo desde varios hilos
+     * @return Un código de 8 caracteres que este generador nunca había producido
+     * @throws IllegalStateException si ya se usaron todos los códigos posibles
+     */
+    String nextCode() {
+        return Base62Codec.encode(nextValue());
+    }
+
+    /**
+     * Avanza el contador y retorna su valor permutado
+     * @return Un código empaquetado en [0, CODE_SPACE) distinto para cada llamada
+     * @throws IllegalStateException si ya se usaron todos los códigos posibles
+     */
+    long nextValue() {
+        long n = counter.getAndIncrement();
+        if (n >= CODE_SPACE) {
+            counter.set(CODE_SPACE);
+            throw new IllegalStateException("Se agotaron los " + CODE_SPACE + " códigos posibles");
+        }
+        return permute(n);
+    }
+
+    /**
+     * Retorna cuántos códigos se han generado
+     * @return El valor actual del contador
+     */
+    long generated() {
+        return counter.get();
+    }
+
+    /**
+     * Aplica la permutación: biyección de [0, CODE_SPACE) sobre sí mismo
+     * @param n Valor a permutar
+     * @return El valor permutado
+     */
+    long permute(long n) {
+        long x = n;
+        do {
+            x = encrypt(x);
+        } while (x >= CODE_SPACE);
+        return x;
+    }
+
+    /**
+     * Invierte la permutación
+     * @param x Valor permutado
+     * @return El valor original n tal que permute(n) == x
+     */
+    long invert(long x) {
+        long n = x;
+        do {
+            n = decrypt(n);
+        } while (n >= CODE_SPACE);
+        return n;
+    }
+
+    /**
+     * Cifra un valor de 48 bits con la red de Feistel
+     */
+    private long encrypt(long x) {
+        long left = x >>> HALF_BITS;
+        long right = x & HALF_MASK;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ round(right, roundKeys[i]);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    /**
+     * Descifra un valor de 48 bits aplicando las rondas en orden inverso
+     */
+    private long decrypt(long x) {
+        long left = x >>> HALF_BITS;
+        long right = x & HALF_MASK;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round(left, roundKeys[i]);
+            right = left;
+            left = previous;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    /**
+     * Función de ronda: mezcla una mitad con la subclave y la reduce a 24 bits
+     */
+    private static long round(long half, long roundKey) {
+        return mix(half ^ roundKey) & HALF_MASK;
+    }
+
+    /**
+     * Finalizador de 64 bits (splitmix64)
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
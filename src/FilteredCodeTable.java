@@ -0,0 +1,164 @@
+import java.util.Locale;
+
+/**
+ * Tabla con un filtro de pertenencia delante del almacén para descartar códigos que no
+ * existen
+ * Los bots piden códigos al azar o vencidos; sin filtro cada uno cuesta un sondeo
+ * completo que termina en fallo, a veces en un almacén lento. Un {@link CuckooFilter}
+ * de 2 a 5 bytes por código responde primero: si dice que el código no está, get(),
+ * containsKey() y remove() retornan sin tocar el almacén. Si dice "quizás", se consulta
+ * el almacén (un falso positivo cuesta lo mismo que antes).
+ *
+ * Cada código nuevo en el almacén se agrega al filtro y cada código eliminado se quita,
+ * así que TinyURL lo mantiene en insertUrl, removeUrl y al reproducir el log. El almacén
+ * debe empezar vacío, porque el filtro solo conoce lo que pasó por esta tabla. El acceso
+ * al almacén y las claves String funcionan como en {@link StoreBackedCodeTable}.
+ *
+ * No es segura entre hilos.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class FilteredCodeTable extends StoreBackedCodeTable {
+    private final CuckooFilter filter;
+    private long rejected;
+    private long falsePositives;
+
+    /**
+     * Constructor que coloca un filtro dimensionado para el número esperado de códigos
+     * delante de un almacén vacío
+     * @param store El almacén con todos los datos, vacío
+     * @param expectedEntries Número de códigos que se espera guardar; si se supera por
+     *        mucho, el filtro se satura y deja de descartar (sin perder correctitud)
+     * @throws IllegalArgumentException si el almacén es null o tiene datos, o el número
+     *         esperado no es positivo
+     */
+    public FilteredCodeTable(KeyValueTable store, int expectedEntries) {
+        super(store);
+        if (!store.isEmpty()) {
+            throw new IllegalArgumentException("El almacén debe estar vacío");
+        }
+        this.filter = new CuckooFilter(expectedEntries);
+    }
+
+    @Override
+    public boolean put(long code, String value) {
+        boolean added = storePut(code, value);
+        if (added) {
+            filter.add(code);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean putIfAbsent(long code, String value) {
+        boolean added = storePutIfAbsent(code, value);
+        if (added) {
+            filter.add(code);
+        }
+        return added;
+    }
+
+    /**
+     * Recupera el valor de un código; si el filtro lo descarta, no consulta el almacén
+     * @param code El código empaquetado
+     * @return El valor asociado, o null si no se encuentra
+     */
+    @Override
+    public String get(long code) {
+        if (!mightContain(code)) {
+            return null;
+        }
+        String value = storeGet(code);
+        if (value == null) {
+            falsePositives++;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(long code) {
+        if (!mightContain(code)) {
+            return false;
+        }
+        boolean found = storeContainsKey(code);
+        if (!found) {
+            falsePositives++;
+        }
+        return found;
+    }
+
+    @Override
+    public String remove(long code) {
+        if (!mightContain(code)) {
+            return null;
+        }
+        String removed = storeRemove(code);
+        if (removed != null) {
+            filter.remove(code);
+        }
+        return removed;
+    }
+
+    private boolean mightContain(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return false;
+        }
+        if (!filter.mightContain(code)) {
+            rejected++;
+            return false;
+        }
+        return true;
+    }
+
+    // ---------- Estadísticas ----------
+
+    /**
+     * Retorna el número de consultas que el filtro respondió sin tocar el almacén
+     * @return Las consultas descartadas por el filtro
+     */
+    public long getRejectedLookups() {
+        return rejected;
+    }
+
+    /**
+     * Retorna el número de consultas que pasaron el filtro pero no estaban en el almacén
+     * @return Los falsos positivos observados
+     */
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * Retorna la memoria que ocupa el filtro
+     * @return Bytes de las huellas del filtro
+     */
+    public long getFilterBytes() {
+        return filter.sizeInBytes();
+    }
+
+    /**
+     * Indica si el filtro se llenó y ya no descarta consultas
+     * @return true si el filtro está saturado
+     */
+    public boolean isFilterSaturated() {
+        return filter.isSaturated();
+    }
+
+    /**
+     * Retorna una representación en cadena de la tabla y de su filtro
+     * @return String representando el estado actual
+     */
+    @Override
+    public String toString() {
+        return "FilteredCodeTable{size=" + size()
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", filterBytes=" + filter.sizeInBytes()
+                + ", rejected=" + rejected
+                + ", falsePositives=" + falsePositives
+                + ", saturated=" + filter.isSaturated()
+                + ", store=" + getStore()
+                + "}";
+    }
+}
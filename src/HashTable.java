@@ -1,150 +1,1313 @@
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Implementación de una tabla hash básica
  * Esta clase proporciona una estructura de datos hash genérica para almacenar
  * pares clave-valor usando encadenamiento para el manejo de colisiones
- * 
+ *
+ * Opcionalmente puede usar direccionamiento abierto (Robin Hood sobre arreglos
+ * paralelos), guardar los valores fuera del heap o comprimidos con un diccionario de
+ * prefijos, manteniendo la misma API, ver {@link StorageMode}. La función hash también
+ * se puede elegir ({@link KeyHasher}); por defecto es String.hashCode(). Con
+ * {@link #setMetrics(Metrics)} registra largos de sondeo y redimensionamientos.
+ *
  * @author [Nombre del Estudiante]
  * @version 1.0
  */
-public class HashTable {    
+public class HashTable implements KeyValueTable, MeasuredTable {
+    // Capacidad por defecto de la tabla
+    private static final int DEFAULT_CAPACITY = 16;
+    // Factor de carga máximo antes de redimensionar
+    private static final double DEFAULT_MAX_LOAD_FACTOR = 0.75;
+    // Buckets viejos que se migran en cada operación durante un resize incremental
+    private static final int MIGRATION_STEP = 4;
+    // Claves que se procesan juntas en cada fase de putAll/getAll
+    private static final int BATCH_GROUP = 32;
+    // Capacidad máxima a la que crece putAll
+    private static final int MAX_CAPACITY = 1 << 30;
+    // Largo de cadena a partir del cual un bucket se convierte en arreglo ordenado
+    private static final int SORT_THRESHOLD = 8;
+    // Tamaño al que un bucket ordenado vuelve a ser cadena (menor, para no alternar)
+    private static final int UNSORT_THRESHOLD = 6;
+    // Buckets viejos a partir de los cuales el resize se reparte en el pool
+    private static final int PARALLEL_RESIZE_MIN = 1 << 14;
+    // Buckets viejos que redistribuye cada tarea hoja del resize paralelo
+    private static final int REHASH_GRAIN = 1 << 12;
+
+    /**
+     * Modo de almacenamiento de la tabla hash
+     */
+    public enum StorageMode {
+        /** Encadenamiento con listas enlazadas de Entry (modo por defecto) */
+        CHAINING,
+        /** Direccionamiento abierto Robin Hood con arreglos paralelos de claves y valores */
+        OPEN_ADDRESSING,
+        /**
+         * Direccionamiento abierto con los valores como bytes UTF-8 en memoria directa; la
+         * tabla solo guarda un manejador long por valor, así el GC no recorre las URLs
+         */
+        OFF_HEAP,
+        /**
+         * Direccionamiento abierto con cada valor como byte[] compacto: el prefijo común
+         * (esquema, host y primer segmento) va en un diccionario compartido y get()
+         * reconstruye la URL en cada llamada (ver {@link UrlCompressor})
+         */
+        COMPRESSED
+    }
+
+    /**
+     * Estrategia de redimensionamiento (solo aplica al modo CHAINING)
+     */
+    public enum ResizeStrategy {
+        /** resize() redistribuye todos los elementos en una sola llamada (por defecto) */
+        IMMEDIATE,
+        /**
+         * resize() solo reserva la tabla nueva; las tablas vieja y nueva coexisten y cada
+         * put/get/remove migra unos pocos buckets hasta terminar
+         */
+        INCREMENTAL
+    }
+
     // Clase interna para representar un par clave-valor
-    private static class Entry {        
+    private static class Entry {
+        private final String key;
+        private String value;
+        private Entry next;
+
         public Entry(String key, String value) {
+            this.key = key;
+            this.value = value;
         }
-        
+
         @Override
         public boolean equals(Object obj) {
-            return false;
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            return key.equals(((Entry) obj).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+
+    /**
+     * Bucket de una cadena que superó SORT_THRESHOLD entradas (modo CHAINING)
+     * Ocupa el lugar de la cabeza de la cadena y guarda sus entradas en un arreglo
+     * ordenado por hash completo de 64 bits y, si empatan, por clave, así que una
+     * búsqueda es binaria: O(log n) aunque todas las claves caigan en el mismo bucket
+     * (un hash malo o claves elegidas para colisionar). Insertar y eliminar desplazan
+     * el resto del arreglo con System.arraycopy.
+     */
+    private static final class SortedBucket extends Entry {
+        private long[] hashes;
+        private Entry[] entries;
+        private int count;
+
+        SortedBucket(int capacity) {
+            super(null, null);
+            hashes = new long[capacity];
+            entries = new Entry[capacity];
+        }
+
+        /**
+         * Búsqueda binaria
+         * @return La posición de la clave, o -(punto de inserción) - 1 si no está
+         */
+        private int search(long hash, String key) {
+            int lo = 0;
+            int hi = count - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = Long.compare(hashes[mid], hash);
+                if (c == 0) {
+                    c = entries[mid].key.compareTo(key);
+                }
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+
+        Entry find(long hash, String key) {
+            int i = search(hash, key);
+            return i >= 0 ? entries[i] : null;
+        }
+
+        /**
+         * Inserta una entrada cuya clave no está en el bucket
+         */
+        void insert(Entry e, long hash) {
+            int i = -search(hash, e.key) - 1;
+            if (count == entries.length) {
+                hashes = java.util.Arrays.copyOf(hashes, count * 2);
+                entries = java.util.Arrays.copyOf(entries, count * 2);
+            }
+            System.arraycopy(hashes, i, hashes, i + 1, count - i);
+            System.arraycopy(entries, i, entries, i + 1, count - i);
+            hashes[i] = hash;
+            entries[i] = e;
+            e.next = null;
+            count++;
+        }
+
+        Entry remove(long hash, String key) {
+            int i = search(hash, key);
+            if (i < 0) {
+                return null;
+            }
+            Entry removed = entries[i];
+            System.arraycopy(hashes, i + 1, hashes, i, count - i - 1);
+            System.arraycopy(entries, i + 1, entries, i, count - i - 1);
+            entries[--count] = null;
+            return removed;
+        }
+
+        /**
+         * Vuelve a enlazar las entradas como una cadena
+         * @return La cabeza de la cadena
+         */
+        Entry toChain() {
+            Entry head = null;
+            for (int i = count - 1; i >= 0; i--) {
+                entries[i].next = head;
+                head = entries[i];
+            }
+            return head;
         }
     }
-        
+
+    private final StorageMode mode;
+    private final ResizeStrategy resizeStrategy;
+    private final double maxLoadFactor;
+    private final KeyHasher hasher;
+
+    // Buckets para el modo CHAINING
+    private Entry[] buckets;
+    // Buckets de la tabla anterior durante una migración incremental (null si no hay)
+    private Entry[] oldBuckets;
+    // Siguiente bucket de oldBuckets que falta migrar
+    private int migrationIndex;
+    // Pool del resize paralelo; null si se redistribuye en el hilo que llama
+    private ForkJoinPool resizePool;
+    // Motor para el modo OPEN_ADDRESSING
+    private OpenAddressingTable probing;
+    // Motor para el modo OFF_HEAP
+    private OffHeapTable offHeap;
+    // Motor para el modo COMPRESSED
+    private CompressedTable compressed;
+
+    private int size;
+    private int capacity;
+    // Evita que el JIT descarte las lecturas de touchHeads
+    private int touched;
+    // null si no se registran métricas
+    private Metrics metrics;
+
     /**
      * Constructor que inicializa la tabla hash con capacidad por defecto
      */
-    @SuppressWarnings("unchecked")
     public HashTable() {
-        // TODO: Implementar el constructor
-        // Inicializar la capacidad con DEFAULT_CAPACITY
+        this(DEFAULT_CAPACITY);
     }
-    
+
     /**
      * Constructor que permite especificar la capacidad inicial
      * @param initialCapacity Capacidad inicial de la tabla hash
      */
-    @SuppressWarnings("unchecked")
     public HashTable(int initialCapacity) {
-        // TODO: Implementar el constructor con capacidad personalizada
+        this(initialCapacity, StorageMode.CHAINING);
+    }
+
+    /**
+     * Constructor que permite elegir el modo de almacenamiento
+     * @param mode Modo de almacenamiento a utilizar
+     */
+    public HashTable(StorageMode mode) {
+        this(DEFAULT_CAPACITY, mode);
+    }
+
+    /**
+     * Constructor que permite especificar la capacidad inicial y el modo de almacenamiento
+     * @param initialCapacity Capacidad inicial de la tabla hash
+     * @param mode Modo de almacenamiento a utilizar
+     */
+    public HashTable(int initialCapacity, StorageMode mode) {
+        this(initialCapacity, DEFAULT_MAX_LOAD_FACTOR, mode);
+    }
+
+    /**
+     * Constructor que permite elegir la función hash, por ejemplo {@link KeyHasher#seeded()}
+     * para que nadie pueda elegir claves que colisionen
+     * @param initialCapacity Capacidad inicial de la tabla hash
+     * @param mode Modo de almacenamiento a utilizar
+     * @param hasher Función hash de las claves
+     */
+    public HashTable(int initialCapacity, StorageMode mode, KeyHasher hasher) {
+        this(initialCapacity, DEFAULT_MAX_LOAD_FACTOR, mode, ResizeStrategy.IMMEDIATE, hasher);
+    }
+
+    /**
+     * Constructor que permite elegir la estrategia de redimensionamiento (modo CHAINING)
+     * @param initialCapacity Capacidad inicial de la tabla hash
+     * @param resizeStrategy Estrategia de redimensionamiento
+     */
+    public HashTable(int initialCapacity, ResizeStrategy resizeStrategy) {
+        this(initialCapacity, DEFAULT_MAX_LOAD_FACTOR, StorageMode.CHAINING, resizeStrategy);
+    }
+
+    /**
+     * Constructor que permite especificar capacidad, factor de carga y modo de almacenamiento
+     * @param initialCapacity Capacidad inicial de la tabla hash
+     * @param maxLoadFactor Factor de carga a partir del cual se redimensiona
+     * @param mode Modo de almacenamiento a utilizar
+     */
+    public HashTable(int initialCapacity, double maxLoadFactor, StorageMode mode) {
+        this(initialCapacity, maxLoadFactor, mode, ResizeStrategy.IMMEDIATE);
+    }
+
+    /**
+     * Constructor con la función hash por defecto (String.hashCode())
+     * @param initialCapacity Capacidad inicial de la tabla hash
+     * @param maxLoadFactor Factor de carga a partir del cual se redimensiona
+     * @param mode Modo de almacenamiento a utilizar
+     * @param resizeStrategy Estrategia de redimensionamiento
+     */
+    public HashTable(int initialCapacity, double maxLoadFactor, StorageMode mode,
+                     ResizeStrategy resizeStrategy) {
+        this(initialCapacity, maxLoadFactor, mode, resizeStrategy, KeyHasher.STRING_HASHCODE);
+    }
+
+    /**
+     * Constructor completo
+     * @param initialCapacity Capacidad inicial de la tabla hash
+     * @param maxLoadFactor Factor de carga a partir del cual se redimensiona
+     * @param mode Modo de almacenamiento a utilizar
+     * @param resizeStrategy Estrategia de redimensionamiento
+     * @param hasher Función hash de las claves
+     * @throws IllegalArgumentException si la capacidad no es positiva, el factor de carga
+     *         no es positivo, o es mayor o igual a 1 en los modos de direccionamiento
+     *         abierto, si se pide resize incremental en un modo distinto de CHAINING, o
+     *         si la función hash es null
+     */
+    @SuppressWarnings("unchecked")
+    public HashTable(int initialCapacity, double maxLoadFactor, StorageMode mode,
+                     ResizeStrategy resizeStrategy, KeyHasher hasher) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + initialCapacity);
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("El modo de almacenamiento no puede ser null");
+        }
+        if (!(maxLoadFactor > 0.0)
+                || (mode != StorageMode.CHAINING && maxLoadFactor >= 1.0)) {
+            throw new IllegalArgumentException("Factor de carga inválido: " + maxLoadFactor);
+        }
+        if (resizeStrategy == null) {
+            throw new IllegalArgumentException("La estrategia de redimensionamiento no puede ser null");
+        }
+        if (mode != StorageMode.CHAINING && resizeStrategy == ResizeStrategy.INCREMENTAL) {
+            throw new IllegalArgumentException("El resize incremental solo está disponible en modo CHAINING");
+        }
+        if (hasher == null) {
+            throw new IllegalArgumentException("La función hash no puede ser null");
+        }
+        this.mode = mode;
+        this.resizeStrategy = resizeStrategy;
+        this.maxLoadFactor = maxLoadFactor;
+        this.hasher = hasher;
+        this.capacity = initialCapacity;
+        this.size = 0;
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            this.probing = new OpenAddressingTable(initialCapacity, hasher);
+        } else if (mode == StorageMode.OFF_HEAP) {
+            this.offHeap = new OffHeapTable(initialCapacity, new OffHeapValueStore(), hasher);
+        } else if (mode == StorageMode.COMPRESSED) {
+            this.compressed = new CompressedTable(initialCapacity, hasher);
+        } else {
+            this.buckets = new Entry[initialCapacity];
+        }
     }
-    
+
     /**
-     * Función hash que calcula el índice para una clave dada
+     * Función hash que calcula el hash completo de una clave
      * @param key La clave para la cual calcular el hash
-     * @return El índice en el array de buckets
+     * @return El hash de 64 bits
      */
-    private int hash(String key) {
-        // TODO: Implementar la función hash
-        // Usar el método hashCode() de String
-        return 0;
+    private long hash(String key) {
+        return hasher.hash(key);
     }
-    
+
+    /**
+     * Calcula el índice de un hash para un arreglo de buckets de la longitud dada
+     * Con una longitud potencia de dos (el caso normal, porque la tabla crece duplicando
+     * desde 16) se toman los bits bajos con una máscara en lugar de dividir.
+     * @param hash El hash de la clave
+     * @param length La cantidad de buckets
+     * @return El índice en ese arreglo
+     */
+    private static int indexFor(long hash, int length) {
+        int h = (int) hash;
+        return (length & (length - 1)) == 0 ? h & (length - 1) : (h & 0x7fffffff) % length;
+    }
+
     /**
      * Almacena un valor con su clave correspondiente
      * @param key La clave para el valor
      * @param value El valor a almacenar
      * @return true si la inserción fue exitosa, false si la clave ya existía y se actualizó
      */
+    @Override
     public boolean put(String key, String value) {
-        // TODO: Implementar el método put
+        if (key == null) {
+            throw new IllegalArgumentException("La clave no puede ser null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            boolean inserted = probing.put(key, value);
+            // El motor puede crecer por sí solo si una secuencia de sondeo se alarga demasiado
+            capacity = probing.capacity();
+            if (!inserted) {
+                return false;
+            }
+        } else if (mode == StorageMode.OFF_HEAP) {
+            if (!offHeap.put(key, value)) {
+                return false;
+            }
+        } else if (mode == StorageMode.COMPRESSED) {
+            if (!compressed.put(key, value)) {
+                return false;
+            }
+        } else {
+            migrateStep();
+            long h = hash(key);
+            Entry existing = findEntry(key, h);
+            if (existing != null) {
+                existing.value = value;
+                return false;
+            }
+            link(new Entry(key, value), h);
+        }
 
-        return false;
+        size++;
+        if (getLoad() > maxLoadFactor) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Almacena un valor solo si la clave no existe todavía
+     * @param key La clave para el valor
+     * @param value El valor a almacenar
+     * @return true si se insertó, false si la clave ya existía (y no se modificó)
+     */
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        if (containsKey(key)) {
+            return false;
+        }
+        return put(key, value);
     }
-    
+
     /**
      * Recupera el valor asociado con la clave dada
      * @param key La clave a buscar
      * @return El valor asociado, o null si no se encuentra
      */
+    @Override
     public String get(String key) {
-        // TODO: Implementar el método get        
+        if (key == null) {
+            return null;
+        }
+        if (metrics != null) {
+            return getMeasured(key);
+        }
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            return probing.get(key);
+        }
+        if (mode == StorageMode.OFF_HEAP) {
+            return offHeap.get(key);
+        }
+        if (mode == StorageMode.COMPRESSED) {
+            return compressed.get(key);
+        }
+        migrateStep();
+        Entry e = findEntry(key, hash(key));
+        return e == null ? null : e.value;
+    }
+
+    /**
+     * Busca la entrada asociada a una clave en modo CHAINING
+     * @param key La clave a buscar (no null)
+     * @param h El hash de la clave
+     * @return La entrada encontrada, o null si no existe
+     */
+    private Entry findEntry(String key, long h) {
+        Entry e = lookup(buckets[indexFor(h, buckets.length)], key, h);
+        if (e == null && oldBuckets != null) {
+            // Durante la migración la clave puede seguir en un bucket viejo no migrado
+            int oldIndex = indexFor(h, oldBuckets.length);
+            if (oldIndex >= migrationIndex) {
+                e = lookup(oldBuckets[oldIndex], key, h);
+            }
+        }
+        return e;
+    }
+
+    /**
+     * Busca una clave en un bucket, sea cadena o bucket ordenado
+     * @param head La cabeza del bucket (puede ser null)
+     * @param key La clave a buscar
+     * @param h El hash de la clave
+     * @return La entrada encontrada, o null si no existe
+     */
+    private static Entry lookup(Entry head, String key, long h) {
+        if (head instanceof SortedBucket) {
+            return ((SortedBucket) head).find(h, key);
+        }
+        for (Entry e = head; e != null; e = e.next) {
+            if (e.key.equals(key)) {
+                return e;
+            }
+        }
         return null;
     }
-    
+
+    /**
+     * Enlaza una entrada nueva en su bucket de la tabla actual
+     * Si la cadena pasa de SORT_THRESHOLD entradas, el bucket se convierte en un
+     * {@link SortedBucket}.
+     * @param entry La entrada, cuya clave no está en la tabla
+     * @param h El hash de la clave
+     */
+    private void link(Entry entry, long h) {
+        link(buckets, entry, h);
+    }
+
+    /**
+     * Enlaza una entrada nueva en su bucket de un arreglo dado
+     * Solo escribe el bucket de la entrada, así que dos hilos pueden enlazar a la vez en
+     * buckets distintos del mismo arreglo.
+     */
+    private void link(Entry[] table, Entry entry, long h) {
+        int index = indexFor(h, table.length);
+        Entry head = table[index];
+        if (head instanceof SortedBucket) {
+            ((SortedBucket) head).insert(entry, h);
+            return;
+        }
+        entry.next = head;
+        table[index] = entry;
+        int length = 0;
+        for (Entry e = entry; e != null && length <= SORT_THRESHOLD; e = e.next) {
+            length++;
+        }
+        if (length > SORT_THRESHOLD) {
+            SortedBucket sorted = new SortedBucket(2 * SORT_THRESHOLD);
+            for (Entry e = entry; e != null; ) {
+                Entry next = e.next;
+                sorted.insert(e, hash(e.key));
+                e = next;
+            }
+            table[index] = sorted;
+        }
+    }
+
     /**
      * Calcula y retorna el factor de carga actual de la tabla hash
      * @return El factor de carga (número de elementos / capacidad)
      */
+    @Override
     public double getLoad() {
-        // TODO: Implementar el cálculo del factor de carga
-
-        return (double) 0.0;
+        return (double) size / capacity;
     }
-    
+
     /**
      * Redimensiona la tabla hash cuando el factor de carga supera el umbral
      * Duplica la capacidad y redistribuye todos los elementos
+     *
+     * Con la estrategia INCREMENTAL la capacidad se duplica de inmediato, pero la
+     * redistribución se reparte entre las siguientes operaciones. Si ya había una
+     * migración en curso, primero se termina. Con {@link #setResizePool} la
+     * redistribución IMMEDIATE se reparte entre los hilos de un ForkJoinPool.
      */
-    @SuppressWarnings("unchecked")
     public void resize() {
-        // TODO: Implementar el redimensionamiento
+        resizeTo(capacity * 2);
+    }
+
+    /**
+     * Redimensiona a una capacidad dada, con la estrategia de la tabla
+     * Con métricas se registra la duración (con resize INCREMENTAL, solo la de reservar la
+     * tabla nueva).
+     * @param newCapacity La nueva capacidad
+     */
+    private void resizeTo(int newCapacity) {
+        if (metrics == null) {
+            rebuild(newCapacity);
+            return;
+        }
+        long start = System.nanoTime();
+        rebuild(newCapacity);
+        metrics.recordResize(System.nanoTime() - start);
     }
-    
+
+    /**
+     * Reconstruye la tabla con una capacidad dada
+     * @param newCapacity La nueva capacidad
+     */
+    private void rebuild(int newCapacity) {
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            probing.resize(newCapacity);
+            capacity = newCapacity;
+            return;
+        }
+        if (mode == StorageMode.OFF_HEAP) {
+            offHeap.resize(newCapacity);
+            capacity = newCapacity;
+            return;
+        }
+        if (mode == StorageMode.COMPRESSED) {
+            compressed.resize(newCapacity);
+            capacity = newCapacity;
+            return;
+        }
+
+        if (oldBuckets != null) {
+            finishMigration();
+        }
+        Entry[] previous = buckets;
+        buckets = new Entry[newCapacity];
+        capacity = newCapacity;
+        if (resizeStrategy == ResizeStrategy.INCREMENTAL) {
+            oldBuckets = previous;
+            migrationIndex = 0;
+            return;
+        }
+        if (isPowerOfTwo(previous.length) && isPowerOfTwo(newCapacity)) {
+            // Al achicar dos buckets viejos van al mismo nuevo: solo se reparte al crecer
+            if (resizePool != null && previous.length >= PARALLEL_RESIZE_MIN && newCapacity > previous.length) {
+                resizePool.invoke(new RehashTask(previous, buckets, 0, previous.length));
+            } else {
+                rehashRange(previous, buckets, 0, previous.length);
+            }
+            return;
+        }
+        for (Entry head : previous) {
+            moveChain(head);
+        }
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return (n & (n - 1)) == 0;
+    }
+
+    /**
+     * Tarea que redistribuye un rango de buckets viejos en el arreglo nuevo
+     * Con capacidades potencia de dos el índice son los bits bajos del hash, así que las
+     * entradas del bucket viejo i solo van a buckets nuevos congruentes con i módulo la
+     * capacidad vieja (i e i + vieja al duplicar). Dos rangos distintos nunca escriben el
+     * mismo bucket nuevo: las tareas no usan locks, y invoke() publica el arreglo
+     * completo al hilo que redimensiona.
+     */
+    private final class RehashTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Entry[] from;
+        private final Entry[] to;
+        private final int start;
+        private final int end;
+
+        RehashTask(Entry[] from, Entry[] to, int start, int end) {
+            this.from = from;
+            this.to = to;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= REHASH_GRAIN) {
+                rehashRange(from, to, start, end);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new RehashTask(from, to, start, middle), new RehashTask(from, to, middle, end));
+        }
+    }
+
+    /**
+     * Redistribuye los buckets viejos [start, end) en el arreglo nuevo
+     * Al duplicar, cada cadena se parte en dos: el bit del hash que se agrega al índice
+     * decide si la entrada queda en i o pasa a i + capacidad vieja, sin contar el largo
+     * de las cadenas como hace link(). Los buckets ordenados se reinsertan con link(),
+     * que vuelve a decidir si cada mitad sigue siendo un arreglo ordenado.
+     */
+    private void rehashRange(Entry[] from, Entry[] to, int start, int end) {
+        int oldLength = from.length;
+        boolean doubling = to.length == 2 * oldLength;
+        for (int i = start; i < end; i++) {
+            Entry e = from[i];
+            if (!doubling || e instanceof SortedBucket) {
+                moveChain(to, e);
+                continue;
+            }
+            Entry low = null;
+            Entry high = null;
+            while (e != null) {
+                Entry next = e.next;
+                if ((hash(e.key) & oldLength) == 0) {
+                    e.next = low;
+                    low = e;
+                } else {
+                    e.next = high;
+                    high = e;
+                }
+                e = next;
+            }
+            to[i] = low;
+            to[i + oldLength] = high;
+        }
+    }
+
+    /**
+     * Crece una sola vez lo necesario para que expected elementos quepan sin pasar del
+     * factor de carga, duplicando la capacidad como lo haría put()
+     * @param expected Número de elementos que tendrá la tabla en el peor caso
+     */
+    private void growFor(long expected) {
+        long newCapacity = capacity;
+        while (expected > newCapacity * maxLoadFactor && newCapacity < MAX_CAPACITY) {
+            newCapacity *= 2;
+        }
+        if (newCapacity > capacity) {
+            resizeTo((int) newCapacity);
+        }
+    }
+
+    /**
+     * Calcula la capacidad potencia de dos más chica (desde la capacidad por defecto) en
+     * la que caben expected elementos sin pasar del factor de carga
+     */
+    private static int capacityFor(long expected, double maxLoadFactor) {
+        int capacity = DEFAULT_CAPACITY;
+        while (expected > capacity * maxLoadFactor && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Crea una tabla en modo CHAINING con capacidad para expectedSize elementos: cargarlos
+     * no redimensiona ninguna vez
+     * @param expectedSize Número de elementos que se espera guardar
+     * @return Una tabla vacía
+     * @throws IllegalArgumentException si expectedSize es negativo
+     */
+    public static HashTable withExpectedSize(int expectedSize) {
+        return withExpectedSize(expectedSize, StorageMode.CHAINING);
+    }
+
+    /**
+     * Crea una tabla con capacidad para expectedSize elementos en el modo indicado
+     * @param expectedSize Número de elementos que se espera guardar
+     * @param mode Modo de almacenamiento a utilizar
+     * @return Una tabla vacía
+     * @throws IllegalArgumentException si expectedSize es negativo o el modo es null
+     */
+    public static HashTable withExpectedSize(int expectedSize, StorageMode mode) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        return new HashTable(capacityFor(expectedSize, DEFAULT_MAX_LOAD_FACTOR), mode);
+    }
+
+    /**
+     * Crece una sola vez lo necesario para que expectedSize elementos quepan sin pasar del
+     * factor de carga; si ya caben no hace nada
+     * Con resize INCREMENTAL la redistribución se reparte entre las operaciones siguientes.
+     * @param expectedSize Número de elementos que se espera guardar
+     * @throws IllegalArgumentException si expectedSize es negativo
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        growFor(expectedSize);
+    }
+
+    /**
+     * Reduce la capacidad a la potencia de dos más chica (al menos 16) en la que caben
+     * los elementos actuales sin pasar del factor de carga; si ya es esa, no hace nada
+     */
+    @Override
+    public void trimToSize() {
+        int target = capacityFor(size, maxLoadFactor);
+        if (target < capacity) {
+            resizeTo(target);
+        }
+    }
+
+    /**
+     * Almacena varios pares clave-valor reservando capacidad una sola vez
+     * La tabla crece de una vez para size() + keys.length elementos (el peor caso, si
+     * todas las claves son nuevas) en lugar de duplicarse varias veces a mitad del lote.
+     * En modo CHAINING las claves se procesan en grupos: primero se calculan los índices
+     * de todo el grupo y se leen las cabezas de sus cadenas, que son lecturas
+     * independientes entre sí y la CPU puede tener varios fallos de caché en vuelo a la
+     * vez; después se recorren las cadenas, ya en caché. En los demás modos se reserva
+     * igual y luego se inserta uno por uno. Con resize INCREMENTAL no se reserva: se
+     * inserta uno por uno para no redistribuir toda la tabla de golpe.
+     * @param keys Las claves
+     * @param values Los valores, en el mismo orden que las claves
+     * @return El número de claves que eran nuevas
+     * @throws IllegalArgumentException si algún arreglo, clave o valor es null o los
+     *         arreglos tienen distinta longitud (antes de modificar la tabla)
+     */
+    @Override
+    public int putAll(String[] keys, String[] values) {
+        KeyValueTable.checkBatch(keys, values);
+        if (resizeStrategy == ResizeStrategy.INCREMENTAL) {
+            return KeyValueTable.super.putAll(keys, values);
+        }
+        growFor((long) size + keys.length);
+        if (mode != StorageMode.CHAINING) {
+            int added = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (put(keys[i], values[i])) {
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        long[] hashes = new long[BATCH_GROUP];
+        int added = 0;
+        for (int start = 0; start < keys.length; start += BATCH_GROUP) {
+            int count = Math.min(BATCH_GROUP, keys.length - start);
+            for (int j = 0; j < count; j++) {
+                hashes[j] = hash(keys[start + j]);
+            }
+            touchHeads(hashes, count);
+            for (int j = 0; j < count; j++) {
+                String key = keys[start + j];
+                long h = hashes[j];
+                // Se vuelve a leer la cabeza: una clave anterior del grupo pudo cambiarla
+                Entry e = lookup(buckets[indexFor(h, buckets.length)], key, h);
+                if (e != null) {
+                    e.value = values[start + j];
+                } else {
+                    link(new Entry(key, values[start + j]), h);
+                    size++;
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Lee la cabeza de cada cadena del grupo y la clave que contiene, para traerlas a la
+     * caché antes de recorrerlas
+     */
+    private void touchHeads(long[] hashes, int count) {
+        int sink = 0;
+        for (int j = 0; j < count; j++) {
+            Entry head = buckets[indexFor(hashes[j], buckets.length)];
+            if (head != null && head.key != null) {
+                sink += head.key.length();
+            }
+        }
+        touched = sink;
+    }
+
+    /**
+     * Recupera los valores de varias claves
+     * En modo CHAINING (sin migración en curso) se calculan primero los índices de un
+     * grupo de claves, después se leen todas sus cabezas de cadena, con lecturas
+     * independientes que se solapan, y al final se recorren las cadenas.
+     * @param keys Las claves a buscar (una clave null no se encuentra)
+     * @return Un arreglo con el valor de cada clave, o null en las que no se encuentran
+     * @throws IllegalArgumentException si el arreglo es null
+     */
+    @Override
+    public String[] getAll(String[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("El arreglo de claves no puede ser null");
+        }
+        if (mode != StorageMode.CHAINING || oldBuckets != null) {
+            return KeyValueTable.super.getAll(keys);
+        }
+        String[] values = new String[keys.length];
+        long[] hashes = new long[BATCH_GROUP];
+        Entry[] heads = new Entry[BATCH_GROUP];
+        for (int start = 0; start < keys.length; start += BATCH_GROUP) {
+            int count = Math.min(BATCH_GROUP, keys.length - start);
+            for (int j = 0; j < count; j++) {
+                String key = keys[start + j];
+                hashes[j] = key == null ? 0 : hash(key);
+            }
+            for (int j = 0; j < count; j++) {
+                heads[j] = keys[start + j] == null ? null : buckets[indexFor(hashes[j], buckets.length)];
+            }
+            for (int j = 0; j < count; j++) {
+                Entry e = lookup(heads[j], keys[start + j], hashes[j]);
+                if (e != null) {
+                    values[start + j] = e.value;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reinserta en los buckets actuales todas las entradas de un bucket
+     * @param head La cabeza del bucket, cadena o bucket ordenado (puede ser null)
+     */
+    private void moveChain(Entry head) {
+        moveChain(buckets, head);
+    }
+
+    /**
+     * Reinserta en un arreglo de buckets dado todas las entradas de un bucket
+     */
+    private void moveChain(Entry[] table, Entry head) {
+        if (head instanceof SortedBucket) {
+            SortedBucket sorted = (SortedBucket) head;
+            for (int i = 0; i < sorted.count; i++) {
+                link(table, sorted.entries[i], sorted.hashes[i]);
+            }
+            return;
+        }
+        Entry e = head;
+        while (e != null) {
+            Entry next = e.next;
+            link(table, e, hash(e.key));
+            e = next;
+        }
+    }
+
+    /**
+     * Migra hasta MIGRATION_STEP buckets viejos si hay una migración en curso
+     */
+    private void migrateStep() {
+        if (oldBuckets == null) {
+            return;
+        }
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldBuckets.length);
+        while (migrationIndex < end) {
+            moveChain(oldBuckets[migrationIndex]);
+            oldBuckets[migrationIndex++] = null;
+        }
+        if (migrationIndex == oldBuckets.length) {
+            oldBuckets = null;
+            migrationIndex = 0;
+        }
+    }
+
+    /**
+     * Migra de una vez todos los buckets viejos pendientes
+     */
+    private void finishMigration() {
+        while (oldBuckets != null) {
+            migrateStep();
+        }
+    }
+
+    /**
+     * Indica si hay un redimensionamiento incremental en curso
+     * @return true si todavía quedan buckets viejos por migrar
+     */
+    public boolean isMigrating() {
+        return oldBuckets != null;
+    }
+
+    /**
+     * Reparte los próximos redimensionamientos en un ForkJoinPool
+     * Cada tarea redistribuye un rango de buckets viejos sin locks (ver RehashTask). Solo
+     * aplica con capacidades potencia de dos y tablas de al menos 16384 buckets; las más
+     * chicas se redistribuyen en el hilo que llama. La función hash se llama desde los
+     * hilos del pool, así que debe poder usarse de forma concurrente.
+     * @param pool El pool, o null para volver a redimensionar en el hilo que llama
+     * @throws IllegalArgumentException si la tabla no está en modo CHAINING con resize
+     *         IMMEDIATE
+     */
+    public void setResizePool(ForkJoinPool pool) {
+        if (pool != null && (mode != StorageMode.CHAINING || resizeStrategy != ResizeStrategy.IMMEDIATE)) {
+            throw new IllegalArgumentException("El resize paralelo solo está disponible en modo CHAINING con resize IMMEDIATE");
+        }
+        this.resizePool = pool;
+    }
+
     /**
      * Retorna el número actual de elementos en la tabla hash
      * @return El número de elementos almacenados
      */
+    @Override
     public int size() {
-        return 0;
+        return size;
     }
-    
+
     /**
      * Retorna la capacidad actual de la tabla hash
      * @return La capacidad actual
      */
+    @Override
     public int capacity() {
-        return 0;
+        return capacity;
+    }
+
+    /**
+     * Retorna el modo de almacenamiento de la tabla hash
+     * @return El modo de almacenamiento
+     */
+    public StorageMode getStorageMode() {
+        return mode;
+    }
+
+    /**
+     * Retorna la función hash de las claves
+     * @return La función hash
+     */
+    public KeyHasher getKeyHasher() {
+        return hasher;
+    }
+
+    /**
+     * Retorna la memoria directa reservada para los valores en modo OFF_HEAP
+     * @return Bytes fuera del heap, o 0 en los demás modos
+     */
+    public long getOffHeapBytes() {
+        return mode == StorageMode.OFF_HEAP ? offHeap.store().reservedBytes() : 0;
     }
-    
+
+    /**
+     * Retorna los bytes de los valores codificados en modo COMPRESSED
+     * Cuenta los datos de cada byte[] vivo y los caracteres del diccionario de prefijos,
+     * sin cabeceras de objeto.
+     * @return Bytes de los valores comprimidos, o 0 en los demás modos
+     */
+    public long getCompressedBytes() {
+        if (mode != StorageMode.COMPRESSED) {
+            return 0;
+        }
+        return compressed.valueBytes() + compressed.compressor().prefixChars();
+    }
+
     /**
      * Verifica si la tabla hash está vacía
      * @return true si no hay elementos, false en caso contrario
      */
+    @Override
     public boolean isEmpty() {
-        return false;
+        return size == 0;
     }
-    
+
     /**
      * Verifica si una clave existe en la tabla hash
      * @param key La clave a buscar
      * @return true si la clave existe, false en caso contrario
      */
+    @Override
     public boolean containsKey(String key) {
-        return false;
+        if (key != null && mode == StorageMode.OFF_HEAP) {
+            // Evita copiar el valor al heap solo para descartarlo
+            return offHeap.containsKey(key);
+        }
+        if (key != null && mode == StorageMode.COMPRESSED) {
+            return compressed.containsKey(key);
+        }
+        return get(key) != null;
     }
-    
+
     /**
      * Elimina una entrada de la tabla hash
      * @param key La clave de la entrada a eliminar
      * @return El valor que fue eliminado, o null si la clave no existía
      */
+    @Override
     public String remove(String key) {
-        // TODO: Implementar el método remove (OPCIONAL)
+        if (key == null) {
+            return null;
+        }
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            String removed = probing.remove(key);
+            if (removed != null) {
+                size--;
+            }
+            return removed;
+        }
+        if (mode == StorageMode.OFF_HEAP) {
+            String removed = offHeap.remove(key);
+            if (removed != null) {
+                size--;
+            }
+            return removed;
+        }
+        if (mode == StorageMode.COMPRESSED) {
+            String removed = compressed.remove(key);
+            if (removed != null) {
+                size--;
+            }
+            return removed;
+        }
 
+        migrateStep();
+        long h = hash(key);
+        String removed = removeFromChain(buckets, indexFor(h, buckets.length), key, h);
+        if (removed == null && oldBuckets != null) {
+            int oldIndex = indexFor(h, oldBuckets.length);
+            if (oldIndex >= migrationIndex) {
+                removed = removeFromChain(oldBuckets, oldIndex, key, h);
+            }
+        }
+        if (removed != null) {
+            size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Desenlaza una clave de la cadena de un bucket
+     * Un bucket ordenado que queda con UNSORT_THRESHOLD entradas o menos vuelve a ser cadena.
+     * @param table El arreglo de buckets
+     * @param index El bucket donde buscar
+     * @param key La clave a eliminar
+     * @param h El hash de la clave
+     * @return El valor eliminado, o null si la clave no estaba en esa cadena
+     */
+    private static String removeFromChain(Entry[] table, int index, String key, long h) {
+        if (table[index] instanceof SortedBucket) {
+            SortedBucket sorted = (SortedBucket) table[index];
+            Entry removed = sorted.remove(h, key);
+            if (removed == null) {
+                return null;
+            }
+            if (sorted.count <= UNSORT_THRESHOLD) {
+                table[index] = sorted.toChain();
+            }
+            return removed.value;
+        }
+        Entry prev = null;
+        for (Entry e = table[index]; e != null; prev = e, e = e.next) {
+            if (e.key.equals(key)) {
+                if (prev == null) {
+                    table[index] = e.next;
+                } else {
+                    prev.next = e.next;
+                }
+                return e.value;
+            }
+        }
         return null;
     }
-    
+
+    /**
+     * Cuenta los buckets (o ranuras) ocupados
+     * @return El número de buckets no vacíos
+     */
+    private int countNonEmptyBuckets() {
+        if (mode != StorageMode.CHAINING) {
+            return size;
+        }
+        int count = 0;
+        for (Entry head : buckets) {
+            if (head != null) {
+                count++;
+            }
+        }
+        if (oldBuckets != null) {
+            for (int i = migrationIndex; i < oldBuckets.length; i++) {
+                if (oldBuckets[i] != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // ---------- Métricas ----------
+
+    /**
+     * Conecta métricas a la tabla: cada get() registra su largo de sondeo y cada
+     * redimensionamiento su duración. Con métricas, get() usa una variante de la misma
+     * búsqueda que cuenta las ranuras revisadas; sin métricas no cuenta nada
+     * @param metrics Las métricas, o null para dejar de registrar
+     */
+    @Override
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retorna las métricas conectadas
+     * @return Las métricas, o null si no hay
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Copia las métricas junto con el largo máximo de bucket actual
+     * @return Una copia inmutable
+     * @throws IllegalStateException si no hay métricas conectadas
+     */
+    public Metrics.Snapshot getMetricsSnapshot() {
+        if (metrics == null) {
+            throw new IllegalStateException("La tabla no tiene métricas");
+        }
+        return metrics.snapshot(getMaxBucketLength());
+    }
+
+    /**
+     * Busca como get() contando lo que recorre la búsqueda y registra el largo del
+     * sondeo: claves comparadas en la cadena (o pasos de la búsqueda binaria en un bucket
+     * ordenado) en modo CHAINING, ranuras revisadas en los demás modos
+     * @param key La clave (no null)
+     * @return El valor asociado, o null si no se encuentra
+     */
+    private String getMeasured(String key) {
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            return probing.getMeasured(key, metrics);
+        }
+        if (mode == StorageMode.OFF_HEAP) {
+            return offHeap.getMeasured(key, metrics);
+        }
+        if (mode == StorageMode.COMPRESSED) {
+            return compressed.getMeasured(key, metrics);
+        }
+        migrateStep();
+        long h = hash(key);
+        Entry head = buckets[indexFor(h, buckets.length)];
+        int probes = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            if (head instanceof SortedBucket) {
+                probes += 32 - Integer.numberOfLeadingZeros(((SortedBucket) head).count);
+                Entry e = ((SortedBucket) head).find(h, key);
+                if (e != null) {
+                    metrics.recordProbe(probes);
+                    return e.value;
+                }
+            } else {
+                for (Entry e = head; e != null; e = e.next) {
+                    probes++;
+                    if (e.key.equals(key)) {
+                        metrics.recordProbe(probes);
+                        return e.value;
+                    }
+                }
+            }
+            // Durante la migración la clave puede seguir en un bucket viejo no migrado
+            if (oldBuckets == null || indexFor(h, oldBuckets.length) < migrationIndex) {
+                break;
+            }
+            head = oldBuckets[indexFor(h, oldBuckets.length)];
+        }
+        metrics.recordProbe(probes);
+        return null;
+    }
+
+    /**
+     * Calcula la cadena más larga (modo CHAINING) o el sondeo más largo de una clave
+     * guardada (demás modos); recorre toda la tabla
+     * @return El largo máximo
+     */
+    @Override
+    public int getMaxBucketLength() {
+        if (mode == StorageMode.OPEN_ADDRESSING) {
+            return probing.maxProbeLength();
+        }
+        if (mode == StorageMode.OFF_HEAP) {
+            return offHeap.maxProbeLength();
+        }
+        if (mode == StorageMode.COMPRESSED) {
+            return compressed.maxProbeLength();
+        }
+        int max = maxChainLength(buckets, 0);
+        return oldBuckets == null ? max : Math.max(max, maxChainLength(oldBuckets, migrationIndex));
+    }
+
+    private static int maxChainLength(Entry[] table, int from) {
+        int max = 0;
+        for (int i = from; i < table.length; i++) {
+            int length = 0;
+            if (table[i] instanceof SortedBucket) {
+                length = ((SortedBucket) table[i]).count;
+            } else {
+                for (Entry e = table[i]; e != null; e = e.next) {
+                    length++;
+                }
+            }
+            max = Math.max(max, length);
+        }
+        return max;
+    }
+
+    /**
+     * Cuenta los buckets convertidos en arreglo ordenado (modo CHAINING)
+     * En una tabla sana es 0; si crece, hay muchas claves con el mismo índice.
+     * @return El número de buckets ordenados
+     */
+    public int getSortedBucketCount() {
+        if (mode != StorageMode.CHAINING) {
+            return 0;
+        }
+        int count = 0;
+        for (Entry head : buckets) {
+            if (head instanceof SortedBucket) {
+                count++;
+            }
+        }
+        if (oldBuckets != null) {
+            for (int i = migrationIndex; i < oldBuckets.length; i++) {
+                if (oldBuckets[i] instanceof SortedBucket) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Retorna una representación en cadena de la tabla hash para debugging
      * @return String representando el estado actual de la tabla
      */
     @Override
     public String toString() {
-        // TODO: Implementar el método toString
-        // Incluir información útil como:
-        // - Tamaño actual (size)
-        // - Capacidad actual (capacity)
-        // - Factor de carga actual (loadFactor)
-        // - Información sobre buckets no vacíos
-
-        return "HashTable";
+        int sortedBuckets = getSortedBucketCount();
+        return "HashTable{size=" + size
+                + ", capacity=" + capacity
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", nonEmptyBuckets=" + countNonEmptyBuckets()
+                + ", mode=" + mode
+                + (sortedBuckets > 0 ? ", sortedBuckets=" + sortedBuckets : "")
+                + (mode == StorageMode.OFF_HEAP ? ", offHeapBytes=" + getOffHeapBytes() : "")
+                + (mode == StorageMode.COMPRESSED
+                    ? ", compressedBytes=" + getCompressedBytes()
+                        + ", prefixes=" + compressed.compressor().prefixCount()
+                    : "")
+                + (oldBuckets != null
+                    ? ", migration=" + migrationIndex + "/" + oldBuckets.length
+                    : "")
+                + "}";
     }
 }
@@ -0,0 +1,169 @@
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma concurrente de valores enteros no negativos, al estilo de HdrHistogram
+ * Los valores de 0 a 15 tienen un bucket exacto cada uno; desde ahí cada potencia de dos
+ * se divide en 16 buckets iguales, así que el error relativo de un percentil es menor a
+ * 1/16 (~6%) en todo el rango de long con menos de mil buckets. Cada bucket es un
+ * LongAdder: varios hilos registran sin competir por la misma línea de caché.
+ *
+ * Registrar un valor cuesta un numberOfLeadingZeros, un desplazamiento y un solo
+ * incremento; el promedio y el máximo se calculan de los buckets al copiar, así que son
+ * exactos para valores menores a 16 y aproximados (con el mismo error) para el resto.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public final class Histogram {
+    // log2 de los buckets por potencia de dos
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    /**
+     * Constructor que crea un histograma vacío
+     */
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Calcula el bucket de un valor
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        return (magnitude - SUB_BITS + 1) * SUB_COUNT + (int) ((value >>> (magnitude - SUB_BITS)) & (SUB_COUNT - 1));
+    }
+
+    /**
+     * Calcula el menor valor que cae en un bucket
+     */
+    private static long lowestValueIn(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_COUNT + SUB_BITS - 1;
+        return (1L << magnitude) | ((long) (bucket % SUB_COUNT) << (magnitude - SUB_BITS));
+    }
+
+    /**
+     * Calcula el mayor valor que cae en un bucket
+     */
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_COUNT + SUB_BITS - 1;
+        return lowestValueIn(bucket) + (1L << (magnitude - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Registra un valor
+     * @param value El valor (los negativos se registran como 0)
+     */
+    public void record(long value) {
+        counts[bucketOf(Math.max(0, value))].increment();
+    }
+
+    /**
+     * Copia el estado actual del histograma
+     * Con registros concurrentes la copia no es atómica: cada bucket se lee una vez.
+     * @return Una copia inmutable
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        double total = 0;
+        long max = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts[i].sum();
+            if (copy[i] != 0) {
+                count += copy[i];
+                // Punto medio del bucket (el valor exacto en los buckets de un solo valor)
+                total += copy[i] * (lowestValueIn(i) / 2.0 + highestValueIn(i) / 2.0);
+                max = highestValueIn(i);
+            }
+        }
+        return new Snapshot(copy, count, total, max);
+    }
+
+    /**
+     * Copia inmutable de un histograma
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final double total;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, double total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * Retorna el número de valores registrados
+         * @return El número de valores
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Calcula el promedio de los valores registrados
+         * @return El promedio, o 0 si no hay valores
+         */
+        public double getMean() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * Retorna el mayor valor registrado
+         * @return El mayor valor del bucket más alto con registros, o 0 si no hay valores
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Calcula el valor por debajo del cual queda el porcentaje indicado de registros
+         * @param percentile El percentil, entre 0 y 100
+         * @return El mayor valor del bucket del percentil, o 0 si no hay valores
+         * @throws IllegalArgumentException si el percentil está fuera de [0, 100]
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + percentile);
+            }
+            long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return highestValueIn(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count
+                    + ", mean=" + String.format(Locale.ROOT, "%.2f", getMean())
+                    + ", p50=" + getValueAtPercentile(50)
+                    + ", p99=" + getValueAtPercentile(99)
+                    + ", max=" + max
+                    + "}";
+        }
+    }
+}
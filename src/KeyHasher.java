@@ -0,0 +1,44 @@
+/**
+ * Función hash de claves String intercambiable para las tablas
+ * HashTable y ConcurrentHashTable calculan la posición de cada clave con un KeyHasher.
+ * Los bits bajos del resultado eligen el bucket (con una máscara si la capacidad es
+ * potencia de dos), así que una implementación debe mezclar bien todos sus bits.
+ *
+ * {@link #STRING_HASHCODE} es String.hashCode(): determinista y sin costo extra (el
+ * String guarda su hash), pero con poca avalancha en claves cortas parecidas y
+ * predecible, así que quien elige las claves puede hacer que todas caigan en el mismo
+ * bucket. {@link #seeded()} usa un mezclador de 64 bits con semilla secreta
+ * ({@link SeededKeyHasher}): sin conocer la semilla no se pueden fabricar colisiones.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface KeyHasher {
+    /** String.hashCode() extendido a long (el comportamiento por defecto de las tablas) */
+    KeyHasher STRING_HASHCODE = String::hashCode;
+
+    /**
+     * Calcula el hash de una clave
+     * @param key La clave (no null)
+     * @return El hash de 64 bits
+     */
+    long hash(String key);
+
+    /**
+     * Crea un hasher con semilla aleatoria, elegida con SecureRandom
+     * @return Un hasher resistente a colisiones elegidas
+     */
+    static KeyHasher seeded() {
+        return new SeededKeyHasher(SeededKeyHasher.randomSeed());
+    }
+
+    /**
+     * Crea un hasher con una semilla fija (para resultados reproducibles)
+     * @param seed La semilla
+     * @return Un hasher determinista para esa semilla
+     */
+    static KeyHasher seeded(long seed) {
+        return new SeededKeyHasher(seed);
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Operaciones comunes de las tablas hash de String a String que puede usar TinyURL
+ * Permite que el servicio trabaje igual sobre HashTable o sobre sus variantes
+ * (por ejemplo ConcurrentHashTable).
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public interface KeyValueTable {
+
+    /**
+     * Almacena un valor con su clave correspondiente
+     * @param key La clave para el valor
+     * @param value El valor a almacenar
+     * @return true si la inserción fue exitosa, false si la clave ya existía y se actualizó
+     * @throws IllegalArgumentException si la clave o el valor son null
+     */
+    boolean put(String key, String value);
+
+    /**
+     * Almacena un valor solo si la clave no existe todavía
+     * @param key La clave para el valor
+     * @param value El valor a almacenar
+     * @return true si se insertó, false si la clave ya existía (y no se modificó)
+     * @throws IllegalArgumentException si la clave o el valor son null
+     */
+    boolean putIfAbsent(String key, String value);
+
+    /**
+     * Recupera el valor asociado con la clave dada
+     * @param key La clave a buscar
+     * @return El valor asociado, o null si no se encuentra
+     */
+    String get(String key);
+
+    /**
+     * Verifica si una clave existe en la tabla
+     * @param key La clave a buscar
+     * @return true si la clave existe, false en caso contrario
+     */
+    boolean containsKey(String key);
+
+    /**
+     * Elimina una entrada de la tabla
+     * @param key La clave de la entrada a eliminar
+     * @return El valor que fue eliminado, o null si la clave no existía
+     */
+    String remove(String key);
+
+    /**
+     * Retorna el número actual de elementos en la tabla
+     * @return El número de elementos almacenados
+     */
+    int size();
+
+    /**
+     * Retorna la capacidad actual de la tabla
+     * @return La capacidad actual
+     */
+    int capacity();
+
+    /**
+     * Calcula y retorna el factor de carga actual de la tabla
+     * @return El factor de carga (número de elementos / capacidad)
+     */
+    double getLoad();
+
+    /**
+     * Verifica si la tabla está vacía
+     * @return true si no hay elementos, false en caso contrario
+     */
+    boolean isEmpty();
+
+    /**
+     * Reserva capacidad para que la tabla llegue a expectedSize elementos sin redimensionarse
+     * Es una sugerencia: esta versión no hace nada, para las tablas que no pueden
+     * reservar de antemano.
+     * @param expectedSize Número de elementos que se espera guardar
+     * @throws IllegalArgumentException si expectedSize es negativo
+     */
+    default void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+    }
+
+    /**
+     * Reduce la capacidad a la mínima en la que caben los elementos actuales sin pasar
+     * del factor de carga, por ejemplo después de eliminar muchos
+     * Es una sugerencia: esta versión no hace nada.
+     */
+    default void trimToSize() {
+    }
+
+    /**
+     * Almacena varios pares clave-valor, en orden (una clave repetida queda con el
+     * último valor)
+     * Las implementaciones pueden reservar capacidad una sola vez para todo el lote y
+     * separar el cálculo de los hash del sondeo; esta versión inserta uno por uno.
+     * @param keys Las claves
+     * @param values Los valores, en el mismo orden que las claves
+     * @return El número de claves que eran nuevas
+     * @throws IllegalArgumentException si algún arreglo, clave o valor es null o los
+     *         arreglos tienen distinta longitud (antes de modificar la tabla)
+     */
+    default int putAll(String[] keys, String[] values) {
+        checkBatch(keys, values);
+        int added = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (put(keys[i], values[i])) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Recupera los valores de varias claves
+     * @param keys Las claves a buscar (una clave null no se encuentra)
+     * @return Un arreglo con el valor de cada clave, o null en las que no se encuentran
+     * @throws IllegalArgumentException si el arreglo es null
+     */
+    default String[] getAll(String[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("El arreglo de claves no puede ser null");
+        }
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = get(keys[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Valida los argumentos de {@link #putAll(String[], String[])}
+     * @throws IllegalArgumentException si algún arreglo, clave o valor es null o los
+     *         arreglos tienen distinta longitud
+     */
+    static void checkBatch(String[] keys, String[] values) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("Los arreglos del lote no pueden ser null");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Las claves y los valores tienen distinta longitud: "
+                    + keys.length + " y " + values.length);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new IllegalArgumentException("La clave no puede ser null (posición " + i + ")");
+            }
+            if (values[i] == null) {
+                throw new IllegalArgumentException("El valor no puede ser null (posición " + i + ")");
+            }
+        }
+    }
+}
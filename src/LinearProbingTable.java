@@ -0,0 +1,251 @@
+/**
+ * Motor de sondeo lineal compartido por {@link OffHeapTable} y {@link CompressedTable}
+ * Guarda las claves en un arreglo y los valores en un arreglo paralelo de tipo {@code V}
+ * cuya representación decide cada subclase (manejadores fuera del heap, bytes codificados):
+ * la subclase solo sabe leer, escribir, liberar y mover una ranura de valor, y este motor
+ * se encarga de la búsqueda, la inserción, la eliminación por desplazamiento hacia atrás,
+ * el redimensionamiento y las métricas de sondeo.
+ *
+ * El llamador (HashTable) es responsable de mantener el factor de carga por debajo de 1.
+ *
+ * @param <V> El tipo del arreglo de valores
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+abstract class LinearProbingTable<V> {
+    private String[] keys;
+    // Arreglo paralelo a keys con el valor de cada ranura
+    V values;
+    // capacity - 1 si la capacidad es potencia de dos, -1 en caso contrario
+    private int mask;
+    private int size;
+    private final KeyHasher hasher;
+
+    /**
+     * Constructor que crea los arreglos con la capacidad indicada
+     * @param capacity Número de ranuras (positivo)
+     * @param hasher La función hash de las claves
+     */
+    LinearProbingTable(int capacity, KeyHasher hasher) {
+        this.hasher = hasher;
+        allocate(capacity);
+    }
+
+    /**
+     * Crea un arreglo de valores vacío
+     * @param capacity Número de ranuras
+     * @return El arreglo nuevo
+     */
+    abstract V newValues(int capacity);
+
+    /**
+     * Lee el valor guardado en una ranura ocupada
+     * @param slot La ranura
+     * @return El valor decodificado
+     */
+    abstract String readValue(int slot);
+
+    /**
+     * Guarda un valor en una ranura
+     * @param slot La ranura
+     * @param value El valor
+     * @param replacing true si la ranura ya tenía un valor que se reemplaza
+     */
+    abstract void writeValue(int slot, String value, boolean replacing);
+
+    /**
+     * Libera el valor de una ranura que se va a eliminar
+     * @param slot La ranura
+     */
+    abstract void releaseValue(int slot);
+
+    /**
+     * Mueve un valor de una ranura a otra, dentro del mismo arreglo o hacia uno nuevo
+     * @param from El arreglo de origen
+     * @param i La ranura de origen
+     * @param to El arreglo de destino
+     * @param j La ranura de destino
+     */
+    abstract void moveValue(V from, int i, V to, int j);
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = newValues(capacity);
+        mask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        size = 0;
+    }
+
+    /**
+     * Calcula la posición ideal de una clave, mezclando los bits de su hash
+     */
+    private int home(String key) {
+        int h = (int) hasher.hash(key) * 0x9E3779B9;
+        h ^= h >>> 16;
+        return mask >= 0 ? h & mask : (h & 0x7fffffff) % keys.length;
+    }
+
+    private int next(int slot) {
+        return slot + 1 == keys.length ? 0 : slot + 1;
+    }
+
+    /**
+     * Busca la ranura que contiene la clave
+     * @return El índice de la ranura, o -1 si no se encuentra
+     */
+    private int find(String key) {
+        for (int slot = home(key); ; slot = next(slot)) {
+            String k = keys[slot];
+            if (k == null) {
+                return -1;
+            }
+            if (k.equals(key)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Indica si una ranura tiene una clave
+     * @param slot La ranura
+     * @return true si está ocupada
+     */
+    boolean isOccupied(int slot) {
+        return keys[slot] != null;
+    }
+
+    /**
+     * Recupera el valor asociado con la clave
+     * @param key La clave a buscar
+     * @return El valor, o null si no se encuentra
+     */
+    String get(String key) {
+        int slot = find(key);
+        return slot < 0 ? null : readValue(slot);
+    }
+
+    /**
+     * Verifica si una clave existe sin leer su valor
+     * @param key La clave a buscar
+     * @return true si la clave existe
+     */
+    boolean containsKey(String key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Inserta o actualiza un par clave-valor
+     * @param key La clave
+     * @param value El valor
+     * @return true si la clave era nueva, false si se actualizó
+     */
+    boolean put(String key, String value) {
+        int slot = home(key);
+        for (String k = keys[slot]; k != null; k = keys[slot]) {
+            if (k.equals(key)) {
+                writeValue(slot, value, true);
+                return false;
+            }
+            slot = next(slot);
+        }
+        writeValue(slot, value, false);
+        keys[slot] = key;
+        size++;
+        return true;
+    }
+
+    /**
+     * Elimina una clave usando desplazamiento hacia atrás
+     * @param key La clave a eliminar
+     * @return El valor eliminado, o null si no existía
+     */
+    String remove(String key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return null;
+        }
+        String removed = readValue(hole);
+        releaseValue(hole);
+        int n = keys.length;
+        for (int j = next(hole); keys[j] != null; j = next(j)) {
+            // El elemento en j puede ocupar el hueco si el hueco está entre su posición
+            // ideal y j (recorriendo en círculo)
+            int home = home(keys[j]);
+            if (Math.floorMod(j - home, n) >= Math.floorMod(j - hole, n)) {
+                keys[hole] = keys[j];
+                moveValue(values, j, values, hole);
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Reconstruye los arreglos con una nueva capacidad
+     * Los valores se mueven sin leerlos ni decodificarlos.
+     * @param newCapacity La nueva cantidad de ranuras (mayor que size)
+     */
+    void resize(int newCapacity) {
+        String[] oldKeys = keys;
+        V oldValues = values;
+        int oldSize = size;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            String key = oldKeys[i];
+            if (key != null) {
+                int slot = home(key);
+                while (keys[slot] != null) {
+                    slot = next(slot);
+                }
+                keys[slot] = key;
+                moveValue(oldValues, i, values, slot);
+            }
+        }
+        size = oldSize;
+    }
+
+    /**
+     * Busca como get() contando las ranuras revisadas y registra el largo del sondeo
+     * @param key La clave
+     * @param metrics Dónde registrar el sondeo
+     * @return El valor, o null si no se encuentra
+     */
+    String getMeasured(String key, Metrics metrics) {
+        int probes = 1;
+        int slot = home(key);
+        for (String k = keys[slot]; k != null; k = keys[slot]) {
+            if (k.equals(key)) {
+                metrics.recordProbe(probes);
+                return readValue(slot);
+            }
+            slot = next(slot);
+            probes++;
+        }
+        metrics.recordProbe(probes);
+        return null;
+    }
+
+    /**
+     * Calcula el sondeo más largo entre las claves guardadas (recalcula el hash de todas)
+     * @return El mayor número de ranuras que revisa una búsqueda exitosa
+     */
+    int maxProbeLength() {
+        int max = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                int distance = slot - home(keys[slot]);
+                max = Math.max(max, (distance < 0 ? distance + keys.length : distance) + 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Retorna el número de ranuras
+     * @return La capacidad actual
+     */
+    int capacity() {
+        return keys.length;
+    }
+}
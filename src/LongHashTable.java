@@ -0,0 +1,610 @@
+import java.util.Locale;
+
+/**
+ * Tabla hash especializada para códigos cortos empaquetados en long
+ * Las claves son los códigos de 8 caracteres en su forma numérica (ver {@link Base62Codec})
+ * y viven en un arreglo {@code long[]}, en paralelo con un arreglo de valores. No hay un
+ * objeto por entrada ni un String por clave: cada entrada cuesta 8 bytes de clave más la
+ * referencia al valor, frente a los ~56 bytes del String más el Entry de HashTable, y una
+ * búsqueda no reserva memoria ni calcula String.hashCode().
+ *
+ * Usa direccionamiento abierto con sondeo lineal y capacidad potencia de dos. La posición
+ * ideal se toma de los bits altos de clave * constante de Fibonacci. Las ranuras vacías se
+ * marcan con -1 (ningún código es negativo) y la eliminación desplaza hacia atrás los
+ * elementos siguientes, así que no hay lápidas.
+ *
+ * También acepta claves String ({@link KeyValueTable}): se convierten con Base62Codec y
+ * solo se aceptan códigos válidos de 8 caracteres.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class LongHashTable implements CodeTable, MeasuredTable {
+    // Capacidad por defecto de la tabla
+    private static final int DEFAULT_CAPACITY = 16;
+    // Factor de carga máximo antes de redimensionar
+    private static final double DEFAULT_MAX_LOAD_FACTOR = 0.75;
+    // Capacidad máxima (potencia de dos que cabe en un arreglo)
+    private static final int MAX_CAPACITY = 1 << 30;
+    // Marca de ranura vacía en keys
+    private static final long EMPTY = -1L;
+    // 2^64 / razón áurea
+    private static final long FIBONACCI = 0x9E3779B97F4A7C15L;
+    // Claves que se procesan juntas en cada fase de putAll/getAll
+    private static final int BATCH_GROUP = 32;
+
+    private long[] keys;
+    private String[] values;
+    // 64 - log2(capacidad): desplazamiento para tomar los bits altos del hash
+    private int shift;
+    private int mask;
+    private int size;
+    private final double maxLoadFactor;
+    // Evita que el JIT descarte las lecturas de touchSlots
+    private long touched;
+    // null si no se registran métricas
+    private Metrics metrics;
+
+    /**
+     * Constructor que inicializa la tabla con capacidad y factor de carga por defecto
+     */
+    public LongHashTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor que permite especificar la capacidad inicial
+     * @param initialCapacity Capacidad inicial (se redondea a potencia de dos)
+     */
+    public LongHashTable(int initialCapacity) {
+        this(initialCapacity, DEFAULT_MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor completo
+     * @param initialCapacity Capacidad inicial (se redondea a potencia de dos)
+     * @param maxLoadFactor Factor de carga máximo, en (0, 1)
+     * @throws IllegalArgumentException si algún parámetro está fuera de rango
+     */
+    public LongHashTable(int initialCapacity, double maxLoadFactor) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + initialCapacity);
+        }
+        if (!(maxLoadFactor > 0 && maxLoadFactor < 1)) {
+            throw new IllegalArgumentException("El factor de carga debe estar en (0, 1): " + maxLoadFactor);
+        }
+        this.maxLoadFactor = maxLoadFactor;
+        allocate(ceilPowerOfTwo(initialCapacity));
+    }
+
+    /**
+     * Redondea hacia arriba a la siguiente potencia de dos (mínimo 2)
+     */
+    private static int ceilPowerOfTwo(int n) {
+        if (n >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return n <= 2 ? 2 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Reserva arreglos vacíos para la capacidad indicada
+     * @param capacity Número de ranuras (potencia de dos)
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        java.util.Arrays.fill(keys, EMPTY);
+        values = new String[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    /**
+     * Calcula la posición ideal de una clave
+     * @param key La clave
+     * @return Índice en [0, capacidad)
+     */
+    private int home(long key) {
+        return (int) ((key * FIBONACCI) >>> shift);
+    }
+
+    /**
+     * Busca la ranura que contiene una clave
+     * @param key La clave (no negativa)
+     * @return La ranura, o -1 si no está
+     */
+    private int find(long key) {
+        return find(key, home(key));
+    }
+
+    /**
+     * Busca una clave sondeando desde una ranura dada
+     * @param key La clave (no negativa)
+     * @param start Primera ranura a revisar
+     * @return La ranura, o -1 si no está
+     */
+    private int find(long key, int start) {
+        for (int i = start; ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Almacena un valor con su código correspondiente
+     * @param key El código empaquetado (no negativo)
+     * @param value El valor a almacenar
+     * @return true si la clave era nueva, false si ya existía y se actualizó
+     * @throws IllegalArgumentException si la clave es negativa o el valor es null
+     */
+    @Override
+    public boolean put(long key, String value) {
+        return insert(key, value, false);
+    }
+
+    /**
+     * Almacena un valor solo si el código no existe todavía
+     * La verificación y la inserción usan un solo sondeo.
+     * @param key El código empaquetado (no negativo)
+     * @param value El valor a almacenar
+     * @return true si se insertó, false si la clave ya existía (y no se modificó)
+     * @throws IllegalArgumentException si la clave es negativa o el valor es null
+     */
+    @Override
+    public boolean putIfAbsent(long key, String value) {
+        return insert(key, value, true);
+    }
+
+    private boolean insert(long key, String value, boolean onlyIfAbsent) {
+        if (key < 0) {
+            throw new IllegalArgumentException("La clave no puede ser negativa: " + key);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        return insertFrom(home(key), key, value, onlyIfAbsent);
+    }
+
+    /**
+     * Inserta una clave ya validada sondeando desde su posición ideal
+     */
+    private boolean insertFrom(int i, long key, String value, boolean onlyIfAbsent) {
+        for (long k = keys[i]; k != EMPTY; k = keys[i]) {
+            if (k == key) {
+                if (!onlyIfAbsent) {
+                    values[i] = value;
+                }
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (getLoad() > maxLoadFactor) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Recupera el valor asociado con un código, sin reservar memoria
+     * @param key El código empaquetado
+     * @return El valor asociado, o null si no se encuentra
+     */
+    @Override
+    public String get(long key) {
+        if (key < 0) {
+            return null;
+        }
+        if (metrics != null) {
+            return getMeasured(key);
+        }
+        int i = find(key);
+        return i < 0 ? null : values[i];
+    }
+
+    /**
+     * Verifica si un código existe en la tabla
+     * @param key El código empaquetado
+     * @return true si el código existe, false en caso contrario
+     */
+    @Override
+    public boolean containsKey(long key) {
+        return key >= 0 && find(key) >= 0;
+    }
+
+    /**
+     * Elimina una entrada de la tabla desplazando hacia atrás las que la siguen
+     * @param key El código empaquetado
+     * @return El valor que fue eliminado, o null si la clave no existía
+     */
+    @Override
+    public String remove(long key) {
+        if (key < 0) {
+            return null;
+        }
+        int hole = find(key);
+        if (hole < 0) {
+            return null;
+        }
+        String previous = values[hole];
+        for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            // El elemento en j puede ocupar el hueco si el hueco está entre su posición
+            // ideal y j (recorriendo en círculo)
+            if (((j - home(keys[j])) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+        return previous;
+    }
+
+    /**
+     * Almacena varios pares código-valor reservando capacidad una sola vez
+     * La tabla crece de una vez para size() + codes.length elementos (el peor caso) en
+     * lugar de duplicarse varias veces a mitad del lote. Los códigos se procesan en
+     * grupos: primero se calculan las posiciones ideales del grupo y se leen esas
+     * ranuras, lecturas independientes que la CPU solapa; después se sondea e inserta.
+     * @param codes Los códigos empaquetados (no negativos)
+     * @param values Los valores, en el mismo orden que los códigos
+     * @return El número de códigos que eran nuevos
+     * @throws IllegalArgumentException si algún arreglo o valor es null, algún código es
+     *         negativo o los arreglos tienen distinta longitud (antes de modificar la tabla)
+     */
+    @Override
+    public int putAll(long[] codes, String[] values) {
+        CodeTable.checkBatch(codes, values);
+        growFor((long) size + codes.length);
+        int[] homes = new int[BATCH_GROUP];
+        int added = 0;
+        for (int start = 0; start < codes.length; start += BATCH_GROUP) {
+            int count = Math.min(BATCH_GROUP, codes.length - start);
+            for (int j = 0; j < count; j++) {
+                homes[j] = home(codes[start + j]);
+            }
+            touchSlots(homes, count);
+            for (int j = 0; j < count; j++) {
+                if (insertFrom(homes[j], codes[start + j], values[start + j], false)) {
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Lee la clave y el valor de la posición ideal de cada código del grupo, para
+     * traerlos a la caché antes de sondear
+     */
+    private void touchSlots(int[] homes, int count) {
+        long sink = 0;
+        for (int j = 0; j < count; j++) {
+            sink += keys[homes[j]];
+            if (values[homes[j]] != null) {
+                sink++;
+            }
+        }
+        touched = sink;
+    }
+
+    /**
+     * Recupera los valores de varios códigos
+     * Igual que en putAll, se calculan primero las posiciones ideales de un grupo y se
+     * leen todas sus claves antes de comparar y seguir sondeando.
+     * @param codes Los códigos empaquetados
+     * @return Un arreglo con el valor de cada código, o null en los que no se encuentran
+     * @throws IllegalArgumentException si el arreglo es null
+     */
+    @Override
+    public String[] getAll(long[] codes) {
+        if (codes == null) {
+            throw new IllegalArgumentException("El arreglo de códigos no puede ser null");
+        }
+        String[] result = new String[codes.length];
+        int[] homes = new int[BATCH_GROUP];
+        long[] first = new long[BATCH_GROUP];
+        for (int start = 0; start < codes.length; start += BATCH_GROUP) {
+            int count = Math.min(BATCH_GROUP, codes.length - start);
+            for (int j = 0; j < count; j++) {
+                homes[j] = home(codes[start + j]);
+            }
+            for (int j = 0; j < count; j++) {
+                first[j] = keys[homes[j]];
+            }
+            for (int j = 0; j < count; j++) {
+                long code = codes[start + j];
+                if (code < 0 || first[j] == EMPTY) {
+                    continue;
+                }
+                int i = homes[j];
+                if (first[j] != code) {
+                    i = find(code, (i + 1) & mask);
+                }
+                if (i >= 0) {
+                    result[start + j] = values[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Crece una sola vez lo necesario para que expected elementos quepan sin pasar del
+     * factor de carga
+     * @param expected Número de elementos que tendrá la tabla en el peor caso
+     */
+    private void growFor(long expected) {
+        int capacity = keys.length;
+        while (expected > capacity * maxLoadFactor && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        if (capacity > keys.length) {
+            resizeTo(capacity);
+        }
+    }
+
+    /**
+     * Crea una tabla con capacidad para expectedSize códigos: cargarlos no redimensiona
+     * ninguna vez
+     * @param expectedSize Número de códigos que se espera guardar
+     * @return Una tabla vacía
+     * @throws IllegalArgumentException si expectedSize es negativo
+     */
+    public static LongHashTable withExpectedSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        LongHashTable table = new LongHashTable();
+        table.growFor(expectedSize);
+        return table;
+    }
+
+    /**
+     * Crece una sola vez lo necesario para que expectedSize códigos quepan sin pasar del
+     * factor de carga; si ya caben no hace nada
+     * @param expectedSize Número de códigos que se espera guardar
+     * @throws IllegalArgumentException si expectedSize es negativo
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        growFor(expectedSize);
+    }
+
+    /**
+     * Reduce la capacidad a la potencia de dos más chica (al menos 16) en la que caben
+     * los códigos actuales sin pasar del factor de carga; si ya es esa, no hace nada
+     */
+    @Override
+    public void trimToSize() {
+        int capacity = DEFAULT_CAPACITY;
+        while (size > capacity * maxLoadFactor && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        if (capacity < keys.length) {
+            resizeTo(capacity);
+        }
+    }
+
+    /**
+     * Duplica la capacidad y reinserta todos los elementos
+     */
+    public void resize() {
+        if (keys.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("La tabla alcanzó su capacidad máxima");
+        }
+        resizeTo(keys.length * 2);
+    }
+
+    /**
+     * Reinserta todos los elementos en arreglos de la capacidad indicada
+     * Con métricas se registra la duración.
+     * @param capacity Nueva capacidad (potencia de dos en la que caben los elementos)
+     */
+    private void resizeTo(int capacity) {
+        if (metrics == null) {
+            rebuild(capacity);
+            return;
+        }
+        long start = System.nanoTime();
+        rebuild(capacity);
+        metrics.recordResize(System.nanoTime() - start);
+    }
+
+    private void rebuild(int capacity) {
+        long[] oldKeys = keys;
+        String[] oldValues = values;
+        int oldSize = size;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != EMPTY) {
+                int i = home(key);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+        size = oldSize;
+    }
+
+    // ---------- Métricas ----------
+
+    /**
+     * Conecta métricas a la tabla: cada get() registra su largo de sondeo y cada
+     * redimensionamiento su duración
+     * @param metrics Las métricas, o null para dejar de registrar
+     */
+    @Override
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retorna las métricas conectadas
+     * @return Las métricas, o null si no hay
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Copia las métricas junto con el sondeo más largo actual
+     * @return Una copia inmutable
+     * @throws IllegalStateException si no hay métricas conectadas
+     */
+    public Metrics.Snapshot getMetricsSnapshot() {
+        if (metrics == null) {
+            throw new IllegalStateException("La tabla no tiene métricas");
+        }
+        return metrics.snapshot(getMaxBucketLength());
+    }
+
+    /**
+     * Busca como find() contando las ranuras revisadas y registra el largo del sondeo
+     */
+    private String getMeasured(long key) {
+        int probes = 1;
+        for (int i = home(key); ; i = (i + 1) & mask, probes++) {
+            long k = keys[i];
+            if (k == key || k == EMPTY) {
+                metrics.recordProbe(probes);
+                return k == key ? values[i] : null;
+            }
+        }
+    }
+
+    /**
+     * Calcula el sondeo más largo entre las claves guardadas; recorre toda la tabla
+     * @return El mayor número de ranuras que revisa una búsqueda exitosa
+     */
+    @Override
+    public int getMaxBucketLength() {
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                max = Math.max(max, ((i - home(keys[i])) & mask) + 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Recibe cada entrada durante un recorrido de la tabla
+     */
+    interface EntryVisitor {
+        void visit(long key, String value);
+    }
+
+    /**
+     * Recorre todas las entradas en un orden disperso
+     * El orden de las ranuras es el orden del hash: reinsertar las entradas así en otra
+     * tabla con el mismo hash y menor capacidad las amontona al principio y el sondeo
+     * lineal se vuelve cuadrático. Avanzar con un paso impar cercano a capacidad / φ
+     * visita todas las ranuras una vez, alternando entre zonas alejadas de la tabla.
+     * La tabla no debe modificarse durante el recorrido.
+     * @param visitor Receptor de las entradas
+     */
+    void forEach(EntryVisitor visitor) {
+        int step = (int) (keys.length * 0.6180339887498949) | 1;
+        for (int n = 0, i = 0; n < keys.length; n++, i = (i + step) & mask) {
+            if (keys[i] != EMPTY) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean put(String key, String value) {
+        return put(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        return putIfAbsent(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public String get(String key) {
+        return get(Base62Codec.decode(key));
+    }
+
+    @Override
+    public int putAll(String[] keys, String[] values) {
+        KeyValueTable.checkBatch(keys, values);
+        long[] codes = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            codes[i] = Base62Codec.decodeKey(keys[i]);
+        }
+        return putAll(codes, values);
+    }
+
+    @Override
+    public String[] getAll(String[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("El arreglo de claves no puede ser null");
+        }
+        long[] codes = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            codes[i] = Base62Codec.decode(keys[i]);
+        }
+        return getAll(codes);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return containsKey(Base62Codec.decode(key));
+    }
+
+    @Override
+    public String remove(String key) {
+        return remove(Base62Codec.decode(key));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) size / keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna una representación en cadena de la tabla para debugging
+     * @return String representando el estado actual de la tabla
+     */
+    @Override
+    public String toString() {
+        return "LongHashTable{size=" + size
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + "}";
+    }
+}
@@ -0,0 +1,623 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Almacén persistente de códigos y URLs sobre archivos mapeados en memoria
+ * Toda la tabla vive en dos archivos de un directorio, mapeados con {@link FileChannel#map}:
+ *
+ *   index.bin: cabecera de 64 bytes y luego la tabla hash, con ranuras de 16 bytes
+ *              (código + 1, 0 = vacía; posición del registro en data.bin). Sondeo lineal
+ *              con eliminación por desplazamiento hacia atrás, como LongHashTable.
+ *   data.bin:  registros [longitud int][bytes UTF-8] agregados al final, en bloques
+ *              mapeados de tamaño fijo; un registro nunca cruza dos bloques. Después
+ *              de compactar se llama data-N.bin, con N la generación que indica la
+ *              cabecera de index.bin.
+ *
+ * No hay deserialización: al reabrir el directorio solo se mapean los archivos y
+ * redirect() lee directamente de las páginas mapeadas, así que el proceso está listo en
+ * milisegundos sin importar cuántas URLs haya. Como las escrituras van a páginas del
+ * sistema operativo, sobreviven a la caída del proceso; {@link #flush()} las fuerza a
+ * disco para sobrevivir también a una caída del sistema.
+ *
+ * Cada escritura agrega primero el registro y después publica la ranura, pero una
+ * operación interrumpida a la mitad puede dejar la tabla inconsistente; para eso está el
+ * log de escritura anticipada. Las URLs reemplazadas o eliminadas quedan como basura en
+ * data.bin hasta que la basura supera a los datos vivos (y al tamaño de index.bin, para
+ * que la copia se amortice): entonces {@link #compact()} copia los registros vivos a un
+ * archivo de datos nuevo, por el mismo camino que resize(). No es seguro para uso
+ * concurrente (igual que HashTable).
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class MappedUrlStore implements CodeTable, AutoCloseable {
+    // "TURL" en ASCII
+    private static final int MAGIC = 0x5455524C;
+    private static final int VERSION = 1;
+    // Posiciones de los campos de la cabecera de index.bin
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int DATA_END_OFFSET = 16;
+    private static final int GARBAGE_OFFSET = 24;
+    private static final int CHUNK_SHIFT_OFFSET = 32;
+    private static final int GENERATION_OFFSET = 36;
+    private static final int SLOT_BYTES = 16;
+
+    // Capacidad por defecto de la tabla
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+    // Capacidad máxima: index.bin debe caber en un solo mapeo (menos de 2 GiB)
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    // Bloques de data.bin de 64 MiB
+    private static final int DEFAULT_CHUNK_SHIFT = 26;
+    private static final int RECORD_HEADER = Integer.BYTES;
+    private static final long FIBONACCI = 0x9E3779B97F4A7C15L;
+
+    private static final String INDEX_FILE = "index.bin";
+    private static final String DATA_FILE = "data.bin";
+
+    private final Path directory;
+    private FileChannel indexChannel;
+    private FileChannel dataChannel;
+    private MappedByteBuffer index;
+    private List<MappedByteBuffer> chunks = new ArrayList<>();
+    private final int chunkShift;
+    // Generación del archivo de datos; cambia con cada compactación
+    private int generation;
+    private int capacity;
+    private int shift;
+    private int size;
+    private long dataEnd;
+    private boolean closed;
+
+    /**
+     * Abre (o crea) un almacén con la capacidad inicial por defecto
+     * @param directory Directorio del almacén; se crea si no existe
+     * @return El almacén listo para usar
+     * @throws IOException si no se pueden abrir o mapear los archivos
+     */
+    public static MappedUrlStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Abre (o crea) un almacén
+     * @param directory Directorio del almacén; se crea si no existe
+     * @param initialCapacity Capacidad de la tabla si el almacén es nuevo (se redondea
+     *        a potencia de dos); se ignora al reabrir
+     * @return El almacén listo para usar
+     * @throws IOException si no se pueden abrir o mapear los archivos, o si no
+     *         contienen un almacén válido
+     */
+    public static MappedUrlStore open(Path directory, int initialCapacity) throws IOException {
+        return open(directory, initialCapacity, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Abre (o crea) un almacén indicando el tamaño de los bloques de data.bin
+     * @param chunkShift log2 del tamaño de bloque
+     */
+    static MappedUrlStore open(Path directory, int initialCapacity, int chunkShift) throws IOException {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + initialCapacity);
+        }
+        Files.createDirectories(directory);
+        return new MappedUrlStore(directory, initialCapacity, chunkShift);
+    }
+
+    private MappedUrlStore(Path directory, int initialCapacity, int requestedChunkShift) throws IOException {
+        this.directory = directory;
+        Path indexPath = directory.resolve(INDEX_FILE);
+        boolean exists = Files.exists(indexPath) && Files.size(indexPath) >= HEADER_BYTES;
+        this.indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (exists) {
+            MappedByteBuffer header = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+                indexChannel.close();
+                closed = true;
+                throw new IOException("El directorio no contiene un almacén válido: " + directory);
+            }
+            capacity = header.getInt(CAPACITY_OFFSET);
+            chunkShift = header.getInt(CHUNK_SHIFT_OFFSET);
+            generation = header.getInt(GENERATION_OFFSET);
+            index = mapIndex(indexChannel, capacity);
+            size = index.getInt(SIZE_OFFSET);
+            dataEnd = index.getLong(DATA_END_OFFSET);
+            // Una compactación interrumpida antes o después del renombrado deja un archivo
+            // de datos que index.bin ya no usa
+            Files.deleteIfExists(dataPath(generation + 1));
+            if (generation > 0) {
+                Files.deleteIfExists(dataPath(generation - 1));
+            }
+        } else {
+            capacity = ceilPowerOfTwo(initialCapacity);
+            chunkShift = requestedChunkShift;
+            index = mapIndex(indexChannel, capacity);
+            writeHeader(index, capacity, 0, 0, 0);
+        }
+        this.dataChannel = openData(dataPath(generation), StandardOpenOption.CREATE);
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Retorna la ruta del archivo de datos de una generación
+     */
+    private Path dataPath(int dataGeneration) {
+        return directory.resolve(dataGeneration == 0 ? DATA_FILE : "data-" + dataGeneration + ".bin");
+    }
+
+    private static FileChannel openData(Path path, StandardOpenOption create) throws IOException {
+        return FileChannel.open(path, create, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static int ceilPowerOfTwo(int n) {
+        if (n >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return n <= 2 ? 2 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static MappedByteBuffer mapIndex(FileChannel channel, int capacity) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * SLOT_BYTES);
+    }
+
+    private void writeHeader(MappedByteBuffer target, int targetCapacity, long targetDataEnd, long garbage,
+            int targetGeneration) {
+        target.putInt(MAGIC_OFFSET, MAGIC);
+        target.putInt(VERSION_OFFSET, VERSION);
+        target.putInt(CAPACITY_OFFSET, targetCapacity);
+        target.putInt(SIZE_OFFSET, size);
+        target.putLong(DATA_END_OFFSET, targetDataEnd);
+        target.putLong(GARBAGE_OFFSET, garbage);
+        target.putInt(CHUNK_SHIFT_OFFSET, chunkShift);
+        target.putInt(GENERATION_OFFSET, targetGeneration);
+    }
+
+    // ---------- Ranuras de index.bin ----------
+
+    private int home(long code) {
+        return (int) ((code * FIBONACCI) >>> shift);
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    /**
+     * Lee el código de una ranura
+     * @return El código, o -1 si la ranura está vacía
+     */
+    private long codeAt(int slot) {
+        return index.getLong(slotOffset(slot)) - 1;
+    }
+
+    private long recordAt(int slot) {
+        return index.getLong(slotOffset(slot) + Long.BYTES);
+    }
+
+    private int find(long code) {
+        int mask = capacity - 1;
+        for (int slot = home(code); ; slot = (slot + 1) & mask) {
+            long c = codeAt(slot);
+            if (c == code) {
+                return slot;
+            }
+            if (c < 0) {
+                return -1;
+            }
+        }
+    }
+
+    // ---------- Registros de data.bin ----------
+
+    /**
+     * Obtiene el bloque mapeado que contiene una posición, mapeándolo si hace falta
+     */
+    private MappedByteBuffer chunk(long position) {
+        return chunk(chunks, dataChannel, position);
+    }
+
+    private MappedByteBuffer chunk(List<MappedByteBuffer> mapped, FileChannel channel, long position) {
+        int i = (int) (position >>> chunkShift);
+        while (mapped.size() <= i) {
+            try {
+                long start = (long) mapped.size() << chunkShift;
+                mapped.add(channel.map(FileChannel.MapMode.READ_WRITE, start, 1L << chunkShift));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return mapped.get(i);
+    }
+
+    private int chunkOffset(long position) {
+        return (int) (position & ((1L << chunkShift) - 1));
+    }
+
+    /**
+     * Agrega un registro al final de data.bin
+     * @return La posición del registro
+     */
+    private long appendRecord(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (RECORD_HEADER + bytes.length > 1L << chunkShift) {
+            throw new IllegalArgumentException("El valor es demasiado grande: " + bytes.length + " bytes");
+        }
+        long position = recordStart(dataEnd, bytes.length);
+        writeRecord(chunk(position), chunkOffset(position), bytes);
+        dataEnd = position + RECORD_HEADER + bytes.length;
+        index.putLong(DATA_END_OFFSET, dataEnd);
+        return position;
+    }
+
+    /**
+     * Calcula dónde empieza un registro agregado en end
+     * Si no cabe en lo que queda del bloque, empieza en el siguiente.
+     */
+    private long recordStart(long end, int length) {
+        long chunkSize = 1L << chunkShift;
+        return chunkOffset(end) + RECORD_HEADER + length > chunkSize ? (end | (chunkSize - 1)) + 1 : end;
+    }
+
+    private static void writeRecord(MappedByteBuffer chunk, int offset, byte[] bytes) {
+        chunk.putInt(offset, bytes.length);
+        chunk.put(offset + RECORD_HEADER, bytes);
+    }
+
+    private byte[] readBytes(long position) {
+        MappedByteBuffer chunk = chunk(position);
+        int offset = chunkOffset(position);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + RECORD_HEADER, bytes);
+        return bytes;
+    }
+
+    private String readRecord(long position) {
+        return new String(readBytes(position), StandardCharsets.UTF_8);
+    }
+
+    private void discardRecord(long position) {
+        int length = chunk(position).getInt(chunkOffset(position));
+        index.putLong(GARBAGE_OFFSET, index.getLong(GARBAGE_OFFSET) + RECORD_HEADER + length);
+    }
+
+    // ---------- Operaciones de la tabla ----------
+
+    @Override
+    public boolean put(long code, String value) {
+        return insert(code, value, false);
+    }
+
+    @Override
+    public boolean putIfAbsent(long code, String value) {
+        return insert(code, value, true);
+    }
+
+    private boolean insert(long code, String value, boolean onlyIfAbsent) {
+        ensureOpen();
+        if (code < 0) {
+            throw new IllegalArgumentException("La clave no puede ser negativa: " + code);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        int mask = capacity - 1;
+        int slot = home(code);
+        for (long c = codeAt(slot); c >= 0; c = codeAt(slot)) {
+            if (c == code) {
+                if (onlyIfAbsent) {
+                    return false;
+                }
+                long previous = recordAt(slot);
+                index.putLong(slotOffset(slot) + Long.BYTES, appendRecord(value));
+                discardRecord(previous);
+                compactIfWasteful();
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Primero el registro y su posición; el código al final publica la ranura
+        index.putLong(slotOffset(slot) + Long.BYTES, appendRecord(value));
+        index.putLong(slotOffset(slot), code + 1);
+        size++;
+        index.putInt(SIZE_OFFSET, size);
+        if (size > MAX_LOAD_FACTOR * capacity) {
+            resize();
+        }
+        return true;
+    }
+
+    @Override
+    public String get(long code) {
+        ensureOpen();
+        if (code < 0) {
+            return null;
+        }
+        int slot = find(code);
+        return slot < 0 ? null : readRecord(recordAt(slot));
+    }
+
+    @Override
+    public boolean containsKey(long code) {
+        ensureOpen();
+        return code >= 0 && find(code) >= 0;
+    }
+
+    @Override
+    public String remove(long code) {
+        ensureOpen();
+        if (code < 0) {
+            return null;
+        }
+        int hole = find(code);
+        if (hole < 0) {
+            return null;
+        }
+        long record = recordAt(hole);
+        String removed = readRecord(record);
+        int mask = capacity - 1;
+        for (int j = (hole + 1) & mask; codeAt(j) >= 0; j = (j + 1) & mask) {
+            // El elemento en j puede ocupar el hueco si el hueco está entre su posición
+            // ideal y j (recorriendo en círculo)
+            if (((j - home(codeAt(j))) & mask) >= ((j - hole) & mask)) {
+                index.putLong(slotOffset(hole) + Long.BYTES, recordAt(j));
+                index.putLong(slotOffset(hole), codeAt(j) + 1);
+                hole = j;
+            }
+        }
+        index.putLong(slotOffset(hole), 0);
+        index.putLong(slotOffset(hole) + Long.BYTES, 0);
+        size--;
+        index.putInt(SIZE_OFFSET, size);
+        discardRecord(record);
+        compactIfWasteful();
+        return removed;
+    }
+
+    /**
+     * Duplica la capacidad de la tabla
+     * La tabla nueva se construye en un archivo temporal que reemplaza a index.bin con
+     * un renombrado atómico, así que una caída a la mitad deja intacta la tabla anterior.
+     * Si la basura supera a los datos vivos, data.bin se compacta al mismo tiempo.
+     */
+    public void resize() {
+        ensureOpen();
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("El almacén alcanzó su capacidad máxima");
+        }
+        rebuild(capacity * 2, garbageBytes() > liveBytes());
+    }
+
+    /**
+     * Copia las URLs vivas a un archivo de datos nuevo y descarta la basura
+     * Se construyen el archivo de datos de la generación siguiente y un index.bin
+     * temporal que apunta a él; el renombrado atómico del índice confirma el cambio y
+     * recién después se borra el archivo de datos anterior. Una caída antes del
+     * renombrado deja el almacén anterior intacto, y el archivo que sobre se borra al
+     * reabrir.
+     */
+    public void compact() {
+        ensureOpen();
+        rebuild(capacity, true);
+    }
+
+    private void compactIfWasteful() {
+        long garbage = garbageBytes();
+        if (garbage > liveBytes() && garbage > (long) capacity * SLOT_BYTES) {
+            rebuild(capacity, true);
+        }
+    }
+
+    /**
+     * Reconstruye index.bin con la capacidad indicada y, si se pide, copia los registros
+     * vivos a un archivo de datos nuevo
+     */
+    private void rebuild(int newCapacity, boolean compactData) {
+        int newShift = 64 - Integer.numberOfTrailingZeros(newCapacity);
+        int mask = newCapacity - 1;
+        int newGeneration = compactData ? generation + 1 : generation;
+        Path temporary = directory.resolve(INDEX_FILE + ".tmp");
+        Path indexPath = directory.resolve(INDEX_FILE);
+        FileChannel newData = null;
+        try {
+            List<MappedByteBuffer> newChunks = chunks;
+            long newEnd = dataEnd;
+            if (compactData) {
+                Files.deleteIfExists(dataPath(newGeneration));
+                newData = openData(dataPath(newGeneration), StandardOpenOption.CREATE_NEW);
+                newChunks = new ArrayList<>();
+                newEnd = 0;
+            }
+            Files.deleteIfExists(temporary);
+            FileChannel newChannel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer newIndex = mapIndex(newChannel, newCapacity);
+            for (int i = 0; i < capacity; i++) {
+                long code = codeAt(i);
+                if (code >= 0) {
+                    long record = recordAt(i);
+                    if (compactData) {
+                        byte[] bytes = readBytes(record);
+                        record = recordStart(newEnd, bytes.length);
+                        writeRecord(chunk(newChunks, newData, record), chunkOffset(record), bytes);
+                        newEnd = record + RECORD_HEADER + bytes.length;
+                    }
+                    int slot = (int) ((code * FIBONACCI) >>> newShift);
+                    while (newIndex.getLong(slotOffset(slot)) != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    newIndex.putLong(slotOffset(slot) + Long.BYTES, record);
+                    newIndex.putLong(slotOffset(slot), code + 1);
+                }
+            }
+            writeHeader(newIndex, newCapacity, newEnd, compactData ? 0 : garbageBytes(), newGeneration);
+            if (compactData) {
+                for (MappedByteBuffer chunk : newChunks) {
+                    chunk.force();
+                }
+            }
+            newIndex.force();
+            Files.move(temporary, indexPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            indexChannel.close();
+            indexChannel = newChannel;
+            index = newIndex;
+            capacity = newCapacity;
+            shift = newShift;
+            if (compactData) {
+                FileChannel oldData = dataChannel;
+                int oldGeneration = generation;
+                dataChannel = newData;
+                chunks = newChunks;
+                dataEnd = newEnd;
+                generation = newGeneration;
+                newData = null;
+                oldData.close();
+                Files.deleteIfExists(dataPath(oldGeneration));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeQuietly(newData);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Ya se está propagando otro error
+            }
+        }
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas de ambos archivos
+     */
+    public void flush() {
+        ensureOpen();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        index.force();
+    }
+
+    /**
+     * Fuerza los cambios a disco y cierra los archivos
+     * Los mapeos se liberan cuando el GC recolecta los buffers.
+     * @throws IOException si no se pueden cerrar los archivos
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (index != null) {
+            flush();
+        }
+        closed = true;
+        chunks.clear();
+        index = null;
+        indexChannel.close();
+        dataChannel.close();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("El almacén está cerrado");
+        }
+    }
+
+    // ---------- Claves String (KeyValueTable) ----------
+
+    @Override
+    public boolean put(String key, String value) {
+        return put(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        return putIfAbsent(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public String get(String key) {
+        return get(Base62Codec.decode(key));
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return containsKey(Base62Codec.decode(key));
+    }
+
+    @Override
+    public String remove(String key) {
+        return remove(Base62Codec.decode(key));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) size / capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna los bytes de data.bin ocupados por URLs reemplazadas o eliminadas
+     * @return El número de bytes de basura
+     */
+    public long garbageBytes() {
+        return index == null ? 0 : index.getLong(GARBAGE_OFFSET);
+    }
+
+    /**
+     * Retorna los bytes de data.bin ocupados por URLs vigentes
+     * @return El número de bytes, incluido el relleno al final de cada bloque
+     */
+    public long liveBytes() {
+        return dataEnd - garbageBytes();
+    }
+
+    /**
+     * Retorna una representación en cadena del almacén para debugging
+     * @return String representando el estado actual del almacén
+     */
+    @Override
+    public String toString() {
+        return "MappedUrlStore{size=" + size
+                + ", capacity=" + capacity
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", dataBytes=" + dataEnd
+                + ", garbageBytes=" + garbageBytes()
+                + ", directory=" + directory
+                + "}";
+    }
+}
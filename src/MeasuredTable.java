@@ -0,0 +1,21 @@
+/**
+ * Tabla que puede registrar sus operaciones en un {@link Metrics}
+ * La implementan HashTable y LongHashTable; TinyURL la usa para conectar sus métricas
+ * a la tabla y para leer el largo máximo de bucket al tomar una copia.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+interface MeasuredTable {
+    /**
+     * Conecta las métricas a la tabla
+     * @param metrics Las métricas, o null para dejar de registrar
+     */
+    void setMetrics(Metrics metrics);
+
+    /**
+     * Calcula el largo del bucket (o del sondeo) más largo; recorre toda la tabla
+     * @return El largo máximo
+     */
+    int getMaxBucketLength();
+}
@@ -0,0 +1,170 @@
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas del camino caliente de las tablas y de TinyURL
+ * Una instancia se conecta con setMetrics() a una {@link HashTable}, una
+ * {@link LongHashTable} o un {@link TinyURL} (que también la conecta a su tabla si es de
+ * esos tipos). Sin métricas conectadas el único costo es comparar un campo con null.
+ *
+ * Registra:
+ *   - el largo del sondeo o de la cadena recorrida en cada get() de la tabla
+ *   - la cantidad y la duración de los redimensionamientos
+ *   - los aciertos y fallos de redirect()
+ *   - los reintentos de cada código aleatorio generado por TinyURL (códigos que ya
+ *     estaban ocupados)
+ * Los contadores son LongAdder y los histogramas {@link Histogram}, así que una misma
+ * instancia se puede compartir entre hilos. {@link #snapshot()} copia todo en un
+ * {@link Snapshot} inmutable para exportarlo.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public final class Metrics {
+    private final Histogram probeLengths = new Histogram();
+    private final Histogram resizeNanos = new Histogram();
+    private final Histogram codeRetries = new Histogram();
+    private final LongAdder redirectHits = new LongAdder();
+    private final LongAdder redirectMisses = new LongAdder();
+
+    void recordProbe(int length) {
+        probeLengths.record(length);
+    }
+
+    void recordResize(long nanos) {
+        resizeNanos.record(nanos);
+    }
+
+    void recordCodeRetries(int retries) {
+        codeRetries.record(retries);
+    }
+
+    void recordRedirect(boolean found) {
+        if (found) {
+            redirectHits.increment();
+        } else {
+            redirectMisses.increment();
+        }
+    }
+
+    /**
+     * Copia el estado actual de las métricas, sin el largo máximo de bucket (que depende
+     * de la tabla; ver getMetricsSnapshot() en las tablas y en TinyURL)
+     * @return Una copia inmutable
+     */
+    public Snapshot snapshot() {
+        return snapshot(-1);
+    }
+
+    /**
+     * Copia el estado actual de las métricas
+     * @param maxBucketLength El largo del bucket o sondeo más largo de la tabla, o -1
+     * @return Una copia inmutable
+     */
+    Snapshot snapshot(int maxBucketLength) {
+        return new Snapshot(probeLengths.snapshot(), resizeNanos.snapshot(), codeRetries.snapshot(),
+                redirectHits.sum(), redirectMisses.sum(), maxBucketLength);
+    }
+
+    /**
+     * Copia inmutable de las métricas
+     */
+    public static final class Snapshot {
+        private final Histogram.Snapshot probeLengths;
+        private final Histogram.Snapshot resizeNanos;
+        private final Histogram.Snapshot codeRetries;
+        private final long redirectHits;
+        private final long redirectMisses;
+        private final int maxBucketLength;
+
+        private Snapshot(Histogram.Snapshot probeLengths, Histogram.Snapshot resizeNanos,
+                         Histogram.Snapshot codeRetries, long redirectHits, long redirectMisses,
+                         int maxBucketLength) {
+            this.probeLengths = probeLengths;
+            this.resizeNanos = resizeNanos;
+            this.codeRetries = codeRetries;
+            this.redirectHits = redirectHits;
+            this.redirectMisses = redirectMisses;
+            this.maxBucketLength = maxBucketLength;
+        }
+
+        /**
+         * Retorna los largos de sondeo (o de cadena) de cada get() de la tabla
+         * @return El histograma de largos; su cantidad es el número de get()
+         */
+        public Histogram.Snapshot getProbeLengths() {
+            return probeLengths;
+        }
+
+        /**
+         * Retorna la duración de cada redimensionamiento
+         * @return El histograma en nanosegundos; su cantidad es el número de resizes
+         */
+        public Histogram.Snapshot getResizeNanos() {
+            return resizeNanos;
+        }
+
+        /**
+         * Retorna el número de redimensionamientos
+         * @return La cantidad de resizes
+         */
+        public long getResizes() {
+            return resizeNanos.getCount();
+        }
+
+        /**
+         * Retorna los reintentos de cada código aleatorio generado
+         * @return El histograma de reintentos por código
+         */
+        public Histogram.Snapshot getCodeRetries() {
+            return codeRetries;
+        }
+
+        /**
+         * Retorna el número de redirect() que encontraron su URL
+         * @return Los aciertos
+         */
+        public long getRedirectHits() {
+            return redirectHits;
+        }
+
+        /**
+         * Retorna el número de redirect() que no encontraron el código
+         * @return Los fallos
+         */
+        public long getRedirectMisses() {
+            return redirectMisses;
+        }
+
+        /**
+         * Calcula la fracción de redirect() que encontraron su URL
+         * @return Aciertos / (aciertos + fallos), o 0 si no hubo redirects
+         */
+        public double getRedirectHitRatio() {
+            long total = redirectHits + redirectMisses;
+            return total == 0 ? 0 : (double) redirectHits / total;
+        }
+
+        /**
+         * Retorna el largo del bucket más largo (encadenamiento) o del sondeo más largo
+         * (direccionamiento abierto) al momento de la copia
+         * @return El largo máximo, o -1 si la copia no viene de una tabla
+         */
+        public int getMaxBucketLength() {
+            return maxBucketLength;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{probeLengths=" + probeLengths
+                    + ", maxBucketLength=" + maxBucketLength
+                    + ", resizes=" + getResizes()
+                    + ", resizeNanos=" + resizeNanos
+                    + ", redirectHits=" + redirectHits
+                    + ", redirectMisses=" + redirectMisses
+                    + ", hitRatio=" + String.format(Locale.ROOT, "%.2f", getRedirectHitRatio())
+                    + ", codeRetries=" + codeRetries
+                    + "}";
+        }
+    }
+}
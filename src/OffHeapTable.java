@@ -0,0 +1,143 @@
+/**
+ * Motor de HashTable para el modo OFF_HEAP
+ * Las claves siguen en el heap, pero cada valor vive en un {@link OffHeapValueStore} y la
+ * tabla solo guarda su manejador en un arreglo {@code long[]}: las URLs no son objetos que
+ * el GC tenga que recorrer o copiar.
+ *
+ * El sondeo lineal y la eliminación por desplazamiento hacia atrás vienen de
+ * {@link LinearProbingTable}. Reemplazar o eliminar un valor deja su registro como basura
+ * en el almacén; cuando la basura supera a los datos vivos (y a la capacidad, para que la
+ * copia que recorre todas las ranuras se amortice), los registros vivos se copian a un
+ * almacén nuevo y el anterior queda para el GC. Así la memoria directa queda acotada aunque
+ * la tabla no crezca.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+class OffHeapTable extends LinearProbingTable<long[]> {
+    private OffHeapValueStore store;
+
+    /**
+     * Constructor que crea los arreglos con la capacidad indicada
+     * @param capacity Número de ranuras (positivo)
+     */
+    OffHeapTable(int capacity) {
+        this(capacity, new OffHeapValueStore());
+    }
+
+    /**
+     * Constructor que permite indicar el almacén de valores
+     * @param capacity Número de ranuras (positivo)
+     * @param store Almacén donde se guardan los valores
+     */
+    OffHeapTable(int capacity, OffHeapValueStore store) {
+        this(capacity, store, KeyHasher.STRING_HASHCODE);
+    }
+
+    /**
+     * Constructor que permite indicar el almacén de valores y la función hash
+     * @param capacity Número de ranuras (positivo)
+     * @param store Almacén donde se guardan los valores
+     * @param hasher La función hash de las claves
+     */
+    OffHeapTable(int capacity, OffHeapValueStore store, KeyHasher hasher) {
+        super(capacity, hasher);
+        this.store = store;
+    }
+
+    @Override
+    long[] newValues(int capacity) {
+        return new long[capacity];
+    }
+
+    /**
+     * Copia el valor de la ranura desde el almacén
+     */
+    @Override
+    String readValue(int slot) {
+        return store.get(values[slot]);
+    }
+
+    @Override
+    void writeValue(int slot, String value, boolean replacing) {
+        if (replacing) {
+            store.free(values[slot]);
+        }
+        values[slot] = store.add(value);
+    }
+
+    @Override
+    void releaseValue(int slot) {
+        store.free(values[slot]);
+    }
+
+    @Override
+    void moveValue(long[] from, int i, long[] to, int j) {
+        to[j] = from[i];
+    }
+
+    @Override
+    boolean put(String key, String value) {
+        boolean added = super.put(key, value);
+        if (!added) {
+            compactIfWasteful();
+        }
+        return added;
+    }
+
+    @Override
+    String remove(String key) {
+        String removed = super.remove(key);
+        if (removed != null) {
+            compactIfWasteful();
+        }
+        return removed;
+    }
+
+    /**
+     * Copia los valores vivos a un almacén nuevo si la basura ya supera a los datos vivos
+     * y a la capacidad
+     */
+    private void compactIfWasteful() {
+        long garbage = store.garbageBytes();
+        if (garbage > store.liveBytes() && garbage > capacity()) {
+            compact();
+        }
+    }
+
+    /**
+     * Copia los valores vivos a un almacén nuevo y deja el anterior para el GC
+     */
+    private void compact() {
+        OffHeapValueStore oldStore = store;
+        store = new OffHeapValueStore(oldStore.arenaSize());
+        for (int i = 0; i < values.length; i++) {
+            if (isOccupied(i)) {
+                values[i] = oldStore.copyTo(values[i], store);
+            }
+        }
+    }
+
+    /**
+     * Reconstruye los arreglos con una nueva capacidad
+     * Si la basura del almacén supera a los datos vivos, los valores se compactan en un
+     * almacén nuevo justo después.
+     * @param newCapacity La nueva cantidad de ranuras (mayor que size)
+     */
+    @Override
+    void resize(int newCapacity) {
+        boolean wasteful = store.garbageBytes() > store.liveBytes();
+        super.resize(newCapacity);
+        if (wasteful) {
+            compact();
+        }
+    }
+
+    /**
+     * Retorna el almacén de valores actual
+     * @return El almacén fuera del heap
+     */
+    OffHeapValueStore store() {
+        return store;
+    }
+}
@@ -0,0 +1,192 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Almacén de cadenas fuera del heap para los valores de HashTable en modo OFF_HEAP
+ * Cada cadena se guarda como bytes UTF-8 en arenas grandes de memoria directa
+ * ({@link ByteBuffer#allocateDirect}) y se identifica con un manejador long
+ * (índice de arena en los 32 bits altos, posición en los 32 bajos). El GC solo ve unas
+ * pocas arenas, nunca los bytes de cada URL.
+ *
+ * Registro: un int con la longitud en bytes (bit 31 = todos los caracteres son ASCII)
+ * seguido de los bytes. Las URLs casi siempre son ASCII; para ellas se escribe carácter
+ * a carácter sin arreglos intermedios y se leen como ISO-8859-1, que es una copia directa.
+ *
+ * El almacén solo agrega: liberar un registro solo lo contabiliza como basura. El
+ * dueño decide cuándo copiar los registros vivos a un almacén nuevo (ver
+ * {@link #copyTo(long, OffHeapValueStore)}); {@link OffHeapTable} lo hace cuando la basura
+ * supera a los datos vivos. No es seguro para uso concurrente.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+class OffHeapValueStore {
+    // Tamaño máximo por defecto de cada arena (32 MiB)
+    static final int DEFAULT_ARENA_SIZE = 32 << 20;
+    // Tamaño de la primera arena; cada arena nueva duplica la anterior hasta arenaSize
+    private static final int INITIAL_ARENA_SIZE = 64 << 10;
+    // Bit de la cabecera que indica un registro solo ASCII
+    private static final int ASCII_FLAG = 0x80000000;
+    private static final int HEADER_BYTES = Integer.BYTES;
+
+    private final int arenaSize;
+    private final List<ByteBuffer> arenas = new ArrayList<>();
+    // Arena donde se agrega y su primera posición libre
+    private ByteBuffer current;
+    private int position;
+    private long liveBytes;
+    private long garbageBytes;
+    private long reservedBytes;
+
+    /**
+     * Constructor con el tamaño de arena por defecto
+     */
+    OffHeapValueStore() {
+        this(DEFAULT_ARENA_SIZE);
+    }
+
+    /**
+     * Constructor que permite indicar el tamaño máximo de cada arena
+     * @param arenaSize Bytes por arena (mayor que 4)
+     */
+    OffHeapValueStore(int arenaSize) {
+        if (arenaSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Tamaño de arena inválido: " + arenaSize);
+        }
+        this.arenaSize = arenaSize;
+    }
+
+    /**
+     * Copia una cadena fuera del heap
+     * @param value La cadena a guardar (no null)
+     * @return El manejador del registro
+     */
+    long add(String value) {
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            int offset = reserve(length);
+            ByteBuffer arena = current;
+            arena.putInt(offset, length | ASCII_FLAG);
+            for (int i = 0; i < length; i++) {
+                arena.put(offset + HEADER_BYTES + i, (byte) value.charAt(i));
+            }
+            return handle(offset);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int offset = reserve(bytes.length);
+        current.putInt(offset, bytes.length);
+        current.put(offset + HEADER_BYTES, bytes);
+        return handle(offset);
+    }
+
+    /**
+     * Reconstruye la cadena de un registro
+     * @param handle El manejador retornado por add()
+     * @return La cadena guardada
+     */
+    String get(long handle) {
+        ByteBuffer arena = arenas.get((int) (handle >>> 32));
+        int offset = (int) handle;
+        int header = arena.getInt(offset);
+        byte[] bytes = new byte[header & ~ASCII_FLAG];
+        arena.get(offset + HEADER_BYTES, bytes);
+        boolean ascii = (header & ASCII_FLAG) != 0;
+        return new String(bytes, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Marca un registro como basura
+     * @param handle El manejador del registro
+     */
+    void free(long handle) {
+        long bytes = recordBytes(handle);
+        liveBytes -= bytes;
+        garbageBytes += bytes;
+    }
+
+    /**
+     * Copia un registro a otro almacén sin decodificarlo
+     * @param handle El manejador en este almacén
+     * @param target El almacén destino
+     * @return El manejador en el destino
+     */
+    long copyTo(long handle, OffHeapValueStore target) {
+        ByteBuffer arena = arenas.get((int) (handle >>> 32));
+        int offset = (int) handle;
+        int header = arena.getInt(offset);
+        int length = header & ~ASCII_FLAG;
+        int targetOffset = target.reserve(length);
+        target.current.putInt(targetOffset, header);
+        target.current.put(targetOffset + HEADER_BYTES, arena, offset + HEADER_BYTES, length);
+        return target.handle(targetOffset);
+    }
+
+    /**
+     * Reserva espacio contiguo para un registro, abriendo una arena nueva si no cabe
+     * @param length Bytes del contenido
+     * @return La posición del registro en la arena actual
+     */
+    private int reserve(int length) {
+        int needed = HEADER_BYTES + length;
+        if (current == null || position + needed > current.capacity()) {
+            // Las arenas crecen de forma geométrica para no reservar 32 MiB en tablas
+            // pequeñas; un registro más grande que una arena recibe una arena a su medida
+            int size = current == null ? INITIAL_ARENA_SIZE : current.capacity() * 2;
+            current = ByteBuffer.allocateDirect(Math.max(Math.min(size, arenaSize), needed));
+            arenas.add(current);
+            reservedBytes += current.capacity();
+            position = 0;
+        }
+        int offset = position;
+        position += needed;
+        liveBytes += needed;
+        return offset;
+    }
+
+    private long handle(int offset) {
+        return ((long) (arenas.size() - 1) << 32) | offset;
+    }
+
+    private long recordBytes(long handle) {
+        ByteBuffer arena = arenas.get((int) (handle >>> 32));
+        return HEADER_BYTES + (arena.getInt((int) handle) & ~ASCII_FLAG);
+    }
+
+    /**
+     * Retorna el tamaño máximo de cada arena
+     * @return El número de bytes
+     */
+    int arenaSize() {
+        return arenaSize;
+    }
+
+    /**
+     * Retorna los bytes ocupados por registros vivos
+     * @return El número de bytes
+     */
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Retorna los bytes ocupados por registros liberados o reemplazados
+     * @return El número de bytes
+     */
+    long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * Retorna los bytes de memoria directa reservados por las arenas
+     * @return El número de bytes
+     */
+    long reservedBytes() {
+        return reservedBytes;
+    }
+}
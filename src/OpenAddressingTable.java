@@ -0,0 +1,318 @@
+import java.util.function.BiConsumer;
+
+/**
+ * Motor de direccionamiento abierto para HashTable
+ * Resuelve colisiones con sondeo lineal Robin Hood: al insertar, un elemento que está
+ * más lejos de su posición ideal desplaza al que está más cerca. Esto mantiene cortas las
+ * secuencias de sondeo y permite cortar una búsqueda fallida en cuanto la distancia
+ * supera la del ocupante. La eliminación usa desplazamiento hacia atrás, sin lápidas.
+ *
+ * Los datos viven en dos arreglos paralelos: {@code tags} y {@code slots}, con la clave y el
+ * valor intercalados. Cada etiqueta empaqueta 24 bits del hash mezclado y la distancia de
+ * sondeo (8 bits), así el sondeo solo recorre {@code tags}, que es contiguo, sin recalcular
+ * posiciones ideales ni tocar las claves. Al encontrar coincidencia la clave y el valor
+ * quedan en la misma línea de caché. Si una inserción superara la distancia máxima
+ * representable, la tabla crece por sí sola.
+ *
+ * La posición de cada clave sale de un {@link KeyHasher} (String.hashCode() por defecto).
+ *
+ * El llamador (HashTable) es responsable de mantener el factor de carga por debajo de 1.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+class OpenAddressingTable {
+    // Distancia máxima que cabe en los 8 bits bajos de la etiqueta
+    private static final int MAX_DISTANCE = 0xFF;
+
+    // (fragmento del hash << 8) | distancia; 0 = ranura vacía
+    private int[] tags;
+    // slots[2 * i] es la clave y slots[2 * i + 1] el valor de la ranura i
+    private String[] slots;
+    // capacity - 1 si la capacidad es potencia de dos, -1 en caso contrario
+    private int mask;
+    private int size;
+    private final KeyHasher hasher;
+
+    /**
+     * Constructor que crea los arreglos con la capacidad indicada
+     * @param capacity Número de ranuras (positivo)
+     */
+    OpenAddressingTable(int capacity) {
+        this(capacity, KeyHasher.STRING_HASHCODE);
+    }
+
+    /**
+     * Constructor que permite indicar la función hash
+     * @param capacity Número de ranuras (positivo)
+     * @param hasher La función hash de las claves
+     */
+    OpenAddressingTable(int capacity, KeyHasher hasher) {
+        this.hasher = hasher;
+        allocate(capacity);
+    }
+
+    /**
+     * Crea una copia independiente de esta tabla con la capacidad indicada
+     * La copia se puede modificar sin afectar a los lectores que usan el original.
+     * @param capacity Número de ranuras de la copia (mayor que size)
+     * @return Una tabla nueva con el mismo contenido
+     */
+    OpenAddressingTable copy(int capacity) {
+        OpenAddressingTable copy = new OpenAddressingTable(capacity, hasher);
+        if (capacity == tags.length) {
+            copy.tags = tags.clone();
+            copy.slots = slots.clone();
+            copy.size = size;
+        } else {
+            for (int i = 0; i < tags.length; i++) {
+                if (tags[i] != 0) {
+                    copy.put(slots[2 * i], slots[2 * i + 1]);
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Reserva arreglos vacíos para la capacidad indicada
+     * @param capacity Número de ranuras
+     */
+    private void allocate(int capacity) {
+        tags = new int[capacity];
+        slots = new String[capacity * 2];
+        mask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        size = 0;
+    }
+
+    /**
+     * Calcula el hash de la clave y mezcla sus bits
+     * String.hashCode() agrupa claves parecidas en ranuras contiguas, lo que en sondeo
+     * lineal produce agrupamiento primario; se mezclan los bits primero
+     * @param key La clave
+     * @return El hash mezclado
+     */
+    private int mix(String key) {
+        int h = (int) hasher.hash(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Obtiene el fragmento de hash que se guarda en la etiqueta (nunca 0)
+     * @param mixed El hash mezclado
+     * @return El fragmento desplazado a los 24 bits altos
+     */
+    private static int fragment(int mixed) {
+        return (mixed & 0xFFFFFF00) | 0x80000000;
+    }
+
+    /**
+     * Calcula la posición ideal de un hash mezclado
+     * @param mixed El hash mezclado de la clave
+     * @return El índice de la ranura ideal
+     */
+    private int home(int mixed) {
+        return mask >= 0 ? mixed & mask : (mixed & 0x7fffffff) % tags.length;
+    }
+
+    /**
+     * Busca la ranura que contiene la clave
+     * @param key La clave a buscar
+     * @return El índice de la ranura, o -1 si no se encuentra
+     */
+    private int find(String key) {
+        int[] tags = this.tags;
+        int mixed = mix(key);
+        int expected = fragment(mixed);
+        int slot = home(mixed);
+        while (true) {
+            int t = tags[slot];
+            if (t == expected) {
+                if (slots[2 * slot].equals(key)) {
+                    return slot;
+                }
+            } else if (t == 0 || (t & MAX_DISTANCE) < (expected & MAX_DISTANCE)) {
+                // Robin Hood: el ocupante está más cerca de casa que nosotros, así que
+                // si la clave existiera ya la habríamos encontrado
+                return -1;
+            }
+            if (++slot == tags.length) {
+                slot = 0;
+            }
+            expected++;
+        }
+    }
+
+    /**
+     * Recupera el valor asociado con la clave
+     * @param key La clave a buscar
+     * @return El valor, o null si no se encuentra
+     */
+    String get(String key) {
+        int slot = find(key);
+        return slot < 0 ? null : slots[2 * slot + 1];
+    }
+
+    /**
+     * Inserta o actualiza un par clave-valor
+     * @param key La clave
+     * @param value El valor
+     * @return true si la clave era nueva, false si se actualizó
+     */
+    boolean put(String key, String value) {
+        int mixed = mix(key);
+        int fragment = fragment(mixed);
+        int slot = home(mixed);
+        int dist = 0;
+        boolean displaced = false;
+        while (true) {
+            int t = tags[slot];
+            if (t == 0) {
+                tags[slot] = fragment | dist;
+                slots[2 * slot] = key;
+                slots[2 * slot + 1] = value;
+                size++;
+                return true;
+            }
+            if (!displaced && t == (fragment | dist) && slots[2 * slot].equals(key)) {
+                slots[2 * slot + 1] = value;
+                return false;
+            }
+            int existing = t & MAX_DISTANCE;
+            if (existing < dist) {
+                // Robin Hood: el elemento actual está más cerca de casa, se desplaza
+                String k = slots[2 * slot];
+                String v = slots[2 * slot + 1];
+                tags[slot] = fragment | dist;
+                slots[2 * slot] = key;
+                slots[2 * slot + 1] = value;
+                key = k;
+                value = v;
+                fragment = t & ~MAX_DISTANCE;
+                dist = existing;
+                displaced = true;
+            }
+            if (++slot == tags.length) {
+                slot = 0;
+            }
+            if (++dist == MAX_DISTANCE) {
+                // La distancia ya no cabe en la etiqueta: se crece y se reinserta lo que
+                // se lleva en la mano (que seguro no está en la tabla)
+                resize(tags.length * 2);
+                put(key, value);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Elimina una clave usando desplazamiento hacia atrás
+     * @param key La clave a eliminar
+     * @return El valor eliminado, o null si no existía
+     */
+    String remove(String key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        String removed = slots[2 * slot + 1];
+        int next = slot + 1 == tags.length ? 0 : slot + 1;
+        while ((tags[next] & MAX_DISTANCE) > 0) {
+            // Cada elemento desplazado queda un paso más cerca de casa
+            tags[slot] = tags[next] - 1;
+            slots[2 * slot] = slots[2 * next];
+            slots[2 * slot + 1] = slots[2 * next + 1];
+            slot = next;
+            next = next + 1 == tags.length ? 0 : next + 1;
+        }
+        tags[slot] = 0;
+        slots[2 * slot] = null;
+        slots[2 * slot + 1] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Reconstruye los arreglos con una nueva capacidad
+     * @param newCapacity La nueva cantidad de ranuras (mayor que size)
+     */
+    void resize(int newCapacity) {
+        int[] oldTags = tags;
+        String[] oldSlots = slots;
+        allocate(newCapacity);
+        for (int i = 0; i < oldTags.length; i++) {
+            if (oldTags[i] != 0) {
+                put(oldSlots[2 * i], oldSlots[2 * i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Busca como get() contando las ranuras revisadas y registra el largo del sondeo
+     * @param key La clave
+     * @param metrics Dónde registrar el sondeo
+     * @return El valor, o null si no se encuentra
+     */
+    String getMeasured(String key, Metrics metrics) {
+        int mixed = mix(key);
+        int expected = fragment(mixed);
+        int slot = home(mixed);
+        for (int probes = 1; ; probes++) {
+            int t = tags[slot];
+            if (t == expected && slots[2 * slot].equals(key)) {
+                metrics.recordProbe(probes);
+                return slots[2 * slot + 1];
+            }
+            if (t == 0 || (t & MAX_DISTANCE) < (expected & MAX_DISTANCE)) {
+                metrics.recordProbe(probes);
+                return null;
+            }
+            if (++slot == tags.length) {
+                slot = 0;
+            }
+            expected++;
+        }
+    }
+
+    /**
+     * Calcula el sondeo más largo entre las claves guardadas
+     * @return El mayor número de ranuras que revisa una búsqueda exitosa
+     */
+    int maxProbeLength() {
+        int max = 0;
+        for (int t : tags) {
+            if (t != 0) {
+                max = Math.max(max, (t & MAX_DISTANCE) + 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Recorre los pares clave-valor en el orden de las ranuras
+     * @param visitor Recibe cada clave y su valor
+     */
+    void forEach(BiConsumer<String, String> visitor) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] != 0) {
+                visitor.accept(slots[2 * i], slots[2 * i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Retorna el número de ranuras
+     * @return La capacidad actual
+     */
+    int capacity() {
+        return tags.length;
+    }
+
+    /**
+     * Retorna el número de elementos almacenados
+     * @return El número de elementos
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,388 @@
+/**
+ * Caché acotada de códigos calientes con admisión W-TinyLFU
+ * Sirve a {@link TieredCodeTable}: las redirecciones se reparten muy desigual (unos pocos
+ * miles de códigos virales reciben casi todo el tráfico), así que una caché pequeña y
+ * densa atiende la mayoría de los redirect sin tocar el almacén lento.
+ *
+ * La capacidad se divide en una ventana LRU (1%) y una zona principal LRU segmentada:
+ * probatoria (20%) y protegida (80%). Todo código nuevo entra a la ventana; el que sale
+ * de la ventana solo pasa a la zona principal si un esbozo de frecuencias (count-min con
+ * contadores de 4 bits, ver {@link FrequencySketch}) estima que se pidió más veces que
+ * la víctima de la zona probatoria. Un acierto en la zona probatoria promueve la entrada
+ * a la protegida. Así una ráfaga de códigos fríos no desaloja a los calientes.
+ *
+ * Las entradas son nodos en arreglos paralelos (clave, valor, anterior, siguiente y
+ * segmento) y un índice de direccionamiento abierto de código a nodo; no hay un objeto
+ * por entrada. No es segura entre hilos.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class RedirectCache {
+    // Segmentos de la caché
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    // Fin de lista y ranura vacía del índice
+    private static final int NIL = -1;
+    private static final long EMPTY = -1L;
+    // 2^64 / razón áurea
+    private static final long FIBONACCI = 0x9E3779B97F4A7C15L;
+
+    private final int capacity;
+    private final int windowCapacity;
+    private final int protectedCapacity;
+
+    // Nodos
+    private final long[] keys;
+    private final String[] values;
+    private final int[] prev;
+    private final int[] next;
+    private final byte[] segments;
+    // Cabeza (más reciente) y cola (menos reciente) de cada segmento, y su tamaño
+    private final int[] heads = {NIL, NIL, NIL};
+    private final int[] tails = {NIL, NIL, NIL};
+    private final int[] sizes = new int[3];
+    // Nodos libres, enlazados por next
+    private int free;
+    private int size;
+
+    // Índice de código a nodo
+    private final long[] indexKeys;
+    private final int[] indexNodes;
+    private final int indexShift;
+    private final int indexMask;
+
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor que reserva todas las estructuras de una vez
+     * @param capacity Número máximo de entradas
+     * @throws IllegalArgumentException si la capacidad no es positiva o es demasiado grande
+     */
+    RedirectCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("Capacidad de caché inválida: " + capacity);
+        }
+        this.capacity = capacity;
+        this.windowCapacity = Math.max(1, capacity / 100);
+        int mainCapacity = capacity - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+        // Un nodo de más: la entrada nueva se agrega antes de decidir a quién desalojar
+        int nodes = capacity + 1;
+        keys = new long[nodes];
+        values = new String[nodes];
+        prev = new int[nodes];
+        next = new int[nodes];
+        segments = new byte[nodes];
+        for (int i = 0; i < nodes; i++) {
+            next[i] = i + 1 < nodes ? i + 1 : NIL;
+        }
+        free = 0;
+
+        // Al menos el doble de ranuras que nodos: factor de carga máximo 0.5
+        int indexCapacity = Integer.highestOneBit(capacity) << 2;
+        indexKeys = new long[indexCapacity];
+        java.util.Arrays.fill(indexKeys, EMPTY);
+        indexNodes = new int[indexCapacity];
+        indexShift = 64 - Integer.numberOfTrailingZeros(indexCapacity);
+        indexMask = indexCapacity - 1;
+        sketch = new FrequencySketch(capacity);
+    }
+
+    /**
+     * Busca un código y, si está, lo marca como usado recientemente
+     * Tanto los aciertos como los fallos cuentan en el esbozo de frecuencias.
+     * @param code El código empaquetado (no negativo)
+     * @return El valor, o null si el código no está en la caché
+     */
+    String get(long code) {
+        sketch.increment(code);
+        int node = findNode(code);
+        if (node == NIL) {
+            misses++;
+            return null;
+        }
+        hits++;
+        onAccess(node);
+        return values[node];
+    }
+
+    /**
+     * Verifica si un código está en la caché sin contar el acceso
+     * @param code El código empaquetado
+     * @return true si está
+     */
+    boolean contains(long code) {
+        return findNode(code) != NIL;
+    }
+
+    /**
+     * Agrega a la ventana un código recién leído del almacén (o actualiza su valor)
+     * Si la ventana se llena, su entrada más antigua compite por la zona principal.
+     * @param code El código empaquetado (no negativo)
+     * @param value El valor
+     */
+    void put(long code, String value) {
+        int node = findNode(code);
+        if (node != NIL) {
+            values[node] = value;
+            return;
+        }
+        node = free;
+        free = next[node];
+        keys[node] = code;
+        values[node] = value;
+        insertIndex(code, node);
+        pushHead(WINDOW, node);
+        size++;
+        if (sizes[WINDOW] > windowCapacity) {
+            admitFromWindow();
+        }
+    }
+
+    /**
+     * Actualiza el valor de un código solo si ya está en la caché
+     * @param code El código empaquetado
+     * @param value El valor nuevo
+     */
+    void replace(long code, String value) {
+        int node = findNode(code);
+        if (node != NIL) {
+            values[node] = value;
+        }
+    }
+
+    /**
+     * Quita un código de la caché
+     * @param code El código empaquetado
+     */
+    void invalidate(long code) {
+        int node = findNode(code);
+        if (node != NIL) {
+            release(node);
+        }
+    }
+
+    /**
+     * Mueve la entrada más antigua de la ventana a la zona probatoria, o la descarta si
+     * la zona principal está llena y la víctima probatoria es al menos igual de frecuente
+     */
+    private void admitFromWindow() {
+        int candidate = tails[WINDOW];
+        unlink(candidate);
+        if (size <= capacity) {
+            pushHead(PROBATION, candidate);
+            return;
+        }
+        int victim = tails[PROBATION];
+        if (victim == NIL) {
+            victim = tails[PROTECTED];
+        }
+        evictions++;
+        if (victim != NIL && sketch.frequency(keys[candidate]) > sketch.frequency(keys[victim])) {
+            release(victim);
+            pushHead(PROBATION, candidate);
+        } else {
+            removeIndex(keys[candidate]);
+            freeNode(candidate);
+        }
+    }
+
+    private void onAccess(int node) {
+        byte segment = segments[node];
+        if (segment != PROBATION && heads[segment] == node) {
+            return;
+        }
+        unlink(node);
+        if (segment == PROBATION) {
+            pushHead(PROTECTED, node);
+            if (sizes[PROTECTED] > protectedCapacity) {
+                int demoted = tails[PROTECTED];
+                unlink(demoted);
+                pushHead(PROBATION, demoted);
+            }
+        } else {
+            pushHead(segment, node);
+        }
+    }
+
+    private void release(int node) {
+        unlink(node);
+        removeIndex(keys[node]);
+        freeNode(node);
+    }
+
+    private void freeNode(int node) {
+        values[node] = null;
+        next[node] = free;
+        free = node;
+        size--;
+    }
+
+    // ---------- Listas doblemente enlazadas por segmento ----------
+
+    private void pushHead(byte segment, int node) {
+        segments[node] = segment;
+        prev[node] = NIL;
+        next[node] = heads[segment];
+        if (heads[segment] != NIL) {
+            prev[heads[segment]] = node;
+        } else {
+            tails[segment] = node;
+        }
+        heads[segment] = node;
+        sizes[segment]++;
+    }
+
+    private void unlink(int node) {
+        byte segment = segments[node];
+        int p = prev[node];
+        int n = next[node];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            heads[segment] = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        } else {
+            tails[segment] = p;
+        }
+        sizes[segment]--;
+    }
+
+    // ---------- Índice de código a nodo (sondeo lineal, como LongHashTable) ----------
+
+    private int home(long code) {
+        return (int) ((code * FIBONACCI) >>> indexShift);
+    }
+
+    private int findNode(long code) {
+        for (int i = home(code); ; i = (i + 1) & indexMask) {
+            long k = indexKeys[i];
+            if (k == code) {
+                return indexNodes[i];
+            }
+            if (k == EMPTY) {
+                return NIL;
+            }
+        }
+    }
+
+    private void insertIndex(long code, int node) {
+        int i = home(code);
+        while (indexKeys[i] != EMPTY) {
+            i = (i + 1) & indexMask;
+        }
+        indexKeys[i] = code;
+        indexNodes[i] = node;
+    }
+
+    private void removeIndex(long code) {
+        int hole = home(code);
+        while (indexKeys[hole] != code) {
+            hole = (hole + 1) & indexMask;
+        }
+        for (int j = (hole + 1) & indexMask; indexKeys[j] != EMPTY; j = (j + 1) & indexMask) {
+            if (((j - home(indexKeys[j])) & indexMask) >= ((j - hole) & indexMask)) {
+                indexKeys[hole] = indexKeys[j];
+                indexNodes[hole] = indexNodes[j];
+                hole = j;
+            }
+        }
+        indexKeys[hole] = EMPTY;
+    }
+
+    // ---------- Estadísticas ----------
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Esbozo count-min de frecuencias con contadores de 4 bits
+     * Cada long guarda 16 contadores. Un código elige un bloque de 8 longs (una línea de
+     * caché) y dentro de él un contador en cada una de 4 filas (un par de longs por fila);
+     * su frecuencia es el mínimo de los 4, así cada acceso toca una sola línea. Después de
+     * 10 * capacidad incrementos todos los contadores se dividen a la mitad, así las
+     * frecuencias viejas pierden peso y un código que dejó de ser viral sale de la caché.
+     */
+    static final class FrequencySketch {
+        private static final long HALF_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int blockMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int length = Math.max(8, Integer.highestOneBit(capacity) << 1);
+            table = new long[length];
+            blockMask = (length >>> 3) - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        private static long spread(long code) {
+            long h = code * FIBONACCI;
+            return h ^ (h >>> 29);
+        }
+
+        private int index(long h, int row) {
+            int block = (int) (h >>> 40) & blockMask;
+            return (block << 3) + (row << 1) + (int) ((h >>> (16 + row)) & 1);
+        }
+
+        private static int shift(long h, int row) {
+            return (int) ((h >>> (row << 2)) & 0xF) << 2;
+        }
+
+        void increment(long code) {
+            long h = spread(code);
+            boolean added = false;
+            for (int row = 0; row < 4; row++) {
+                int index = index(h, row);
+                int shift = shift(h, row);
+                if (((table[index] >>> shift) & 0xF) < 15) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & HALF_MASK;
+                }
+                additions >>>= 1;
+            }
+        }
+
+        int frequency(long code) {
+            long h = spread(code);
+            int min = 15;
+            for (int row = 0; row < 4; row++) {
+                min = Math.min(min, (int) ((table[index(h, row)] >>> shift(h, row)) & 0xF));
+            }
+            return min;
+        }
+    }
+}
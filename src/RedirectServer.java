@@ -0,0 +1,625 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP/1.1 mínimo delante de un {@link TinyURL}
+ *   - GET /{código}: 301 (o 302) con Location igual a la URL original, o 404
+ *   - POST / con la URL en el cuerpo: 201 con el código nuevo como cuerpo, o 400 si la
+ *     URL es vacía, tiene caracteres de control o el servicio la rechaza
+ * En Location los bytes UTF-8 que no son ASCII imprimible (y los espacios) van
+ * codificados como %XX.
+ * Cualquier otro método responde 405. Las conexiones son persistentes (keep-alive) salvo
+ * que el cliente pida "Connection: close" o hable HTTP/1.0, y se aceptan solicitudes
+ * encadenadas (pipelining).
+ *
+ * Hay dos modelos de E/S:
+ *   - SELECTOR: un solo hilo atiende todas las conexiones con un Selector de NIO. El
+ *     servicio se llama siempre desde ese hilo, así que no necesita ser seguro entre
+ *     hilos, pero una operación lenta (por ejemplo un log con fsync) detiene a todos.
+ *   - THREAD_PER_CONNECTION: un hilo por conexión con E/S bloqueante; hilos virtuales
+ *     si la JVM los tiene (Java 21 o posterior) y de plataforma si no. El servicio debe
+ *     ser seguro entre hilos (por ejemplo sobre una ConcurrentHashTable o una
+ *     ShardedCodeTable).
+ *
+ * Las partes fijas de las respuestas están codificadas de antemano en buffers directos
+ * de solo lectura; cada respuesta es una escritura con gathering (encabezado compartido,
+ * bytes de la URL, fin de encabezado) sin copiarlas a un buffer intermedio.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class RedirectServer implements AutoCloseable {
+
+    /**
+     * Modelo de atención de conexiones
+     */
+    public enum IoModel {
+        /** Un hilo con un Selector de NIO para todas las conexiones (por defecto) */
+        SELECTOR,
+        /** Un hilo (virtual si está disponible) por conexión */
+        THREAD_PER_CONNECTION
+    }
+
+    // Tamaño inicial del buffer de lectura de cada conexión
+    private static final int READ_BUFFER = 2048;
+    // Tamaño máximo de la línea de solicitud más los encabezados
+    private static final int MAX_HEAD = 8192;
+    // Tamaño máximo del cuerpo de un POST
+    private static final int MAX_BODY = 64 * 1024;
+
+    private static final byte[] HEAD_END = {'\r', '\n', '\r', '\n'};
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] SPACE = {' '};
+    private static final byte[] COLON = {':'};
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final ByteBuffer MOVED_PERMANENTLY =
+            encode("HTTP/1.1 301 Moved Permanently\r\nContent-Length: 0\r\nLocation: ");
+    private static final ByteBuffer FOUND = encode("HTTP/1.1 302 Found\r\nContent-Length: 0\r\nLocation: ");
+    private static final ByteBuffer LOCATION_END = encode("\r\n\r\n");
+    private static final ByteBuffer CREATED = encode("HTTP/1.1 201 Created\r\nContent-Type: text/plain\r\n"
+            + "Content-Length: " + Base62Codec.CODE_LENGTH + "\r\n\r\n");
+    private static final ByteBuffer NOT_FOUND = encode("HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n");
+    private static final ByteBuffer BAD_REQUEST = encode("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n");
+    private static final ByteBuffer NOT_ALLOWED =
+            encode("HTTP/1.1 405 Method Not Allowed\r\nAllow: GET, POST\r\nContent-Length: 0\r\n\r\n");
+    private static final ByteBuffer MALFORMED =
+            encode("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\nConnection: close\r\n\r\n");
+    private static final ByteBuffer TOO_LARGE =
+            encode("HTTP/1.1 413 Content Too Large\r\nContent-Length: 0\r\nConnection: close\r\n\r\n");
+    private static final ByteBuffer INTERNAL_ERROR =
+            encode("HTTP/1.1 500 Internal Server Error\r\nContent-Length: 0\r\n\r\n");
+
+    /**
+     * Estado de una conexión: lo leído sin procesar y las respuestas sin enviar
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        // En modo escritura: position = bytes leídos
+        ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        // Cerrar al terminar de enviar
+        boolean closing;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Línea de solicitud y encabezados relevantes de una solicitud
+     */
+    private static final class Head {
+        boolean get;
+        boolean post;
+        String target;
+        int contentLength;
+        boolean close;
+    }
+
+    private final TinyURL service;
+    private final IoModel ioModel;
+    private final ByteBuffer redirectHeader;
+    private final ServerSocketChannel server;
+    private final Thread loop;
+    // Solo SELECTOR
+    private final Selector selector;
+    // Solo THREAD_PER_CONNECTION
+    private final ExecutorService workers;
+    private final boolean virtualThreads;
+    private final Set<SocketChannel> open = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Constructor que abre el servidor en la interfaz de loopback con un Selector y
+     * redirecciones permanentes (301)
+     * @param service El servicio
+     * @param port El puerto, o 0 para uno libre
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public RedirectServer(TinyURL service, int port) throws IOException {
+        this(service, new InetSocketAddress(InetAddress.getLoopbackAddress(), port), IoModel.SELECTOR, true);
+    }
+
+    /**
+     * Constructor completo
+     * @param service El servicio
+     * @param address La dirección y el puerto en los que escuchar (puerto 0 para uno libre)
+     * @param ioModel El modelo de E/S
+     * @param permanent true para responder 301, false para 302 (cada visita vuelve a pasar
+     *        por el servidor, por ejemplo para contarla)
+     * @throws IllegalArgumentException si algún parámetro es null
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public RedirectServer(TinyURL service, InetSocketAddress address, IoModel ioModel, boolean permanent)
+            throws IOException {
+        if (service == null || address == null || ioModel == null) {
+            throw new IllegalArgumentException("El servicio, la dirección y el modelo no pueden ser null");
+        }
+        this.service = service;
+        this.ioModel = ioModel;
+        this.redirectHeader = permanent ? MOVED_PERMANENTLY : FOUND;
+        this.server = ServerSocketChannel.open();
+        server.bind(address, 4096);
+        if (ioModel == IoModel.SELECTOR) {
+            this.selector = Selector.open();
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            this.workers = null;
+            this.virtualThreads = false;
+            this.loop = new Thread(this::selectLoop, "redirect-server-selector");
+        } else {
+            this.selector = null;
+            ExecutorService virtual = newVirtualThreadExecutor();
+            this.virtualThreads = virtual != null;
+            this.workers = virtual != null ? virtual : Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "redirect-server-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.loop = new Thread(this::acceptLoop, "redirect-server-acceptor");
+        }
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    /**
+     * Crea un ejecutor de un hilo virtual por tarea si la JVM lo tiene (Java 21+)
+     * @return El ejecutor, o null en JVM anteriores
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ByteBuffer encode(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Retorna la dirección en la que escucha el servidor
+     * @return La dirección y el puerto
+     * @throws IllegalStateException si el servidor está cerrado
+     */
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) server.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException("El servidor está cerrado", e);
+        }
+    }
+
+    /**
+     * Retorna el modelo de E/S
+     * @return El modelo configurado
+     */
+    public IoModel getIoModel() {
+        return ioModel;
+    }
+
+    /**
+     * Indica si las conexiones se atienden con hilos virtuales
+     * @return true con THREAD_PER_CONNECTION en una JVM con hilos virtuales
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    // ---------- Protocolo ----------
+
+    /**
+     * Procesa las solicitudes completas del buffer de entrada y encola sus respuestas
+     * Lo que queda de una solicitud incompleta se mueve al principio del buffer, que
+     * crece si hace falta hasta MAX_HEAD + MAX_BODY.
+     * @return false si la conexión debe cerrarse después de enviar lo encolado
+     */
+    private boolean process(Connection connection) {
+        ByteBuffer in = connection.in;
+        byte[] data = in.array();
+        int end = in.position();
+        int start = 0;
+        boolean keepOpen = true;
+        Head head = new Head();
+        while (keepOpen && start < end) {
+            int headEnd = indexOf(data, start, end, HEAD_END);
+            if (headEnd < 0) {
+                if (end - start > MAX_HEAD) {
+                    connection.out.add(MALFORMED.duplicate());
+                    keepOpen = false;
+                }
+                break;
+            }
+            int bodyStart = headEnd + HEAD_END.length;
+            if (!parseHead(data, start, headEnd, head)) {
+                connection.out.add(MALFORMED.duplicate());
+                keepOpen = false;
+                break;
+            }
+            if (head.contentLength > MAX_BODY) {
+                connection.out.add(TOO_LARGE.duplicate());
+                keepOpen = false;
+                break;
+            }
+            if (end - bodyStart < head.contentLength) {
+                break;
+            }
+            try {
+                respond(connection, head, data, bodyStart);
+            } catch (RuntimeException e) {
+                // Por ejemplo un log que no pudo registrar la inserción: falla la solicitud, no el servidor
+                connection.out.add(INTERNAL_ERROR.duplicate());
+            }
+            start = bodyStart + head.contentLength;
+            keepOpen = !head.close;
+        }
+        // Se conserva la solicitud incompleta al principio del buffer
+        in.limit(end).position(start);
+        in.compact();
+        if (keepOpen && !in.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(2 * in.capacity(), MAX_HEAD + MAX_BODY + HEAD_END.length));
+            in.flip();
+            connection.in = larger.put(in);
+        }
+        return keepOpen;
+    }
+
+    /**
+     * Encola la respuesta de una solicitud ya completa
+     */
+    private void respond(Connection connection, Head head, byte[] data, int bodyStart) {
+        ArrayDeque<ByteBuffer> out = connection.out;
+        if (head.get) {
+            String target = head.target;
+            int query = target.indexOf('?');
+            int pathEnd = query < 0 ? target.length() : query;
+            String url = pathEnd > 1 && target.charAt(0) == '/' ? service.redirect(target.substring(1, pathEnd)) : null;
+            if (url == null) {
+                out.add(NOT_FOUND.duplicate());
+                return;
+            }
+            out.add(redirectHeader.duplicate());
+            out.add(ByteBuffer.wrap(location(url)));
+            out.add(LOCATION_END.duplicate());
+        } else if (head.post) {
+            String url = new String(data, bodyStart, head.contentLength, StandardCharsets.UTF_8).trim();
+            if (!head.target.equals("/") || url.isEmpty() || hasControl(url)) {
+                out.add(BAD_REQUEST.duplicate());
+                return;
+            }
+            String code;
+            try {
+                code = service.insertUrl(url);
+            } catch (IllegalArgumentException e) {
+                out.add(BAD_REQUEST.duplicate());
+                return;
+            }
+            out.add(CREATED.duplicate());
+            out.add(ByteBuffer.wrap(code.getBytes(StandardCharsets.US_ASCII)));
+        } else {
+            out.add(NOT_ALLOWED.duplicate());
+        }
+    }
+
+    /**
+     * Indica si la URL tiene caracteres de control (CR y LF, entre otros), que en el
+     * encabezado Location partirían la respuesta
+     */
+    private static boolean hasControl(String url) {
+        for (int i = 0; i < url.length(); i++) {
+            if (Character.isISOControl(url.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Codifica la URL para el encabezado Location
+     * Los bytes UTF-8 fuera del ASCII imprimible van como %XX, así que una URL guardada
+     * por otra vía que no sea el POST tampoco puede inyectar encabezados.
+     */
+    private static byte[] location(String url) {
+        byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+        int escaped = 0;
+        for (byte b : bytes) {
+            if (b < 0x21 || b == 0x7f) {
+                escaped++;
+            }
+        }
+        if (escaped == 0) {
+            return bytes;
+        }
+        byte[] encoded = new byte[bytes.length + 2 * escaped];
+        int j = 0;
+        for (byte b : bytes) {
+            if (b < 0x21 || b == 0x7f) {
+                encoded[j++] = '%';
+                encoded[j++] = HEX[(b >>> 4) & 0xf];
+                encoded[j++] = HEX[b & 0xf];
+            } else {
+                encoded[j++] = b;
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Lee la línea de solicitud y los encabezados Content-Length y Connection
+     * @return false si la solicitud está mal formada
+     */
+    private static boolean parseHead(byte[] data, int from, int to, Head head) {
+        int lineEnd = indexOf(data, from, to, CRLF);
+        if (lineEnd < 0) {
+            lineEnd = to;
+        }
+        int space1 = indexOf(data, from, lineEnd, SPACE);
+        int space2 = space1 <= from ? -1 : indexOf(data, space1 + 1, lineEnd, SPACE);
+        if (space2 <= space1 + 1) {
+            return false;
+        }
+        head.get = matches(data, from, space1, "GET");
+        head.post = matches(data, from, space1, "POST");
+        head.target = new String(data, space1 + 1, space2 - space1 - 1, StandardCharsets.ISO_8859_1);
+        head.close = matches(data, space2 + 1, lineEnd, "HTTP/1.0");
+        head.contentLength = 0;
+        for (int line = lineEnd + 2; line < to; ) {
+            int next = indexOf(data, line, to, CRLF);
+            if (next < 0) {
+                next = to;
+            }
+            int colon = indexOf(data, line, next, COLON);
+            if (colon > 0) {
+                int value = colon + 1;
+                while (value < next && data[value] == ' ') {
+                    value++;
+                }
+                if (matches(data, line, colon, "content-length")) {
+                    long length = 0;
+                    for (int i = value; i < next; i++) {
+                        if (data[i] < '0' || data[i] > '9') {
+                            return false;
+                        }
+                        length = Math.min(10 * length + (data[i] - '0'), Integer.MAX_VALUE);
+                    }
+                    head.contentLength = (int) length;
+                } else if (matches(data, line, colon, "connection")) {
+                    String connection = new String(data, value, next - value, StandardCharsets.ISO_8859_1);
+                    if (connection.equalsIgnoreCase("close")) {
+                        head.close = true;
+                    } else if (connection.equalsIgnoreCase("keep-alive")) {
+                        head.close = false;
+                    }
+                }
+            }
+            line = next + 2;
+        }
+        return true;
+    }
+
+    /**
+     * Compara un rango de bytes con un texto ASCII sin distinguir mayúsculas
+     */
+    private static boolean matches(byte[] data, int from, int to, String text) {
+        if (to - from != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toLowerCase((char) data[from + i]) != Character.toLowerCase(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca la primera aparición de un patrón en un rango
+     * @return La posición del primer byte del patrón, o -1
+     */
+    private static int indexOf(byte[] data, int from, int to, byte[] pattern) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Escribe lo que se pueda de las respuestas encoladas con una sola escritura con
+     * gathering y descarta los buffers ya enviados
+     */
+    private static void write(Connection connection) throws IOException {
+        ArrayDeque<ByteBuffer> out = connection.out;
+        connection.channel.write(out.toArray(new ByteBuffer[0]));
+        while (!out.isEmpty() && !out.peekFirst().hasRemaining()) {
+            out.pollFirst();
+        }
+    }
+
+    // ---------- SELECTOR ----------
+
+    private void selectLoop() {
+        try {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isAcceptable()) {
+                            acceptAll();
+                        } else if (key.isReadable()) {
+                            onReadable(key);
+                        } else if (key.isWritable()) {
+                            flush(key);
+                        }
+                    } catch (IOException e) {
+                        if (key.channel() != server) {
+                            closeConnection(key);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // El selector falló: se cierra todo
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void acceptAll() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+        }
+    }
+
+    private void onReadable(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        if (connection.channel.read(connection.in) < 0) {
+            closeConnection(key);
+            return;
+        }
+        connection.closing = !process(connection);
+        flush(key);
+    }
+
+    /**
+     * Envía lo encolado; si el socket no acepta todo, deja de leer hasta poder escribir
+     * (así un cliente lento no acumula respuestas sin límite)
+     */
+    private void flush(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        write(connection);
+        if (!connection.out.isEmpty()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (connection.closing) {
+            closeConnection(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private static void closeConnection(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    // ---------- THREAD_PER_CONNECTION ----------
+
+    private void acceptLoop() {
+        while (!closed) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+                // close() cerró el canal del servidor
+                return;
+            }
+            open.add(channel);
+            workers.execute(() -> serve(channel));
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        Connection connection = new Connection(channel);
+        try {
+            while (channel.read(connection.in) >= 0) {
+                boolean keepOpen = process(connection);
+                while (!connection.out.isEmpty()) {
+                    write(connection);
+                }
+                if (!keepOpen) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Conexión cortada por el cliente o por close()
+        } finally {
+            open.remove(channel);
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nada más que hacer al cerrar
+        }
+    }
+
+    /**
+     * Deja de aceptar conexiones y cierra todas las abiertas
+     * @throws IOException si falla el cierre del canal del servidor
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        server.close();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (workers != null) {
+            for (SocketChannel channel : open) {
+                closeQuietly(channel);
+            }
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Retorna una representación en cadena del servidor para debugging
+     * @return String con la dirección, el modelo de E/S y el servicio
+     */
+    @Override
+    public String toString() {
+        return "RedirectServer{address=" + (closed ? "cerrado" : getAddress())
+                + ", ioModel=" + ioModel
+                + ", virtualThreads=" + virtualThreads
+                + ", service=" + service
+                + "}";
+    }
+}
@@ -0,0 +1,258 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Locale;
+
+/**
+ * Cliente de un {@link CodeTableNode}: una {@link CodeTable} cuyos datos viven en otro
+ * proceso (o en otro hilo del mismo, en las pruebas) y se acceden por TCP
+ * Usa una sola conexión y atiende una operación a la vez (los métodos se sincronizan
+ * con el monitor del cliente). putAll y getAll envían todo el lote en un solo viaje.
+ * Los errores de red se lanzan como UncheckedIOException; los argumentos inválidos se
+ * validan antes de enviar, igual que en {@link LongHashTable}.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class RemoteCodeTable implements CodeTable, AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    /**
+     * Constructor que se conecta a un nodo
+     * @param address La dirección del nodo (ver {@link CodeTableNode#getAddress()})
+     * @throws IllegalArgumentException si la dirección es null
+     * @throws IOException si no se puede conectar
+     */
+    public RemoteCodeTable(InetSocketAddress address) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("La dirección no puede ser null");
+        }
+        this.socket = new Socket(address.getAddress(), address.getPort());
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Envía lo escrito en la salida y lee el estado de la respuesta
+     * @throws IllegalArgumentException si el nodo rechazó la operación
+     */
+    private void awaitResponse() throws IOException {
+        out.flush();
+        if (in.readByte() == CodeTableNode.ERROR) {
+            throw new IllegalArgumentException(CodeTableNode.readString(in));
+        }
+    }
+
+    private static void checkCode(long code) {
+        if (code < 0) {
+            throw new IllegalArgumentException("El código no puede ser negativo: " + code);
+        }
+    }
+
+    private static void checkValue(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+    }
+
+    @Override
+    public boolean put(long code, String value) {
+        return sendPut(CodeTableNode.PUT, code, value);
+    }
+
+    @Override
+    public boolean putIfAbsent(long code, String value) {
+        return sendPut(CodeTableNode.PUT_IF_ABSENT, code, value);
+    }
+
+    private synchronized boolean sendPut(byte op, long code, String value) {
+        checkCode(code);
+        checkValue(value);
+        try {
+            out.writeByte(op);
+            out.writeLong(code);
+            CodeTableNode.writeString(out, value);
+            awaitResponse();
+            return in.readBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String get(long code) {
+        return code < 0 ? null : sendLookup(CodeTableNode.GET, code);
+    }
+
+    @Override
+    public String remove(long code) {
+        return code < 0 ? null : sendLookup(CodeTableNode.REMOVE, code);
+    }
+
+    private synchronized String sendLookup(byte op, long code) {
+        try {
+            out.writeByte(op);
+            out.writeLong(code);
+            awaitResponse();
+            return CodeTableNode.readString(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized boolean containsKey(long code) {
+        if (code < 0) {
+            return false;
+        }
+        try {
+            out.writeByte(CodeTableNode.CONTAINS);
+            out.writeLong(code);
+            awaitResponse();
+            return in.readBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized int putAll(long[] codes, String[] values) {
+        CodeTable.checkBatch(codes, values);
+        try {
+            out.writeByte(CodeTableNode.PUT_ALL);
+            out.writeInt(codes.length);
+            for (int i = 0; i < codes.length; i++) {
+                out.writeLong(codes[i]);
+                CodeTableNode.writeString(out, values[i]);
+            }
+            awaitResponse();
+            return in.readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized String[] getAll(long[] codes) {
+        if (codes == null) {
+            throw new IllegalArgumentException("El arreglo de códigos no puede ser null");
+        }
+        try {
+            out.writeByte(CodeTableNode.GET_ALL);
+            out.writeInt(codes.length);
+            for (long code : codes) {
+                out.writeLong(code);
+            }
+            awaitResponse();
+            String[] values = new String[codes.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = CodeTableNode.readString(in);
+            }
+            return values;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Recorre una copia de todas las entradas del nodo, tomada de una sola vez
+     * @param visitor Receptor de las entradas
+     */
+    synchronized void forEach(LongHashTable.EntryVisitor visitor) {
+        try {
+            out.writeByte(CodeTableNode.SCAN);
+            awaitResponse();
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                visitor.visit(in.readLong(), CodeTableNode.readString(in));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized int sendQuery(byte op) {
+        try {
+            out.writeByte(op);
+            awaitResponse();
+            return in.readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean put(String key, String value) {
+        return put(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        return putIfAbsent(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public String get(String key) {
+        return get(Base62Codec.decode(key));
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return containsKey(Base62Codec.decode(key));
+    }
+
+    @Override
+    public String remove(String key) {
+        return remove(Base62Codec.decode(key));
+    }
+
+    @Override
+    public int size() {
+        return sendQuery(CodeTableNode.SIZE);
+    }
+
+    @Override
+    public int capacity() {
+        return sendQuery(CodeTableNode.CAPACITY);
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) size() / capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Cierra la conexión; el nodo sigue funcionando
+     * @throws IOException si falla el cierre del socket
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        socket.close();
+    }
+
+    /**
+     * Retorna una representación en cadena del cliente para debugging
+     * @return String con la dirección del nodo y el estado de su tabla
+     */
+    @Override
+    public String toString() {
+        return "RemoteCodeTable{address=" + socket.getRemoteSocketAddress()
+                + ", size=" + size()
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + "}";
+    }
+}
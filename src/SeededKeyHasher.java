@@ -0,0 +1,94 @@
+import java.security.SecureRandom;
+
+/**
+ * Hash de 64 bits con semilla para claves String, al estilo de wyhash
+ * Los caracteres UTF-16 se leen de a cuatro en palabras de 64 bits y cada par de palabras
+ * se combina con el estado mediante un producto de 128 bits plegado (parte alta XOR parte
+ * baja), que propaga cada bit de entrada a todo el resultado. Un código de 8 caracteres
+ * cuesta dos productos.
+ *
+ * La semilla entra en el estado inicial y en los dos factores de cada producto, y los
+ * factores se vuelven a mezclar con el resultado (la variante "condom" de wyhash): ninguna
+ * clave elegida sin conocer la semilla puede anular un factor y borrar el estado. Dos
+ * claves que colisionan con una semilla casi nunca colisionan con otra, así que con una
+ * semilla secreta quien elige las claves no puede alargar las cadenas a propósito (a
+ * diferencia de String.hashCode(), donde "Aa" y "BB" colisionan siempre).
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class SeededKeyHasher implements KeyHasher {
+    // Constantes de wyhash
+    private static final long P0 = 0xa0761d6478bd642fL;
+    private static final long P1 = 0xe7037ed1a0b428dbL;
+    private static final long P2 = 0x8ebc6af09c88c6e3L;
+
+    private static SecureRandom seeds;
+
+    private final long seed;
+
+    /**
+     * Constructor que fija la semilla
+     * @param seed La semilla
+     */
+    SeededKeyHasher(long seed) {
+        this.seed = seed ^ P0;
+    }
+
+    /**
+     * Genera una semilla impredecible
+     * @return Una semilla aleatoria
+     */
+    static synchronized long randomSeed() {
+        if (seeds == null) {
+            seeds = new SecureRandom();
+        }
+        return seeds.nextLong();
+    }
+
+    @Override
+    public long hash(String key) {
+        int n = key.length();
+        long h = seed;
+        int i = 0;
+        for (; n - i > 8; i += 8) {
+            h = mix(chars(key, i, 4) ^ P1 ^ seed, chars(key, i + 4, 4) ^ h);
+        }
+        // Quedan entre 0 y 8 caracteres
+        int rest = n - i;
+        long a;
+        long b;
+        if (rest > 4) {
+            a = chars(key, i, 4);
+            b = chars(key, i + 4, rest - 4);
+        } else {
+            a = chars(key, i, rest);
+            b = 0;
+        }
+        return mix(P2 ^ n, mix(a ^ P1 ^ seed, b ^ h));
+    }
+
+    /**
+     * Empaqueta hasta cuatro caracteres consecutivos en un long
+     */
+    private static long chars(String key, int from, int count) {
+        long w = 0;
+        for (int j = 0; j < count; j++) {
+            w |= (long) key.charAt(from + j) << (16 * j);
+        }
+        return w;
+    }
+
+    /**
+     * Producto de 128 bits plegado a 64, con los factores devueltos al resultado
+     * Sin ese XOR, un factor en cero anula el producto y se pierde todo lo anterior.
+     */
+    private static long mix(long a, long b) {
+        return a ^ b ^ (a * b) ^ Math.multiplyHigh(a, b);
+    }
+
+    @Override
+    public String toString() {
+        return "SeededKeyHasher";
+    }
+}
@@ -0,0 +1,553 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabla de códigos repartida entre varias particiones independientes
+ * Cada código se asigna a una partición con un {@link ConsistentHashRing}; cada
+ * partición es una {@link CodeTable} propia (una {@link LongHashTable} en el mismo
+ * proceso, o un {@link RemoteCodeTable} conectado a un {@link CodeTableNode}) con su
+ * propio lock, su propia memoria y sus propios redimensionamientos. Puesta detrás de un
+ * {@link TinyURL}, cada partición es además dueña de su parte del espacio de códigos:
+ * un código aleatorio se verifica e inserta solo en la partición que le asigna el
+ * anillo, así que las particiones generan códigos sin coordinarse entre sí.
+ *
+ * Es segura entre hilos: cada operación toma solo el lock de su partición, y las
+ * operaciones sobre particiones distintas avanzan en paralelo. putAll y getAll agrupan
+ * el lote por partición (un solo viaje por nodo remoto).
+ *
+ * {@link #addPartition(CodeTable)} agrega una partición vacía y le mueve solo los códigos
+ * de los arcos del anillo que pasa a ocupar (~1/N del total). Durante la migración se
+ * toman los locks de todas las particiones; las operaciones que llegan mientras tanto
+ * esperan y después se dirigen con el anillo nuevo.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class ShardedCodeTable implements CodeTable {
+
+    /**
+     * Partición: la tabla y el lock que protege todas sus operaciones
+     */
+    private static final class Partition extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        final CodeTable table;
+
+        Partition(CodeTable table) {
+            this.table = table;
+        }
+    }
+
+    /**
+     * Anillo y particiones vigentes; se reemplaza completo al agregar una partición
+     */
+    private static final class Routing {
+        final ConsistentHashRing ring;
+        final Partition[] partitions;
+
+        Routing(Partition[] partitions) {
+            this.ring = new ConsistentHashRing(partitions.length);
+            this.partitions = partitions;
+        }
+    }
+
+    private volatile Routing routing;
+
+    /**
+     * Constructor que crea el número indicado de particiones en el mismo proceso, cada
+     * una con su propia LongHashTable
+     * @param partitions Número de particiones
+     * @throws IllegalArgumentException si no está entre 1 y 65536
+     */
+    public ShardedCodeTable(int partitions) {
+        this(localPartitions(partitions));
+    }
+
+    /**
+     * Constructor que usa las tablas indicadas como particiones (por ejemplo clientes de
+     * nodos remotos). Para poder agregar particiones después, las existentes deben ser
+     * LongHashTable o RemoteCodeTable, que se pueden recorrer.
+     * @param partitions Las particiones, vacías y distintas entre sí
+     * @throws IllegalArgumentException si la lista es null o vacía, tiene más de 65536
+     *         tablas, o alguna es null, no está vacía o está repetida
+     */
+    public ShardedCodeTable(List<? extends CodeTable> partitions) {
+        if (partitions == null || partitions.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una partición");
+        }
+        if (partitions.size() > ConsistentHashRing.MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Demasiadas particiones: " + partitions.size());
+        }
+        Partition[] created = new Partition[partitions.size()];
+        for (int i = 0; i < created.length; i++) {
+            CodeTable table = partitions.get(i);
+            checkNewPartition(table, created, i);
+            created[i] = new Partition(table);
+        }
+        this.routing = new Routing(created);
+    }
+
+    private static List<CodeTable> localPartitions(int partitions) {
+        if (partitions <= 0 || partitions > ConsistentHashRing.MAX_PARTITIONS) {
+            throw new IllegalArgumentException("El número de particiones debe estar entre 1 y "
+                    + ConsistentHashRing.MAX_PARTITIONS + ": " + partitions);
+        }
+        List<CodeTable> tables = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            tables.add(new LongHashTable());
+        }
+        return tables;
+    }
+
+    private static void checkNewPartition(CodeTable table, Partition[] existing, int count) {
+        if (table == null) {
+            throw new IllegalArgumentException("La partición no puede ser null");
+        }
+        if (!table.isEmpty()) {
+            throw new IllegalArgumentException("La partición debe estar vacía");
+        }
+        for (int i = 0; i < count; i++) {
+            if (existing[i].table == table) {
+                throw new IllegalArgumentException("La partición está repetida");
+            }
+        }
+    }
+
+    /**
+     * Busca la partición dueña de un código y la retorna con su lock tomado
+     * Si el anillo cambió mientras se esperaba el lock, se vuelve a buscar con el nuevo.
+     */
+    private Partition lockOwner(long code) {
+        while (true) {
+            Routing current = routing;
+            Partition partition = current.partitions[current.ring.owner(code)];
+            partition.lock();
+            if (routing == current) {
+                return partition;
+            }
+            partition.unlock();
+        }
+    }
+
+    @Override
+    public boolean put(long code, String value) {
+        if (code < 0) {
+            throw new IllegalArgumentException("El código no puede ser negativo: " + code);
+        }
+        Partition partition = lockOwner(code);
+        try {
+            return partition.table.put(code, value);
+        } finally {
+            partition.unlock();
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(long code, String value) {
+        if (code < 0) {
+            throw new IllegalArgumentException("El código no puede ser negativo: " + code);
+        }
+        Partition partition = lockOwner(code);
+        try {
+            return partition.table.putIfAbsent(code, value);
+        } finally {
+            partition.unlock();
+        }
+    }
+
+    @Override
+    public String get(long code) {
+        if (code < 0) {
+            return null;
+        }
+        Partition partition = lockOwner(code);
+        try {
+            return partition.table.get(code);
+        } finally {
+            partition.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(long code) {
+        if (code < 0) {
+            return false;
+        }
+        Partition partition = lockOwner(code);
+        try {
+            return partition.table.containsKey(code);
+        } finally {
+            partition.unlock();
+        }
+    }
+
+    @Override
+    public String remove(long code) {
+        if (code < 0) {
+            return null;
+        }
+        Partition partition = lockOwner(code);
+        try {
+            return partition.table.remove(code);
+        } finally {
+            partition.unlock();
+        }
+    }
+
+    /**
+     * Almacena un lote de pares, con una llamada putAll por partición
+     * @param codes Los códigos empaquetados (no negativos)
+     * @param values Los valores
+     * @return El número de códigos nuevos
+     */
+    @Override
+    public int putAll(long[] codes, String[] values) {
+        CodeTable.checkBatch(codes, values);
+        int added = 0;
+        boolean[] done = new boolean[codes.length];
+        int remaining = codes.length;
+        while (remaining > 0) {
+            Routing current = routing;
+            int[][] groups = group(current, codes, done);
+            for (int p = 0; p < groups.length && routing == current; p++) {
+                int[] indices = groups[p];
+                if (indices.length == 0) {
+                    continue;
+                }
+                long[] subCodes = new long[indices.length];
+                String[] subValues = new String[indices.length];
+                for (int j = 0; j < indices.length; j++) {
+                    subCodes[j] = codes[indices[j]];
+                    subValues[j] = values[indices[j]];
+                }
+                Partition partition = current.partitions[p];
+                partition.lock();
+                try {
+                    if (routing != current) {
+                        break;
+                    }
+                    added += partition.table.putAll(subCodes, subValues);
+                } finally {
+                    partition.unlock();
+                }
+                for (int i : indices) {
+                    done[i] = true;
+                }
+                remaining -= indices.length;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Busca un lote de códigos, con una llamada getAll por partición
+     * @param codes Los códigos empaquetados
+     * @return El valor de cada código, o null en los que no están
+     */
+    @Override
+    public String[] getAll(long[] codes) {
+        if (codes == null) {
+            throw new IllegalArgumentException("El arreglo de códigos no puede ser null");
+        }
+        String[] values = new String[codes.length];
+        boolean[] done = new boolean[codes.length];
+        int remaining = codes.length;
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] < 0) {
+                done[i] = true;
+                remaining--;
+            }
+        }
+        while (remaining > 0) {
+            Routing current = routing;
+            int[][] groups = group(current, codes, done);
+            for (int p = 0; p < groups.length && routing == current; p++) {
+                int[] indices = groups[p];
+                if (indices.length == 0) {
+                    continue;
+                }
+                long[] subCodes = new long[indices.length];
+                for (int j = 0; j < indices.length; j++) {
+                    subCodes[j] = codes[indices[j]];
+                }
+                String[] found;
+                Partition partition = current.partitions[p];
+                partition.lock();
+                try {
+                    if (routing != current) {
+                        break;
+                    }
+                    found = partition.table.getAll(subCodes);
+                } finally {
+                    partition.unlock();
+                }
+                for (int j = 0; j < indices.length; j++) {
+                    values[indices[j]] = found[j];
+                    done[indices[j]] = true;
+                }
+                remaining -= indices.length;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Agrupa por partición las posiciones del lote que todavía no se procesaron
+     * @return Para cada partición, las posiciones de sus códigos
+     */
+    private static int[][] group(Routing routing, long[] codes, boolean[] done) {
+        int n = routing.partitions.length;
+        int[] owners = new int[codes.length];
+        int[] counts = new int[n];
+        for (int i = 0; i < codes.length; i++) {
+            if (!done[i]) {
+                owners[i] = routing.ring.owner(codes[i]);
+                counts[owners[i]]++;
+            }
+        }
+        int[][] groups = new int[n][];
+        for (int p = 0; p < n; p++) {
+            groups[p] = new int[counts[p]];
+            counts[p] = 0;
+        }
+        for (int i = 0; i < codes.length; i++) {
+            if (!done[i]) {
+                groups[owners[i]][counts[owners[i]]++] = i;
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Agrega una partición vacía y le mueve los códigos que el anillo nuevo le asigna
+     * Solo cambian de partición los códigos de los arcos que ocupa la nueva: con N
+     * particiones previas, ~1/(N + 1) del total. No conviene llamarlo en paralelo con
+     * otras llamadas a addPartition (se serializan).
+     *
+     * Todos los códigos que se van se copian a la nueva antes de publicar el anillo nuevo,
+     * y recién después se borran de sus particiones viejas. Si una copia falla (por
+     * ejemplo, un error de red con un RemoteCodeTable) se deshacen las copias y el
+     * anillo no cambia. Si falla un borrado, el anillo nuevo ya está publicado: el
+     * código queda como copia huérfana en la partición vieja y se lanza el error.
+     * @param table La nueva partición, vacía
+     * @return El número de códigos movidos
+     * @throws IllegalArgumentException si la tabla es null, no está vacía o ya es una
+     *         partición, o si ya hay 65536 particiones
+     * @throws IllegalStateException si alguna partición existente no se puede recorrer
+     *         (no es LongHashTable ni RemoteCodeTable)
+     */
+    public synchronized int addPartition(CodeTable table) {
+        Routing current = routing;
+        Partition[] old = current.partitions;
+        if (old.length == ConsistentHashRing.MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Ya hay " + old.length + " particiones");
+        }
+        checkNewPartition(table, old, old.length);
+        for (Partition partition : old) {
+            if (!(partition.table instanceof LongHashTable || partition.table instanceof RemoteCodeTable)) {
+                throw new IllegalStateException("La partición no se puede recorrer: "
+                        + partition.table.getClass().getSimpleName());
+            }
+        }
+        Partition[] partitions = Arrays.copyOf(old, old.length + 1);
+        Partition added = new Partition(table);
+        partitions[old.length] = added;
+        Routing next = new Routing(partitions);
+
+        for (Partition partition : partitions) {
+            partition.lock();
+        }
+        try {
+            // Primero se copian a la nueva todos los códigos que se van; el anillo viejo sigue
+            // vigente, así que si una copia falla se deshacen las anteriores y nada cambió
+            long[][] leaving = new long[old.length][];
+            int moved = 0;
+            try {
+                for (int p = 0; p < old.length; p++) {
+                    List<Long> leavingCodes = new ArrayList<>();
+                    List<String> leavingUrls = new ArrayList<>();
+                    forEachEntry(old[p].table, (code, url) -> {
+                        if (next.ring.owner(code) == old.length) {
+                            leavingCodes.add(code);
+                            leavingUrls.add(url);
+                        }
+                    });
+                    long[] codes = new long[leavingCodes.size()];
+                    for (int i = 0; i < codes.length; i++) {
+                        codes[i] = leavingCodes.get(i);
+                    }
+                    if (codes.length > 0) {
+                        table.putAll(codes, leavingUrls.toArray(new String[0]));
+                    }
+                    leaving[p] = codes;
+                    moved += codes.length;
+                }
+            } catch (RuntimeException e) {
+                rollBack(table, leaving, e);
+                throw e;
+            }
+            routing = next;
+            // Con el anillo nuevo publicado, las copias viejas ya no se leen: se borran todas
+            // aunque alguna falle, y se informa el primer error al final
+            RuntimeException failure = null;
+            for (int p = 0; p < old.length; p++) {
+                for (long code : leaving[p]) {
+                    try {
+                        old[p].table.remove(code);
+                    } catch (RuntimeException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return moved;
+        } finally {
+            for (Partition partition : partitions) {
+                partition.unlock();
+            }
+        }
+    }
+
+    /**
+     * Deshace las copias hechas en la partición nueva antes de que una fallara
+     * Los errores al deshacer se agregan como suprimidos del error original.
+     */
+    private static void rollBack(CodeTable table, long[][] copied, RuntimeException cause) {
+        for (long[] codes : copied) {
+            if (codes == null) {
+                continue;
+            }
+            for (long code : codes) {
+                try {
+                    table.remove(code);
+                } catch (RuntimeException e) {
+                    cause.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    private static void forEachEntry(CodeTable table, LongHashTable.EntryVisitor visitor) {
+        if (table instanceof LongHashTable) {
+            ((LongHashTable) table).forEach(visitor);
+        } else {
+            ((RemoteCodeTable) table).forEach(visitor);
+        }
+    }
+
+    /**
+     * Retorna el número de particiones
+     * @return Las particiones actuales
+     */
+    public int getPartitionCount() {
+        return routing.partitions.length;
+    }
+
+    /**
+     * Cuenta los códigos de cada partición
+     * @return El tamaño de cada partición, en el orden en que se agregaron
+     */
+    public int[] getPartitionSizes() {
+        Partition[] partitions = routing.partitions;
+        int[] sizes = new int[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i].lock();
+            try {
+                sizes[i] = partitions[i].table.size();
+            } finally {
+                partitions[i].unlock();
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Calcula la partición a la que se dirige un código
+     * @param code El código empaquetado
+     * @return El índice de la partición
+     */
+    public int partitionOf(long code) {
+        return routing.ring.owner(code);
+    }
+
+    @Override
+    public boolean put(String key, String value) {
+        return put(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        return putIfAbsent(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public String get(String key) {
+        return get(Base62Codec.decode(key));
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return containsKey(Base62Codec.decode(key));
+    }
+
+    @Override
+    public String remove(String key) {
+        return remove(Base62Codec.decode(key));
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int partitionSize : getPartitionSizes()) {
+            size += partitionSize;
+        }
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        Partition[] partitions = routing.partitions;
+        int capacity = 0;
+        for (Partition partition : partitions) {
+            partition.lock();
+            try {
+                capacity += partition.table.capacity();
+            } finally {
+                partition.unlock();
+            }
+        }
+        return capacity;
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) size() / capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Retorna una representación en cadena de la tabla para debugging
+     * @return String representando el estado actual de la tabla
+     */
+    @Override
+    public String toString() {
+        return "ShardedCodeTable{size=" + size()
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", partitions=" + getPartitionCount()
+                + "}";
+    }
+}
@@ -0,0 +1,286 @@
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabla hash optimizada para lectura, pensada para tráfico casi solo de redirect()
+ *
+ * Los lectores obtienen con una sola lectura volatile una vista inmutable formada por la
+ * instantánea de la tabla y, si hay cambios sin publicar, un lote pequeño superpuesto.
+ * Ambos son OpenAddressingTable que nadie vuelve a modificar una vez publicados, así que
+ * un get() no toma locks, no reserva memoria y no consulta ninguna estructura concurrente.
+ *
+ * Los escritores se serializan con un lock. Cada cambio se aplica sobre una copia del
+ * lote (que es pequeño) y se publica una vista nueva, de modo que un put() es visible de
+ * inmediato. Cuando el lote se llena (o al llamar a {@link #flush()}) se copia la
+ * instantánea, se le aplica el lote y se publica una vista sin lote (copy-on-write al
+ * estilo RCU). El lote admite raíz cuadrada de la capacidad cambios: copiar el lote en
+ * cada escritura y la instantánea cada lote cuesta O(raíz de la capacidad) amortizado por
+ * escritura, a cambio de que las lecturas sigan en una sola lectura volatile.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class SnapshotHashTable implements KeyValueTable {
+    // Capacidad por defecto de la tabla
+    private static final int DEFAULT_CAPACITY = 16;
+    // Cambios acumulados antes de publicar una nueva instantánea
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    // Factor de carga máximo de la instantánea
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    // Marca de eliminación en el lote pendiente (se compara por identidad)
+    private static final String TOMBSTONE = new String("<eliminado>");
+
+    /**
+     * Vista inmutable que leen los lectores: instantánea más lote pendiente
+     */
+    private static final class View {
+        // Instantánea publicada
+        final OpenAddressingTable base;
+        // Cambios aún no publicados: clave -> valor nuevo o TOMBSTONE; null si no hay
+        final OpenAddressingTable overlay;
+
+        View(OpenAddressingTable base, OpenAddressingTable overlay) {
+            this.base = base;
+            this.overlay = overlay;
+        }
+    }
+
+    // Vista publicada; ni ella ni sus tablas se modifican después de asignarse
+    private volatile View view;
+    // Número de elementos contando los cambios pendientes
+    private volatile int size;
+    // Número de instantáneas publicadas
+    private volatile long publications;
+
+    private final int batchSize;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Constructor que inicializa la tabla con capacidad y tamaño de lote por defecto
+     */
+    public SnapshotHashTable() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor completo
+     * @param initialCapacity Capacidad inicial de la tabla
+     * @param batchSize Número mínimo de cambios que se acumulan antes de publicar
+     *        (con tablas grandes el lote es de raíz cuadrada de la capacidad)
+     * @throws IllegalArgumentException si algún parámetro no es positivo
+     */
+    public SnapshotHashTable(int initialCapacity, int batchSize) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + initialCapacity);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.view = new View(new OpenAddressingTable(initialCapacity), null);
+    }
+
+    /**
+     * Recupera el valor asociado con la clave dada, sin locks ni asignación de memoria
+     * @param key La clave a buscar
+     * @return El valor asociado, o null si no se encuentra
+     */
+    @Override
+    public String get(String key) {
+        if (key == null) {
+            return null;
+        }
+        View current = view;
+        if (current.overlay != null) {
+            String value = current.overlay.get(key);
+            if (value != null) {
+                return value == TOMBSTONE ? null : value;
+            }
+        }
+        return current.base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean put(String key, String value) {
+        return write(key, value, false);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        return write(key, value, true);
+    }
+
+    /**
+     * Registra una inserción o actualización en el lote pendiente
+     * @return true si la clave era nueva
+     */
+    private boolean write(String key, String value, boolean onlyIfAbsent) {
+        if (key == null) {
+            throw new IllegalArgumentException("La clave no puede ser null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        writeLock.lock();
+        try {
+            boolean exists = get(key) != null;
+            if (exists && onlyIfAbsent) {
+                return false;
+            }
+            record(key, value);
+            if (!exists) {
+                size = size + 1;
+            }
+            return !exists;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public String remove(String key) {
+        if (key == null) {
+            return null;
+        }
+        writeLock.lock();
+        try {
+            String previous = get(key);
+            if (previous != null) {
+                record(key, TOMBSTONE);
+                size = size - 1;
+            }
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Agrega un cambio a una copia del lote y publica la vista nueva (con el lock tomado)
+     * Si el lote queda lleno se aplica a la instantánea en lugar de publicarse.
+     */
+    private void record(String key, String value) {
+        View current = view;
+        int limit = batchLimit(current.base);
+        OpenAddressingTable overlay = current.overlay == null
+                ? new OpenAddressingTable(Integer.highestOneBit(limit) << 2)
+                : current.overlay.copy(current.overlay.capacity());
+        overlay.put(key, value);
+        view = new View(current.base, overlay);
+        if (overlay.size() >= limit) {
+            publish();
+        }
+    }
+
+    /**
+     * Calcula cuántos cambios admite el lote sobre una instantánea
+     * @param base La instantánea
+     * @return El mayor entre batchSize y la raíz cuadrada de la capacidad
+     */
+    private int batchLimit(OpenAddressingTable base) {
+        return Math.max(batchSize, (int) Math.sqrt(base.capacity()));
+    }
+
+    /**
+     * Publica de inmediato todos los cambios pendientes
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            if (view.overlay != null) {
+                publish();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copia la instantánea, le aplica el lote y la publica sin lote (con el lock tomado)
+     * La instantánea y el lote vacío se publican juntos en la misma vista, así un
+     * lector nunca ve un estado intermedio.
+     */
+    private void publish() {
+        View current = view;
+        int newCapacity = current.base.capacity();
+        while (size > MAX_LOAD_FACTOR * newCapacity) {
+            newCapacity *= 2;
+        }
+        OpenAddressingTable next = current.base.copy(newCapacity);
+        if (current.overlay != null) {
+            current.overlay.forEach((key, value) -> {
+                if (value == TOMBSTONE) {
+                    next.remove(key);
+                } else {
+                    next.put(key, value);
+                }
+            });
+        }
+        view = new View(next, null);
+        publications++;
+    }
+
+    /**
+     * Duplica la capacidad publicando una instantánea más grande
+     */
+    public void resize() {
+        writeLock.lock();
+        try {
+            publish();
+            OpenAddressingTable base = view.base;
+            view = new View(base.copy(base.capacity() * 2), null);
+            publications++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Retorna el número de cambios sin publicar
+     * @return El tamaño del lote pendiente
+     */
+    private int pendingCount() {
+        OpenAddressingTable overlay = view.overlay;
+        return overlay == null ? 0 : overlay.size();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return view.base.capacity();
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) size / capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna una representación en cadena de la tabla para debugging
+     * @return String representando el estado actual de la tabla
+     */
+    @Override
+    public String toString() {
+        return "SnapshotHashTable{size=" + size
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", pending=" + pendingCount()
+                + ", batchSize=" + batchSize
+                + ", publications=" + publications
+                + "}";
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Base de las tablas que se colocan delante de otro almacén ({@link TieredCodeTable},
+ * {@link FilteredCodeTable})
+ * Guarda el almacén y ofrece sus operaciones por código empaquetado: con un almacén que
+ * es {@link CodeTable} se usan sus operaciones de long; con cualquier otro, los códigos
+ * se convierten a String con {@link Base62Codec}. Las operaciones con claves String se
+ * traducen a códigos, así que (igual que en {@link LongHashTable}) deben ser códigos
+ * base62 válidos. El tamaño y la capacidad son los del almacén.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+abstract class StoreBackedCodeTable implements CodeTable {
+    private final KeyValueTable store;
+    // El mismo almacén si es una CodeTable, null en caso contrario
+    private final CodeTable storeCodes;
+
+    /**
+     * Constructor que recibe el almacén con todos los datos
+     * @param store El almacén
+     * @throws IllegalArgumentException si el almacén es null
+     */
+    StoreBackedCodeTable(KeyValueTable store) {
+        if (store == null) {
+            throw new IllegalArgumentException("El almacén no puede ser null");
+        }
+        this.store = store;
+        this.storeCodes = store instanceof CodeTable ? (CodeTable) store : null;
+    }
+
+    // ---------- Acceso al almacén por código ----------
+
+    boolean storePut(long code, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        return storeCodes != null ? storeCodes.put(code, value) : store.put(encodeKey(code), value);
+    }
+
+    boolean storePutIfAbsent(long code, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        return storeCodes != null ? storeCodes.putIfAbsent(code, value) : store.putIfAbsent(encodeKey(code), value);
+    }
+
+    /**
+     * Las lecturas reciben solo códigos válidos (ver {@link Base62Codec#isValid(long)})
+     */
+    String storeGet(long code) {
+        return storeCodes != null ? storeCodes.get(code) : store.get(Base62Codec.encode(code));
+    }
+
+    boolean storeContainsKey(long code) {
+        return storeCodes != null ? storeCodes.containsKey(code) : store.containsKey(Base62Codec.encode(code));
+    }
+
+    String storeRemove(long code) {
+        return storeCodes != null ? storeCodes.remove(code) : store.remove(Base62Codec.encode(code));
+    }
+
+    private static String encodeKey(long code) {
+        if (code < 0) {
+            throw new IllegalArgumentException("El código no puede ser negativo: " + code);
+        }
+        return Base62Codec.encode(code);
+    }
+
+    // ---------- Operaciones con claves String ----------
+
+    @Override
+    public boolean put(String key, String value) {
+        return put(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, String value) {
+        return putIfAbsent(Base62Codec.decodeKey(key), value);
+    }
+
+    @Override
+    public String get(String key) {
+        return get(Base62Codec.decode(key));
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return containsKey(Base62Codec.decode(key));
+    }
+
+    @Override
+    public String remove(String key) {
+        return remove(Base62Codec.decode(key));
+    }
+
+    // ---------- Tamaño ----------
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public int capacity() {
+        return store.capacity();
+    }
+
+    @Override
+    public double getLoad() {
+        return store.getLoad();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    /**
+     * Retorna el almacén que guarda todos los datos
+     * @return El almacén
+     */
+    public KeyValueTable getStore() {
+        return store;
+    }
+}
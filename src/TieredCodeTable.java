@@ -0,0 +1,158 @@
+import java.util.Locale;
+
+/**
+ * Tabla en dos niveles: una caché pequeña de códigos calientes delante de un almacén
+ * más lento pero más compacto (por ejemplo una HashTable en modo COMPRESSED u OFF_HEAP,
+ * o un MappedUrlStore)
+ * Todos los datos viven en el almacén; la caché ({@link RedirectCache}, W-TinyLFU) solo
+ * guarda copias de los valores más pedidos, así que get() de un código viral no paga la
+ * decodificación, la copia desde memoria directa ni el fallo de página del almacén.
+ *
+ * Las escrituras van directo al almacén y actualizan o invalidan la copia en caché; la
+ * caché se llena solo con lecturas. El acceso al almacén y las claves String funcionan
+ * como se describe en {@link StoreBackedCodeTable}.
+ *
+ * No es segura entre hilos: incluso get() modifica la caché.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class TieredCodeTable extends StoreBackedCodeTable {
+    private final RedirectCache cache;
+
+    /**
+     * Constructor que coloca una caché de la capacidad indicada delante de un almacén
+     * @param store El almacén con todos los datos
+     * @param cacheCapacity Número máximo de códigos en la caché
+     * @throws IllegalArgumentException si el almacén es null o la capacidad no es válida
+     */
+    public TieredCodeTable(KeyValueTable store, int cacheCapacity) {
+        super(store);
+        if (store instanceof TieredCodeTable) {
+            throw new IllegalArgumentException("El almacén ya tiene una caché");
+        }
+        this.cache = new RedirectCache(cacheCapacity);
+    }
+
+    @Override
+    public boolean put(long code, String value) {
+        boolean added = storePut(code, value);
+        cache.replace(code, value);
+        return added;
+    }
+
+    @Override
+    public boolean putIfAbsent(long code, String value) {
+        return storePutIfAbsent(code, value);
+    }
+
+    /**
+     * Recupera el valor de un código, primero en la caché y después en el almacén
+     * Un valor leído del almacén se ofrece a la caché, que decide si lo admite.
+     * @param code El código empaquetado
+     * @return El valor asociado, o null si no se encuentra
+     */
+    @Override
+    public String get(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return null;
+        }
+        String value = cache.get(code);
+        if (value != null) {
+            return value;
+        }
+        value = storeGet(code);
+        if (value != null) {
+            cache.put(code, value);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return false;
+        }
+        return cache.contains(code) || storeContainsKey(code);
+    }
+
+    @Override
+    public String remove(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return null;
+        }
+        cache.invalidate(code);
+        return storeRemove(code);
+    }
+
+    // ---------- Estadísticas ----------
+
+    /**
+     * Retorna el número de códigos copiados en la caché
+     * @return Las entradas de la caché
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Retorna la capacidad de la caché
+     * @return El número máximo de códigos en caché
+     */
+    public int getCacheCapacity() {
+        return cache.capacity();
+    }
+
+    /**
+     * Retorna el número de lecturas atendidas por la caché
+     * @return Los aciertos desde que se creó la tabla
+     */
+    public long getHits() {
+        return cache.hits();
+    }
+
+    /**
+     * Retorna el número de lecturas que tuvieron que ir al almacén
+     * @return Los fallos de caché desde que se creó la tabla
+     */
+    public long getMisses() {
+        return cache.misses();
+    }
+
+    /**
+     * Retorna el número de códigos que la caché descartó por falta de espacio
+     * (incluye los candidatos que no fueron admitidos en la zona principal)
+     * @return Los desalojos desde que se creó la tabla
+     */
+    public long getEvictions() {
+        return cache.evictions();
+    }
+
+    /**
+     * Calcula la fracción de lecturas atendidas por la caché
+     * @return Aciertos / (aciertos + fallos), o 0 si no hubo lecturas
+     */
+    public double getHitRatio() {
+        long total = cache.hits() + cache.misses();
+        return total == 0 ? 0 : (double) cache.hits() / total;
+    }
+
+    /**
+     * Retorna una representación en cadena de la tabla y de su caché
+     * @return String representando el estado actual
+     */
+    @Override
+    public String toString() {
+        return "TieredCodeTable{size=" + size()
+                + ", capacity=" + capacity()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoad())
+                + ", cacheSize=" + cache.size()
+                + ", cacheCapacity=" + cache.capacity()
+                + ", hits=" + cache.hits()
+                + ", misses=" + cache.misses()
+                + ", evictions=" + cache.evictions()
+                + ", hitRatio=" + String.format(Locale.ROOT, "%.2f", getHitRatio())
+                + ", store=" + getStore()
+                + "}";
+    }
+}
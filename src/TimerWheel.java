@@ -0,0 +1,368 @@
+import java.util.Arrays;
+
+/**
+ * Rueda de temporizadores jerárquica para el vencimiento de códigos empaquetados
+ *
+ * El tiempo avanza en ticks de tickMillis. Hay LEVELS niveles de SLOTS ranuras: el nivel
+ * 0 tiene una ranura por tick, el nivel 1 una por cada SLOTS ticks, y así. Un código se
+ * guarda en el nivel más bajo cuyo bloque (del nivel siguiente) comparte con el tick
+ * actual; cuando el tiempo entra en una ranura de un nivel alto, sus códigos bajan
+ * ("cascada") a niveles más finos. Programar y vencer un código cuesta O(1) amortizado,
+ * sin recorrer la tabla ni los códigos que no vencen; los tramos sin códigos se saltan
+ * de bloque en bloque. Los plazos que no caben en los
+ * cuatro niveles (más de SLOTS^4 ticks) esperan en una lista aparte que se revisa cada
+ * vez que el nivel más alto da la vuelta.
+ *
+ * Un índice propio guarda el tick de vencimiento de cada código programado. Cancelar o
+ * reprogramar solo cambia el índice: la entrada vieja queda en su ranura y se descarta
+ * al vaciarla, cuando el índice ya no coincide. Así {@link #deadline(long)} responde en
+ * O(1) si un código ya venció, aunque la rueda todavía no haya llegado a su ranura.
+ *
+ * {@link #advance(long, long[])} hace como máximo tantas unidades de trabajo como quepan
+ * en el arreglo recibido y recuerda dónde quedó: el trabajo de cada llamada está acotado
+ * aunque muchos códigos venzan en el mismo tick o una cascada mueva una ranura grande
+ * de un nivel alto. No es segura entre hilos.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class TimerWheel {
+    // log2 de las ranuras por nivel
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    // Capacidad inicial del índice y de cada ranura
+    private static final int INDEX_CAPACITY = 16;
+    private static final int SLOT_CAPACITY = 4;
+    // Marca de ranura vacía en el índice (los códigos son no negativos)
+    private static final long EMPTY = -1L;
+    private static final long FIBONACCI = 0x9E3779B97F4A7C15L;
+
+    private final long tickMillis;
+    // Códigos de cada ranura (pila) y cuántos hay; null hasta el primer código
+    private final long[][][] slots = new long[LEVELS][SLOTS][];
+    private final int[][] counts = new int[LEVELS][SLOTS];
+    // Entradas por nivel, para saltar los tramos vacíos
+    private final int[] levelCounts = new int[LEVELS];
+    private long[] overflow = new long[SLOT_CAPACITY];
+    private int overflowCount;
+    // Primer tick sin procesar por completo
+    private long currentTick;
+    // Si ya empezó la cascada que corresponde a currentTick
+    private boolean cascaded;
+    // Ranuras separadas por la cascada en curso, con los códigos que faltan reubicar
+    private final long[][] moving = new long[LEVELS][];
+    private final int[] movingCounts = new int[LEVELS];
+    private int movingChunks;
+
+    // Índice código -> tick de vencimiento (sondeo lineal, borrado con desplazamiento)
+    private long[] indexCodes;
+    private long[] indexTicks;
+    private int indexMask;
+    private int size;
+
+    /**
+     * Constructor que crea una rueda vacía
+     * @param tickMillis Duración de un tick en milisegundos (la precisión del vencimiento)
+     * @param nowMillis El tiempo actual
+     * @throws IllegalArgumentException si el tick no es positivo o el tiempo es negativo
+     */
+    TimerWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("El tick debe ser positivo: " + tickMillis);
+        }
+        if (nowMillis < 0) {
+            throw new IllegalArgumentException("El tiempo no puede ser negativo: " + nowMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        allocateIndex(INDEX_CAPACITY);
+    }
+
+    /**
+     * Programa (o reprograma) el vencimiento de un código
+     * El código vence en el primer tick que empieza en el plazo o después, así que nunca
+     * vence antes de tiempo y como mucho un tick tarde.
+     * @param code El código empaquetado (no negativo)
+     * @param deadlineMillis El instante de vencimiento
+     */
+    void schedule(long code, long deadlineMillis) {
+        long tick = Math.max(0, deadlineMillis) / tickMillis;
+        if (tick * tickMillis < deadlineMillis) {
+            tick++;
+        }
+        indexPut(code, tick);
+        place(code, tick);
+    }
+
+    /**
+     * Cancela el vencimiento de un código
+     * @param code El código
+     * @return true si estaba programado
+     */
+    boolean cancel(long code) {
+        return code >= 0 && indexRemove(code);
+    }
+
+    /**
+     * Retorna el instante de vencimiento de un código
+     * @param code El código
+     * @return El inicio del tick en que vence, o -1 si no está programado
+     */
+    long deadline(long code) {
+        int i = code < 0 ? -1 : indexFind(code);
+        return i < 0 ? -1 : indexTicks[i] * tickMillis;
+    }
+
+    /**
+     * Retorna el número de códigos programados
+     * @return Los códigos con vencimiento pendiente
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado y retira los códigos vencidos
+     * El trabajo está acotado por el tamaño del arreglo: cada código vencido, descartado o
+     * bajado de nivel en una cascada cuenta una unidad. La siguiente llamada sigue desde
+     * donde quedó esta, también a mitad de una cascada.
+     * @param nowMillis El tiempo actual
+     * @param expired Arreglo donde se escriben los códigos vencidos
+     * @return Cuántos códigos se escribieron; ver {@link #behind(long)} para saber si quedan
+     */
+    int advance(long nowMillis, long[] expired) {
+        long target = nowMillis / tickMillis;
+        int n = 0;
+        int work = 0;
+        while (currentTick <= target && work < expired.length) {
+            if (size == 0) {
+                // Nada programado: lo que quede en la rueda son entradas descartadas
+                Arrays.fill(moving, null);
+                movingChunks = 0;
+                currentTick = target + 1;
+                cascaded = false;
+                break;
+            }
+            if (!cascaded) {
+                startCascade();
+                cascaded = true;
+            }
+            if (movingChunks > 0) {
+                work += move(expired.length - work);
+                continue;
+            }
+            int empty = 0;
+            while (empty < LEVELS && levelCounts[empty] == 0) {
+                empty++;
+            }
+            if (empty > 0) {
+                // Los niveles finos están vacíos: nada vence antes de la próxima cascada
+                long block = 1L << (SLOT_BITS * empty);
+                currentTick = Math.min((currentTick & -block) + block, target + 1);
+                cascaded = false;
+                continue;
+            }
+            int slot = (int) (currentTick & (SLOTS - 1));
+            long[] codes = slots[0][slot];
+            while (counts[0][slot] > 0 && work < expired.length) {
+                levelCounts[0]--;
+                work++;
+                long code = codes[--counts[0][slot]];
+                int i = indexFind(code);
+                // Las entradas canceladas o reprogramadas más tarde se descartan
+                if (i >= 0 && indexTicks[i] <= currentTick) {
+                    indexRemove(code);
+                    expired[n++] = code;
+                }
+            }
+            if (counts[0][slot] == 0) {
+                releaseSlot(0, slot);
+                currentTick++;
+                cascaded = false;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Indica si quedan códigos vencidos por retirar hasta el instante indicado
+     * @param nowMillis El tiempo actual
+     * @return true si la rueda no llegó todavía a ese instante
+     */
+    boolean behind(long nowMillis) {
+        return size > 0 && currentTick <= nowMillis / tickMillis;
+    }
+
+    /**
+     * Separa para bajar de nivel las ranuras en las que acaba de entrar currentTick
+     * Solo mueve los arreglos: los códigos se reubican de a poco con {@link #move(int)}.
+     */
+    private void startCascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+            if (counts[level][slot] > 0) {
+                moving[movingChunks] = slots[level][slot];
+                movingCounts[movingChunks++] = counts[level][slot];
+                levelCounts[level] -= counts[level][slot];
+            }
+            slots[level][slot] = null;
+            counts[level][slot] = 0;
+        }
+        // Dio la vuelta el nivel más alto: se revisan los plazos lejanos
+        if (overflowCount > 0) {
+            moving[movingChunks] = overflow;
+            movingCounts[movingChunks++] = overflowCount;
+            overflow = new long[SLOT_CAPACITY];
+            overflowCount = 0;
+        }
+    }
+
+    /**
+     * Reubica hasta limit códigos de la cascada en curso
+     * @return Cuántos códigos se reubicaron
+     */
+    private int move(int limit) {
+        int moved = 0;
+        while (movingChunks > 0 && moved < limit) {
+            int k = movingChunks - 1;
+            long[] codes = moving[k];
+            while (movingCounts[k] > 0 && moved < limit) {
+                replace(codes[--movingCounts[k]]);
+                moved++;
+            }
+            if (movingCounts[k] == 0) {
+                moving[k] = null;
+                movingChunks--;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Vuelve a ubicar un código según su tick del índice, si sigue programado
+     */
+    private void replace(long code) {
+        int i = indexFind(code);
+        if (i >= 0) {
+            place(code, indexTicks[i]);
+        }
+    }
+
+    /**
+     * Ubica un código en el nivel más bajo que comparte bloque con el tick actual
+     */
+    private void place(long code, long tick) {
+        tick = Math.max(tick, currentTick);
+        for (int level = 0; level < LEVELS; level++) {
+            int blockShift = SLOT_BITS * (level + 1);
+            if ((tick >>> blockShift) == (currentTick >>> blockShift)) {
+                int slot = (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                add(level, slot, code);
+                return;
+            }
+        }
+        if (overflowCount == overflow.length) {
+            overflow = Arrays.copyOf(overflow, 2 * overflow.length);
+        }
+        overflow[overflowCount++] = code;
+    }
+
+    private void add(int level, int slot, long code) {
+        long[] codes = slots[level][slot];
+        int count = counts[level][slot];
+        if (codes == null) {
+            codes = slots[level][slot] = new long[SLOT_CAPACITY];
+        } else if (count == codes.length) {
+            codes = slots[level][slot] = Arrays.copyOf(codes, 2 * count);
+        }
+        codes[count] = code;
+        counts[level][slot] = count + 1;
+        levelCounts[level]++;
+    }
+
+    private void releaseSlot(int level, int slot) {
+        // Las ranuras que crecieron mucho no retienen su memoria después de vaciarse
+        if (slots[level][slot] != null && slots[level][slot].length > SLOT_CAPACITY) {
+            slots[level][slot] = null;
+        }
+    }
+
+    // ---------- Índice código -> tick ----------
+
+    private void allocateIndex(int capacity) {
+        indexCodes = new long[capacity];
+        indexTicks = new long[capacity];
+        Arrays.fill(indexCodes, EMPTY);
+        indexMask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long code) {
+        return (int) ((code * FIBONACCI) >>> 32) & indexMask;
+    }
+
+    private int indexFind(long code) {
+        for (int i = home(code); ; i = (i + 1) & indexMask) {
+            if (indexCodes[i] == code) {
+                return i;
+            }
+            if (indexCodes[i] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void indexPut(long code, long tick) {
+        if (code < 0) {
+            throw new IllegalArgumentException("El código no puede ser negativo: " + code);
+        }
+        int i = indexFind(code);
+        if (i >= 0) {
+            indexTicks[i] = tick;
+            return;
+        }
+        if ((size + 1) * 4L > indexCodes.length * 3L) {
+            long[] oldCodes = indexCodes;
+            long[] oldTicks = indexTicks;
+            allocateIndex(2 * oldCodes.length);
+            for (int j = 0; j < oldCodes.length; j++) {
+                if (oldCodes[j] != EMPTY) {
+                    insertNew(oldCodes[j], oldTicks[j]);
+                }
+            }
+        }
+        insertNew(code, tick);
+    }
+
+    private void insertNew(long code, long tick) {
+        int i = home(code);
+        while (indexCodes[i] != EMPTY) {
+            i = (i + 1) & indexMask;
+        }
+        indexCodes[i] = code;
+        indexTicks[i] = tick;
+        size++;
+    }
+
+    private boolean indexRemove(long code) {
+        int hole = indexFind(code);
+        if (hole < 0) {
+            return false;
+        }
+        // Desplazamiento hacia atrás: los elementos que sondearon más allá del hueco lo ocupan
+        for (int j = (hole + 1) & indexMask; indexCodes[j] != EMPTY; j = (j + 1) & indexMask) {
+            if (((j - home(indexCodes[j])) & indexMask) >= ((j - hole) & indexMask)) {
+                indexCodes[hole] = indexCodes[j];
+                indexTicks[hole] = indexTicks[j];
+                hole = j;
+            }
+        }
+        indexCodes[hole] = EMPTY;
+        size--;
+        return true;
+    }
+}
@@ -1,129 +1,1099 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ObjLongConsumer;
+
 /**
  * Servicio TinyURL que permite acortar URLs largas y redirigir a las URLs originales
  * Esta clase utiliza una tabla hash para almacenar las relaciones entre códigos cortos y URLs
- * 
+ *
+ * Los códigos también se pueden manejar empaquetados en un long (ver {@link Base62Codec}),
+ * lo que evita crear el String del código en el llamador. Por defecto la tabla es una
+ * {@link LongHashTable}, indexada directamente por el código empaquetado: con cualquier
+ * {@link CodeTable} redirect, containsCode y removeUrl no crean ningún String de clave.
+ *
+ * Opcionalmente cada inserción y eliminación se registra en un {@link WriteAheadLog}
+ * antes de retornar, y al crear el servicio se reproduce el log sobre la tabla.
+ *
+ * En modo de deduplicación un índice inverso ({@link UrlFingerprintIndex}) asocia la
+ * huella de 64 bits de cada URL a su código: acortar una URL ya acortada retorna el
+ * código existente en O(1), sin generar otro ni guardar otra copia de la URL.
+ *
+ * Con {@link #setMetrics(Metrics)} el servicio registra aciertos y fallos de redirect y
+ * los reintentos de la generación de códigos aleatorios.
+ *
+ * Para cargas grandes de tamaño conocido, {@link #TinyURL(int)}, {@link #ensureCapacity}
+ * y {@link #loadUrls} reservan la capacidad final de una vez en lugar de duplicar la
+ * tabla a medida que crece; {@link #trimToSize()} la devuelve después de eliminar muchas.
+ *
+ * insertUrl con un TTL crea un código que vence (enlaces de campaña o de un solo uso).
+ * Los vencimientos se programan en una rueda de temporizadores jerárquica
+ * ({@link TimerWheel}), nunca recorriendo la tabla. Un código vencido deja de redirigir
+ * en cuanto vence y se libera de dos formas, ambas con trabajo acotado: redirect y
+ * containsCode lo eliminan al encontrarlo, y {@link #expireBatch(int)} (o
+ * {@link #scheduleExpiry}, que lo llama periódicamente) elimina los que vencieron en
+ * lotes de tamaño fijo. Con log, la inserción registra el plazo absoluto y al
+ * reproducir el log los códigos vuelven a la rueda con ese plazo (los que vencieron
+ * mientras el servicio estaba detenido se eliminan en cuanto se consultan o en el
+ * siguiente lote).
+ *
  * @author [Nombre del Estudiante]
  * @version 1.0
  */
 public class TinyURL {
-        
+    // Longitud de los códigos generados
+    private static final int DEFAULT_CODE_LENGTH = Base62Codec.CODE_LENGTH;
+    // Precisión de los vencimientos
+    private static final long EXPIRY_TICK_MILLIS = 10;
+    // Códigos eliminados por lote en cada pasada de scheduleExpiry
+    private static final int EXPIRY_BATCH = 1024;
+    // Plazo de los códigos que no vencen
+    private static final long NO_DEADLINE = -1;
+    // URLs que loadUrls acorta en cada lote
+    private static final int LOAD_BATCH = 1 << 16;
+
+    /**
+     * Forma de generar los códigos cortos
+     */
+    public enum CodeStrategy {
+        /** Códigos aleatorios; cada inserción verifica en la tabla que el código esté libre (por defecto) */
+        RANDOM,
+        /**
+         * Contador permutado con una red de Feistel: sin colisiones por construcción, así
+         * que la inserción no consulta la tabla. La tabla debe empezar vacía.
+         */
+        PERMUTED_COUNTER
+    }
+
+    private final KeyValueTable table;
+    // La misma tabla si es una CodeTable (ruta sin String), null en caso contrario
+    private final CodeTable codes;
+    private final CodeStrategy codeStrategy;
+    // Solo se usa con CodeStrategy.PERMUTED_COUNTER
+    private final FeistelCodeGenerator counterGenerator;
+    // Log de durabilidad, o null si el servicio no es persistente
+    private final WriteAheadLog log;
+    // Índice URL -> código del modo de deduplicación, o null si está desactivado
+    private final UrlFingerprintIndex dedupIndex;
+    // null si no se registran métricas
+    private Metrics metrics;
+    // Rueda de vencimientos; null hasta el primer código con TTL. Se usa bajo su monitor
+    private volatile TimerWheel expiry;
+    // Reloj de los vencimientos, en milisegundos
+    private LongSupplier clock = System::currentTimeMillis;
+
     /**
      * Constructor que inicializa el servicio TinyURL con configuración por defecto
      */
     public TinyURL() {
-        // TODO: Implementar el constructor por defecto
+        this(new LongHashTable());
+    }
+
+    /**
+     * Constructor que reserva capacidad para expectedUrls URLs sobre una LongHashTable:
+     * guardarlas no redimensiona la tabla ninguna vez
+     * @param expectedUrls Número de URLs que se espera guardar
+     * @throws IllegalArgumentException si expectedUrls es negativo
+     */
+    public TinyURL(int expectedUrls) {
+        this(LongHashTable.withExpectedSize(expectedUrls));
+    }
+
+    /**
+     * Constructor que permite indicar la tabla hash subyacente
+     * (por ejemplo, una HashTable en modo OPEN_ADDRESSING o una ConcurrentHashTable
+     * para compartir el servicio entre hilos). Con una CodeTable (LongHashTable,
+     * MappedUrlStore, o una TieredCodeTable o FilteredCodeTable delante de otro almacén)
+     * el servicio usa directamente los códigos empaquetados. Con una ShardedCodeTable
+     * cada código va a la partición que le asigna el anillo de hash consistente.
+     * @param table La tabla hash a utilizar, debe estar vacía
+     */
+    public TinyURL(KeyValueTable table) {
+        this(table, CodeStrategy.RANDOM);
+    }
+
+    /**
+     * Constructor que permite indicar la tabla y la estrategia de generación de códigos
+     * @param table La tabla hash a utilizar, debe estar vacía
+     * @param codeStrategy La forma de generar los códigos
+     * @throws IllegalArgumentException si algún parámetro es null, o si se pide
+     *         PERMUTED_COUNTER con una tabla que ya tiene datos (por ejemplo, un
+     *         MappedUrlStore reabierto): el contador nuevo podría repetir sus códigos
+     */
+    public TinyURL(KeyValueTable table, CodeStrategy codeStrategy) {
+        this(table, codeStrategy, null);
+    }
+
+    /**
+     * Constructor de un servicio durable
+     * Primero reproduce el log sobre la tabla; después cada insertUrl/removeUrl se
+     * registra en el log antes de retornar.
+     * @param table La tabla hash a utilizar, debe estar vacía
+     * @param codeStrategy La forma de generar los códigos
+     * @param log El log de escritura anticipada, o null para no registrar operaciones
+     * @throws IllegalArgumentException si la tabla o la estrategia son null, o si se pide
+     *         PERMUTED_COUNTER y la tabla tiene datos después de reproducir el log
+     * @throws UncheckedIOException si no se puede leer el log
+     */
+    public TinyURL(KeyValueTable table, CodeStrategy codeStrategy, WriteAheadLog log) {
+        this(table, codeStrategy, log, false);
+    }
+
+    /**
+     * Constructor completo
+     * Con deduplicación, insertar una URL que ya tiene código retorna ese código. El índice
+     * se reconstruye con las inserciones del log; las URLs que ya estaban en la tabla
+     * por otra vía (por ejemplo un MappedUrlStore reabierto sin log) no se deduplican.
+     * @param table La tabla hash a utilizar, debe estar vacía
+     * @param codeStrategy La forma de generar los códigos
+     * @param log El log de escritura anticipada, o null para no registrar operaciones
+     * @param deduplicate true para reutilizar el código de las URLs repetidas
+     * @throws IllegalArgumentException si la tabla o la estrategia son null, o si se pide
+     *         PERMUTED_COUNTER y la tabla tiene datos después de reproducir el log
+     * @throws UncheckedIOException si no se puede leer el log
+     */
+    public TinyURL(KeyValueTable table, CodeStrategy codeStrategy, WriteAheadLog log, boolean deduplicate) {
+        if (table == null) {
+            throw new IllegalArgumentException("La tabla no puede ser null");
+        }
+        if (codeStrategy == null) {
+            throw new IllegalArgumentException("La estrategia de códigos no puede ser null");
+        }
+        this.dedupIndex = deduplicate ? new UrlFingerprintIndex() : null;
+        // Plazos de los códigos con TTL que siguen vivos al terminar el log
+        Map<Long, Long> deadlines = new HashMap<>();
+        if (log != null) {
+            try {
+                log.replayInto(table, (type, code, deadline, url) -> {
+                    if (type == WriteAheadLog.PUT_EXPIRING) {
+                        deadlines.put(code, deadline);
+                    } else {
+                        deadlines.remove(code);
+                    }
+                    // Las entradas de códigos eliminados después quedan obsoletas; insertUrl las descarta.
+                    // Los códigos con TTL no se deduplican, igual que al insertarlos
+                    if (dedupIndex != null && type == WriteAheadLog.PUT) {
+                        dedupIndex.put(UrlFingerprintIndex.fingerprint(url), code);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (codeStrategy == CodeStrategy.PERMUTED_COUNTER && !table.isEmpty()) {
+            throw new IllegalArgumentException("PERMUTED_COUNTER requiere una tabla vacía");
+        }
+        this.table = table;
+        this.codes = table instanceof CodeTable ? (CodeTable) table : null;
+        this.codeStrategy = codeStrategy;
+        this.counterGenerator = codeStrategy == CodeStrategy.PERMUTED_COUNTER
+                ? new FeistelCodeGenerator(ThreadLocalRandom.current().nextLong())
+                : null;
+        this.log = log;
+        if (!deadlines.isEmpty()) {
+            TimerWheel wheel = expiryWheel();
+            synchronized (wheel) {
+                for (Map.Entry<Long, Long> entry : deadlines.entrySet()) {
+                    wheel.schedule(entry.getKey(), entry.getValue());
+                }
+            }
+        }
     }
-    
+
     /**
      * Genera un código corto aleatorio único
+     * Visible en el paquete para los benchmarks JMH.
      * @return Un código corto que no existe en la tabla hash
      */
-    private String generateUniqueCode() {
-        // TODO: Implementar la generación de códigos únicos
-        // 1. Generar un código aleatorio de la longitud especificada
-        // 2. Verificar que el código no exista ya en la tabla hash
-        // 3. Si existe, generar uno nuevo (repetir hasta encontrar uno único)
-        // 4. Retornar el código único
-
-        return generateRandomCode();
+    String generateUniqueCode() {
+        String code = Base62Codec.encode(generateRandomCode());
+        int retries = 0;
+        while (table.containsKey(code)) {
+            code = Base62Codec.encode(generateRandomCode());
+            retries++;
+        }
+        if (metrics != null) {
+            metrics.recordCodeRetries(retries);
+        }
+        return code;
     }
-    
+
     /**
-     * Genera un código aleatorio de la longitud especificada
+     * Genera un código aleatorio empaquetado, uniforme sobre los 62^8 códigos posibles
+     * ThreadLocalRandom evita la contención del Random compartido entre hilos.
      * @return Un código aleatorio (no necesariamente único)
      */
-    private String generateRandomCode() {
-        // TODO: Implementar la generación de códigos aleatorios
-        // Usar StringBuilder para construir el código
-        // Seleccionar caracteres aleatorios de la cadena CHARACTERS
-        // Retornar el código generado
-        
-        return "a";
+    private long generateRandomCode() {
+        return ThreadLocalRandom.current().nextLong(Base62Codec.CODE_SPACE);
     }
-    
+
     /**
      * Acorta una URL larga y retorna un código corto único
      * @param url La URL larga a acortar
      * @return El código corto asociado con la URL
+     * @throws IllegalStateException si con PERMUTED_COUNTER se agotaron los códigos
+     * @throws UncheckedIOException si hay log y no se puede registrar la inserción
      */
     public String insertUrl(String url) {
-        return "a";
+        validateUrl(url);
+        if (dedupIndex != null) {
+            return Base62Codec.encode(insertDeduplicated(url));
+        }
+        if (codes != null) {
+            return Base62Codec.encode(insertPacked(url, NO_DEADLINE));
+        }
+        return insertStringKey(url, NO_DEADLINE);
+    }
+
+    /**
+     * Inserta en una tabla sin ruta de long, con el código como clave String
+     * @param deadline El plazo que se registra en el log, o NO_DEADLINE
+     */
+    private String insertStringKey(String url, long deadline) {
+        if (codeStrategy == CodeStrategy.PERMUTED_COUNTER) {
+            // El código es nuevo por construcción: no hace falta verificarlo en la tabla
+            String code = counterGenerator.nextCode();
+            table.put(code, url);
+            logInsert(Base62Codec.decode(code), url, deadline);
+            return code;
+        }
+        String code = generateUniqueCode();
+        while (!table.putIfAbsent(code, url)) {
+            // Otro hilo tomó el mismo código entre la verificación y la inserción
+            code = generateUniqueCode();
+        }
+        logInsert(Base62Codec.decode(code), url, deadline);
+        return code;
+    }
+
+    /**
+     * Acorta una URL larga y retorna el código corto empaquetado
+     * @param url La URL larga a acortar
+     * @return El código corto como long (ver {@link Base62Codec})
+     * @throws IllegalStateException si con PERMUTED_COUNTER se agotaron los códigos
+     */
+    public long insertUrlPacked(String url) {
+        validateUrl(url);
+        if (dedupIndex != null) {
+            return insertDeduplicated(url);
+        }
+        if (codes == null) {
+            return Base62Codec.decode(insertStringKey(url, NO_DEADLINE));
+        }
+        return insertPacked(url, NO_DEADLINE);
+    }
+
+    /**
+     * Acorta una URL con un código que vence después del TTL indicado
+     * El código es siempre nuevo, también en modo de deduplicación: un enlace que vence
+     * no reemplaza al código permanente de la misma URL.
+     * @param url La URL larga a acortar
+     * @param ttl El tiempo de vida (se redondea hacia arriba a múltiplos de 10 ms)
+     * @param unit La unidad del TTL
+     * @return El código corto, que deja de redirigir al vencer
+     * @throws IllegalArgumentException si la URL es null o vacía, si el TTL no es positivo
+     *         o si la unidad es null
+     * @throws IllegalStateException si con PERMUTED_COUNTER se agotaron los códigos
+     */
+    public String insertUrl(String url, long ttl, TimeUnit unit) {
+        return Base62Codec.encode(insertUrlPacked(url, ttl, unit));
+    }
+
+    /**
+     * Acorta una URL con un código que vence y retorna el código empaquetado
+     * @param url La URL larga a acortar
+     * @param ttl El tiempo de vida
+     * @param unit La unidad del TTL
+     * @return El código corto como long
+     * @see #insertUrl(String, long, TimeUnit)
+     */
+    public long insertUrlPacked(String url, long ttl, TimeUnit unit) {
+        validateUrl(url);
+        if (ttl <= 0 || unit == null) {
+            throw new IllegalArgumentException("El TTL debe ser positivo y tener unidad: " + ttl + " " + unit);
+        }
+        long now = clock.getAsLong();
+        long ttlMillis = unit.toMillis(ttl);
+        long deadline = ttlMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis;
+        long code = codes != null ? insertPacked(url, deadline) : Base62Codec.decode(insertStringKey(url, deadline));
+        TimerWheel wheel = expiryWheel();
+        synchronized (wheel) {
+            wheel.schedule(code, deadline);
+        }
+        return code;
+    }
+
+    /**
+     * Retorna la rueda de vencimientos, creándola con el primer código con TTL
+     */
+    private TimerWheel expiryWheel() {
+        TimerWheel wheel = expiry;
+        if (wheel == null) {
+            synchronized (this) {
+                wheel = expiry;
+                if (wheel == null) {
+                    wheel = new TimerWheel(EXPIRY_TICK_MILLIS, clock.getAsLong());
+                    expiry = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * Verifica si un código con TTL ya venció y, si es así, lo elimina de la tabla
+     * Es la liberación perezosa: cuesta una consulta al índice de la rueda.
+     * @return true si el código venció (y ya no está)
+     */
+    private boolean expired(long code) {
+        TimerWheel wheel = expiry;
+        if (wheel == null) {
+            return false;
+        }
+        synchronized (wheel) {
+            long deadline = wheel.deadline(code);
+            if (deadline < 0 || deadline > clock.getAsLong()) {
+                return false;
+            }
+            wheel.cancel(code);
+        }
+        removeExpired(code);
+        return true;
+    }
+
+    private void removeExpired(long code) {
+        logRemoval(code, codes != null ? codes.remove(code) : table.remove(Base62Codec.encode(code)));
+    }
+
+    /**
+     * Elimina hasta maxCodes códigos vencidos, en el orden en que vencieron
+     * Avanza la rueda hacia el tiempo actual: no recorre la tabla ni los códigos que no
+     * vencieron, y el trabajo está acotado por maxCodes (también el de reubicar códigos
+     * en la rueda, así que un lote puede eliminar menos aunque queden vencidos).
+     * @param maxCodes Máximo de códigos a eliminar en esta llamada
+     * @return Cuántos se eliminaron
+     * @throws IllegalArgumentException si maxCodes no es positivo
+     */
+    public int expireBatch(int maxCodes) {
+        if (maxCodes <= 0) {
+            throw new IllegalArgumentException("El tamaño del lote debe ser positivo: " + maxCodes);
+        }
+        TimerWheel wheel = expiry;
+        if (wheel == null) {
+            return 0;
+        }
+        long[] expired = new long[maxCodes];
+        int n;
+        synchronized (wheel) {
+            n = wheel.advance(clock.getAsLong(), expired);
+        }
+        // La tabla se modifica fuera del monitor: los redirects solo esperan el avance de la rueda
+        for (int i = 0; i < n; i++) {
+            removeExpired(expired[i]);
+        }
+        return n;
+    }
+
+    /**
+     * Programa la eliminación periódica de los códigos vencidos
+     * Cada pasada llama a expireBatch en lotes de 1024 hasta alcanzar el tiempo actual.
+     * @param executor El ejecutor en el que correr las pasadas
+     * @param period El tiempo entre el fin de una pasada y el inicio de la siguiente
+     * @param unit La unidad del período
+     * @return La tarea programada; cancelarla detiene las pasadas
+     * @throws IllegalArgumentException si el ejecutor o la unidad son null o el período
+     *         no es positivo
+     */
+    public ScheduledFuture<?> scheduleExpiry(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        if (executor == null || unit == null || period <= 0) {
+            throw new IllegalArgumentException("Se necesita un ejecutor y un período positivo");
+        }
+        return executor.scheduleWithFixedDelay(() -> {
+            do {
+                expireBatch(EXPIRY_BATCH);
+            } while (expiryBehind());
+        }, period, period, unit);
+    }
+
+    /**
+     * Indica si la rueda de vencimientos no alcanzó todavía el tiempo actual
+     */
+    private boolean expiryBehind() {
+        TimerWheel wheel = expiry;
+        if (wheel == null) {
+            return false;
+        }
+        synchronized (wheel) {
+            return wheel.behind(clock.getAsLong());
+        }
+    }
+
+    /**
+     * Retorna el número de códigos con TTL que todavía no se eliminaron
+     * @return Los códigos con vencimiento pendiente (incluye los vencidos sin eliminar)
+     */
+    public int getExpiringCount() {
+        TimerWheel wheel = expiry;
+        if (wheel == null) {
+            return 0;
+        }
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Cambia el reloj de los vencimientos; para pruebas
+     * @param clock Tiempo actual en milisegundos
+     */
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Inserta en modo de deduplicación: si la huella de la URL ya tiene un código y la
+     * tabla todavía guarda esa misma URL en él, retorna ese código sin insertar nada
+     * Comparar la URL descarta tanto las huellas repetidas por colisión como las entradas
+     * de códigos que se eliminaron. La consulta y la inserción van juntas bajo el monitor
+     * del índice, así que dos hilos no generan dos códigos para la misma URL.
+     */
+    private long insertDeduplicated(String url) {
+        long fingerprint = UrlFingerprintIndex.fingerprint(url);
+        synchronized (dedupIndex) {
+            long existing = dedupIndex.get(fingerprint);
+            if (existing >= 0 && url.equals(find(existing))) {
+                return existing;
+            }
+            long code = codes != null
+                    ? insertPacked(url, NO_DEADLINE)
+                    : Base62Codec.decode(insertStringKey(url, NO_DEADLINE));
+            // Ante una colisión de huellas el índice pasa a apuntar a la URL nueva
+            dedupIndex.put(fingerprint, code);
+            return code;
+        }
+    }
+
+    /**
+     * Inserta en la CodeTable sin crear ningún String de código
+     * Con códigos aleatorios, putIfAbsent verifica e inserta con un solo sondeo.
+     * @param deadline El plazo que se registra en el log, o NO_DEADLINE
+     */
+    private long insertPacked(String url, long deadline) {
+        if (codeStrategy == CodeStrategy.PERMUTED_COUNTER) {
+            long code = counterGenerator.nextValue();
+            codes.put(code, url);
+            logInsert(code, url, deadline);
+            return code;
+        }
+        long code = generateRandomCode();
+        int retries = 0;
+        while (!codes.putIfAbsent(code, url)) {
+            code = generateRandomCode();
+            retries++;
+        }
+        if (metrics != null) {
+            metrics.recordCodeRetries(retries);
+        }
+        logInsert(code, url, deadline);
+        return code;
+    }
+
+    /**
+     * Acorta un lote de URLs y retorna sus códigos cortos
+     * Con HashTable o LongHashTable el lote se inserta con putAll, que dimensiona la tabla
+     * una sola vez, y con log todo el lote se registra con una sola espera de durabilidad.
+     * Con otras tablas (por ejemplo las concurrentes) o en modo de deduplicación cada URL
+     * se inserta por separado.
+     * @param urls Las URLs a acortar
+     * @return El código corto de cada URL, en el mismo orden
+     * @throws IllegalArgumentException si el arreglo o alguna URL es null o vacía; en ese
+     *         caso no se inserta ninguna
+     * @throws IllegalStateException si con PERMUTED_COUNTER se agotaron los códigos
+     * @throws UncheckedIOException si hay log y no se puede registrar el lote
+     */
+    public String[] insertUrls(String[] urls) {
+        long[] batch = insertUrlsPacked(urls);
+        String[] result = new String[batch.length];
+        for (int i = 0; i < batch.length; i++) {
+            result[i] = Base62Codec.encode(batch[i]);
+        }
+        return result;
     }
-    
+
+    /**
+     * Acorta una colección de URLs y retorna sus códigos cortos
+     * @param urls Las URLs a acortar
+     * @return El código corto de cada URL, en el orden de iteración de la colección
+     * @throws IllegalArgumentException si la colección o alguna URL es null o vacía
+     * @see #insertUrls(String[])
+     */
+    public List<String> insertUrls(Collection<String> urls) {
+        if (urls == null) {
+            throw new IllegalArgumentException("La colección de URLs no puede ser null");
+        }
+        return Arrays.asList(insertUrls(urls.toArray(new String[0])));
+    }
+
+    /**
+     * Carga un conjunto de URLs de tamaño conocido, por ejemplo al migrar un dataset
+     * Reserva una sola vez capacidad para las URLs actuales más count y después las acorta
+     * en lotes de 65536 con insertUrlsPacked: la tabla final se construye en una pasada,
+     * sin redimensionamientos intermedios, y no se acumula un arreglo con todos los
+     * códigos. Si llegan más de count URLs la tabla vuelve a crecer como con cualquier
+     * inserción.
+     * @param urls Las URLs a acortar
+     * @param count Cuántas URLs se espera que entregue el iterador
+     * @param sink Recibe cada URL con su código empaquetado, en orden; puede ser null
+     * @return El número de URLs cargadas
+     * @throws IllegalArgumentException si el iterador es null, count es negativo o alguna
+     *         URL es null o vacía (los lotes anteriores quedan cargados)
+     * @throws IllegalStateException si con PERMUTED_COUNTER se agotaron los códigos
+     * @throws UncheckedIOException si hay log y no se puede registrar un lote
+     */
+    public int loadUrls(Iterator<String> urls, int count, ObjLongConsumer<String> sink) {
+        if (urls == null) {
+            throw new IllegalArgumentException("El iterador de URLs no puede ser null");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("La cantidad de URLs no puede ser negativa: " + count);
+        }
+        ensureCapacity((int) Math.min(Integer.MAX_VALUE, (long) table.size() + count));
+        String[] batch = new String[LOAD_BATCH];
+        int loaded = 0;
+        while (urls.hasNext()) {
+            int n = 0;
+            while (n < batch.length && urls.hasNext()) {
+                batch[n++] = urls.next();
+            }
+            String[] chunk = n == batch.length ? batch : Arrays.copyOf(batch, n);
+            long[] packed = insertUrlsPacked(chunk);
+            if (sink != null) {
+                for (int i = 0; i < n; i++) {
+                    sink.accept(chunk[i], packed[i]);
+                }
+            }
+            loaded += n;
+        }
+        return loaded;
+    }
+
+    /**
+     * Reserva capacidad para que el servicio llegue a expectedUrls URLs sin redimensionar
+     * la tabla (ni el índice de deduplicación)
+     * Con tablas que no pueden reservar de antemano no tiene efecto.
+     * @param expectedUrls Número total de URLs que se espera guardar
+     * @throws IllegalArgumentException si expectedUrls es negativo
+     */
+    public void ensureCapacity(int expectedUrls) {
+        table.ensureCapacity(expectedUrls);
+        if (dedupIndex != null) {
+            synchronized (dedupIndex) {
+                dedupIndex.ensureCapacity(expectedUrls);
+            }
+        }
+    }
+
+    /**
+     * Reduce la capacidad de la tabla (y del índice de deduplicación) a la mínima para
+     * las URLs actuales, por ejemplo después de eliminar muchas
+     */
+    public void trimToSize() {
+        table.trimToSize();
+        if (dedupIndex != null) {
+            synchronized (dedupIndex) {
+                dedupIndex.trimToSize();
+            }
+        }
+    }
+
+    /**
+     * Acorta un lote de URLs y retorna sus códigos cortos empaquetados
+     * @param urls Las URLs a acortar
+     * @return El código empaquetado de cada URL, en el mismo orden
+     * @see #insertUrls(String[])
+     */
+    public long[] insertUrlsPacked(String[] urls) {
+        if (urls == null) {
+            throw new IllegalArgumentException("El arreglo de URLs no puede ser null");
+        }
+        for (String url : urls) {
+            validateUrl(url);
+        }
+        long[] batch = new long[urls.length];
+        if (dedupIndex != null || !(table instanceof HashTable || table instanceof LongHashTable)) {
+            // Sin putIfAbsent por lote, verificar e insertar por separado es lo único seguro entre hilos
+            for (int i = 0; i < urls.length; i++) {
+                batch[i] = insertUrlPacked(urls[i]);
+            }
+            return batch;
+        }
+        if (codeStrategy == CodeStrategy.PERMUTED_COUNTER) {
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = counterGenerator.nextValue();
+            }
+            putBatch(batch, urls);
+        } else {
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = generateRandomCode();
+            }
+            // Una sola pasada de búsqueda para todo el lote; los códigos ocupados se reemplazan
+            String[] taken = getBatch(batch);
+            for (int i = 0; i < batch.length; i++) {
+                int retries = 0;
+                while (taken[i] != null) {
+                    batch[i] = generateRandomCode();
+                    taken[i] = find(batch[i]);
+                    retries++;
+                }
+                if (metrics != null) {
+                    metrics.recordCodeRetries(retries);
+                }
+            }
+            if (putBatch(batch, urls) < batch.length) {
+                separateRepeatedCodes(batch, urls);
+            }
+        }
+        logInserts(batch, urls);
+        return batch;
+    }
+
+    private int putBatch(long[] batch, String[] urls) {
+        if (codes != null) {
+            return codes.putAll(batch, urls);
+        }
+        return table.putAll(encodeAll(batch), urls);
+    }
+
+    private String[] getBatch(long[] batch) {
+        if (codes != null) {
+            return codes.getAll(batch);
+        }
+        return table.getAll(encodeAll(batch));
+    }
+
+    private static String[] encodeAll(long[] batch) {
+        String[] keys = new String[batch.length];
+        for (int i = 0; i < batch.length; i++) {
+            keys[i] = Base62Codec.encode(batch[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Separa los códigos aleatorios que salieron repetidos dentro de un mismo lote
+     * putAll dejó en cada código repetido la URL de su última aparición: la primera
+     * aparición recupera su URL y las siguientes reciben un código nuevo.
+     */
+    private void separateRepeatedCodes(long[] batch, String[] urls) {
+        LongHashTable seen = new LongHashTable();
+        for (int i = 0; i < batch.length; i++) {
+            if (seen.putIfAbsent(batch[i], urls[i])) {
+                putBatch(new long[] {batch[i]}, new String[] {urls[i]});
+                continue;
+            }
+            long code = generateRandomCode();
+            while (!(codes != null ? codes.putIfAbsent(code, urls[i])
+                    : table.putIfAbsent(Base62Codec.encode(code), urls[i]))) {
+                code = generateRandomCode();
+            }
+            batch[i] = code;
+        }
+    }
+
+    /**
+     * Registra una inserción en el log; si el log falla, la deshace en la tabla
+     * El código recién generado todavía no se entregó a nadie, así que ninguna
+     * eliminación suya puede quedar en el log antes que esta inserción.
+     */
+    private void logInsert(long code, String url, long deadline) {
+        if (log == null) {
+            return;
+        }
+        try {
+            if (deadline == NO_DEADLINE) {
+                log.logPut(code, url);
+            } else {
+                log.logPut(code, url, deadline);
+            }
+        } catch (RuntimeException e) {
+            discard(code);
+            throw e;
+        }
+    }
+
+    /**
+     * Registra un lote de inserciones en el log; si el log falla, deshace todo el lote
+     */
+    private void logInserts(long[] batch, String[] urls) {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.logPutAll(batch, urls);
+        } catch (RuntimeException e) {
+            for (long code : batch) {
+                discard(code);
+            }
+            throw e;
+        }
+    }
+
+    private void discard(long code) {
+        if (codes != null) {
+            codes.remove(code);
+        } else {
+            table.remove(Base62Codec.encode(code));
+        }
+    }
+
+    /**
+     * Registra en el log una eliminación que sí borró algo y la quita del índice de
+     * deduplicación
+     * @return La URL eliminada
+     */
+    private String logRemoval(long code, String removed) {
+        if (removed == null) {
+            return null;
+        }
+        TimerWheel wheel = expiry;
+        if (wheel != null) {
+            synchronized (wheel) {
+                wheel.cancel(code);
+            }
+        }
+        // Una clave que no es código base62 solo pudo entrar directo a la tabla, sin log
+        if (log != null && Base62Codec.isValid(code)) {
+            log.logRemove(code);
+        }
+        if (dedupIndex != null) {
+            long fingerprint = UrlFingerprintIndex.fingerprint(removed);
+            synchronized (dedupIndex) {
+                dedupIndex.remove(fingerprint, code);
+            }
+        }
+        return removed;
+    }
+
+    private static void validateUrl(String url) {
+        if (url == null || url.isEmpty()) {
+            throw new IllegalArgumentException("La URL no puede ser null ni vacía");
+        }
+    }
+
     /**
      * Redirige un código corto a su URL original
      * @param code El código corto a buscar
      * @return La URL original asociada con el código, o null si no se encuentra
      */
     public String redirect(String code) {
-        return "url";
+        String url = null;
+        if (code != null && !code.isEmpty()) {
+            if (codes != null) {
+                long packed = Base62Codec.decode(code);
+                url = codes.get(packed);
+                if (url != null && expired(packed)) {
+                    url = null;
+                }
+            } else {
+                url = table.get(code);
+                if (url != null && expiry != null && expired(Base62Codec.decode(code))) {
+                    url = null;
+                }
+            }
+        }
+        if (metrics != null) {
+            metrics.recordRedirect(url != null);
+        }
+        return url;
+    }
+
+    /**
+     * Redirige un código empaquetado a su URL original
+     * @param code El código corto como long
+     * @return La URL original asociada con el código, o null si no se encuentra
+     */
+    public String redirect(long code) {
+        String url = find(code);
+        if (url != null && expired(code)) {
+            url = null;
+        }
+        if (metrics != null) {
+            metrics.recordRedirect(url != null);
+        }
+        return url;
     }
-    
+
+    /**
+     * Busca la URL de un código empaquetado sin registrar métricas
+     */
+    private String find(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return null;
+        }
+        if (codes != null) {
+            return codes.get(code);
+        }
+        return table.get(Base62Codec.encode(code));
+    }
+
+    /**
+     * Redirige un lote de códigos cortos a sus URLs originales
+     * Con HashTable y LongHashTable todos los códigos se dispersan antes de sondear la
+     * tabla, de modo que los fallos de caché de varias búsquedas se solapan.
+     * @param shortCodes Los códigos a buscar
+     * @return La URL de cada código, o null en los que no se encuentran
+     * @throws IllegalArgumentException si el arreglo es null
+     */
+    public String[] redirectAll(String[] shortCodes) {
+        if (shortCodes == null) {
+            throw new IllegalArgumentException("El arreglo de códigos no puede ser null");
+        }
+        if (codes == null) {
+            String[] urls = table.getAll(shortCodes);
+            if (expiry != null) {
+                for (int i = 0; i < urls.length; i++) {
+                    if (urls[i] != null && expired(Base62Codec.decode(shortCodes[i]))) {
+                        urls[i] = null;
+                    }
+                }
+            }
+            return countRedirects(urls);
+        }
+        long[] batch = new long[shortCodes.length];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = Base62Codec.decode(shortCodes[i]);
+        }
+        return countRedirects(dropExpired(batch, codes.getAll(batch)));
+    }
+
+    /**
+     * Quita de un lote de redirects las URLs de códigos vencidos
+     */
+    private String[] dropExpired(long[] batch, String[] urls) {
+        if (expiry != null) {
+            for (int i = 0; i < urls.length; i++) {
+                if (urls[i] != null && expired(batch[i])) {
+                    urls[i] = null;
+                }
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Registra los aciertos y fallos de un lote de redirects si hay métricas
+     */
+    private String[] countRedirects(String[] urls) {
+        if (metrics != null) {
+            for (String url : urls) {
+                metrics.recordRedirect(url != null);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Redirige una colección de códigos cortos a sus URLs originales
+     * @param shortCodes Los códigos a buscar
+     * @return La URL de cada código, o null en los que no se encuentran
+     * @throws IllegalArgumentException si la colección es null
+     * @see #redirectAll(String[])
+     */
+    public List<String> redirectAll(Collection<String> shortCodes) {
+        if (shortCodes == null) {
+            throw new IllegalArgumentException("La colección de códigos no puede ser null");
+        }
+        return Arrays.asList(redirectAll(shortCodes.toArray(new String[0])));
+    }
+
+    /**
+     * Redirige un lote de códigos empaquetados a sus URLs originales
+     * @param packedCodes Los códigos como long
+     * @return La URL de cada código, o null en los que no se encuentran
+     * @throws IllegalArgumentException si el arreglo es null
+     */
+    public String[] redirectAll(long[] packedCodes) {
+        if (packedCodes == null) {
+            throw new IllegalArgumentException("El arreglo de códigos no puede ser null");
+        }
+        if (codes != null) {
+            long[] batch = new long[packedCodes.length];
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = Base62Codec.isValid(packedCodes[i]) ? packedCodes[i] : Base62Codec.INVALID;
+            }
+            return countRedirects(dropExpired(batch, codes.getAll(batch)));
+        }
+        String[] keys = new String[packedCodes.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = Base62Codec.isValid(packedCodes[i]) ? Base62Codec.encode(packedCodes[i]) : null;
+        }
+        return countRedirects(dropExpired(packedCodes, table.getAll(keys)));
+    }
+
     /**
      * Verifica si un código existe en el sistema
      * @param code El código a verificar
      * @return true si el código existe, false en caso contrario
      */
     public boolean containsCode(String code) {
-        return false;
+        if (code == null || code.isEmpty()) {
+            return false;
+        }
+        if (codes != null) {
+            long packed = Base62Codec.decode(code);
+            return codes.containsKey(packed) && !expired(packed);
+        }
+        return table.containsKey(code) && !(expiry != null && expired(Base62Codec.decode(code)));
     }
-    
+
+    /**
+     * Verifica si un código empaquetado existe en el sistema
+     * @param code El código como long
+     * @return true si el código existe, false en caso contrario
+     */
+    public boolean containsCode(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return false;
+        }
+        boolean found = codes != null ? codes.containsKey(code) : table.containsKey(Base62Codec.encode(code));
+        return found && !expired(code);
+    }
+
+    /**
+     * Retorna la estrategia de generación de códigos
+     * @return La estrategia configurada
+     */
+    public CodeStrategy getCodeStrategy() {
+        return codeStrategy;
+    }
+
+    /**
+     * Indica si el servicio reutiliza el código de las URLs repetidas
+     * @return true si el modo de deduplicación está activo
+     */
+    public boolean isDeduplicating() {
+        return dedupIndex != null;
+    }
+
+    /**
+     * Conecta métricas al servicio y, si la tabla es una HashTable o una LongHashTable,
+     * también a la tabla. Conviene hacerlo antes de compartir el servicio entre hilos.
+     * @param metrics Las métricas, o null para dejar de registrar
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+        if (table instanceof MeasuredTable) {
+            ((MeasuredTable) table).setMetrics(metrics);
+        }
+    }
+
+    /**
+     * Retorna las métricas conectadas
+     * @return Las métricas, o null si no hay
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Copia las métricas, con el largo máximo de bucket si la tabla lo conoce
+     * @return Una copia inmutable
+     * @throws IllegalStateException si no hay métricas conectadas
+     */
+    public Metrics.Snapshot getMetricsSnapshot() {
+        if (metrics == null) {
+            throw new IllegalStateException("El servicio no tiene métricas");
+        }
+        return metrics.snapshot(table instanceof MeasuredTable ? ((MeasuredTable) table).getMaxBucketLength() : -1);
+    }
+
     /**
      * Retorna el número de URLs almacenadas en el sistema
      * @return El número de URLs en el sistema
      */
     public int getUrlCount() {
-        return 0;
+        return table.size();
     }
-    
+
     /**
      * Retorna el factor de carga de la tabla hash subyacente
      * @return El factor de carga actual
      */
     public double getLoadFactor() {
-        return 0.0;
+        return table.getLoad();
     }
-    
+
     /**
      * Retorna la capacidad de la tabla hash subyacente
      * @return La capacidad actual de la tabla hash
      */
     public int getCapacity() {
-        return 0;
+        return table.capacity();
     }
-    
+
     /**
      * Verifica si el sistema está vacío (sin URLs almacenadas)
      * @return true si no hay URLs, false en caso contrario
      */
     public boolean isEmpty() {
-        return true;
+        return table.isEmpty();
     }
-    
+
     /**
      * Elimina una URL del sistema
      * @param code El código de la URL a eliminar
      * @return La URL que fue eliminada, o null si el código no existía
+     * @throws UncheckedIOException si hay log y no se puede registrar la eliminación
      */
     public String removeUrl(String code) {
-        // TODO: Implementar el método removeUrl
-        
-        return null;
+        if (code == null || code.isEmpty()) {
+            return null;
+        }
+        if (codes != null) {
+            long packed = Base62Codec.decode(code);
+            return logRemoval(packed, codes.remove(packed));
+        }
+        return logRemoval(Base62Codec.decode(code), table.remove(code));
     }
-    
+
+    /**
+     * Elimina una URL del sistema usando el código empaquetado
+     * @param code El código como long
+     * @return La URL que fue eliminada, o null si el código no existía
+     */
+    public String removeUrl(long code) {
+        if (!Base62Codec.isValid(code)) {
+            return null;
+        }
+        if (codes != null) {
+            return logRemoval(code, codes.remove(code));
+        }
+        return logRemoval(code, table.remove(Base62Codec.encode(code)));
+    }
+
     /**
      * Retorna una representación en cadena del estado del servicio TinyURL
      * @return String representando el estado actual del servicio
      */
     @Override
     public String toString() {
-        // TODO: Implementar el método toString
-        // Incluir información útil como:
-        // - Número de URLs almacenadas
-        // - Factor de carga
-        // - Longitud de códigos generados
-        // - Estado de la tabla hash subyacente
-        
-        return "TinyURL";
+        return "TinyURL{urlCount=" + getUrlCount()
+                + ", loadFactor=" + String.format(Locale.ROOT, "%.2f", getLoadFactor())
+                + ", codeLength=" + DEFAULT_CODE_LENGTH
+                + ", codeStrategy=" + codeStrategy
+                + ", deduplicate=" + isDeduplicating()
+                + ", table=" + table
+                + "}";
     }
 }
@@ -1,6 +1,10 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -520,4 +524,2409 @@ public class TinyURLHashTableTest {
         assertTrue(tinyUrl.getLoadFactor() <= 0.75, 
             "El factor de carga no debería exceder 0.75");
     }
+    
+    // ========== PRUEBAS PARA HashTable EN MODO OPEN_ADDRESSING ==========
+    
+    @Test
+    @DisplayName("OpenAddressing: Operaciones básicas con la misma API")
+    void testOpenAddressingBasicOperations() {
+        HashTable table = new HashTable(HashTable.StorageMode.OPEN_ADDRESSING);
+        assertEquals(16, table.capacity(), "La capacidad inicial debería ser 16");
+        
+        assertTrue(table.put("abc123", "https://www.ejemplo.com/a"), "Primera inserción debería retornar true");
+        assertFalse(table.put("abc123", "https://www.ejemplo.com/b"), "Actualización debería retornar false");
+        assertEquals("https://www.ejemplo.com/b", table.get("abc123"), "El valor debería estar actualizado");
+        assertTrue(table.containsKey("abc123"), "containsKey debería retornar true");
+        assertNull(table.get("inexistente"), "Una clave inexistente debería retornar null");
+        
+        assertEquals("https://www.ejemplo.com/b", table.remove("abc123"), "remove() debería retornar el valor");
+        assertNull(table.remove("abc123"), "Eliminar dos veces debería retornar null");
+        assertTrue(table.isEmpty(), "La tabla debería quedar vacía");
+        assertTrue(table.toString().contains("OPEN_ADDRESSING"), "toString debería mostrar el modo");
+    }
+    
+    @Test
+    @DisplayName("OpenAddressing: Redimensionamiento y colisiones")
+    void testOpenAddressingResizeAndCollisions() {
+        HashTable table = new HashTable(4, HashTable.StorageMode.OPEN_ADDRESSING);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(table.put("key" + i, "url" + i), "La inserción " + i + " debería ser exitosa");
+        }
+        assertEquals(200, table.size(), "El tamaño debería ser 200");
+        assertTrue(table.getLoad() <= 0.75, "El factor de carga no debería exceder 0.75");
+        
+        int capacity = table.capacity();
+        table.resize();
+        assertEquals(capacity * 2, table.capacity(), "resize() debería duplicar la capacidad");
+        for (int i = 0; i < 200; i++) {
+            assertEquals("url" + i, table.get("key" + i), "Los elementos deberían seguir accesibles");
+        }
+    }
+    
+    @Test
+    @DisplayName("OpenAddressing: Eliminaciones intercaladas mantienen las cadenas de sondeo")
+    void testOpenAddressingInterleavedRemovals() {
+        // Factor de carga alto para forzar secuencias de sondeo largas
+        HashTable table = new HashTable(64, 0.9, HashTable.StorageMode.OPEN_ADDRESSING);
+        java.util.Map<String, String> reference = new java.util.HashMap<>();
+        java.util.Random rnd = new java.util.Random(42);
+        
+        for (int op = 0; op < 20_000; op++) {
+            String key = "k" + rnd.nextInt(500);
+            if (rnd.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), table.remove(key), "remove() debería coincidir con HashMap");
+            } else {
+                String value = "v" + op;
+                assertEquals(reference.put(key, value) == null, table.put(key, value),
+                    "put() debería coincidir con HashMap");
+            }
+        }
+        assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con HashMap");
+        for (java.util.Map.Entry<String, String> e : reference.entrySet()) {
+            assertEquals(e.getValue(), table.get(e.getKey()), "Todos los valores deberían ser recuperables");
+        }
+    }
+    
+    @Test
+    @DisplayName("OpenAddressing: Validación de factor de carga")
+    void testOpenAddressingLoadFactorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new HashTable(16, 1.0, HashTable.StorageMode.OPEN_ADDRESSING);
+        }, "Un factor de carga de 1.0 no es válido con direccionamiento abierto");
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            new HashTable(16, 0.0, HashTable.StorageMode.CHAINING);
+        }, "Un factor de carga de 0 no es válido");
+    }
+    
+    @Test
+    @DisplayName("TinyURL: Funciona sobre una tabla en modo OPEN_ADDRESSING")
+    void testTinyUrlWithOpenAddressing() {
+        TinyURL service = new TinyURL(new HashTable(HashTable.StorageMode.OPEN_ADDRESSING));
+        String[] codes = new String[100];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = service.insertUrl("https://www.ejemplo" + i + ".com");
+        }
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals("https://www.ejemplo" + i + ".com", service.redirect(codes[i]),
+                "Cada código debería redirigir a su URL");
+        }
+        assertEquals(100, service.getUrlCount(), "El conteo debería ser 100");
+    }
+    
+    // ========== PRUEBAS PARA RESIZE INCREMENTAL ==========
+    
+    @Test
+    @DisplayName("Resize incremental: Las tablas vieja y nueva coexisten durante la migración")
+    void testIncrementalResizeMigration() {
+        HashTable table = new HashTable(16, HashTable.ResizeStrategy.INCREMENTAL);
+        for (int i = 0; i < 12; i++) {
+            table.put("key" + i, "url" + i);
+        }
+        assertFalse(table.isMigrating(), "No debería haber migración antes de superar el umbral");
+        
+        // La inserción 13 supera 0.75 y arranca la migración
+        table.put("key12", "url12");
+        assertEquals(32, table.capacity(), "La capacidad debería duplicarse de inmediato");
+        assertTrue(table.isMigrating(), "La migración debería estar en curso");
+        assertTrue(table.toString().contains("migration="), "toString debería mostrar el progreso");
+        
+        // Todas las claves son accesibles tanto si ya migraron como si no
+        for (int i = 0; i <= 12; i++) {
+            assertEquals("url" + i, table.get("key" + i), "La clave " + i + " debería ser accesible");
+        }
+        assertFalse(table.isMigrating(), "Las operaciones deberían terminar la migración");
+        assertFalse(table.toString().contains("migration="), "Sin migración no se muestra el progreso");
+    }
+    
+    @Test
+    @DisplayName("Resize incremental: Actualizaciones y eliminaciones durante la migración")
+    void testIncrementalResizeMatchesReference() {
+        HashTable table = new HashTable(4, HashTable.ResizeStrategy.INCREMENTAL);
+        java.util.Map<String, String> reference = new java.util.HashMap<>();
+        java.util.Random rnd = new java.util.Random(7);
+        
+        for (int op = 0; op < 20_000; op++) {
+            String key = "k" + rnd.nextInt(2_000);
+            int action = rnd.nextInt(4);
+            if (action == 0) {
+                assertEquals(reference.remove(key), table.remove(key), "remove() debería coincidir con HashMap");
+            } else if (action == 1) {
+                assertEquals(reference.get(key), table.get(key), "get() debería coincidir con HashMap");
+            } else {
+                String value = "v" + op;
+                assertEquals(reference.put(key, value) == null, table.put(key, value),
+                    "put() debería coincidir con HashMap");
+            }
+            assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con HashMap");
+        }
+        
+        // Un resize manual en medio de una migración la completa antes de empezar otra
+        int capacity = table.capacity();
+        table.resize();
+        table.resize();
+        assertEquals(capacity * 4, table.capacity(), "Dos resize() deberían cuadruplicar la capacidad");
+        for (java.util.Map.Entry<String, String> e : reference.entrySet()) {
+            assertEquals(e.getValue(), table.get(e.getKey()), "Todos los valores deberían ser recuperables");
+        }
+    }
+    
+    @Test
+    @DisplayName("Resize incremental: No disponible con direccionamiento abierto")
+    void testIncrementalResizeValidation() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new HashTable(16, 0.75, HashTable.StorageMode.OPEN_ADDRESSING, HashTable.ResizeStrategy.INCREMENTAL);
+        }, "El resize incremental solo aplica al modo CHAINING");
+    }
+    
+    // ========== PRUEBAS PARA ConcurrentHashTable ==========
+    
+    @Test
+    @DisplayName("ConcurrentHashTable: Misma semántica que HashTable en un solo hilo")
+    void testConcurrentTableBasicOperations() {
+        ConcurrentHashTable table = new ConcurrentHashTable();
+        assertTrue(table.isEmpty(), "La tabla debería estar vacía inicialmente");
+        
+        assertTrue(table.put("abc123", "https://www.ejemplo.com/a"), "Primera inserción debería retornar true");
+        assertFalse(table.put("abc123", "https://www.ejemplo.com/b"), "Actualización debería retornar false");
+        assertFalse(table.putIfAbsent("abc123", "https://www.ejemplo.com/c"), "putIfAbsent no debería sobrescribir");
+        assertEquals("https://www.ejemplo.com/b", table.get("abc123"), "El valor debería ser el actualizado");
+        assertNull(table.get(null), "get() con null debería retornar null");
+        assertThrows(IllegalArgumentException.class, () -> table.put(null, "x"), "put() con clave null debería fallar");
+        
+        for (int i = 0; i < 1000; i++) {
+            table.put("key" + i, "url" + i);
+        }
+        assertTrue(table.getLoad() <= 0.75, "El factor de carga no debería exceder 0.75");
+        int capacity = table.capacity();
+        table.resize();
+        assertEquals(capacity * 2, table.capacity(), "resize() debería duplicar la capacidad");
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("url" + i, table.get("key" + i), "Los elementos deberían seguir accesibles");
+        }
+        assertEquals("url5", table.remove("key5"), "remove() debería retornar el valor");
+        assertEquals(1000, table.size(), "El tamaño debería reflejar la eliminación");
+        assertTrue(table.toString().contains("ConcurrentHashTable"), "toString debería incluir el nombre de la clase");
+    }
+    
+    @Test
+    @DisplayName("ConcurrentHashTable: Lectores sin lock concurrentes con escritores")
+    void testConcurrentTableReadersAndWriters() throws Exception {
+        ConcurrentHashTable table = new ConcurrentHashTable(4);
+        // Claves estables: siempre presentes, los lectores nunca deben dejar de verlas
+        for (int i = 0; i < 500; i++) {
+            table.put("stable" + i, "url" + i);
+        }
+        int writers = 4;
+        int perWriter = 5_000;
+        java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.atomic.AtomicInteger readerErrors = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.List<Thread> threads = new java.util.ArrayList<>();
+        
+        for (int w = 0; w < writers; w++) {
+            final int id = w;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    table.put("w" + id + "-" + i, "v" + i);
+                    if (i % 2 == 1) {
+                        table.remove("w" + id + "-" + (i - 1));
+                    }
+                }
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            threads.add(new Thread(() -> {
+                while (!done.get()) {
+                    for (int i = 0; i < 500; i++) {
+                        if (!("url" + i).equals(table.get("stable" + i))) {
+                            readerErrors.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (int w = 0; w < writers; w++) {
+            threads.get(w).join();
+        }
+        done.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+        
+        assertEquals(0, readerErrors.get(), "Los lectores siempre deberían ver las claves estables");
+        assertEquals(500 + writers * perWriter / 2, table.size(), "El tamaño final debería ser exacto");
+        for (int w = 0; w < writers; w++) {
+            for (int i = 1; i < perWriter; i += 2) {
+                assertEquals("v" + i, table.get("w" + w + "-" + i), "Las claves impares deberían estar presentes");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("TinyURL: Inserciones concurrentes sobre ConcurrentHashTable")
+    void testTinyUrlConcurrentInserts() throws Exception {
+        TinyURL service = new TinyURL(new ConcurrentHashTable());
+        int threads = 4;
+        int perThread = 2_000;
+        String[][] codes = new String[threads][perThread];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    codes[id][i] = service.insertUrl("https://www.ejemplo.com/" + id + "/" + i);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        assertEquals(threads * perThread, service.getUrlCount(), "Ninguna inserción debería perderse");
+        java.util.Set<String> unique = new java.util.HashSet<>();
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(unique.add(codes[t][i]), "Los códigos deberían ser únicos");
+                assertEquals("https://www.ejemplo.com/" + t + "/" + i, service.redirect(codes[t][i]),
+                    "Cada código debería redirigir a su URL");
+            }
+        }
+    }
+    
+    // ========== PRUEBAS PARA SnapshotHashTable ==========
+    
+    @Test
+    @DisplayName("SnapshotHashTable: Los cambios pendientes son visibles antes de publicarse")
+    void testSnapshotTablePendingVisibility() {
+        SnapshotHashTable table = new SnapshotHashTable(16, 4);
+        assertTrue(table.put("a", "url-a"), "Primera inserción debería retornar true");
+        assertEquals("url-a", table.get("a"), "Un put sin publicar debería ser visible");
+        assertTrue(table.toString().contains("pending=1"), "Debería haber un cambio pendiente");
+        
+        assertFalse(table.put("a", "url-a2"), "Actualización debería retornar false");
+        assertEquals("url-a2", table.remove("a"), "remove() debería retornar el valor pendiente");
+        assertNull(table.get("a"), "Una eliminación pendiente debería ocultar la clave");
+        assertTrue(table.isEmpty(), "La tabla debería estar vacía");
+        
+        table.put("b", "url-b");
+        table.flush();
+        assertTrue(table.toString().contains("pending=0"), "flush() debería publicar el lote");
+        assertEquals("url-b", table.get("b"), "La clave publicada debería seguir visible");
+        assertFalse(table.putIfAbsent("b", "otra"), "putIfAbsent no debería sobrescribir");
+        assertThrows(IllegalArgumentException.class, () -> table.put("c", null), "put() con valor null debería fallar");
+    }
+    
+    @Test
+    @DisplayName("SnapshotHashTable: Publicación por lotes y crecimiento")
+    void testSnapshotTableBatchesMatchReference() {
+        SnapshotHashTable table = new SnapshotHashTable(4, 8);
+        java.util.Map<String, String> reference = new java.util.HashMap<>();
+        java.util.Random rnd = new java.util.Random(3);
+        for (int op = 0; op < 10_000; op++) {
+            String key = "k" + rnd.nextInt(1_000);
+            if (rnd.nextInt(4) == 0) {
+                assertEquals(reference.remove(key), table.remove(key), "remove() debería coincidir con HashMap");
+            } else {
+                assertEquals(reference.put(key, "v" + op) == null, table.put(key, "v" + op),
+                    "put() debería coincidir con HashMap");
+            }
+        }
+        table.flush();
+        assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con HashMap");
+        assertTrue(table.getLoad() <= 0.75, "El factor de carga no debería exceder 0.75");
+        for (java.util.Map.Entry<String, String> e : reference.entrySet()) {
+            assertEquals(e.getValue(), table.get(e.getKey()), "Todos los valores deberían ser recuperables");
+        }
+    }
+    
+    @Test
+    @DisplayName("SnapshotHashTable: El lote pendiente se superpone a la instantánea publicada")
+    void testSnapshotTableOverlayShadowsSnapshot() throws InterruptedException {
+        SnapshotHashTable table = new SnapshotHashTable(1024, 64);
+        for (int i = 0; i < 500; i++) {
+            table.put("k" + i, "v" + i);
+        }
+        table.flush();
+        table.put("k1", "nuevo");
+        table.remove("k2");
+        table.put("extra", "v-extra");
+        assertTrue(table.toString().contains("pending=3"), "Los tres cambios deberían seguir pendientes");
+        assertEquals("nuevo", table.get("k1"), "El lote debería tapar el valor publicado");
+        assertNull(table.get("k2"), "Una eliminación pendiente debería tapar la clave publicada");
+        assertEquals("v-extra", table.get("extra"), "Una clave nueva pendiente debería ser visible");
+        assertEquals("v3", table.get("k3"), "Las claves sin cambios se leen de la instantánea");
+        
+        // Los lectores nunca deberían ver desaparecer una clave estable mientras se publica
+        java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.atomic.AtomicInteger misses = new java.util.concurrent.atomic.AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (int i = 100; i < 500; i++) {
+                    if (!("v" + i).equals(table.get("k" + i))) {
+                        misses.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 5_000; i++) {
+            table.put("w" + (i % 300), "x" + i);
+            if (i % 7 == 0) {
+                table.remove("w" + (i % 300));
+            }
+        }
+        done.set(true);
+        reader.join();
+        assertEquals(0, misses.get(), "Las claves estables deberían verse siempre");
+    }
+    
+    @Test
+    @DisplayName("TinyURL: Funciona sobre una SnapshotHashTable")
+    void testTinyUrlWithSnapshotTable() {
+        TinyURL service = new TinyURL(new SnapshotHashTable());
+        String[] codes = new String[200];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = service.insertUrl("https://www.ejemplo.com/" + i);
+            assertEquals("https://www.ejemplo.com/" + i, service.redirect(codes[i]),
+                "El código debería redirigir de inmediato");
+        }
+        assertEquals(200, service.getUrlCount(), "El conteo debería ser 200");
+        assertEquals("https://www.ejemplo.com/7", service.removeUrl(codes[7]), "removeUrl debería retornar la URL");
+        assertNull(service.redirect(codes[7]), "Un código eliminado no debería redirigir");
+    }
+    
+    // ========== PRUEBAS PARA CÓDIGOS CON CONTADOR PERMUTADO ==========
+    
+    @Test
+    @DisplayName("FeistelCodeGenerator: La permutación es biyectiva e invertible")
+    void testFeistelPermutationIsBijective() {
+        FeistelCodeGenerator generator = new FeistelCodeGenerator(42);
+        java.util.Set<Long> seen = new java.util.HashSet<>();
+        for (long n = 0; n < 50_000; n++) {
+            long x = generator.permute(n);
+            assertTrue(Base62Codec.isValid(x), "El valor debería estar en [0, 62^8)");
+            assertTrue(seen.add(x), "Dos contadores distintos no deberían dar el mismo valor");
+            assertEquals(n, generator.invert(x), "invert() debería deshacer permute()");
+        }
+        long last = Base62Codec.CODE_SPACE - 1;
+        assertEquals(last, generator.invert(generator.permute(last)), "El extremo del rango debería ser invertible");
+        assertNotEquals(generator.permute(1), new FeistelCodeGenerator(43).permute(1),
+            "Claves distintas deberían dar secuencias distintas");
+    }
+    
+    @Test
+    @DisplayName("FeistelCodeGenerator: Códigos de 8 caracteres y agotamiento del espacio")
+    void testFeistelCodesFormatAndExhaustion() {
+        FeistelCodeGenerator generator = new FeistelCodeGenerator(7, Base62Codec.CODE_SPACE - 2);
+        assertTrue(generator.nextCode().matches("[a-zA-Z0-9]{8}"), "El código debería ser alfanumérico de 8");
+        generator.nextCode();
+        assertThrows(IllegalStateException.class, generator::nextCode, "Sin códigos libres debería fallar");
+        assertThrows(IllegalArgumentException.class, () -> new FeistelCodeGenerator(7, -1),
+            "Un contador negativo debería fallar");
+    }
+    
+    @Test
+    @DisplayName("TinyURL: Inserción con contador permutado sin colisiones")
+    void testTinyUrlPermutedCounter() {
+        TinyURL service = new TinyURL(new HashTable(), TinyURL.CodeStrategy.PERMUTED_COUNTER);
+        assertEquals(TinyURL.CodeStrategy.PERMUTED_COUNTER, service.getCodeStrategy(), "Debería usar el contador");
+        String[] codes = new String[5_000];
+        java.util.Set<String> unique = new java.util.HashSet<>();
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = service.insertUrl("https://www.ejemplo.com/" + i);
+            assertEquals(8, codes[i].length(), "El código debería tener 8 caracteres");
+            assertTrue(unique.add(codes[i]), "Los códigos deberían ser únicos");
+        }
+        assertEquals(codes.length, service.getUrlCount(), "Ninguna inserción debería perderse");
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals("https://www.ejemplo.com/" + i, service.redirect(codes[i]), "Cada código debería redirigir");
+        }
+        assertTrue(service.toString().contains("PERMUTED_COUNTER"), "toString debería mostrar la estrategia");
+        assertThrows(IllegalArgumentException.class, () -> new TinyURL(new HashTable(), null),
+            "Una estrategia null debería fallar");
+    }
+    
+    // ========== PRUEBAS PARA Base62Codec ==========
+    
+    @Test
+    @DisplayName("Base62Codec: Codificación y decodificación sin pérdida")
+    void testBase62RoundTrip() {
+        assertEquals("aaaaaaaa", Base62Codec.encode(0), "El 0 debería codificarse con ancho fijo");
+        assertEquals("99999999", Base62Codec.encode(Base62Codec.CODE_SPACE - 1),
+            "El último valor debería usar el último carácter");
+        assertEquals(62L, Base62Codec.decode("aaaaaaba"), "El primer carácter es el dígito más significativo");
+        
+        java.util.Random rnd = new java.util.Random(5);
+        char[] buffer = new char[10];
+        for (int i = 0; i < 10_000; i++) {
+            long code = (rnd.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            String text = Base62Codec.encode(code);
+            assertTrue(text.matches("[a-zA-Z0-9]{8}"), "El código debería ser alfanumérico de 8");
+            assertEquals(code, Base62Codec.decode(text), "decode() debería deshacer encode()");
+            Base62Codec.encode(code, buffer, 2);
+            assertEquals(text, new String(buffer, 2, 8), "La versión sobre arreglo debería coincidir");
+        }
+    }
+    
+    @Test
+    @DisplayName("Base62Codec: Entradas inválidas")
+    void testBase62InvalidInput() {
+        assertEquals(Base62Codec.INVALID, Base62Codec.decode(null), "null no es un código");
+        assertEquals(Base62Codec.INVALID, Base62Codec.decode("abc"), "Un código corto no es válido");
+        assertEquals(Base62Codec.INVALID, Base62Codec.decode("abcdefg!"), "Un carácter fuera del alfabeto no es válido");
+        assertEquals(Base62Codec.INVALID, Base62Codec.decode("abcdefgñ"), "Un carácter no ASCII no es válido");
+        assertFalse(Base62Codec.isValid(-1), "Un long negativo no es válido");
+        assertFalse(Base62Codec.isValid(Base62Codec.CODE_SPACE), "62^8 está fuera de rango");
+        assertThrows(IllegalArgumentException.class, () -> Base62Codec.encode(Base62Codec.CODE_SPACE),
+            "Codificar fuera de rango debería fallar");
+    }
+    
+    @Test
+    @DisplayName("TinyURL: Operaciones con códigos empaquetados en long")
+    void testTinyUrlPackedCodes() {
+        for (TinyURL.CodeStrategy strategy : TinyURL.CodeStrategy.values()) {
+            TinyURL service = new TinyURL(new HashTable(), strategy);
+            long code = service.insertUrlPacked("https://www.ejemplo.com/largo");
+            assertTrue(Base62Codec.isValid(code), "El código empaquetado debería ser válido");
+            assertEquals("https://www.ejemplo.com/largo", service.redirect(code), "redirect(long) debería funcionar");
+            assertEquals("https://www.ejemplo.com/largo", service.redirect(Base62Codec.encode(code)),
+                "La forma de texto debería ser equivalente");
+            assertTrue(service.containsCode(code), "containsCode(long) debería encontrar el código");
+            assertNull(service.redirect(-5L), "Un código inválido no debería redirigir");
+            assertFalse(service.containsCode(Base62Codec.CODE_SPACE), "Un código fuera de rango no existe");
+            assertEquals("https://www.ejemplo.com/largo", service.removeUrl(code), "removeUrl(long) debería funcionar");
+            assertFalse(service.containsCode(code), "El código eliminado no debería existir");
+        }
+    }
+    
+    // ========== PRUEBAS PARA LongHashTable ==========
+    
+    @Test
+    @DisplayName("LongHashTable: Operaciones aleatorias coinciden con HashMap")
+    void testLongTableMatchesReference() {
+        LongHashTable table = new LongHashTable(2);
+        java.util.Map<Long, String> reference = new java.util.HashMap<>();
+        java.util.Random rnd = new java.util.Random(17);
+        for (int op = 0; op < 50_000; op++) {
+            long key = rnd.nextInt(2_000) * 1_000_003L;
+            int choice = rnd.nextInt(4);
+            if (choice == 0) {
+                assertEquals(reference.remove(key), table.remove(key), "remove() debería coincidir con HashMap");
+            } else if (choice == 1) {
+                assertEquals(reference.get(key), table.get(key), "get() debería coincidir con HashMap");
+            } else {
+                assertEquals(reference.put(key, "v" + op) == null, table.put(key, "v" + op),
+                    "put() debería coincidir con HashMap");
+            }
+            assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con HashMap");
+        }
+        assertTrue(table.getLoad() <= 0.75, "El factor de carga no debería exceder 0.75");
+        for (java.util.Map.Entry<Long, String> e : reference.entrySet()) {
+            assertTrue(table.containsKey(e.getKey().longValue()), "Todas las claves deberían existir");
+        }
+    }
+    
+    @Test
+    @DisplayName("LongHashTable: Validación y acceso con claves String")
+    void testLongTableValidationAndStringKeys() {
+        LongHashTable table = new LongHashTable();
+        assertThrows(IllegalArgumentException.class, () -> table.put(-1L, "x"), "Una clave negativa debería fallar");
+        assertThrows(IllegalArgumentException.class, () -> table.put(1L, null), "Un valor null debería fallar");
+        assertThrows(IllegalArgumentException.class, () -> table.put("corto", "x"),
+            "Una clave que no es código debería fallar");
+        assertNull(table.get(-1L), "Una clave negativa no debería encontrarse");
+        assertFalse(table.containsKey(-1L), "La marca de vacío nunca es una clave");
+        
+        assertTrue(table.put("abcdefgh", "url"), "Un código válido debería insertarse");
+        assertEquals("url", table.get(Base62Codec.decode("abcdefgh")), "La forma long debería encontrarlo");
+        assertFalse(table.putIfAbsent("abcdefgh", "otra"), "putIfAbsent no debería sobrescribir");
+        assertNull(table.get("no-es-codigo"), "Una clave inválida no debería encontrarse");
+        assertEquals("url", table.remove("abcdefgh"), "remove() con String debería funcionar");
+        assertTrue(table.isEmpty(), "La tabla debería quedar vacía");
+    }
+    
+    @Test
+    @DisplayName("TinyURL: Usa LongHashTable por defecto")
+    void testTinyUrlDefaultLongTable() {
+        assertTrue(tinyUrl.toString().contains("LongHashTable"), "La tabla por defecto debería ser LongHashTable");
+        String code = tinyUrl.insertUrl("https://www.ejemplo.com/a");
+        long packed = tinyUrl.insertUrlPacked("https://www.ejemplo.com/b");
+        assertEquals("https://www.ejemplo.com/a", tinyUrl.redirect(Base62Codec.decode(code)),
+            "El código de texto debería encontrarse como long");
+        assertEquals("https://www.ejemplo.com/b", tinyUrl.redirect(Base62Codec.encode(packed)),
+            "El código long debería encontrarse como texto");
+        assertNull(tinyUrl.redirect("codigo_inexistente"), "Un texto que no es código no debería redirigir");
+        assertTrue(tinyUrl.containsCode(code), "containsCode() debería encontrar el código");
+        assertEquals("https://www.ejemplo.com/b", tinyUrl.removeUrl(packed), "removeUrl(long) debería funcionar");
+        assertEquals(1, tinyUrl.getUrlCount(), "Debería quedar una URL");
+        
+        TinyURL counter = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.PERMUTED_COUNTER);
+        java.util.Set<Long> unique = new java.util.HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(unique.add(counter.insertUrlPacked("https://www.ejemplo.com/" + i)),
+                "Los códigos deberían ser únicos");
+        }
+        assertEquals(1_000, counter.getUrlCount(), "Ninguna inserción debería perderse");
+    }
+    
+    // ========== PRUEBAS PARA HashTable EN MODO OFF_HEAP ==========
+    
+    @Test
+    @DisplayName("OFF_HEAP: Operaciones aleatorias coinciden con HashMap")
+    void testOffHeapMatchesReference() {
+        HashTable table = new HashTable(10, 0.75, HashTable.StorageMode.OFF_HEAP);
+        java.util.Map<String, String> reference = new java.util.HashMap<>();
+        java.util.Random rnd = new java.util.Random(23);
+        for (int op = 0; op < 20_000; op++) {
+            String key = "k" + rnd.nextInt(1_500);
+            int choice = rnd.nextInt(4);
+            if (choice == 0) {
+                assertEquals(reference.remove(key), table.remove(key), "remove() debería coincidir con HashMap");
+            } else if (choice == 1) {
+                assertEquals(reference.containsKey(key), table.containsKey(key),
+                    "containsKey() debería coincidir con HashMap");
+            } else {
+                String value = (op % 7 == 0 ? "https://ejemplo.com/ñandú/" : "https://ejemplo.com/") + op;
+                assertEquals(reference.put(key, value) == null, table.put(key, value),
+                    "put() debería coincidir con HashMap");
+            }
+        }
+        assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con HashMap");
+        for (java.util.Map.Entry<String, String> e : reference.entrySet()) {
+            assertEquals(e.getValue(), table.get(e.getKey()), "Todos los valores deberían ser recuperables");
+        }
+        assertTrue(table.getOffHeapBytes() > 0, "Los valores deberían ocupar memoria directa");
+        assertTrue(table.toString().contains("OFF_HEAP"), "toString debería mostrar el modo");
+        assertEquals(0, new HashTable().getOffHeapBytes(), "Los demás modos no usan memoria directa");
+        assertThrows(IllegalArgumentException.class,
+            () -> new HashTable(16, 0.75, HashTable.StorageMode.OFF_HEAP, HashTable.ResizeStrategy.INCREMENTAL),
+            "OFF_HEAP no admite resize incremental");
+    }
+    
+    @Test
+    @DisplayName("OffHeapValueStore: Registros grandes, no ASCII y compactación al redimensionar")
+    void testOffHeapStoreAndCompaction() {
+        OffHeapValueStore store = new OffHeapValueStore(64);
+        String big = "https://ejemplo.com/" + "x".repeat(500);
+        long h1 = store.add(big);
+        long h2 = store.add("https://ejemplo.com/café");
+        assertEquals(big, store.get(h1), "Un registro mayor que la arena debería recuperarse");
+        assertEquals("https://ejemplo.com/café", store.get(h2), "Un valor no ASCII debería recuperarse");
+        
+        OffHeapTable table = new OffHeapTable(8, new OffHeapValueStore(256));
+        for (int i = 0; i < 100; i++) {
+            table.put("clave", "https://ejemplo.com/" + i);
+        }
+        assertTrue(table.store().garbageBytes() <= table.store().liveBytes() + table.capacity(),
+            "Las actualizaciones deberían compactar sin esperar al resize");
+        assertEquals("https://ejemplo.com/99", table.get("clave"), "El valor debería sobrevivir a la compactación");
+        table.resize(16);
+        assertEquals("https://ejemplo.com/99", table.get("clave"), "El valor debería sobrevivir al resize");
+    }
+    
+    @Test
+    @DisplayName("OFF_HEAP: insertar y eliminar sin crecer no acumula memoria directa")
+    void testOffHeapChurnIsBounded() {
+        HashTable table = new HashTable(1024, 0.75, HashTable.StorageMode.OFF_HEAP);
+        String padding = "x".repeat(200);
+        for (int i = 0; i < 500; i++) {
+            table.put("clave" + i, "https://ejemplo.com/" + padding + i);
+        }
+        int capacity = table.capacity();
+        long maxBytes = 0;
+        for (int round = 0; round < 200_000; round++) {
+            int i = 500 + round;
+            table.put("clave" + i, "https://ejemplo.com/" + padding + i);
+            table.remove("clave" + (i - 500));
+            if (round % 3 == 0) {
+                table.put("clave" + i, "https://ejemplo.com/" + padding + "nuevo" + i);
+            }
+            maxBytes = Math.max(maxBytes, table.getOffHeapBytes());
+        }
+        assertEquals(capacity, table.capacity(), "La tabla no debería haber crecido");
+        assertEquals(500, table.size());
+        // Unos 110 KiB vivos: sin compactar serían más de 60 MiB de arenas
+        assertTrue(maxBytes < 1 << 20, "La memoria directa debería quedar acotada: " + maxBytes);
+        assertEquals("https://ejemplo.com/" + padding + "nuevo200498", table.get("clave200498"));
+        assertEquals("https://ejemplo.com/" + padding + "200499", table.get("clave200499"));
+    }
+    
+    // ========== PRUEBAS PARA MappedUrlStore ==========
+    
+    @Test
+    @DisplayName("MappedUrlStore: Los datos sobreviven al cierre y la reapertura")
+    void testMappedStorePersistsAcrossReopen(@TempDir Path dir)
+            throws java.io.IOException {
+        java.util.Map<Long, String> reference = new java.util.HashMap<>();
+        java.util.Random rnd = new java.util.Random(29);
+        // Bloques de 1 KiB para que los registros crucen varios bloques
+        try (MappedUrlStore store = MappedUrlStore.open(dir, 4, 10)) {
+            for (int op = 0; op < 5_000; op++) {
+                long code = rnd.nextInt(1_000) * 7_919L;
+                if (rnd.nextInt(5) == 0) {
+                    assertEquals(reference.remove(code), store.remove(code), "remove() debería coincidir con HashMap");
+                } else {
+                    String url = "https://www.ejemplo.com/" + (op % 9 == 0 ? "ñ/" : "") + op;
+                    assertEquals(reference.put(code, url) == null, store.put(code, url),
+                        "put() debería coincidir con HashMap");
+                }
+            }
+            assertTrue(store.garbageBytes() <= Math.max(store.liveBytes(), 16L * store.capacity()),
+                "La basura debería quedar acotada por la compactación");
+        }
+        
+        try (MappedUrlStore reopened = MappedUrlStore.open(dir)) {
+            assertEquals(reference.size(), reopened.size(), "El tamaño debería persistir");
+            assertTrue(reopened.getLoad() <= 0.75, "El factor de carga no debería exceder 0.75");
+            for (java.util.Map.Entry<Long, String> e : reference.entrySet()) {
+                assertEquals(e.getValue(), reopened.get(e.getKey().longValue()), "Cada URL debería persistir");
+            }
+            assertNull(reopened.get(-1L), "Una clave negativa no debería encontrarse");
+        }
+    }
+    
+    @Test
+    @DisplayName("MappedUrlStore: reemplazar y eliminar sin crecer compacta data.bin")
+    void testMappedStoreCompaction(@TempDir Path dir)
+            throws java.io.IOException {
+        String padding = "x".repeat(100);
+        try (MappedUrlStore store = MappedUrlStore.open(dir, 1024, 12)) {
+            for (long code = 0; code < 500; code++) {
+                store.put(code, "https://www.ejemplo.com/" + padding + code);
+            }
+            int capacity = store.capacity();
+            long maxFile = 0;
+            for (int round = 0; round < 50_000; round++) {
+                long code = round % 500;
+                if (round % 2 == 0) {
+                    store.put(code, "https://www.ejemplo.com/" + padding + round);
+                } else {
+                    store.remove(code);
+                    store.put(code, "https://www.ejemplo.com/" + padding + round);
+                }
+                maxFile = Math.max(maxFile, totalDataBytes(dir));
+            }
+            assertEquals(capacity, store.capacity(), "La tabla no debería haber crecido");
+            assertEquals(500, store.size());
+            // Unos 65 KiB vivos: sin compactar data.bin pasaría de 7 MiB
+            assertTrue(maxFile < 1 << 20, "Los archivos de datos deberían quedar acotados: " + maxFile);
+            assertTrue(store.garbageBytes() <= Math.max(store.liveBytes(), 16L * store.capacity()));
+            
+            store.compact();
+            assertEquals(0, store.garbageBytes(), "compact() debería descartar toda la basura");
+        }
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.filter(f -> f.getFileName().toString().startsWith("data")).count(),
+                "Solo debería quedar el archivo de datos vigente");
+        }
+        try (MappedUrlStore reopened = MappedUrlStore.open(dir)) {
+            assertEquals(500, reopened.size(), "El tamaño debería persistir después de compactar");
+            for (long code = 0; code < 500; code++) {
+                assertEquals("https://www.ejemplo.com/" + padding + (49_500 + code), reopened.get(code),
+                    "Cada URL debería sobrevivir a la compactación y la reapertura");
+            }
+            reopened.put(1_000L, "https://www.ejemplo.com/nueva");
+            assertEquals("https://www.ejemplo.com/nueva", reopened.get(1_000L));
+        }
+    }
+    
+    private static long totalDataBytes(Path dir) throws java.io.IOException {
+        long total = 0;
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith("data")) {
+                    total += Files.size(file);
+                }
+            }
+        }
+        return total;
+    }
+    
+    @Test
+    @DisplayName("MappedUrlStore: TinyURL redirige después de reiniciar")
+    void testTinyUrlRestartsFromMappedStore(@TempDir Path dir)
+            throws java.io.IOException {
+        String[] codes = new String[500];
+        MappedUrlStore store = MappedUrlStore.open(dir);
+        TinyURL service = new TinyURL(store);
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = service.insertUrl("https://www.ejemplo.com/" + i);
+        }
+        service.removeUrl(codes[0]);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.get(1L), "Un almacén cerrado no debería usarse");
+        
+        try (MappedUrlStore reopened = MappedUrlStore.open(dir)) {
+            TinyURL restarted = new TinyURL(reopened);
+            assertEquals(499, restarted.getUrlCount(), "El conteo debería persistir");
+            assertNull(restarted.redirect(codes[0]), "La eliminación debería persistir");
+            for (int i = 1; i < codes.length; i++) {
+                assertEquals("https://www.ejemplo.com/" + i, restarted.redirect(codes[i]),
+                    "Cada código debería redirigir después de reiniciar");
+            }
+            assertThrows(IllegalArgumentException.class,
+                () -> new TinyURL(reopened, TinyURL.CodeStrategy.PERMUTED_COUNTER),
+                "El contador no debería usarse sobre una tabla con datos");
+        }
+        
+        Files.createDirectories(dir.resolve("otro"));
+        Files.write(dir.resolve("otro").resolve("index.bin"), new byte[64],
+            StandardOpenOption.CREATE_NEW);
+        assertThrows(java.io.IOException.class, () -> MappedUrlStore.open(dir.resolve("otro")),
+            "Un archivo que no es un almacén debería rechazarse");
+    }
+    
+    // ========== PRUEBAS PARA WriteAheadLog ==========
+    
+    @Test
+    @DisplayName("WriteAheadLog: cada política reproduce las operaciones al reabrir")
+    void testWalReplaysEveryPolicy(@TempDir Path dir)
+            throws java.io.IOException {
+        for (WriteAheadLog.SyncPolicy policy : WriteAheadLog.SyncPolicy.values()) {
+            Path file = dir.resolve(policy + ".wal");
+            java.util.Map<Long, String> reference = new java.util.HashMap<>();
+            try (WriteAheadLog log = WriteAheadLog.open(file, policy, 500)) {
+                assertEquals(policy, log.getSyncPolicy(), "La política debería conservarse");
+                for (int i = 0; i < 300; i++) {
+                    long code = i * 104_729L;
+                    String url = "https://www.ejemplo.com/" + (i % 7 == 0 ? "ñandú/" : "") + i;
+                    log.logPut(code, url);
+                    reference.put(code, url);
+                    if (i % 5 == 0) {
+                        log.logRemove(code);
+                        reference.remove(code);
+                    }
+                }
+            }
+            
+            try (WriteAheadLog reopened = WriteAheadLog.open(file, policy, 500)) {
+                LongHashTable table = new LongHashTable();
+                assertEquals(360, reopened.replayInto(table), "Deberían reproducirse todos los registros");
+                assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con " + policy);
+                for (java.util.Map.Entry<Long, String> e : reference.entrySet()) {
+                    assertEquals(e.getValue(), table.get(e.getKey().longValue()), "Cada URL debería reproducirse");
+                }
+                HashTable strings = new HashTable();
+                reopened.replayInto(strings);
+                assertEquals(reference.size(), strings.size(), "También debería reproducirse en claves String");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: una cola cortada o corrupta se descarta")
+    void testWalTruncatesTornTail(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("torn.wal");
+        long validSize;
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            for (int i = 0; i < 50; i++) {
+                log.logPut(i, "https://www.ejemplo.com/" + i);
+            }
+            log.sync();
+            validSize = log.sizeBytes();
+        }
+        assertEquals(validSize, Files.size(file), "El archivo debería contener todos los registros");
+        // Una escritura a medias: cabecera de un registro de 40 bytes y solo 5 de ellos
+        Files.write(file, new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 1, 0, 0, 0, 0},
+            StandardOpenOption.APPEND);
+        
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertEquals(validSize, Files.size(file), "La cola incompleta debería truncarse");
+            LongHashTable table = new LongHashTable();
+            assertEquals(50, log.replayInto(table), "Los registros válidos deberían conservarse");
+            log.logPut(99L, "https://www.ejemplo.com/despues");
+        }
+        
+        // Un byte alterado en el último registro invalida su CRC y lo que le sigue
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            LongHashTable table = new LongHashTable();
+            assertEquals(50, log.replayInto(table), "El registro corrupto debería descartarse");
+            assertNull(table.get(99L), "El registro corrupto no debería aplicarse");
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: los escritores concurrentes comparten fsync en modo GROUP")
+    void testWalGroupCommitConcurrent(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("group.wal");
+        int threads = 8;
+        int perThread = 200;
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.GROUP, 2_000);
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(threads);
+        try {
+            java.util.List<java.util.concurrent.Future<?>> futures = new java.util.ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = t * 1_000_000L;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.logPut(base + i, "https://www.ejemplo.com/" + (base + i));
+                    }
+                }));
+            }
+            for (java.util.concurrent.Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        String summary = log.toString();
+        log.close();
+        assertFalse(summary.contains("recordsPerSync=1.0}"), "Un fsync debería cubrir varios registros: " + summary);
+        assertThrows(IllegalStateException.class, () -> log.logRemove(1L), "Un log cerrado no debería usarse");
+        
+        try (WriteAheadLog reopened = WriteAheadLog.open(file)) {
+            LongHashTable table = new LongHashTable();
+            assertEquals(threads * perThread, reopened.replayInto(table), "Ningún registro debería perderse");
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < perThread; i++) {
+                    long code = t * 1_000_000L + i;
+                    assertEquals("https://www.ejemplo.com/" + code, table.get(code), "Cada registro debería ser durable");
+                }
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: un escritor interrumpido en el commit en grupo no pierde su inserción")
+    void testWalInterruptedGroupCommit(@TempDir Path dir)
+            throws Exception {
+        Path file = dir.resolve("interrumpido.wal");
+        int threads = 8;
+        int perThread = 100;
+        java.util.Set<String> codes = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        java.util.concurrent.atomic.AtomicInteger lostFlags = new java.util.concurrent.atomic.AtomicInteger();
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL service = new TinyURL(new ConcurrentHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            Thread[] writers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        // Interrumpido antes de llegar al log: como líder o esperando a otro
+                        Thread.currentThread().interrupt();
+                        codes.add(service.insertUrl("https://www.ejemplo.com/" + (base + i)));
+                        if (!Thread.interrupted()) {
+                            lostFlags.incrementAndGet();
+                        }
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertEquals(threads * perThread, codes.size(), "Ninguna inserción debería fallar");
+            assertEquals(0, lostFlags.get(), "La interrupción debería restablecerse");
+            assertEquals(threads * perThread, service.getUrlCount());
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            assertEquals(threads * perThread, restarted.getUrlCount(), "El log tiene lo mismo que la tabla");
+            for (String code : codes) {
+                assertNotNull(restarted.redirect(code), "Cada código entregado debería recuperarse");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: TinyURL recupera inserciones y eliminaciones al reiniciar")
+    void testTinyUrlRestartsFromWal(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("tinyurl.wal");
+        String[] codes = new String[200];
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL service = new TinyURL(new ConcurrentHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = service.insertUrl("https://www.ejemplo.com/" + i);
+            }
+            assertNotNull(service.removeUrl(codes[0]), "La eliminación debería funcionar");
+            assertNull(service.removeUrl(codes[0]), "Una segunda eliminación no debería registrarse");
+        }
+        
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            assertEquals(199, restarted.getUrlCount(), "El conteo debería recuperarse");
+            assertNull(restarted.redirect(codes[0]), "La eliminación debería recuperarse");
+            for (int i = 1; i < codes.length; i++) {
+                assertEquals("https://www.ejemplo.com/" + i, restarted.redirect(codes[i]),
+                    "Cada código debería redirigir después de reiniciar");
+            }
+            assertThrows(IllegalArgumentException.class,
+                () -> new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.PERMUTED_COUNTER, log),
+                "El contador no debería usarse si el log tiene datos");
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: parámetros inválidos lanzan excepción")
+    void testWalInvalidArguments(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("args.wal");
+        assertThrows(IllegalArgumentException.class,
+            () -> WriteAheadLog.open(file, null, 100), "La política null debería rechazarse");
+        assertThrows(IllegalArgumentException.class,
+            () -> WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.INTERVAL, 0), "Un intervalo nulo debería rechazarse");
+        assertThrows(IllegalArgumentException.class,
+            () -> WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.GROUP, 100, 0), "Un umbral nulo debería rechazarse");
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertThrows(IllegalArgumentException.class, () -> log.logPut(1L, null), "La URL null debería rechazarse");
+            assertThrows(IllegalArgumentException.class,
+                () -> log.logRemove(Base62Codec.CODE_SPACE), "Un código fuera de rango debería rechazarse");
+            assertThrows(IllegalArgumentException.class, () -> log.replayInto(null), "La tabla null debería rechazarse");
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: compact() deja una instantánea con solo las entradas vivas")
+    void testWalCompactionKeepsLiveEntries(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("compact.wal");
+        java.util.Map<Long, String> reference = new java.util.HashMap<>();
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 2_000; i++) {
+                    long code = i % 500;
+                    String url = "https://www.ejemplo.com/" + round + "/" + i;
+                    log.logPut(code, url);
+                    reference.put(code, url);
+                    if (i % 3 == 0) {
+                        log.logRemove(code);
+                        reference.remove(code);
+                    }
+                }
+                long before = log.sizeBytes();
+                log.compact();
+                assertEquals(0, log.sizeBytes(), "El archivo activo debería quedar vacío");
+                assertTrue(Files.size(dir.resolve("compact.wal.snapshot")) < before / 4,
+                    "La instantánea debería ocupar mucho menos que el historial");
+                assertFalse(Files.exists(dir.resolve("compact.wal.old")),
+                    "El prefijo obsoleto debería borrarse");
+            }
+            log.logPut(7L, "https://www.ejemplo.com/despues");
+            reference.put(7L, "https://www.ejemplo.com/despues");
+            assertThrows(IllegalStateException.class, () -> log.replayInto(new LongHashTable()),
+                "No debería reproducirse después de compactar");
+        }
+        
+        try (WriteAheadLog reopened = WriteAheadLog.open(file)) {
+            LongHashTable table = new LongHashTable();
+            assertEquals(reference.size() + 1, reopened.replayInto(table),
+                "Deberían aplicarse las entradas vivas y el registro posterior");
+            assertEquals(reference.size(), table.size(), "El tamaño debería coincidir con HashMap");
+            for (java.util.Map.Entry<Long, String> e : reference.entrySet()) {
+                assertEquals(e.getValue(), table.get(e.getKey().longValue()), "Cada URL viva debería recuperarse");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: la compactación en segundo plano no pierde escrituras concurrentes")
+    void testWalBackgroundCompactionConcurrent(@TempDir Path dir)
+            throws Exception {
+        Path file = dir.resolve("background.wal");
+        int threads = 4;
+        int perThread = 3_000;
+        java.util.Map<String, String> expected = new java.util.concurrent.ConcurrentHashMap<>();
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.SyncPolicy.INTERVAL, 500, 8 * 1024);
+        try {
+            TinyURL service = new TinyURL(new ConcurrentHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(threads);
+            try {
+                java.util.List<java.util.concurrent.Future<?>> futures = new java.util.ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int id = t;
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            String url = "https://www.ejemplo.com/" + id + "/" + i;
+                            String code = service.insertUrl(url);
+                            if (i % 4 == 0) {
+                                service.removeUrl(code);
+                            } else {
+                                expected.put(code, url);
+                            }
+                        }
+                    }));
+                }
+                for (java.util.concurrent.Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            log.close();
+        }
+        assertFalse(log.toString().contains("compactions=0,"), "Debería haberse compactado en segundo plano: " + log);
+        
+        try (WriteAheadLog reopened = WriteAheadLog.open(file)) {
+            TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, reopened);
+            assertEquals(expected.size(), restarted.getUrlCount(), "Ninguna operación debería perderse");
+            for (java.util.Map.Entry<String, String> e : expected.entrySet()) {
+                assertEquals(e.getValue(), restarted.redirect(e.getKey()), "Cada código debería recuperarse");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("WriteAheadLog: una compactación interrumpida se termina al abrir")
+    void testWalRecoversInterruptedCompaction(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("crash.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            for (int i = 0; i < 100; i++) {
+                log.logPut(i, "https://www.ejemplo.com/" + i);
+            }
+            log.compact();
+            log.logRemove(5L);
+            log.logPut(200L, "https://www.ejemplo.com/200");
+        }
+        // Caída justo después de sellar el prefijo y con una instantánea a medio escribir
+        Files.move(file, dir.resolve("crash.wal.old"));
+        Files.write(dir.resolve("crash.wal.snapshot.tmp"), new byte[] {1, 2, 3});
+        
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            assertFalse(Files.exists(dir.resolve("crash.wal.old")), "El prefijo debería combinarse");
+            assertFalse(Files.exists(dir.resolve("crash.wal.snapshot.tmp")),
+                "La instantánea incompleta debería descartarse");
+            LongHashTable table = new LongHashTable();
+            log.replayInto(table);
+            assertEquals(100, table.size(), "Deberían quedar 100 entradas");
+            assertNull(table.get(5L), "La eliminación posterior a la instantánea debería aplicarse");
+            assertEquals("https://www.ejemplo.com/200", table.get(200L), "La inserción posterior debería aplicarse");
+        }
+    }
+    
+    // ========== PRUEBAS PARA OPERACIONES EN LOTE ==========
+    
+    @Test
+    @DisplayName("Lotes: putAll y getAll equivalen a put y get en todos los modos")
+    void testBatchMatchesSingleOperations() {
+        HashTable[] tables = {
+            new HashTable(16, HashTable.StorageMode.CHAINING),
+            new HashTable(16, HashTable.StorageMode.OPEN_ADDRESSING),
+            new HashTable(16, HashTable.StorageMode.OFF_HEAP),
+            new HashTable(16, HashTable.ResizeStrategy.INCREMENTAL)
+        };
+        String[] keys = new String[3000];
+        String[] values = new String[keys.length];
+        java.util.Map<String, String> expected = new java.util.HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            // Cada clave aparece dos veces en el lote: gana el último valor
+            keys[i] = "clave" + (i % 1500);
+            values[i] = "https://www.ejemplo.com/" + i;
+            expected.put(keys[i], values[i]);
+        }
+        String[] lookups = new String[1600];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = "clave" + i;
+        }
+        for (HashTable table : tables) {
+            table.put("clave0", "https://www.ejemplo.com/previa");
+            assertEquals(1499, table.putAll(keys, values), "Solo deberían contarse las claves nuevas: " + table);
+            assertEquals(1500, table.size(), "El tamaño debería contar cada clave una vez: " + table);
+            String[] found = table.getAll(lookups);
+            for (int i = 0; i < lookups.length; i++) {
+                assertEquals(expected.get(lookups[i]), found[i], "getAll debería coincidir con el mapa: " + table);
+                assertEquals(table.get(lookups[i]), found[i], "getAll debería coincidir con get: " + table);
+            }
+        }
+        
+        LongHashTable longTable = new LongHashTable();
+        long[] codes = new long[keys.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (i % 1500) * 7919L;
+        }
+        assertEquals(1500, longTable.putAll(codes, values), "Solo deberían contarse los códigos nuevos");
+        String[] found = longTable.getAll(new long[] {0L, 7919L * 1499, 1L, -1L});
+        assertEquals(values[1500], found[0], "Debería quedar el último valor del código repetido");
+        assertEquals(values[2999], found[1], "Debería encontrarse el último código");
+        assertNull(found[2], "Un código ausente debería retornar null");
+        assertNull(found[3], "Un código negativo debería retornar null");
+    }
+    
+    @Test
+    @DisplayName("Lotes: la tabla se redimensiona una sola vez por lote")
+    void testBatchPresizesOnce() {
+        String[] keys = new String[1000];
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "clave" + i;
+            values[i] = "valor" + i;
+        }
+        HashTable table = new HashTable(16, HashTable.StorageMode.CHAINING);
+        table.putAll(keys, values);
+        assertEquals(2048, table.capacity(), "La capacidad debería saltar directo a la necesaria");
+        assertTrue(table.getLoad() <= 0.75, "El factor de carga debería respetar el máximo");
+        
+        LongHashTable longTable = new LongHashTable(16);
+        long[] codes = new long[keys.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i;
+        }
+        longTable.putAll(codes, values);
+        assertTrue(longTable.getLoad() <= 0.75, "El factor de carga debería respetar el máximo");
+        assertEquals(keys.length, longTable.size(), "Deberían insertarse todos los códigos");
+    }
+    
+    @Test
+    @DisplayName("Lotes: un lote inválido no modifica la tabla")
+    void testBatchInvalidArguments() {
+        hashTable.put("clave", "valor");
+        assertThrows(IllegalArgumentException.class, () -> hashTable.putAll(null, new String[0]));
+        assertThrows(IllegalArgumentException.class,
+            () -> hashTable.putAll(new String[] {"a", "b"}, new String[] {"1"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> hashTable.putAll(new String[] {"a", null}, new String[] {"1", "2"}));
+        assertThrows(IllegalArgumentException.class, () -> hashTable.getAll(null));
+        assertEquals(1, hashTable.size(), "Un lote rechazado no debería insertar nada");
+        
+        LongHashTable longTable = new LongHashTable();
+        assertThrows(IllegalArgumentException.class,
+            () -> longTable.putAll(new long[] {1L, -5L}, new String[] {"1", "2"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> longTable.putAll(new long[] {1L}, new String[] {null}));
+        assertEquals(0, longTable.size(), "Un lote rechazado no debería insertar nada");
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> tinyUrl.insertUrls(new String[] {"https://www.ejemplo.com", ""}));
+        assertThrows(IllegalArgumentException.class, () -> tinyUrl.insertUrls((String[]) null));
+        assertThrows(IllegalArgumentException.class, () -> tinyUrl.redirectAll((String[]) null));
+        assertEquals(0, tinyUrl.getUrlCount(), "Un lote con una URL inválida no debería insertar ninguna");
+    }
+    
+    @Test
+    @DisplayName("Lotes: insertUrls y redirectAll con cada tabla y estrategia")
+    void testTinyUrlBatchRoundTrip() {
+        TinyURL[] services = {
+            new TinyURL(),
+            new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.PERMUTED_COUNTER),
+            new TinyURL(new HashTable(), TinyURL.CodeStrategy.RANDOM),
+            new TinyURL(new HashTable(), TinyURL.CodeStrategy.PERMUTED_COUNTER),
+            new TinyURL(new ConcurrentHashTable(), TinyURL.CodeStrategy.RANDOM)
+        };
+        java.util.List<String> urls = new java.util.ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            urls.add("https://www.ejemplo.com/articulo/" + i);
+        }
+        for (TinyURL service : services) {
+            service.insertUrl("https://www.ejemplo.com/previa");
+            java.util.List<String> codes = service.insertUrls(urls);
+            assertEquals(urls.size(), new java.util.HashSet<>(codes).size(), "Los códigos deberían ser únicos");
+            assertEquals(urls.size() + 1, service.getUrlCount(), "Deberían insertarse todas las URLs");
+            
+            java.util.List<String> lookups = new java.util.ArrayList<>(codes);
+            lookups.add("noexiste");
+            lookups.add(null);
+            java.util.List<String> found = service.redirectAll(lookups);
+            assertEquals(urls, found.subList(0, urls.size()), "Cada código debería redirigir a su URL");
+            assertNull(found.get(urls.size()), "Un código inexistente debería retornar null");
+            assertNull(found.get(urls.size() + 1), "Un código null debería retornar null");
+            
+            long[] packed = new long[codes.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = Base62Codec.decode(codes.get(i));
+            }
+            assertArrayEquals(urls.toArray(new String[0]), service.redirectAll(packed),
+                "redirectAll con códigos empaquetados debería coincidir");
+        }
+    }
+    
+    @Test
+    @DisplayName("Lotes: un lote registrado en el log sobrevive al reinicio")
+    void testTinyUrlBatchRestartsFromWal(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("lote.wal");
+        String[] urls = new String[500];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "https://www.ejemplo.com/" + i;
+        }
+        String[] codes;
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL service = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            codes = service.insertUrls(urls);
+            service.removeUrl(codes[0]);
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+            assertEquals(urls.length - 1, restarted.getUrlCount(), "Deberían recuperarse todas las URLs vivas");
+            String[] found = restarted.redirectAll(codes);
+            assertNull(found[0], "La eliminación debería reproducirse");
+            for (int i = 1; i < urls.length; i++) {
+                assertEquals(urls[i], found[i], "Cada código debería recuperarse");
+            }
+        }
+    }
+    
+    // ========== PRUEBAS PARA DEDUPLICACIÓN DE URLs ==========
+    
+    @Test
+    @DisplayName("Deduplicación: una URL repetida retorna el mismo código")
+    void testDedupReturnsExistingCode() {
+        TinyURL[] services = {
+            new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, null, true),
+            new TinyURL(new HashTable(), TinyURL.CodeStrategy.PERMUTED_COUNTER, null, true)
+        };
+        for (TinyURL service : services) {
+            assertTrue(service.isDeduplicating(), "El modo de deduplicación debería estar activo");
+            String url = "https://www.ejemplo.com/pagina/muy/larga";
+            String code = service.insertUrl(url);
+            // Un String igual pero distinto objeto también debe deduplicarse
+            assertEquals(code, service.insertUrl(new String(url)), "La URL repetida debería reutilizar su código");
+            assertEquals(Base62Codec.decode(code), service.insertUrlPacked(url), "También por la ruta empaquetada");
+            assertEquals(1, service.getUrlCount(), "La URL debería guardarse una sola vez");
+            
+            String[] batch = service.insertUrls(new String[] {url, "https://www.ejemplo.com/otra", url});
+            assertEquals(code, batch[0], "El lote debería reutilizar el código existente");
+            assertEquals(batch[0], batch[2], "Las repeticiones dentro del lote deberían compartir código");
+            assertEquals(2, service.getUrlCount(), "Solo la URL nueva del lote debería guardarse");
+            
+            assertEquals(url, service.removeUrl(code), "La eliminación debería retornar la URL");
+            String fresh = service.insertUrl(url);
+            assertEquals(url, service.redirect(fresh), "Después de eliminarla la URL debería recibir un código nuevo");
+        }
+        assertFalse(tinyUrl.isDeduplicating(), "Por defecto no se deduplica");
+        assertNotEquals(tinyUrl.insertUrl("https://www.ejemplo.com"), tinyUrl.insertUrl("https://www.ejemplo.com"),
+            "Sin deduplicación cada inserción debería generar un código nuevo");
+    }
+    
+    @Test
+    @DisplayName("Deduplicación: el índice inverso sobrevive a eliminaciones y crecimiento")
+    void testFingerprintIndexMatchesMap() {
+        UrlFingerprintIndex index = new UrlFingerprintIndex();
+        java.util.Map<Long, Long> expected = new java.util.HashMap<>();
+        java.util.Random random = new java.util.Random(5);
+        for (int i = 0; i < 20000; i++) {
+            long fingerprint = UrlFingerprintIndex.fingerprint("https://www.ejemplo.com/" + random.nextInt(5000));
+            if (random.nextInt(3) == 0) {
+                Long code = expected.get(fingerprint);
+                assertEquals(code != null, code != null && index.remove(fingerprint, code),
+                    "remove debería eliminar solo entradas existentes");
+                expected.remove(fingerprint);
+            } else {
+                expected.put(fingerprint, (long) i);
+                index.put(fingerprint, i);
+            }
+        }
+        assertEquals(expected.size(), index.size(), "El tamaño debería coincidir con el mapa");
+        for (java.util.Map.Entry<Long, Long> e : expected.entrySet()) {
+            assertEquals((long) e.getValue(), index.get(e.getKey()), "Cada huella debería conservar su código");
+            assertFalse(index.remove(e.getKey(), e.getValue() + 1), "No debería eliminar si el código no coincide");
+        }
+        assertNotEquals(UrlFingerprintIndex.fingerprint("https://a.com/ab"),
+            UrlFingerprintIndex.fingerprint("https://a.com/ba"), "El orden de los caracteres debería importar");
+    }
+    
+    @Test
+    @DisplayName("Deduplicación: el índice se reconstruye al reproducir el log")
+    void testDedupRebuiltFromWal(@TempDir Path dir)
+            throws java.io.IOException {
+        Path file = dir.resolve("dedup.wal");
+        String kept;
+        String removed;
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL service = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log, true);
+            kept = service.insertUrl("https://www.ejemplo.com/queda");
+            removed = service.insertUrl("https://www.ejemplo.com/borrada");
+            service.removeUrl(removed);
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log, true);
+            assertEquals(kept, restarted.insertUrl("https://www.ejemplo.com/queda"),
+                "La URL reproducida debería conservar su código");
+            String again = restarted.insertUrl("https://www.ejemplo.com/borrada");
+            assertNotEquals(removed, again, "Una URL eliminada no debería reutilizar el código borrado");
+            assertEquals(2, restarted.getUrlCount(), "No debería haber copias repetidas");
+        }
+    }
+    
+    // ========== PRUEBAS PARA HashTable EN MODO COMPRESSED ==========
+    
+    @Test
+    @DisplayName("COMPRESSED: los valores se recuperan exactos con cualquier forma de URL")
+    void testCompressedRoundTrip() {
+        HashTable table = new HashTable(4, 0.75, HashTable.StorageMode.COMPRESSED);
+        String[] urls = {
+            "https://www.ejemplo.com/articulos/123?origen=correo",
+            "https://www.ejemplo.com/articulos/",
+            "https://www.ejemplo.com/",
+            "https://www.ejemplo.com",
+            "https://www.ejemplo.com/buscar?q=a/b#c",
+            "http://otro.org/ruta/con/varios/segmentos",
+            "https://www.ejemplo.com/artículos/año?ciudad=São Paulo",
+            "https://例え.jp/パス/ページ",
+            "sin esquema",
+            "x"
+        };
+        java.util.Map<String, String> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String url = urls[i % urls.length] + (i % 3 == 0 ? "" : String.valueOf(i));
+            table.put("clave" + i, url);
+            expected.put("clave" + i, url);
+        }
+        for (int i = 0; i < 2000; i += 5) {
+            assertEquals(expected.remove("clave" + i), table.remove("clave" + i), "remove debería retornar la URL");
+        }
+        table.put("clave1", "https://www.ejemplo.com/articulos/actualizada");
+        expected.put("clave1", "https://www.ejemplo.com/articulos/actualizada");
+        
+        assertEquals(expected.size(), table.size(), "El tamaño debería coincidir");
+        for (java.util.Map.Entry<String, String> e : expected.entrySet()) {
+            assertEquals(e.getValue(), table.get(e.getKey()), "Cada URL debería decodificarse exacta");
+            assertTrue(table.containsKey(e.getKey()), "containsKey debería encontrar la clave");
+        }
+        assertFalse(table.containsKey("clave0"), "Una clave eliminada no debería existir");
+        assertTrue(table.toString().contains("prefixes="), "El resumen debería mostrar el diccionario: " + table);
+    }
+    
+    @Test
+    @DisplayName("COMPRESSED: el prefijo común se guarda una sola vez")
+    void testCompressedSharesPrefixes() {
+        assertEquals("https://www.ejemplo.com/articulos/".length(),
+            UrlCompressor.prefixEnd("https://www.ejemplo.com/articulos/123"), "El prefijo incluye el primer segmento");
+        assertEquals("https://www.ejemplo.com/".length(),
+            UrlCompressor.prefixEnd("https://www.ejemplo.com/pagina?a=/b"), "Una barra en la consulta no cierra segmento");
+        assertEquals(0, UrlCompressor.prefixEnd("ejemplo.com/articulos/1"), "Sin esquema no hay prefijo");
+        
+        HashTable table = new HashTable(HashTable.StorageMode.COMPRESSED);
+        long plain = 0;
+        for (int i = 0; i < 1000; i++) {
+            String url = "https://www.ejemplo.com/articulos/" + i;
+            table.put("clave" + i, url);
+            plain += url.length();
+        }
+        assertTrue(table.getCompressedBytes() < plain / 4,
+            "Los valores comprimidos deberían ocupar mucho menos que las URLs: " + table.getCompressedBytes());
+        assertEquals(0, new HashTable().getCompressedBytes(), "Los demás modos no reportan bytes comprimidos");
+        
+        TinyURL service = new TinyURL(table);
+        String code = service.insertUrl("https://www.ejemplo.com/articulos/nuevo");
+        assertEquals("https://www.ejemplo.com/articulos/nuevo", service.redirect(code),
+            "redirect debería decodificar la URL al vuelo");
+    }
+    
+    // ========== PRUEBAS PARA TieredCodeTable ==========
+    
+    @Test
+    @DisplayName("TieredCodeTable: coincide con un mapa bajo operaciones aleatorias")
+    void testTieredMatchesMap() {
+        KeyValueTable[] stores = {
+            new LongHashTable(),
+            new HashTable(HashTable.StorageMode.COMPRESSED)
+        };
+        for (KeyValueTable store : stores) {
+            TieredCodeTable table = new TieredCodeTable(store, 64);
+            java.util.Map<Long, String> expected = new java.util.HashMap<>();
+            java.util.Random random = new java.util.Random(9);
+            long gets = 0;
+            for (int i = 0; i < 30000; i++) {
+                long code = random.nextInt(500) * 104_729L;
+                int op = random.nextInt(10);
+                if (op < 6) {
+                    assertEquals(expected.get(code), table.get(code), "get debería coincidir: " + table);
+                    gets++;
+                } else if (op < 9) {
+                    String url = "https://www.ejemplo.com/" + i;
+                    assertEquals(!expected.containsKey(code), table.put(code, url), "put debería indicar si era nuevo");
+                    expected.put(code, url);
+                } else {
+                    assertEquals(expected.remove(code), table.remove(code), "remove debería coincidir");
+                }
+                assertTrue(table.getCacheSize() <= 64, "La caché no debería pasar su capacidad");
+            }
+            assertEquals(expected.size(), table.size(), "El tamaño debería ser el del almacén");
+            assertEquals(gets, table.getHits() + table.getMisses(), "Cada get debería contar como acierto o fallo");
+            assertTrue(table.getEvictions() > 0, "Con 500 códigos y 64 lugares debería haber desalojos");
+            for (java.util.Map.Entry<Long, String> e : expected.entrySet()) {
+                assertEquals(e.getValue(), table.get(Base62Codec.encode(e.getKey())), "También por clave String");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("TieredCodeTable: un recorrido de códigos fríos no desaloja a los calientes")
+    void testTieredKeepsHotCodes() {
+        LongHashTable store = new LongHashTable();
+        for (long code = 0; code < 20000; code++) {
+            store.put(code, "https://www.ejemplo.com/" + code);
+        }
+        TieredCodeTable table = new TieredCodeTable(store, 200);
+        for (int round = 0; round < 20; round++) {
+            for (long hot = 0; hot < 100; hot++) {
+                table.get(hot);
+            }
+        }
+        // Ráfaga de 10000 códigos distintos, pedidos una sola vez cada uno
+        for (long cold = 10000; cold < 20000; cold++) {
+            table.get(cold);
+        }
+        long hitsBefore = table.getHits();
+        for (long hot = 0; hot < 100; hot++) {
+            assertEquals("https://www.ejemplo.com/" + hot, table.get(hot), "El valor debería ser correcto");
+        }
+        assertTrue(table.getHits() - hitsBefore >= 95,
+            "Los códigos calientes deberían seguir en caché: " + (table.getHits() - hitsBefore));
+        assertTrue(table.toString().contains("hitRatio="), "El resumen debería mostrar la tasa de aciertos: " + table);
+    }
+    
+    @Test
+    @DisplayName("TieredCodeTable: escrituras, argumentos inválidos y uso desde TinyURL")
+    void testTieredWritesAndService() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredCodeTable(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TieredCodeTable(new LongHashTable(), 0));
+        TieredCodeTable table = new TieredCodeTable(new HashTable(), 8);
+        assertThrows(IllegalArgumentException.class, () -> new TieredCodeTable(table, 8));
+        assertThrows(IllegalArgumentException.class, () -> table.put(-1L, "x"));
+        assertThrows(IllegalArgumentException.class, () -> table.put(1L, null));
+        
+        table.put(7L, "https://www.ejemplo.com/v1");
+        assertEquals("https://www.ejemplo.com/v1", table.get(7L), "Primera lectura desde el almacén");
+        table.put(7L, "https://www.ejemplo.com/v2");
+        assertEquals("https://www.ejemplo.com/v2", table.get(7L), "La caché debería reflejar la actualización");
+        assertEquals("https://www.ejemplo.com/v2", table.remove(7L), "remove debería retornar el valor");
+        assertNull(table.get(7L), "La caché no debería retener un código eliminado");
+        assertFalse(table.containsKey(7L), "El código eliminado no debería existir");
+        
+        TinyURL service = new TinyURL(new TieredCodeTable(new HashTable(HashTable.StorageMode.COMPRESSED), 16));
+        String code = service.insertUrl("https://www.ejemplo.com/articulos/viral");
+        for (int i = 0; i < 10; i++) {
+            assertEquals("https://www.ejemplo.com/articulos/viral", service.redirect(code), "redirect debería funcionar");
+        }
+        assertTrue(service.toString().contains("hits=9"), "Las lecturas repetidas deberían salir de la caché: " + service);
+    }
+    
+    // ========== PRUEBAS PARA FilteredCodeTable ==========
+    
+    @Test
+    @DisplayName("CuckooFilter: sin falsos negativos, con eliminación y pocos falsos positivos")
+    void testCuckooFilterMembership() {
+        CuckooFilter filter = new CuckooFilter(20000);
+        java.util.Set<Long> present = new java.util.HashSet<>();
+        java.util.Random random = new java.util.Random(13);
+        for (int i = 0; i < 20000; i++) {
+            long code = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            if (present.add(code)) {
+                filter.add(code);
+            }
+        }
+        java.util.Iterator<Long> it = present.iterator();
+        for (int i = 0; i < 5000; i++) {
+            filter.remove(it.next());
+            it.remove();
+        }
+        for (long code : present) {
+            assertTrue(filter.mightContain(code), "Un código presente nunca debería descartarse");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            long code = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            if (!present.contains(code) && filter.mightContain(code)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 100, "La tasa de falsos positivos debería ser ~0,01%: " + falsePositives);
+        assertEquals(present.size(), filter.size(), "El tamaño debería contar altas y bajas");
+        assertFalse(filter.isSaturated(), "Con el tamaño esperado no debería saturarse");
+        assertTrue(filter.sizeInBytes() <= 4 * 20000, "Debería ocupar unos pocos bytes por código");
+    }
+    
+    @Test
+    @DisplayName("CuckooFilter: al superar su capacidad se satura sin falsos negativos")
+    void testCuckooFilterSaturates() {
+        CuckooFilter filter = new CuckooFilter(100);
+        for (long code = 0; code < 5000; code++) {
+            filter.add(code * 7919);
+        }
+        assertTrue(filter.isSaturated(), "Con 50 veces lo esperado debería saturarse");
+        for (long code = 0; code < 5000; code++) {
+            assertTrue(filter.mightContain(code * 7919), "Saturado debería responder quizás a todo");
+        }
+    }
+    
+    @Test
+    @DisplayName("FilteredCodeTable: descarta códigos desconocidos y sigue al almacén")
+    void testFilteredTable(@TempDir Path dir) throws java.io.IOException {
+        assertThrows(IllegalArgumentException.class, () -> new FilteredCodeTable(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new FilteredCodeTable(new LongHashTable(), 0));
+        LongHashTable full = new LongHashTable();
+        full.put(1L, "x");
+        assertThrows(IllegalArgumentException.class, () -> new FilteredCodeTable(full, 10));
+        
+        Path file = dir.resolve("filtro.wal");
+        java.util.List<String> codes = new java.util.ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            FilteredCodeTable table = new FilteredCodeTable(new HashTable(HashTable.StorageMode.COMPRESSED), 1000);
+            TinyURL service = new TinyURL(table, TinyURL.CodeStrategy.RANDOM, log);
+            for (int i = 0; i < 500; i++) {
+                codes.add(service.insertUrl("https://www.ejemplo.com/" + i));
+            }
+            String removed = codes.remove(0);
+            assertEquals("https://www.ejemplo.com/0", service.removeUrl(removed), "removeUrl debería funcionar");
+            assertNull(service.redirect(removed), "Un código eliminado no debería redirigir");
+            for (int i = 0; i < 10000; i++) {
+                assertNull(service.redirect(Base62Codec.encode(i * 104_729L)), "Un código desconocido no redirige");
+            }
+            assertTrue(table.getRejectedLookups() > 9900, "El filtro debería descartar casi todo: " + table);
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            FilteredCodeTable table = new FilteredCodeTable(new LongHashTable(), 1000);
+            TinyURL restarted = new TinyURL(table, TinyURL.CodeStrategy.RANDOM, log);
+            for (int i = 0; i < codes.size(); i++) {
+                assertTrue(restarted.containsCode(codes.get(i)), "El filtro debería reconstruirse desde el log");
+                assertEquals("https://www.ejemplo.com/" + (i + 1), restarted.redirect(codes.get(i)),
+                    "Cada código debería redirigir a su URL");
+            }
+            assertEquals(0, table.getRejectedLookups(), "Ningún código presente debería descartarse");
+        }
+    }
+    
+    // ========== PRUEBAS PARA KeyHasher ==========
+    
+    @Test
+    @DisplayName("KeyHasher: la semilla decide las colisiones y es reproducible")
+    void testSeededKeyHasher() {
+        KeyHasher a = KeyHasher.seeded(42);
+        KeyHasher b = KeyHasher.seeded(43);
+        assertEquals("Aa".hashCode(), "BB".hashCode(), "Aa y BB colisionan con String.hashCode()");
+        assertNotEquals(a.hash("Aa"), a.hash("BB"), "Con semilla no deberían colisionar");
+        assertEquals(a.hash("abc123XY"), KeyHasher.seeded(42).hash("abc123XY"), "La misma semilla da el mismo hash");
+        assertNotEquals(a.hash("abc123XY"), b.hash("abc123XY"), "Otra semilla debería dar otro hash");
+        assertNotEquals(a.hash(""), a.hash("\0"), "La longitud debería entrar en el hash");
+        assertEquals("abc".hashCode(), KeyHasher.STRING_HASHCODE.hash("abc"), "El hasher por defecto es String.hashCode()");
+        
+        // Cambiar un bit de la entrada debería cambiar cerca de la mitad de los bits de salida
+        java.util.Random random = new java.util.Random(3);
+        long flipped = 0;
+        int trials = 2000;
+        for (int i = 0; i < trials; i++) {
+            char[] code = Base62Codec.encode((random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE).toCharArray();
+            long before = a.hash(new String(code));
+            code[random.nextInt(code.length)] ^= (char) (1 << random.nextInt(6));
+            flipped += Long.bitCount(before ^ a.hash(new String(code)));
+        }
+        double average = (double) flipped / trials;
+        assertTrue(average > 28 && average < 36, "La avalancha debería rondar 32 bits: " + average);
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> new HashTable(16, 0.75, HashTable.StorageMode.CHAINING, HashTable.ResizeStrategy.IMMEDIATE, null));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentHashTable(16, 4, null));
+    }
+    
+    @Test
+    @DisplayName("KeyHasher: claves que anulan un factor del producto no pierden la semilla")
+    void testSeededKeyHasherZeroFactor() {
+        // Los cuatro caracteres de 16 bits de P1: sin la semilla en el factor, a ^ P1 es cero
+        String prefix = "\u28db\ua0b4\u7ed1\ue703";
+        String[] keys = {prefix, prefix + "x", prefix + "abcd", prefix + prefix + "abcd", prefix + prefix + prefix};
+        long[] seeds = {1, 42, SeededKeyHasher.randomSeed()};
+        for (String key : keys) {
+            java.util.Set<Long> hashes = new java.util.HashSet<>();
+            for (long seed : seeds) {
+                long hash = KeyHasher.seeded(seed).hash(key);
+                assertNotEquals(0L, hash, "El hash no debería colapsar a cero: " + key);
+                hashes.add(hash);
+            }
+            assertEquals(seeds.length, hashes.size(), "Cada semilla debería dar otro hash");
+        }
+        for (long seed : seeds) {
+            KeyHasher hasher = KeyHasher.seeded(seed);
+            java.util.Set<Long> hashes = new java.util.HashSet<>();
+            for (String key : keys) {
+                hashes.add(hasher.hash(key));
+            }
+            assertEquals(keys.length, hashes.size(), "Las claves con el prefijo no deberían colisionar");
+        }
+    }
+    
+    @Test
+    @DisplayName("KeyHasher: todas las tablas funcionan con claves de hashCode idéntico")
+    void testSeededHasherWithCollidingKeys() {
+        // 2^12 claves distintas con el mismo String.hashCode()
+        java.util.List<String> keys = new java.util.ArrayList<>();
+        for (int i = 0; i < 1 << 12; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int bit = 0; bit < 12; bit++) {
+                sb.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(sb.toString());
+        }
+        java.util.List<KeyValueTable> tables = new java.util.ArrayList<>();
+        for (HashTable.StorageMode mode : HashTable.StorageMode.values()) {
+            tables.add(new HashTable(16, mode, KeyHasher.seeded()));
+        }
+        tables.add(new ConcurrentHashTable(16, 4, KeyHasher.seeded()));
+        for (KeyValueTable table : tables) {
+            for (String key : keys) {
+                assertTrue(table.put(key, "v" + key), "Cada clave debería ser nueva: " + table);
+            }
+            for (int i = 0; i < keys.size(); i += 2) {
+                assertEquals("v" + keys.get(i), table.remove(keys.get(i)), "remove debería retornar el valor");
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                assertEquals(i % 2 == 0 ? null : "v" + keys.get(i), table.get(keys.get(i)),
+                    "get debería seguir a las inserciones y eliminaciones: " + table);
+            }
+            assertEquals(keys.size() / 2, table.size(), "El tamaño debería ser la mitad");
+            assertTrue(table.capacity() <= 1 << 14, "La capacidad no debería crecer de más: " + table);
+        }
+    }
+    
+    // ========== PRUEBAS PARA BUCKETS ORDENADOS ==========
+    
+    /**
+     * Genera 2^bits claves distintas con el mismo String.hashCode() ("Aa" y "BB" colisionan)
+     */
+    private static String[] collidingKeys(int bits) {
+        String[] keys = new String[1 << bits];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int bit = 0; bit < bits; bit++) {
+                sb.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+    
+    @Test
+    @DisplayName("CHAINING: un bucket largo se ordena y vuelve a ser cadena al encogerse")
+    void testSortedBucketConversion() {
+        String[] keys = collidingKeys(10);
+        HashTable table = new HashTable(64);
+        for (int i = 0; i < 8; i++) {
+            table.put(keys[i], "v" + i);
+        }
+        assertEquals(0, table.getSortedBucketCount(), "Una cadena de 8 todavía no se ordena");
+        table.put(keys[8], "v8");
+        assertEquals(1, table.getSortedBucketCount(), "La novena clave debería ordenar el bucket");
+        assertTrue(table.toString().contains("sortedBuckets=1"), "toString debería mostrar los buckets ordenados");
+        
+        for (int i = 9; i < keys.length; i++) {
+            assertTrue(table.put(keys[i], "v" + i), "Cada clave debería ser nueva");
+        }
+        assertFalse(table.put(keys[500], "nuevo"), "Actualizar no debería agregar");
+        assertEquals("nuevo", table.get(keys[500]), "El valor debería actualizarse dentro del bucket ordenado");
+        table.put(keys[500], "v500");
+        assertNull(table.get("C#" + keys[0].substring(2)), "Una clave con el mismo hash que no está no se encuentra");
+        
+        // resize() reparte las entradas del bucket ordenado (todas van al mismo bucket nuevo)
+        table.resize();
+        assertEquals(1, table.getSortedBucketCount(), "Tras el resize el bucket debería seguir ordenado");
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals("v" + i, table.get(keys[i]), "Todas las claves deberían encontrarse");
+        }
+        for (int i = 0; i < keys.length - 6; i++) {
+            assertEquals("v" + i, table.remove(keys[i]), "remove debería retornar el valor");
+        }
+        assertNull(table.remove(keys[0]), "Una clave eliminada no se elimina dos veces");
+        assertEquals(0, table.getSortedBucketCount(), "Con 6 entradas el bucket debería volver a ser cadena");
+        assertEquals(6, table.size(), "Deberían quedar 6 entradas");
+        for (int i = keys.length - 6; i < keys.length; i++) {
+            assertEquals("v" + i, table.get(keys[i]), "Las claves restantes deberían encontrarse");
+        }
+    }
+    
+    @Test
+    @DisplayName("CHAINING: buckets ordenados con lotes y resize incremental")
+    void testSortedBucketsWithBatchesAndMigration() {
+        String[] keys = collidingKeys(9);
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = "v" + i;
+        }
+        HashTable batched = new HashTable();
+        assertEquals(keys.length, batched.putAll(keys, values), "putAll debería insertar todas las claves");
+        assertEquals(1, batched.getSortedBucketCount(), "putAll debería ordenar el bucket largo");
+        assertArrayEquals(values, batched.getAll(keys), "getAll debería encontrar todas las claves");
+        
+        HashTable incremental = new HashTable(16, HashTable.ResizeStrategy.INCREMENTAL);
+        for (int i = 0; i < keys.length; i++) {
+            incremental.put(keys[i], values[i]);
+            incremental.put("otra" + i, "x");
+            assertEquals(values[i / 2], incremental.get(keys[i / 2]), "get debería funcionar durante la migración");
+        }
+        for (int i = 0; i < keys.length; i += 2) {
+            assertEquals(values[i], incremental.remove(keys[i]), "remove debería funcionar durante la migración");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 == 0 ? null : values[i], incremental.get(keys[i]), "get debería seguir a remove");
+        }
+        assertEquals(keys.length + keys.length / 2, incremental.size(), "El tamaño debería contar ambas series");
+    }
+    
+    // ========== PRUEBAS PARA Metrics ==========
+    
+    @Test
+    @DisplayName("Histogram: percentiles y promedio con error acotado")
+    void testHistogram() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99), "Un histograma vacío retorna 0");
+        for (int v = 1; v <= 10000; v++) {
+            histogram.record(v);
+        }
+        histogram.record(-5);
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10001, snapshot.getCount(), "Debería contar todos los valores");
+        assertTrue(snapshot.getMax() >= 10000 && snapshot.getMax() <= 10000 * 17 / 16, "El máximo: " + snapshot);
+        assertEquals(5000.0, snapshot.getMean(), 5000 / 16.0, "El promedio: " + snapshot);
+        assertEquals(10, histogram.snapshot().getValueAtPercentile(0.1), "Los valores chicos son exactos");
+        long p50 = snapshot.getValueAtPercentile(50);
+        long p99 = snapshot.getValueAtPercentile(99);
+        assertTrue(p50 >= 5000 && p50 <= 5000 * 17 / 16, "p50 debería estar cerca de 5000: " + p50);
+        assertTrue(p99 >= 9900 && p99 <= 9900 * 17 / 16, "p99 debería estar cerca de 9900: " + p99);
+        assertEquals(snapshot.getMax(), snapshot.getValueAtPercentile(100), "p100 es el máximo");
+        Histogram small = new Histogram();
+        small.record(3);
+        small.record(4);
+        assertEquals(3.5, small.snapshot().getMean(), 1e-9, "Los valores menores a 16 son exactos");
+        assertEquals(4, small.snapshot().getMax(), "El máximo de valores menores a 16 es exacto");
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.snapshot().getValueAtPercentile(100), "Debería cubrir todo long");
+    }
+    
+    @Test
+    @DisplayName("Metrics: redirects, reintentos, sondeos y resizes de TinyURL")
+    void testServiceMetrics() {
+        HashTable table = new HashTable(16, HashTable.StorageMode.OPEN_ADDRESSING);
+        TinyURL service = new TinyURL(table);
+        assertThrows(IllegalStateException.class, service::getMetricsSnapshot, "Sin métricas no hay copia");
+        Metrics metrics = new Metrics();
+        service.setMetrics(metrics);
+        assertSame(metrics, table.getMetrics(), "Las métricas deberían conectarse también a la tabla");
+        
+        java.util.List<String> codes = new java.util.ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            codes.add(service.insertUrl("https://www.ejemplo.com/" + i));
+        }
+        for (String code : codes) {
+            assertNotNull(service.redirect(code), "Cada código debería redirigir");
+        }
+        assertNull(service.redirect("zzzzzzzz"), "Un código desconocido no redirige");
+        assertNull(service.redirect((String) null), "Un código null no redirige");
+        service.redirectAll(new String[] {codes.get(0), "yyyyyyyy"});
+        
+        Metrics.Snapshot snapshot = service.getMetricsSnapshot();
+        assertEquals(101, snapshot.getRedirectHits(), "Deberían contarse los aciertos");
+        assertEquals(3, snapshot.getRedirectMisses(), "Deberían contarse los fallos");
+        assertEquals(101.0 / 104, snapshot.getRedirectHitRatio(), 1e-9, "La tasa de aciertos");
+        assertEquals(100, snapshot.getCodeRetries().getCount(), "Un registro de reintentos por código generado");
+        assertEquals(0, snapshot.getCodeRetries().getMax(), "Con 62^8 códigos no debería haber reintentos");
+        assertTrue(snapshot.getResizes() >= 3, "La tabla debería haber crecido de 16 a 256: " + snapshot);
+        assertTrue(snapshot.getProbeLengths().getCount() >= 200, "Cada get debería registrar su sondeo");
+        assertTrue(snapshot.getProbeLengths().getMax() >= 1, "Un sondeo revisa al menos una ranura");
+        assertTrue(snapshot.getMaxBucketLength() >= 1, "El sondeo máximo debería venir de la tabla");
+        assertTrue(snapshot.toString().contains("redirectHits=101"), "toString debería mostrar los contadores");
+        
+        service.setMetrics(null);
+        service.redirect(codes.get(0));
+        assertEquals(101, metrics.snapshot().getRedirectHits(), "Sin métricas no se registra nada");
+        assertEquals(-1, metrics.snapshot().getMaxBucketLength(), "Sin tabla el largo máximo es desconocido");
+    }
+    
+    @Test
+    @DisplayName("Metrics: largos de cadena y de sondeo de cada tabla")
+    void testTableMetrics() {
+        HashTable chaining = new HashTable(1024);
+        Metrics metrics = new Metrics();
+        chaining.setMetrics(metrics);
+        chaining.put("a", "1");
+        assertEquals("1", chaining.get("a"), "get debería funcionar con métricas");
+        assertNull(chaining.get("b"), "get de una clave ausente");
+        Metrics.Snapshot snapshot = chaining.getMetricsSnapshot();
+        assertEquals(2, snapshot.getProbeLengths().getCount(), "Dos get registrados");
+        assertEquals(1, snapshot.getProbeLengths().getMax(), "Una cadena de una entrada compara una clave");
+        assertEquals(1, snapshot.getMaxBucketLength(), "La cadena más larga tiene una entrada");
+        for (String key : collidingKeys(4)) {
+            chaining.put(key, "x");
+        }
+        assertEquals(16, chaining.getMetricsSnapshot().getMaxBucketLength(), "16 claves en el mismo bucket");
+        
+        LongHashTable longTable = new LongHashTable(4);
+        longTable.setMetrics(new Metrics());
+        for (long code = 0; code < 1000; code++) {
+            longTable.put(code, "v");
+        }
+        longTable.get(5L);
+        Metrics.Snapshot longSnapshot = longTable.getMetricsSnapshot();
+        assertTrue(longSnapshot.getResizes() >= 8, "LongHashTable debería registrar sus resizes");
+        assertEquals(1, longSnapshot.getProbeLengths().getCount(), "Un get registrado");
+        assertTrue(longSnapshot.getMaxBucketLength() >= 1, "El sondeo máximo de LongHashTable");
+        assertThrows(IllegalStateException.class, () -> new LongHashTable().getMetricsSnapshot());
+    }
+    
+    @Test
+    @DisplayName("Metrics: get con métricas hace una sola búsqueda en todos los modos")
+    void testMeasuredGetSingleLookup() {
+        for (HashTable.StorageMode mode : HashTable.StorageMode.values()) {
+            long[] hashes = {0};
+            HashTable table = new HashTable(16, mode, key -> {
+                hashes[0]++;
+                return KeyHasher.STRING_HASHCODE.hash(key);
+            });
+            for (int i = 0; i < 500; i++) {
+                table.put("clave" + i, "https://www.ejemplo.com/" + i);
+            }
+            Metrics metrics = new Metrics();
+            table.setMetrics(metrics);
+            hashes[0] = 0;
+            for (int i = 0; i < 1000; i++) {
+                String expected = i < 500 ? "https://www.ejemplo.com/" + i : null;
+                assertEquals(expected, table.get("clave" + i), "get con métricas en " + mode);
+            }
+            assertEquals(1000, hashes[0], "Cada get debería calcular el hash una sola vez en " + mode);
+            Metrics.Snapshot snapshot = table.getMetricsSnapshot();
+            assertEquals(1000, snapshot.getProbeLengths().getCount(), "Un sondeo por get en " + mode);
+            assertTrue(snapshot.getProbeLengths().getMax() <= Math.max(1, snapshot.getMaxBucketLength()) + 1,
+                "Ningún sondeo pasa del más largo en " + mode);
+        }
+        
+        // Durante la migración incremental la clave puede estar en el bucket viejo
+        HashTable migrating = new HashTable(4, HashTable.ResizeStrategy.INCREMENTAL);
+        migrating.setMetrics(new Metrics());
+        for (int i = 0; i < 300; i++) {
+            migrating.put("clave" + i, "v" + i);
+            assertEquals("v" + (i / 2), migrating.get("clave" + (i / 2)), "get durante la migración");
+        }
+    }
+    
+    // ========== PRUEBAS PARA ShardedCodeTable ==========
+    
+    @Test
+    @DisplayName("ShardedCodeTable: TinyURL sobre particiones repartidas por el anillo")
+    void testShardedTinyURL() {
+        ShardedCodeTable sharded = new ShardedCodeTable(4);
+        TinyURL service = new TinyURL(sharded);
+        long[] codes = new long[4000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = service.insertUrlPacked("https://www.ejemplo.com/" + i);
+        }
+        assertEquals(4000, service.getUrlCount(), "El servicio cuenta todas las particiones");
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals("https://www.ejemplo.com/" + i, service.redirect(codes[i]), "Cada código redirige");
+        }
+        int[] sizes = sharded.getPartitionSizes();
+        for (int size : sizes) {
+            assertTrue(size > 700 && size < 1300, "Las particiones deberían estar balanceadas: "
+                    + java.util.Arrays.toString(sizes));
+        }
+        String[] urls = sharded.getAll(new long[] {codes[0], -1, codes[1], Base62Codec.CODE_SPACE - 1});
+        assertEquals("https://www.ejemplo.com/0", urls[0], "getAll reagrupa el lote por partición");
+        assertNull(urls[1], "Un código inválido no se busca");
+        assertEquals("https://www.ejemplo.com/1", urls[2], "getAll conserva el orden");
+        assertEquals("https://www.ejemplo.com/5", service.removeUrl(codes[5]), "remove va a su partición");
+        assertFalse(sharded.containsKey(codes[5]), "El código eliminado ya no está");
+        assertTrue(sharded.toString().contains("partitions=4"), "toString muestra las particiones");
+        assertThrows(IllegalArgumentException.class, () -> new ShardedCodeTable(0));
+        assertThrows(IllegalArgumentException.class, () -> sharded.put(-1L, "x"));
+    }
+    
+    @Test
+    @DisplayName("ShardedCodeTable: agregar una partición mueve ~1/N de los códigos")
+    void testShardedAddPartition() {
+        ShardedCodeTable sharded = new ShardedCodeTable(4);
+        java.util.Random random = new java.util.Random(21);
+        long[] codes = new long[20_000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (random.nextLong() & Long.MAX_VALUE) % Base62Codec.CODE_SPACE;
+            sharded.put(codes[i], "u" + i);
+        }
+        int[] before = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            before[i] = sharded.partitionOf(codes[i]);
+        }
+        int moved = sharded.addPartition(new LongHashTable());
+        assertEquals(5, sharded.getPartitionCount(), "Debería haber cinco particiones");
+        assertTrue(moved > 3000 && moved < 5000, "Debería moverse ~1/5 de los códigos: " + moved);
+        assertEquals(moved, sharded.getPartitionSizes()[4], "Lo movido es lo que tiene la partición nueva");
+        for (int i = 0; i < codes.length; i++) {
+            int owner = sharded.partitionOf(codes[i]);
+            assertTrue(owner == before[i] || owner == 4, "Un código solo puede ir a la partición nueva");
+            assertEquals("u" + i, sharded.get(codes[i]), "Cada código sigue encontrándose");
+        }
+        assertEquals(codes.length, sharded.size(), "No se pierde ni duplica nada");
+        LongHashTable notEmpty = new LongHashTable();
+        notEmpty.put(1L, "x");
+        assertThrows(IllegalArgumentException.class, () -> sharded.addPartition(notEmpty));
+        
+        ShardedCodeTable opaque = new ShardedCodeTable(
+                java.util.Collections.singletonList(new TieredCodeTable(new LongHashTable(), 16)));
+        assertThrows(IllegalStateException.class, () -> opaque.addPartition(new LongHashTable()),
+                "Una partición que no se puede recorrer impide migrar");
+    }
+    
+    @Test
+    @DisplayName("ShardedCodeTable: particiones en nodos locales por loopback")
+    void testShardedRemoteNodes() throws Exception {
+        try (CodeTableNode first = new CodeTableNode();
+             CodeTableNode second = new CodeTableNode();
+             CodeTableNode third = new CodeTableNode();
+             RemoteCodeTable a = new RemoteCodeTable(first.getAddress());
+             RemoteCodeTable b = new RemoteCodeTable(second.getAddress());
+             RemoteCodeTable c = new RemoteCodeTable(third.getAddress())) {
+            ShardedCodeTable sharded = new ShardedCodeTable(java.util.Arrays.asList(a, b));
+            TinyURL service = new TinyURL(sharded);
+            String[] codes = service.insertUrls(new String[] {"https://a.com", "https://b.com/ñandú", "https://c.com"});
+            long[] packed = new long[500];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = service.insertUrlPacked("https://www.ejemplo.com/" + i);
+            }
+            assertEquals("https://b.com/ñandú", service.redirect(codes[1]), "La URL viaja en UTF-8");
+            assertEquals(503, first.size() + second.size(), "Los nodos guardan todo");
+            assertTrue(first.size() > 0 && second.size() > 0, "Ambos nodos reciben códigos");
+            
+            int moved = sharded.addPartition(c);
+            assertEquals(moved, third.size(), "El nodo nuevo recibe lo movido");
+            assertEquals(503, first.size() + second.size() + third.size(), "Nada se pierde al migrar");
+            String[] urls = service.redirectAll(packed);
+            for (int i = 0; i < packed.length; i++) {
+                assertEquals("https://www.ejemplo.com/" + i, urls[i], "Cada código sigue redirigiendo");
+            }
+            assertThrows(IllegalArgumentException.class, () -> a.put(1L, null), "Se valida antes de enviar");
+            assertTrue(a.toString().startsWith("RemoteCodeTable{"), "toString del cliente");
+        }
+    }
+    
+    @Test
+    @DisplayName("ShardedCodeTable: si la copia a la partición nueva falla, nada cambia")
+    void testShardedAddPartitionRollback() {
+        ShardedCodeTable sharded = new ShardedCodeTable(4);
+        for (long code = 0; code < 4000; code++) {
+            sharded.put(code * 7919, "https://www.ejemplo.com/" + code);
+        }
+        int[] calls = {0};
+        LongHashTable failing = new LongHashTable() {
+            @Override
+            public int putAll(long[] codes, String[] values) {
+                if (++calls[0] == 3) {
+                    throw new java.io.UncheckedIOException(new java.io.IOException("Conexión perdida"));
+                }
+                return super.putAll(codes, values);
+            }
+        };
+        assertThrows(java.io.UncheckedIOException.class, () -> sharded.addPartition(failing));
+        assertEquals(3, calls[0], "Falló en la tercera partición");
+        assertEquals(4, sharded.getPartitionCount(), "El anillo no cambió");
+        assertEquals(0, failing.size(), "Las copias se deshicieron");
+        assertEquals(4000, sharded.size());
+        for (long code = 0; code < 4000; code++) {
+            assertEquals("https://www.ejemplo.com/" + code, sharded.get(code * 7919), "Código perdido: " + code);
+        }
+        int moved = sharded.addPartition(new LongHashTable());
+        assertTrue(moved > 0);
+        assertEquals(4000, sharded.size(), "Las particiones viejas ya no tienen los códigos movidos");
+    }
+    
+    // ========== PRUEBAS PARA RedirectServer ==========
+    
+    @Test
+    @DisplayName("RedirectServer: POST acorta, GET redirige con 301 y 404 si no existe")
+    void testRedirectServerSelector() throws Exception {
+        TinyURL service = new TinyURL();
+        try (RedirectServer server = new RedirectServer(service, 0)) {
+            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_1_1).build();
+            String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+            java.net.http.HttpResponse<String> created = client.send(java.net.http.HttpRequest.newBuilder(
+                    java.net.URI.create(base)).POST(java.net.http.HttpRequest.BodyPublishers.ofString(
+                    "https://www.ejemplo.com/ñandú?id=1")).build(), java.net.http.HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, created.statusCode(), "POST debería crear un código");
+            String code = created.body();
+            assertEquals("https://www.ejemplo.com/ñandú?id=1", service.redirect(code), "El código queda en el servicio");
+            
+            java.net.http.HttpResponse<String> moved = client.send(java.net.http.HttpRequest.newBuilder(
+                    java.net.URI.create(base + code)).build(), java.net.http.HttpResponse.BodyHandlers.ofString());
+            assertEquals(301, moved.statusCode(), "GET de un código existente redirige");
+            assertEquals(java.util.Optional.of("https://www.ejemplo.com/%C3%B1and%C3%BA?id=1"),
+                    moved.headers().firstValue("Location"), "Location es la URL original, codificada");
+            assertEquals(404, client.send(java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "zzzzzzzz"))
+                    .build(), java.net.http.HttpResponse.BodyHandlers.discarding()).statusCode());
+            assertEquals(405, client.send(java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + code))
+                    .DELETE().build(), java.net.http.HttpResponse.BodyHandlers.discarding()).statusCode());
+            assertEquals(400, client.send(java.net.http.HttpRequest.newBuilder(java.net.URI.create(base))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString("  ")).build(),
+                    java.net.http.HttpResponse.BodyHandlers.discarding()).statusCode(), "URL vacía");
+            
+            // Dos solicitudes encadenadas en una sola escritura, en una conexión persistente
+            try (java.net.Socket socket = new java.net.Socket("127.0.0.1", server.getAddress().getPort())) {
+                String request = "GET /" + code + " HTTP/1.1\r\nHost: x\r\n\r\n";
+                socket.getOutputStream().write((request + request.replace(code, "00000000"))
+                        .getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+                java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(
+                        socket.getInputStream(), java.nio.charset.StandardCharsets.UTF_8));
+                assertEquals("HTTP/1.1 301 Moved Permanently", reader.readLine(), "Primera respuesta");
+                String line;
+                while (!(line = reader.readLine()).isEmpty()) {
+                    assertFalse(line.startsWith("HTTP/"), "Los encabezados terminan en una línea vacía");
+                }
+                assertEquals("HTTP/1.1 404 Not Found", reader.readLine(), "Segunda respuesta, en orden");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("RedirectServer: una URL con CR o LF no puede partir la respuesta")
+    void testRedirectServerHeaderInjection() throws Exception {
+        TinyURL service = new TinyURL();
+        // Guardada por la API, sin pasar por el POST
+        String stored = service.insertUrl("http://x/\r\nSet-Cookie: a=b");
+        try (RedirectServer server = new RedirectServer(service, 0)) {
+            int port = server.getAddress().getPort();
+            String body = "http://x\r\nSet-Cookie: a=b";
+            try (java.net.Socket socket = new java.net.Socket("127.0.0.1", port)) {
+                String post = "POST / HTTP/1.1\r\nHost: x\r\nContent-Length: " + body.length() + "\r\n\r\n" + body;
+                String get = "GET /" + stored + " HTTP/1.1\r\nHost: x\r\nConnection: close\r\n\r\n";
+                socket.getOutputStream().write((post + get).getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+                java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(
+                        socket.getInputStream(), java.nio.charset.StandardCharsets.US_ASCII));
+                assertEquals("HTTP/1.1 400 Bad Request", reader.readLine(), "El POST con CR/LF se rechaza");
+                String line;
+                while (!(line = reader.readLine()).isEmpty()) {
+                    assertFalse(line.startsWith("HTTP/"));
+                }
+                assertEquals("HTTP/1.1 301 Moved Permanently", reader.readLine());
+                java.util.List<String> headers = new java.util.ArrayList<>();
+                while (!(line = reader.readLine()).isEmpty()) {
+                    headers.add(line);
+                }
+                assertTrue(headers.contains("Location: http://x/%0D%0ASet-Cookie:%20a=b"), "CR y LF van codificados: " + headers);
+                assertFalse(headers.stream().anyMatch(h -> h.startsWith("Set-Cookie")), "No hay encabezado inyectado");
+            }
+            assertEquals(1, service.getUrlCount(), "El POST rechazado no guardó nada");
+        }
+        
+        // Una URL que el servicio rechaza es un 400, no un 500
+        TinyURL rejecting = new TinyURL() {
+            @Override
+            public String insertUrl(String url) {
+                throw new IllegalArgumentException("URL no permitida");
+            }
+        };
+        try (RedirectServer server = new RedirectServer(rejecting, 0)) {
+            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_1_1).build();
+            assertEquals(400, client.send(java.net.http.HttpRequest.newBuilder(java.net.URI.create(
+                    "http://127.0.0.1:" + server.getAddress().getPort() + "/")).POST(
+                    java.net.http.HttpRequest.BodyPublishers.ofString("https://a.com")).build(),
+                    java.net.http.HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+    }
+    
+    @Test
+    @DisplayName("RedirectServer: un hilo por conexión con redirecciones 302")
+    void testRedirectServerThreadPerConnection() throws Exception {
+        TinyURL service = new TinyURL(new ConcurrentHashTable());
+        String code = service.insertUrl("https://www.ejemplo.com/temporal");
+        try (RedirectServer server = new RedirectServer(service, new java.net.InetSocketAddress(
+                java.net.InetAddress.getLoopbackAddress(), 0), RedirectServer.IoModel.THREAD_PER_CONNECTION, false)) {
+            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_1_1).build();
+            java.net.URI uri = java.net.URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/" + code);
+            java.util.List<java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<Void>>> responses =
+                    new java.util.ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                responses.add(client.sendAsync(java.net.http.HttpRequest.newBuilder(uri).build(),
+                        java.net.http.HttpResponse.BodyHandlers.discarding()));
+            }
+            for (java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<Void>> response : responses) {
+                assertEquals(302, response.get().statusCode(), "Redirección temporal");
+                assertEquals("https://www.ejemplo.com/temporal", response.get().headers().firstValue("Location")
+                        .orElse(null), "Location es la URL original");
+            }
+            assertEquals(RedirectServer.IoModel.THREAD_PER_CONNECTION, server.getIoModel());
+            assertTrue(server.toString().contains("THREAD_PER_CONNECTION"), "toString muestra el modelo");
+        }
+    }
+    
+    // ========== PRUEBAS PARA TTL ==========
+    
+    @Test
+    @DisplayName("TTL: el plazo se guarda en el log y el código vuelve a vencer al reiniciar")
+    void testTtlSurvivesWalReplay(@TempDir Path dir)
+            throws Exception {
+        for (KeyValueTable table : new KeyValueTable[]{new LongHashTable(), new HashTable()}) {
+            Path file = dir.resolve("ttl-" + table.getClass().getSimpleName() + ".wal");
+            long shortLived;
+            long longLived;
+            long permanent;
+            try (WriteAheadLog log = WriteAheadLog.open(file)) {
+                TinyURL service = new TinyURL(table, TinyURL.CodeStrategy.RANDOM, log);
+                shortLived = service.insertUrlPacked("https://www.ejemplo.com/corto", 20,
+                    java.util.concurrent.TimeUnit.MILLISECONDS);
+                longLived = service.insertUrlPacked("https://www.ejemplo.com/largo", 1,
+                    java.util.concurrent.TimeUnit.HOURS);
+                permanent = service.insertUrlPacked("https://www.ejemplo.com/permanente");
+                long removed = service.insertUrlPacked("https://www.ejemplo.com/borrado", 1,
+                    java.util.concurrent.TimeUnit.HOURS);
+                service.removeUrl(removed);
+                assertEquals(2, service.getExpiringCount());
+            }
+            // El código corto vence mientras el servicio está detenido
+            Thread.sleep(50);
+            
+            try (WriteAheadLog log = WriteAheadLog.open(file)) {
+                TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+                assertEquals(2, restarted.getExpiringCount(), "Los plazos deberían volver a la rueda");
+                assertNull(restarted.redirect(shortLived), "El código vencido no debería redirigir");
+                assertEquals("https://www.ejemplo.com/largo", restarted.redirect(longLived));
+                assertEquals("https://www.ejemplo.com/permanente", restarted.redirect(permanent));
+                assertEquals(1, restarted.getExpiringCount(), "Solo queda el plazo vigente");
+                assertEquals(2, restarted.getUrlCount());
+                log.compact();
+            }
+            
+            // La instantánea de la compactación conserva el plazo
+            try (WriteAheadLog log = WriteAheadLog.open(file)) {
+                TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log);
+                assertEquals(1, restarted.getExpiringCount(), "El plazo debería sobrevivir a la compactación");
+                assertEquals(2, restarted.getUrlCount(), "El vencimiento también quedó en el log");
+                assertEquals("https://www.ejemplo.com/largo", restarted.redirect(longLived));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("TTL: al reiniciar, la deduplicación sigue apuntando al código permanente")
+    void testTtlReplayKeepsPermanentDedupCode(@TempDir Path dir)
+            throws Exception {
+        Path file = dir.resolve("dedup-ttl.wal");
+        String url = "https://www.ejemplo.com/campania";
+        String permanent;
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL service = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log, true);
+            permanent = service.insertUrl(url);
+            String expiring = service.insertUrl(url, 1, java.util.concurrent.TimeUnit.HOURS);
+            assertNotEquals(permanent, expiring, "El código con TTL es aparte");
+            assertEquals(permanent, service.insertUrl(url), "La deduplicación retorna el permanente");
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file)) {
+            TinyURL restarted = new TinyURL(new LongHashTable(), TinyURL.CodeStrategy.RANDOM, log, true);
+            assertEquals(permanent, restarted.insertUrl(url), "Después de reiniciar también");
+            assertEquals(2, restarted.getUrlCount(), "No se creó un código nuevo");
+        }
+    }
+    
+    @Test
+    @DisplayName("TTL: el código vence en el redirect sin esperar a la limpieza")
+    void testTtlLazyExpiry() {
+        for (TinyURL service : new TinyURL[]{new TinyURL(), new TinyURL(new LongHashTable())}) {
+            long[] now = {1_000_000L};
+            service.setClock(() -> now[0]);
+            String permanent = service.insertUrl("https://www.ejemplo.com/siempre");
+            String temporary = service.insertUrl("https://www.ejemplo.com/siempre", 5, java.util.concurrent.TimeUnit.SECONDS);
+            assertNotEquals(permanent, temporary, "Un código con TTL no reutiliza el permanente");
+            assertEquals(1, service.getExpiringCount());
+            
+            now[0] += 4_999;
+            assertEquals("https://www.ejemplo.com/siempre", service.redirect(temporary), "Todavía no vence");
+            now[0] += 1;
+            assertTrue(service.redirectAll(new String[]{temporary, permanent})[0] == null, "Venció en el lote");
+            assertNull(service.redirect(temporary), "Un código vencido ya no redirige");
+            assertFalse(service.containsCode(temporary));
+            assertEquals("https://www.ejemplo.com/siempre", service.redirect(permanent), "El permanente sigue");
+            assertEquals(1, service.getUrlCount(), "El código vencido se liberó de la tabla");
+            assertEquals(0, service.getExpiringCount());
+            
+            assertThrows(IllegalArgumentException.class, () -> service.insertUrl("https://x.com", 0, java.util.concurrent.TimeUnit.SECONDS));
+            assertThrows(IllegalArgumentException.class, () -> service.insertUrl("https://x.com", 1, null));
+        }
+    }
+    
+    @Test
+    @DisplayName("TTL: expireBatch elimina como máximo el lote pedido y no toca los permanentes")
+    void testTtlExpireBatch() {
+        TinyURL service = new TinyURL(new LongHashTable());
+        long[] now = {0L};
+        service.setClock(() -> now[0]);
+        for (int i = 0; i < 100; i++) {
+            service.insertUrl("https://www.ejemplo.com/permanente/" + i);
+        }
+        String removed = service.insertUrl("https://www.ejemplo.com/borrado", 1, java.util.concurrent.TimeUnit.MINUTES);
+        for (int i = 0; i < 2_500; i++) {
+            service.insertUrlPacked("https://www.ejemplo.com/temporal/" + i, 1 + i % 60, java.util.concurrent.TimeUnit.SECONDS);
+        }
+        assertNotNull(service.removeUrl(removed), "Se puede borrar un código con TTL");
+        assertEquals(2_500, service.getExpiringCount(), "Borrar un código cancela su vencimiento");
+        
+        assertEquals(0, service.expireBatch(1_000), "Nada vence antes de tiempo");
+        now[0] = 60_000;
+        int batches = 0;
+        while (service.getExpiringCount() > 0 && batches < 100) {
+            assertTrue(service.expireBatch(1_000) <= 1_000, "El lote está acotado");
+            batches++;
+        }
+        assertTrue(batches >= 3, "Hicieron falta varios lotes: " + batches);
+        assertEquals(0, service.expireBatch(1_000));
+        assertEquals(100, service.getUrlCount(), "Solo quedan los códigos permanentes");
+        assertEquals(0, service.getExpiringCount());
+        assertThrows(IllegalArgumentException.class, () -> service.expireBatch(0));
+    }
+    
+    @Test
+    @DisplayName("TTL: los plazos lejanos bajan por los niveles de la rueda y vencen a tiempo")
+    void testTtlTimerWheelCascade() {
+        TimerWheel wheel = new TimerWheel(10, 0);
+        long[] deadlines = {5, 2_569, 655_360, 987_654_321, 1L << 40};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(i, deadlines[i]);
+        }
+        wheel.schedule(99, 2_560);
+        wheel.schedule(99, 3_000);
+        assertTrue(wheel.cancel(99), "Cancelar un código reprogramado");
+        // Con un arreglo de uno cada llamada hace una sola unidad de trabajo, también en las cascadas
+        long[] expired = new long[1];
+        for (int i = 0; i < deadlines.length; i++) {
+            while (wheel.behind(deadlines[i] - 1)) {
+                assertEquals(0, wheel.advance(deadlines[i] - 1, expired), "No vence antes del plazo " + deadlines[i]);
+            }
+            int n = 0;
+            while (wheel.behind(deadlines[i] + 9)) {
+                n += wheel.advance(deadlines[i] + 9, expired);
+            }
+            assertEquals(1, n, "Vence a lo sumo un tick tarde: " + deadlines[i]);
+            assertEquals(i, expired[0]);
+        }
+        assertEquals(0, wheel.size());
+        assertEquals(-1, wheel.deadline(0));
+    }
+    
+    // ========== PRUEBAS PARA RESIZE PARALELO ==========
+    
+    @Test
+    @DisplayName("Resize paralelo: redistribuye todas las claves, también las de buckets ordenados")
+    void testParallelResize() {
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            // Claves que colisionan en sus bits bajos: los buckets pasan a ser arreglos ordenados
+            HashTable table = new HashTable(1 << 14, 4.0, HashTable.StorageMode.CHAINING,
+                    HashTable.ResizeStrategy.IMMEDIATE, key -> (long) key.hashCode() << 4);
+            table.setResizePool(pool);
+            for (int i = 0; i < 60_000; i++) {
+                table.put("clave" + i, "valor" + i);
+            }
+            assertEquals(1 << 14, table.capacity());
+            table.resize();
+            table.resize();
+            assertEquals(1 << 16, table.capacity());
+            assertEquals(60_000, table.size());
+            for (int i = 0; i < 60_000; i++) {
+                assertEquals("valor" + i, table.get("clave" + i), "Clave perdida en el resize: " + i);
+            }
+            assertEquals("valor7", table.remove("clave7"));
+            assertNull(table.get("clave7"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Resize paralelo: solo en modo CHAINING con resize IMMEDIATE")
+    void testParallelResizeModes() {
+        java.util.concurrent.ForkJoinPool pool = java.util.concurrent.ForkJoinPool.commonPool();
+        assertThrows(IllegalArgumentException.class,
+                () -> new HashTable(HashTable.StorageMode.OPEN_ADDRESSING).setResizePool(pool));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HashTable(16, HashTable.ResizeStrategy.INCREMENTAL).setResizePool(pool));
+        HashTable table = new HashTable(100);
+        table.setResizePool(pool);
+        for (int i = 0; i < 1_000; i++) {
+            table.put("k" + i, "v" + i);
+        }
+        table.setResizePool(null);
+        assertEquals(1_000, table.size(), "Una capacidad que no es potencia de dos usa el resize serial");
+        assertEquals("v999", table.get("k999"));
+    }
+    
+    // ========== PRUEBAS PARA CAPACIDAD ==========
+    
+    @Test
+    @DisplayName("Capacidad: HashTable reserva de antemano y se achica con trimToSize en todos los modos")
+    void testHashTableCapacityPlanning() {
+        for (HashTable.StorageMode mode : HashTable.StorageMode.values()) {
+            HashTable table = HashTable.withExpectedSize(10_000, mode);
+            Metrics metrics = new Metrics();
+            table.setMetrics(metrics);
+            int reserved = table.capacity();
+            assertTrue(reserved * 0.75 >= 10_000, "Caben 10.000 elementos en " + mode);
+            for (int i = 0; i < 10_000; i++) {
+                table.put("clave" + i, "valor" + i);
+            }
+            assertEquals(reserved, table.capacity(), "No se redimensionó al cargar en " + mode);
+            assertEquals(0, metrics.snapshot().getResizeNanos().getCount());
+            
+            for (int i = 100; i < 10_000; i++) {
+                table.remove("clave" + i);
+            }
+            table.trimToSize();
+            assertEquals(256, table.capacity(), "100 elementos caben en 256 con factor 0,75 en " + mode);
+            for (int i = 0; i < 100; i++) {
+                assertEquals("valor" + i, table.get("clave" + i));
+            }
+            table.ensureCapacity(50_000);
+            assertTrue(table.capacity() * 0.75 >= 50_000);
+            assertEquals(100, table.size());
+            assertEquals("valor99", table.get("clave99"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> HashTable.withExpectedSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> new HashTable().ensureCapacity(-1));
+    }
+    
+    @Test
+    @DisplayName("Capacidad: LongHashTable con tamaño esperado, ensureCapacity y trimToSize")
+    void testLongHashTableCapacityPlanning() {
+        LongHashTable table = LongHashTable.withExpectedSize(1_000);
+        assertEquals(2048, table.capacity());
+        table.ensureCapacity(1_000);
+        assertEquals(2048, table.capacity(), "Si ya caben no hace nada");
+        for (long code = 0; code < 1_500; code++) {
+            table.put(code, "u" + code);
+        }
+        assertEquals(2048, table.capacity(), "1.500 todavía caben en 2048");
+        for (long code = 10; code < 1_500; code++) {
+            table.remove(code);
+        }
+        table.trimToSize();
+        assertEquals(16, table.capacity());
+        assertEquals("u9", table.get(9L));
+        assertNull(table.get(10L));
+    }
+    
+    @Test
+    @DisplayName("Capacidad: TinyURL carga un dataset en una pasada sin redimensionar")
+    void testTinyUrlBulkLoad() {
+        TinyURL service = new TinyURL(new HashTable(), TinyURL.CodeStrategy.RANDOM, null, true);
+        Metrics metrics = new Metrics();
+        service.setMetrics(metrics);
+        java.util.List<String> urls = new java.util.ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            urls.add("https://www.ejemplo.com/carga/" + (i % 90_000));
+        }
+        java.util.Map<String, Long> loaded = new java.util.HashMap<>();
+        assertEquals(100_000, service.loadUrls(urls.iterator(), urls.size(), loaded::put));
+        assertEquals(1, metrics.snapshot().getResizeNanos().getCount(), "La tabla se dimensionó una sola vez al inicio");
+        assertEquals(90_000, service.getUrlCount(), "Las URLs repetidas reutilizan su código");
+        assertEquals(90_000, loaded.size());
+        assertEquals("https://www.ejemplo.com/carga/123", service.redirect(loaded.get("https://www.ejemplo.com/carga/123")));
+        
+        int capacity = service.getCapacity();
+        for (int i = 0; i < 89_000; i++) {
+            service.removeUrl(loaded.get("https://www.ejemplo.com/carga/" + i));
+        }
+        service.trimToSize();
+        assertTrue(service.getCapacity() < capacity / 32, "La tabla se achicó: " + service.getCapacity());
+        assertEquals("https://www.ejemplo.com/carga/89999", service.redirect(loaded.get("https://www.ejemplo.com/carga/89999")));
+        assertEquals(service.insertUrl("https://www.ejemplo.com/carga/89999"),
+                Base62Codec.encode(loaded.get("https://www.ejemplo.com/carga/89999")), "El índice de deduplicación sigue completo");
+        
+        assertEquals(2048, new TinyURL(1_000).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new TinyURL(-1));
+        assertThrows(IllegalArgumentException.class, () -> service.loadUrls(urls.iterator(), -1, null));
+    }
 }
@@ -0,0 +1,171 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación compacta de URLs con un diccionario de prefijos compartido
+ * El prefijo de una URL es el esquema, el host y el primer segmento de la ruta (por
+ * ejemplo {@code https://www.ejemplo.com/articulos/}), que suele repetirse en muchas URLs.
+ * Cada prefijo distinto se guarda una sola vez en el diccionario y la URL codificada es
+ *
+ *   [cabecera varint: (id del prefijo << 1) | utf8][resto de la URL]
+ *
+ * El id 0 indica que no hay prefijo. El resto va en Latin-1 (un byte por carácter) si
+ * todos sus caracteres caben, y en UTF-8 si no. Un valor codificado es un solo byte[] en
+ * lugar de un String y su arreglo interno, y no repite el prefijo.
+ *
+ * El diccionario solo crece: los prefijos no se liberan al eliminar valores. Cuando llega
+ * a MAX_PREFIXES, las URLs con prefijos nuevos se guardan completas (id 0).
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class UrlCompressor {
+    // Número máximo de prefijos en el diccionario
+    static final int MAX_PREFIXES = 1 << 16;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    // prefixes.get(id - 1) es el prefijo con ese id
+    private final List<String> prefixes = new ArrayList<>();
+    // Los mismos prefijos en Latin-1, o null si alguno de sus caracteres no cabe
+    private final List<byte[]> latin1Prefixes = new ArrayList<>();
+    // Suma de las longitudes de los prefijos guardados
+    private long prefixChars;
+
+    /**
+     * Codifica una URL, agregando su prefijo al diccionario si es nuevo
+     * @param url La URL
+     * @return Los bytes codificados
+     */
+    byte[] encode(String url) {
+        int end = prefixEnd(url);
+        int id = 0;
+        if (end > 0) {
+            String prefix = url.substring(0, end);
+            Integer known = ids.get(prefix);
+            if (known != null) {
+                id = known;
+            } else if (prefixes.size() < MAX_PREFIXES) {
+                prefixes.add(prefix);
+                latin1Prefixes.add(isLatin1(prefix, 0) ? prefix.getBytes(StandardCharsets.ISO_8859_1) : null);
+                prefixChars += prefix.length();
+                id = prefixes.size();
+                ids.put(prefix, id);
+            } else {
+                end = 0;
+            }
+        }
+        boolean latin1 = isLatin1(url, end);
+        byte[] rest = url.substring(end).getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        int header = id << 1 | (latin1 ? 0 : 1);
+        int headerLength = varintLength(header);
+        byte[] data = new byte[headerLength + rest.length];
+        writeVarint(header, data);
+        System.arraycopy(rest, 0, data, headerLength, rest.length);
+        return data;
+    }
+
+    /**
+     * Reconstruye la URL original a partir de sus bytes codificados
+     * @param data Bytes producidos por {@link #encode(String)}
+     * @return La URL
+     */
+    String decode(byte[] data) {
+        int header = 0;
+        int position = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data[position++];
+            header |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        int id = header >>> 1;
+        int restLength = data.length - position;
+        byte[] prefix = id == 0 ? null : latin1Prefixes.get(id - 1);
+        if ((header & 1) == 0 && (id == 0 || prefix != null)) {
+            // Todo es Latin-1: se arma la URL en un solo arreglo y se crea un solo String
+            int prefixLength = id == 0 ? 0 : prefix.length;
+            byte[] url = new byte[prefixLength + restLength];
+            if (prefixLength > 0) {
+                System.arraycopy(prefix, 0, url, 0, prefixLength);
+            }
+            System.arraycopy(data, position, url, prefixLength, restLength);
+            return new String(url, StandardCharsets.ISO_8859_1);
+        }
+        String rest = new String(data, position, restLength,
+                (header & 1) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        return id == 0 ? rest : prefixes.get(id - 1).concat(rest);
+    }
+
+    private static boolean isLatin1(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcula dónde termina el prefijo de una URL: después de la barra que cierra el
+     * primer segmento de la ruta, o después de la barra que sigue al host
+     * @param url La URL
+     * @return La longitud del prefijo, o 0 si la URL no tiene esquema y host
+     */
+    static int prefixEnd(String url) {
+        int scheme = url.indexOf("://");
+        if (scheme <= 0) {
+            return 0;
+        }
+        int hostEnd = url.indexOf('/', scheme + 3);
+        if (hostEnd < 0) {
+            return 0;
+        }
+        for (int i = hostEnd + 1; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '/') {
+                return i + 1;
+            }
+            if (c == '?' || c == '#') {
+                break;
+            }
+        }
+        return hostEnd + 1;
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeVarint(int value, byte[] dst) {
+        int position = 0;
+        while ((value & ~0x7F) != 0) {
+            dst[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        dst[position] = (byte) value;
+    }
+
+    /**
+     * Retorna el número de prefijos en el diccionario
+     * @return Los prefijos distintos guardados
+     */
+    int prefixCount() {
+        return prefixes.size();
+    }
+
+    /**
+     * Retorna el número total de caracteres de los prefijos guardados
+     * @return La suma de las longitudes de los prefijos
+     */
+    long prefixChars() {
+        return prefixChars;
+    }
+}
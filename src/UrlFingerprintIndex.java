@@ -0,0 +1,208 @@
+/**
+ * Índice inverso de URL a código para el modo de deduplicación de {@link TinyURL}
+ * En lugar de la URL se guarda una huella de 64 bits, en un {@code long[]} paralelo al
+ * arreglo de códigos: cada entrada cuesta 16 bytes y el índice no retiene ningún String.
+ * Dos URLs distintas pueden compartir huella, así que quien consulta debe comparar la
+ * URL guardada en la tabla del código encontrado antes de reutilizarlo.
+ *
+ * Usa direccionamiento abierto con sondeo lineal, como {@link LongHashTable}. La huella
+ * ya está mezclada, así que la posición ideal son sus bits altos. Las ranuras vacías se
+ * marcan con código -1 (cualquier huella es válida) y la eliminación desplaza hacia
+ * atrás los elementos siguientes. No es segura entre hilos.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+final class UrlFingerprintIndex {
+    // Capacidad inicial del índice
+    private static final int DEFAULT_CAPACITY = 16;
+    // Factor de carga máximo antes de redimensionar
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    // Capacidad máxima (potencia de dos que cabe en un arreglo)
+    private static final int MAX_CAPACITY = 1 << 30;
+    // Marca de ranura vacía en codes
+    private static final long EMPTY = -1L;
+    // Constantes de mezcla de 64 bits (razón áurea y las del final de MurmurHash3)
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long MIX1 = 0xFF51AFD7ED558CCDL;
+    private static final long MIX2 = 0xC4CEB9FE1A85EC53L;
+
+    private long[] fingerprints;
+    private long[] codes;
+    // 64 - log2(capacidad): desplazamiento para tomar los bits altos de la huella
+    private int shift;
+    private int mask;
+    private int size;
+
+    UrlFingerprintIndex() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Calcula la huella de 64 bits de una URL
+     * Se mezclan cuatro caracteres (64 bits) por paso y el resultado pasa por el
+     * finalizador de MurmurHash3, de modo que todos los bits dependen de toda la URL.
+     * @param url La URL
+     * @return La huella
+     */
+    static long fingerprint(String url) {
+        int length = url.length();
+        long h = GOLDEN ^ length;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = url.charAt(i)
+                    | (long) url.charAt(i + 1) << 16
+                    | (long) url.charAt(i + 2) << 32
+                    | (long) url.charAt(i + 3) << 48;
+            h = Long.rotateLeft(h ^ block * MIX1, 31) * GOLDEN;
+        }
+        long tail = 0;
+        for (int shiftBits = 0; i < length; i++, shiftBits += 16) {
+            tail |= (long) url.charAt(i) << shiftBits;
+        }
+        h ^= tail * MIX2;
+        h ^= h >>> 33;
+        h *= MIX1;
+        h ^= h >>> 33;
+        h *= MIX2;
+        return h ^ (h >>> 33);
+    }
+
+    private void allocate(int capacity) {
+        fingerprints = new long[capacity];
+        codes = new long[capacity];
+        java.util.Arrays.fill(codes, EMPTY);
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long fingerprint) {
+        return (int) (fingerprint >>> shift);
+    }
+
+    private int find(long fingerprint) {
+        for (int i = home(fingerprint); ; i = (i + 1) & mask) {
+            if (codes[i] == EMPTY) {
+                return -1;
+            }
+            if (fingerprints[i] == fingerprint) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Busca el código asociado a una huella
+     * @param fingerprint La huella
+     * @return El código, o -1 si la huella no está
+     */
+    long get(long fingerprint) {
+        int i = find(fingerprint);
+        return i < 0 ? EMPTY : codes[i];
+    }
+
+    /**
+     * Asocia una huella a un código, reemplazando el anterior si la huella ya estaba
+     * @param fingerprint La huella
+     * @param code El código (no negativo)
+     * @throws IllegalStateException si el índice alcanzó su capacidad máxima
+     */
+    void put(long fingerprint, long code) {
+        int i = find(fingerprint);
+        if (i >= 0) {
+            codes[i] = code;
+            return;
+        }
+        if (size + 1 > codes.length * MAX_LOAD_FACTOR) {
+            if (codes.length >= MAX_CAPACITY) {
+                throw new IllegalStateException("El índice de deduplicación alcanzó su capacidad máxima");
+            }
+            resizeTo(codes.length * 2);
+        }
+        insertNew(fingerprint, code);
+        size++;
+    }
+
+    private void insertNew(long fingerprint, long code) {
+        int i = home(fingerprint);
+        while (codes[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        fingerprints[i] = fingerprint;
+        codes[i] = code;
+    }
+
+    /**
+     * Elimina una huella solo si sigue apuntando al código indicado
+     * @param fingerprint La huella
+     * @param code El código que se eliminó de la tabla
+     * @return true si se eliminó la entrada
+     */
+    boolean remove(long fingerprint, long code) {
+        int hole = find(fingerprint);
+        if (hole < 0 || codes[hole] != code) {
+            return false;
+        }
+        for (int j = (hole + 1) & mask; codes[j] != EMPTY; j = (j + 1) & mask) {
+            // Igual que en LongHashTable: el elemento en j ocupa el hueco si este está
+            // entre su posición ideal y j
+            if (((j - home(fingerprints[j])) & mask) >= ((j - hole) & mask)) {
+                fingerprints[hole] = fingerprints[j];
+                codes[hole] = codes[j];
+                hole = j;
+            }
+        }
+        codes[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Crece una sola vez para que expected huellas quepan sin pasar del factor de carga
+     * @param expected Número de huellas que tendrá el índice
+     */
+    void ensureCapacity(long expected) {
+        int capacity = codes.length;
+        while (expected > capacity * MAX_LOAD_FACTOR && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        if (capacity > codes.length) {
+            resizeTo(capacity);
+        }
+    }
+
+    /**
+     * Reduce la capacidad a la mínima (al menos 16) en la que caben las huellas actuales
+     */
+    void trimToSize() {
+        int capacity = DEFAULT_CAPACITY;
+        while (size > capacity * MAX_LOAD_FACTOR && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        if (capacity < codes.length) {
+            resizeTo(capacity);
+        }
+    }
+
+    private void resizeTo(int capacity) {
+        long[] oldFingerprints = fingerprints;
+        long[] oldCodes = codes;
+        int oldSize = size;
+        allocate(capacity);
+        for (int j = 0; j < oldCodes.length; j++) {
+            if (oldCodes[j] != EMPTY) {
+                insertNew(oldFingerprints[j], oldCodes[j]);
+            }
+        }
+        size = oldSize;
+    }
+
+    /**
+     * Retorna el número de URLs indexadas
+     * @return El número de huellas en el índice
+     */
+    int size() {
+        return size;
+    }
+}
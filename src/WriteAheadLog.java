@@ -0,0 +1,955 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de escritura anticipada (WAL) para las inserciones y eliminaciones de TinyURL
+ * Cada operación se agrega al final de un archivo como un registro binario compacto:
+ *
+ *   [longitud int][CRC32C int][tipo byte][código long][plazo long][URL en UTF-8]
+ *
+ * El plazo (el instante de vencimiento en milisegundos del reloj de pared) solo va en
+ * PUT_EXPIRING, y la URL en PUT y PUT_EXPIRING; REMOVE lleva solo el código. Así un
+ * código con TTL vuelve a vencer después de reproducir el log.
+ *
+ * Al abrir el log se valida cada registro; una cola incompleta o corrupta (una escritura
+ * cortada por una caída) se descarta y el archivo se trunca ahí. {@link #replayInto}
+ * aplica los registros válidos sobre una tabla vacía.
+ *
+ * La política de sincronización decide cuándo se llama a fsync ({@link FileChannel#force}):
+ *
+ *   EVERY_OP: cada operación escribe y sincroniza antes de retornar.
+ *   GROUP:    commit en grupo. Si no hay un fsync en curso, el escritor escribe y
+ *             sincroniza el búfer de inmediato; los que llegan mientras tanto acumulan
+ *             sus registros y el primero que despierta al terminar el fsync escribe el
+ *             grupo entero de una vez. Nadie retorna antes de que su registro sea
+ *             durable; con un solo hilo cuesta lo mismo que EVERY_OP y con muchos un
+ *             fsync cubre a todos los que llegaron durante el anterior.
+ *   INTERVAL: las operaciones retornan sin esperar; un hilo de fondo escribe y
+ *             sincroniza cada flushInterval. Una caída puede perder como mucho el
+ *             último intervalo.
+ *
+ * Mientras un líder escribe, el lock está libre y los demás siguen llenando otro búfer.
+ *
+ * Compactación: el log solo crece, así que cuando el archivo activo supera un umbral se
+ * compacta en segundo plano ({@link #compact()} hace lo mismo de forma síncrona). Con el
+ * lock tomado solo se renombra el archivo activo a {@code <log>.old} y se abre uno nuevo;
+ * las escrituras siguen en el archivo nuevo mientras, sin el lock, se combinan la
+ * instantánea anterior y el prefijo {@code .old} en una tabla con solo las entradas vivas.
+ * Esa tabla es el contenido en el instante del cambio de archivo; se escribe como
+ * {@code <log>.snapshot} (archivo temporal, fsync y renombrado atómico) y entonces se
+ * borra el prefijo obsoleto. El umbral crece con la instantánea (se compacta cuando el
+ * archivo activo alcanza el mayor de los dos), así cada compactación relee a lo sumo
+ * tanto como se escribió desde la anterior. Reabrir cuesta lo que ocupan las entradas
+ * vivas más el archivo activo, proporcional también a las entradas vivas. Si una caída interrumpe la
+ * compactación, al abrir se termina a partir de lo que quedó en disco; aplicar de nuevo
+ * un prefijo ya incluido en la instantánea no cambia el resultado, porque cada registro
+ * fija o borra su código.
+ *
+ * @author [Nombre del Estudiante]
+ * @version 1.0
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    /**
+     * Cuándo se fuerzan a disco los registros
+     */
+    public enum SyncPolicy {
+        /** Un fsync por operación */
+        EVERY_OP,
+        /** Un fsync por grupo de escritores concurrentes (por defecto) */
+        GROUP,
+        /** Un fsync cada intervalo, sin esperar en las operaciones */
+        INTERVAL
+    }
+
+    /** Tipo de registro: inserción o actualización */
+    static final byte PUT = 1;
+    /** Tipo de registro: eliminación */
+    static final byte REMOVE = 2;
+    /** Tipo de registro: inserción de un código que vence en un plazo absoluto */
+    static final byte PUT_EXPIRING = 3;
+
+    // Intervalo de sincronización por defecto
+    private static final long DEFAULT_FLUSH_INTERVAL_MICROS = 2_000;
+    // Tamaño del archivo activo que dispara una compactación en segundo plano
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 64L << 20;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    // Un registro nunca supera esto; un tamaño mayor indica corrupción
+    private static final int MAX_PAYLOAD = 1 << 24;
+
+    private final Path file;
+    private final Path snapshotFile;
+    private final Path oldFile;
+    // Archivo activo; cambia en cada compactación (con el lock tomado y sin fsync en curso)
+    private FileChannel channel;
+    private final SyncPolicy policy;
+    private final long flushIntervalNanos;
+    private final long compactionThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    // Registros agregados que todavía no se escribieron
+    private byte[] buffer = new byte[4096];
+    private int buffered;
+    // Número de secuencia del último registro agregado y del último durable
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private IOException failure;
+    private boolean closed;
+    // Bytes válidos en el archivo al abrirlo (lo que replayInto debe aplicar)
+    private final long replayEnd;
+    private long fileSize;
+    private long syncs;
+    // Compactación en curso, compactaciones terminadas y error de la última (o null)
+    private final Condition compacted = lock.newCondition();
+    private boolean compacting;
+    private boolean rolledOver;
+    private long compactions;
+    // Tamaño de la última instantánea escrita
+    private long snapshotBytes;
+    private Exception compactionFailure;
+
+    private final Thread flusher;
+
+    /**
+     * Abre (o crea) un log con commit en grupo y parámetros por defecto
+     * @param file El archivo del log
+     * @return El log listo para agregar registros
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public static WriteAheadLog open(Path file) throws IOException {
+        return open(file, SyncPolicy.GROUP, DEFAULT_FLUSH_INTERVAL_MICROS, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Abre (o crea) un log con el umbral de compactación por defecto
+     * @param file El archivo del log
+     * @param policy Política de sincronización
+     * @param flushIntervalMicros Periodo de sincronización con INTERVAL, en
+     *        microsegundos (positivo; las otras políticas no lo usan)
+     * @return El log listo para agregar registros
+     * @throws IOException si no se puede abrir el archivo
+     * @throws IllegalArgumentException si algún parámetro es inválido
+     */
+    public static WriteAheadLog open(Path file, SyncPolicy policy, long flushIntervalMicros) throws IOException {
+        return open(file, policy, flushIntervalMicros, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Abre (o crea) un log
+     * @param file El archivo del log
+     * @param policy Política de sincronización
+     * @param flushIntervalMicros Periodo de sincronización con INTERVAL, en
+     *        microsegundos (positivo; las otras políticas no lo usan)
+     * @param compactionThresholdBytes Tamaño del archivo activo a partir del cual se
+     *        compacta en segundo plano (positivo)
+     * @return El log listo para agregar registros
+     * @throws IOException si no se puede abrir el archivo
+     * @throws IllegalArgumentException si algún parámetro es inválido
+     */
+    public static WriteAheadLog open(Path file, SyncPolicy policy, long flushIntervalMicros,
+            long compactionThresholdBytes) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("El archivo no puede ser null");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("La política de sincronización no puede ser null");
+        }
+        if (flushIntervalMicros <= 0) {
+            throw new IllegalArgumentException("El intervalo debe ser positivo: " + flushIntervalMicros);
+        }
+        if (compactionThresholdBytes <= 0) {
+            throw new IllegalArgumentException("El umbral de compactación debe ser positivo: "
+                    + compactionThresholdBytes);
+        }
+        return new WriteAheadLog(file, policy, flushIntervalMicros, compactionThresholdBytes);
+    }
+
+    private WriteAheadLog(Path file, SyncPolicy policy, long flushIntervalMicros, long compactionThreshold)
+            throws IOException {
+        this.file = file;
+        this.snapshotFile = file.resolveSibling(file.getFileName() + ".snapshot");
+        this.oldFile = file.resolveSibling(file.getFileName() + ".old");
+        this.policy = policy;
+        this.flushIntervalNanos = TimeUnit.MICROSECONDS.toNanos(flushIntervalMicros);
+        this.compactionThreshold = compactionThreshold;
+        Files.deleteIfExists(temporarySnapshot());
+        if (Files.exists(oldFile)) {
+            // Una caída interrumpió una compactación: se termina antes de usar el log
+            fold();
+        }
+        this.snapshotBytes = Files.exists(snapshotFile) ? Files.size(snapshotFile) : 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.replayEnd = scan(file, 0, channel.size(), null);
+        if (replayEnd < channel.size()) {
+            // Cola cortada por una caída: se descarta
+            channel.truncate(replayEnd);
+            channel.force(true);
+        }
+        this.fileSize = replayEnd;
+        channel.position(replayEnd);
+        if (policy == SyncPolicy.INTERVAL) {
+            flusher = new Thread(this::runFlusher, "wal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        } else {
+            flusher = null;
+        }
+    }
+
+    // ---------- Lectura y reproducción ----------
+
+    /**
+     * Aplica sobre una tabla la instantánea y los registros válidos que tenía el archivo
+     * activo al abrirlo
+     * @param table La tabla destino (normalmente vacía)
+     * @return El número de registros aplicados, contando las entradas de la instantánea
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalStateException si el log ya se compactó desde que se abrió
+     */
+    public long replayInto(KeyValueTable table) throws IOException {
+        return replayInto(table, null);
+    }
+
+    /**
+     * Igual que {@link #replayInto(KeyValueTable)}, avisando además de cada registro
+     * aplicado (TinyURL lo usa para reconstruir su índice de deduplicación y sus
+     * vencimientos)
+     * @param table La tabla destino (normalmente vacía)
+     * @param records Recibe cada registro después de aplicarlo, o null
+     */
+    long replayInto(KeyValueTable table, RecordVisitor records) throws IOException {
+        if (table == null) {
+            throw new IllegalArgumentException("La tabla no puede ser null");
+        }
+        lock.lock();
+        try {
+            if (rolledOver) {
+                throw new IllegalStateException("replayInto debe llamarse antes de la primera compactación");
+            }
+        } finally {
+            lock.unlock();
+        }
+        long[] count = new long[1];
+        RecordVisitor visitor = (type, code, deadline, url) -> {
+            apply(table, type, code, url);
+            if (records != null) {
+                records.visit(type, code, deadline, url);
+            }
+            count[0]++;
+        };
+        if (Files.exists(snapshotFile)) {
+            scan(snapshotFile, 0, Files.size(snapshotFile), visitor);
+        }
+        scan(file, 0, replayEnd, visitor);
+        return count[0];
+    }
+
+    /**
+     * Aplica un registro sobre una tabla, por la ruta de long si es una CodeTable
+     */
+    static void apply(KeyValueTable table, byte type, long code, String url) {
+        if (table instanceof CodeTable) {
+            CodeTable codes = (CodeTable) table;
+            if (type != REMOVE) {
+                codes.put(code, url);
+            } else {
+                codes.remove(code);
+            }
+        } else if (type != REMOVE) {
+            table.put(Base62Codec.encode(code), url);
+        } else {
+            table.remove(Base62Codec.encode(code));
+        }
+    }
+
+    /**
+     * Recibe cada registro durante la lectura del log
+     */
+    interface RecordVisitor {
+        /**
+         * @param type PUT, REMOVE o PUT_EXPIRING
+         * @param code El código empaquetado
+         * @param deadline El plazo en PUT_EXPIRING, -1 en los demás
+         * @param url La URL, o null en REMOVE
+         */
+        void visit(byte type, long code, long deadline, String url);
+    }
+
+    /**
+     * Recorre los registros válidos de un archivo entre dos posiciones
+     * Lee con su propio canal y un búfer grande, así que no interfiere con las escrituras.
+     * @param file El archivo a leer
+     * @param start Posición del primer registro
+     * @param end Posición donde termina la lectura
+     * @param visitor Receptor de los registros, o null para solo validar
+     * @return La posición donde termina el último registro válido
+     */
+    static long scan(Path file, long start, long end, RecordVisitor visitor) throws IOException {
+        CRC32C crc = new CRC32C();
+        long position = start;
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(
+                     Channels.newInputStream(source.position(start)), 1 << 16))) {
+            byte[] payload = new byte[256];
+            while (position + RECORD_HEADER <= end) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 1 + Long.BYTES || length > MAX_PAYLOAD || position + RECORD_HEADER + length > end) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[Math.max(length, 2 * payload.length)];
+                }
+                in.readFully(payload, 0, length);
+                crc.reset();
+                crc.update(payload, 0, length);
+                byte type = payload[0];
+                if ((int) crc.getValue() != checksum || (type != PUT && type != REMOVE && type != PUT_EXPIRING)
+                        || (type == PUT_EXPIRING && length < 1 + 2 * Long.BYTES)) {
+                    break;
+                }
+                if (visitor != null) {
+                    ByteBuffer view = ByteBuffer.wrap(payload, 1, length - 1);
+                    long code = view.getLong();
+                    long deadline = type == PUT_EXPIRING ? view.getLong() : -1;
+                    String url = type != REMOVE
+                            ? new String(payload, view.position(), view.remaining(), StandardCharsets.UTF_8)
+                            : null;
+                    visitor.visit(type, code, deadline, url);
+                }
+                position += RECORD_HEADER + length;
+            }
+        } catch (EOFException e) {
+            // Registro cortado al final del archivo: termina en el último válido
+        }
+        return position;
+    }
+
+    // ---------- Escritura ----------
+
+    /**
+     * Registra una inserción o actualización y espera según la política
+     * @param code El código empaquetado
+     * @param url La URL asociada
+     * @throws IllegalArgumentException si el código está fuera de rango o la URL es null
+     * @throws UncheckedIOException si la escritura falla
+     */
+    public void logPut(long code, String url) {
+        if (url == null) {
+            throw new IllegalArgumentException("La URL no puede ser null");
+        }
+        append(PUT, code, -1, url.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Registra la inserción de un código que vence y espera según la política
+     * @param code El código empaquetado
+     * @param url La URL asociada
+     * @param deadline El instante de vencimiento, en milisegundos del reloj de pared
+     * @throws IllegalArgumentException si el código está fuera de rango, la URL es null
+     *         o el plazo es negativo
+     * @throws UncheckedIOException si la escritura falla
+     */
+    public void logPut(long code, String url, long deadline) {
+        if (url == null) {
+            throw new IllegalArgumentException("La URL no puede ser null");
+        }
+        if (deadline < 0) {
+            throw new IllegalArgumentException("El plazo no puede ser negativo: " + deadline);
+        }
+        append(PUT_EXPIRING, code, deadline, url.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Registra una eliminación y espera según la política
+     * @param code El código empaquetado
+     * @throws IllegalArgumentException si el código está fuera de rango
+     * @throws UncheckedIOException si la escritura falla
+     */
+    public void logRemove(long code) {
+        append(REMOVE, code, -1, null);
+    }
+
+    private void append(byte type, long code, long deadline, byte[] url) {
+        if (!Base62Codec.isValid(code)) {
+            throw new IllegalArgumentException("Código fuera de rango: " + code);
+        }
+        checkLength(url);
+        int checksum = checksum(type, code, deadline, url);
+        boolean startCompaction;
+        lock.lock();
+        try {
+            checkUsable();
+            bufferRecord(type, code, deadline, url, checksum);
+            startCompaction = commit(appended);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        if (startCompaction) {
+            startCompactor();
+        }
+    }
+
+    /**
+     * Registra varias inserciones como un solo grupo: se agregan juntas y se espera una
+     * sola vez según la política, así con EVERY_OP o GROUP todo el lote cuesta un fsync
+     * @param codes Los códigos empaquetados
+     * @param urls Las URLs, en el mismo orden que los códigos
+     * @throws IllegalArgumentException si algún arreglo o URL es null, algún código está
+     *         fuera de rango o los arreglos tienen distinta longitud (antes de registrar nada)
+     * @throws UncheckedIOException si la escritura falla
+     */
+    public void logPutAll(long[] codes, String[] urls) {
+        CodeTable.checkBatch(codes, urls);
+        byte[][] bytes = new byte[codes.length][];
+        int[] checksums = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            if (!Base62Codec.isValid(codes[i])) {
+                throw new IllegalArgumentException("Código fuera de rango: " + codes[i]);
+            }
+            bytes[i] = urls[i].getBytes(StandardCharsets.UTF_8);
+            checkLength(bytes[i]);
+            checksums[i] = checksum(PUT, codes[i], -1, bytes[i]);
+        }
+        if (codes.length == 0) {
+            return;
+        }
+        boolean startCompaction;
+        lock.lock();
+        try {
+            checkUsable();
+            for (int i = 0; i < codes.length; i++) {
+                bufferRecord(PUT, codes[i], -1, bytes[i], checksums[i]);
+            }
+            startCompaction = commit(appended);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        if (startCompaction) {
+            startCompactor();
+        }
+    }
+
+    private static void checkLength(byte[] url) {
+        if (url != null && 1 + 2 * Long.BYTES + url.length > MAX_PAYLOAD) {
+            throw new IllegalArgumentException("La URL es demasiado grande para el log");
+        }
+    }
+
+    /**
+     * Agrega un registro al búfer (con el lock tomado)
+     */
+    private void bufferRecord(byte type, long code, long deadline, byte[] url, int checksum) {
+        int length = payloadLength(type, url);
+        ensureBuffer(RECORD_HEADER + length);
+        ByteBuffer view = ByteBuffer.wrap(buffer, buffered, RECORD_HEADER + length);
+        view.putInt(length).putInt(checksum).put(type).putLong(code);
+        if (type == PUT_EXPIRING) {
+            view.putLong(deadline);
+        }
+        if (url != null) {
+            view.put(url);
+        }
+        buffered += RECORD_HEADER + length;
+        appended++;
+    }
+
+    /**
+     * Espera según la política a que el registro sequence sea durable y, si el archivo
+     * activo superó el umbral, cambia de archivo (con el lock tomado)
+     * Una interrupción no corta la espera: el registro ya está en el búfer y el próximo
+     * líder lo escribirá igual, así que fallar aquí haría que el llamador deshiciera una
+     * operación que vuelve al reproducir el log. Además un hilo interrumpido cerraría el
+     * canal al escribir (ClosedByInterruptException). La interrupción se restablece al
+     * retornar.
+     * @return true si hay que lanzar la combinación en segundo plano
+     */
+    private boolean commit(long sequence) throws IOException {
+        boolean interrupted = Thread.interrupted();
+        try {
+            if (policy == SyncPolicy.EVERY_OP) {
+                // Sin agrupar: se escribe y sincroniza con el lock tomado
+                while (flushing) {
+                    flushed.awaitUninterruptibly();
+                }
+                writeBuffered();
+                durable = sequence;
+            } else if (policy == SyncPolicy.GROUP) {
+                interrupted |= awaitDurable(sequence);
+            }
+            // El cambio de archivo es barato y se hace aquí, con el lock ya tomado; un hilo
+            // aparte tendría que competir por el lock con los escritores
+            if (compacting || failure != null
+                    || fileSize + buffered < Math.max(compactionThreshold, snapshotBytes)) {
+                return false;
+            }
+            compacting = true;
+            try {
+                rollOver();
+            } catch (IOException e) {
+                // El registro de esta operación ya se escribió; las siguientes fallarán
+                releaseCompaction(e);
+                return false;
+            }
+            return true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void startCompactor() {
+        Thread compactor = new Thread(() -> {
+            try {
+                foldAndRelease();
+            } catch (IOException | RuntimeException e) {
+                // Queda registrado en compactionFailure y close() lo reporta
+            }
+        }, "wal-compactor");
+        compactor.setDaemon(true);
+        compactor.start();
+    }
+
+    private static int payloadLength(byte type, byte[] url) {
+        return 1 + (type == PUT_EXPIRING ? 2 : 1) * Long.BYTES + (url == null ? 0 : url.length);
+    }
+
+    /**
+     * Calcula el CRC32C de la parte de un registro que sigue a la cabecera
+     */
+    private static int checksum(byte type, long code, long deadline, byte[] url) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        updateLong(crc, code);
+        if (type == PUT_EXPIRING) {
+            updateLong(crc, deadline);
+        }
+        if (url != null) {
+            crc.update(url);
+        }
+        return (int) crc.getValue();
+    }
+
+    private static void updateLong(CRC32C crc, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (value >>> shift));
+        }
+    }
+
+    private void ensureBuffer(int extra) {
+        if (buffered + extra > buffer.length) {
+            buffer = java.util.Arrays.copyOf(buffer, Math.max(buffer.length * 2, buffered + extra));
+        }
+    }
+
+    /**
+     * Espera a que un registro sea durable; si no hay un fsync en curso, lo hace este
+     * hilo para todo lo acumulado (con el lock tomado)
+     * @return true si el hilo fue interrumpido mientras esperaba
+     */
+    private boolean awaitDurable(long sequence) throws IOException {
+        boolean interrupted = false;
+        while (durable < sequence) {
+            checkFailure();
+            if (!flushing) {
+                flushAsLeader();
+            } else {
+                flushed.awaitUninterruptibly();
+                // Se limpia hasta terminar: este hilo puede ser el próximo líder
+                interrupted |= Thread.interrupted();
+            }
+        }
+        return interrupted;
+    }
+
+    /**
+     * Toma el búfer actual, lo escribe y sincroniza sin el lock, y publica el resultado
+     * (se llama con el lock tomado y retorna con el lock tomado)
+     */
+    private void flushAsLeader() throws IOException {
+        if (buffered == 0) {
+            return;
+        }
+        byte[] data = buffer;
+        int length = buffered;
+        long upTo = appended;
+        buffer = new byte[Math.max(4096, data.length)];
+        buffered = 0;
+        flushing = true;
+        lock.unlock();
+        IOException error = null;
+        try {
+            write(data, length);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.lock();
+            flushing = false;
+            if (error == null) {
+                durable = Math.max(durable, upTo);
+            } else {
+                failure = error;
+            }
+            flushed.signalAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // ---------- Compactación ----------
+
+    /**
+     * Compacta el log: mueve el archivo activo a un prefijo sellado y lo combina con la
+     * instantánea anterior en una instantánea nueva que solo contiene entradas vivas
+     * Las operaciones concurrentes solo esperan mientras se cambia de archivo. Si ya hay
+     * una compactación en curso, espera a que termine y luego hace otra.
+     * @throws IOException si no se puede escribir la instantánea o cambiar de archivo
+     */
+    public void compact() throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            while (compacting) {
+                compacted.awaitUninterruptibly();
+            }
+            compacting = true;
+            try {
+                rollOver();
+            } catch (IOException e) {
+                releaseCompaction(e);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+        foldAndRelease();
+    }
+
+    /**
+     * Combina el prefijo sellado y libera la compactación en curso
+     */
+    private void foldAndRelease() throws IOException {
+        Exception error = null;
+        try {
+            fold();
+        } catch (IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            lock.lock();
+            try {
+                releaseCompaction(error);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Marca el fin de una compactación y despierta a quien espera (con el lock tomado)
+     * @param error El error de la compactación, o null si terminó bien
+     */
+    private void releaseCompaction(Exception error) {
+        compacting = false;
+        if (error == null) {
+            compactions++;
+        }
+        compactionFailure = error;
+        compacted.signalAll();
+    }
+
+    /**
+     * Escribe lo pendiente, renombra el archivo activo a .old y abre uno nuevo vacío
+     * (con el lock tomado)
+     */
+    private void rollOver() throws IOException {
+        while (flushing) {
+            flushed.awaitUninterruptibly();
+        }
+        try {
+            if (buffered > 0) {
+                writeBuffered();
+                durable = appended;
+                flushed.signalAll();
+            }
+            channel.close();
+            Files.move(file, oldFile, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            syncDirectory();
+        } catch (IOException e) {
+            // Sin archivo activo el log ya no puede aceptar registros
+            failure = e;
+            throw e;
+        }
+        fileSize = 0;
+        rolledOver = true;
+    }
+
+    /**
+     * Combina la instantánea y el prefijo .old en una instantánea nueva y borra el prefijo
+     * No usa el lock: ninguno de los dos archivos recibe escrituras.
+     */
+    private void fold() throws IOException {
+        LongHashTable live = new LongHashTable();
+        // Plazos de los códigos vivos que vencen
+        java.util.Map<Long, Long> deadlines = new java.util.HashMap<>();
+        RecordVisitor visitor = (type, code, deadline, url) -> {
+            apply(live, type, code, url);
+            if (type == PUT_EXPIRING) {
+                deadlines.put(code, deadline);
+            } else {
+                deadlines.remove(code);
+            }
+        };
+        if (Files.exists(snapshotFile)) {
+            scan(snapshotFile, 0, Files.size(snapshotFile), visitor);
+        }
+        scan(oldFile, 0, Files.size(oldFile), visitor);
+
+        Path temporary = temporarySnapshot();
+        try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(target), 1 << 16));
+            try {
+                live.forEach((code, url) -> {
+                    try {
+                        byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+                        long deadline = deadlines.getOrDefault(code, -1L);
+                        byte type = deadline < 0 ? PUT : PUT_EXPIRING;
+                        out.writeInt(payloadLength(type, bytes));
+                        out.writeInt(checksum(type, code, deadline, bytes));
+                        out.writeByte(type);
+                        out.writeLong(code);
+                        if (type == PUT_EXPIRING) {
+                            out.writeLong(deadline);
+                        }
+                        out.write(bytes);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            target.force(true);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        long written = Files.size(snapshotFile);
+        syncDirectory();
+        // Solo ahora el prefijo es obsoleto: la instantánea nueva ya es durable
+        Files.delete(oldFile);
+        syncDirectory();
+        lock.lock();
+        try {
+            snapshotBytes = written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path temporarySnapshot() {
+        return file.resolveSibling(file.getFileName() + ".snapshot.tmp");
+    }
+
+    /**
+     * Hace durables los renombrados y borrados del directorio del log
+     */
+    private void syncDirectory() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    /**
+     * Escribe y sincroniza el búfer actual con el lock tomado
+     */
+    private void writeBuffered() throws IOException {
+        try {
+            write(buffer, buffered);
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        buffered = 0;
+    }
+
+    private void write(byte[] data, int length) throws IOException {
+        ByteBuffer source = ByteBuffer.wrap(data, 0, length);
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+        channel.force(false);
+        syncs++;
+        fileSize += length;
+    }
+
+    /**
+     * Hilo de fondo de la política INTERVAL
+     */
+    private void runFlusher() {
+        while (true) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (!flushing && failure == null) {
+                    flushAsLeader();
+                }
+            } catch (IOException e) {
+                // flushAsLeader ya registró el error; las operaciones siguientes fallarán
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Escribe y sincroniza de inmediato todo lo pendiente
+     * @throws UncheckedIOException si la escritura falla
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            checkUsable();
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            flushAsLeader();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("El log está cerrado");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("El log falló en una escritura anterior", failure);
+        }
+    }
+
+    /**
+     * Espera a que termine una compactación en curso, sincroniza lo pendiente y cierra
+     * el archivo
+     * @throws IOException si la última escritura, la última compactación o el cierre fallan
+     */
+    @Override
+    public void close() throws IOException {
+        Exception lastCompactionFailure;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            while (compacting) {
+                compacted.awaitUninterruptibly();
+            }
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            closed = true;
+            if (failure == null) {
+                flushAsLeader();
+            }
+            lastCompactionFailure = compactionFailure;
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        channel.close();
+        if (lastCompactionFailure != null) {
+            throw new IOException("Falló la última compactación", lastCompactionFailure);
+        }
+    }
+
+    /**
+     * Retorna el tamaño del archivo activo en bytes, sin contar lo que aún está en el
+     * búfer ni la instantánea
+     * @return Bytes escritos en el archivo activo
+     */
+    public long sizeBytes() {
+        lock.lock();
+        try {
+            return fileSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna la política de sincronización
+     * @return La política configurada
+     */
+    public SyncPolicy getSyncPolicy() {
+        return policy;
+    }
+
+    /**
+     * Retorna una representación en cadena del log para debugging
+     * @return String representando el estado actual del log
+     */
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "WriteAheadLog{file=" + file
+                    + ", policy=" + policy
+                    + ", flushIntervalMicros=" + TimeUnit.NANOSECONDS.toMicros(flushIntervalNanos)
+                    + ", sizeBytes=" + fileSize
+                    + ", compactions=" + compactions
+                    + ", syncs=" + syncs
+                    + ", recordsPerSync=" + String.format(Locale.ROOT, "%.1f",
+                            syncs == 0 ? 0.0 : (double) durable / syncs)
+                    + "}";
+        } finally {
+            lock.unlock();
+        }
+    }
+}